@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sysml.benchmark.BenchmarkUtils.SparsityType;
+import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.runtime.instructions.InstructionUtils;
+import org.apache.sysml.runtime.matrix.data.LibMatrixAgg;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.AggregateUnaryOperator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Microbenchmarks for unary aggregates in LibMatrixAgg (full, row, and
+ * column aggregates), parameterized by the aggregation opcode.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g", "-Xms8g"})
+public class AggregateBenchmark
+{
+	@Param({"100000"})
+	public int rows;
+
+	@Param({"1000"})
+	public int cols;
+
+	@Param({"DENSE", "SPARSE", "ULTRA_SPARSE"})
+	public SparsityType sparsity;
+
+	//sum, rowSums, colSums, max, rowIndexMax
+	@Param({"uak+", "uark+", "uack+", "uamax", "uarimax"})
+	public String opcode;
+
+	@Param({"1", "8"})
+	public int k;
+
+	private MatrixBlock _X;
+	private AggregateUnaryOperator _op;
+
+	@Setup
+	public void setup() {
+		_X = BenchmarkUtils.createMatrix(rows, cols, sparsity);
+		_op = InstructionUtils.parseBasicAggregateUnaryOperator(opcode, k);
+		if( !LibMatrixAgg.isSupportedUnaryAggregateOperator(_op) )
+			throw new RuntimeException("Unsupported aggregate opcode: "+opcode);
+	}
+
+	@Benchmark
+	public MatrixBlock aggregateUnaryMatrix() {
+		//output allocation and correction handling as in the CP instruction
+		int blen = OptimizerUtils.DEFAULT_BLOCKSIZE;
+		return (MatrixBlock) _X.aggregateUnaryOperations(
+			_op, new MatrixBlock(), blen, blen, null, true);
+	}
+}
@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.benchmark;
+
+import org.apache.sysml.api.DMLScript;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmark jar. All standard JMH command line options
+ * are supported (e.g., a benchmark regex, -p k=1,16 -p rows=1000000 to run
+ * on custom shapes). Unless specified otherwise via -rf/-rff, results are
+ * written as JSON to systemml-benchmarks-[version].json in order to allow
+ * a machine-readable comparison across releases.
+ */
+public class BenchmarkRunner
+{
+	public static void main(String[] args) throws Exception {
+		CommandLineOptions cmd = new CommandLineOptions(args);
+		ChainedOptionsBuilder opts = new OptionsBuilder().parent(cmd);
+		if( !cmd.getResultFormat().hasValue() )
+			opts.resultFormat(ResultFormatType.JSON);
+		if( !cmd.getResult().hasValue() )
+			opts.result("systemml-benchmarks-"+getVersion()+".json");
+		new Runner(opts.build()).run();
+	}
+
+	private static String getVersion() {
+		String version = DMLScript.class.getPackage().getImplementationVersion();
+		return (version != null) ? version : "dev";
+	}
+}
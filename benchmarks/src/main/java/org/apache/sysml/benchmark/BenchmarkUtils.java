@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.benchmark;
+
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+
+/**
+ * Shared input generation for the matrix block microbenchmarks. All
+ * inputs are generated with fixed seeds in order to obtain comparable
+ * results across runs and releases.
+ */
+public class BenchmarkUtils
+{
+	public static final long SEED = 7;
+
+	public enum SparsityType {
+		DENSE,        //dense block
+		SPARSE,       //sparse block (MCSR/CSR)
+		ULTRA_SPARSE; //ultra-sparse, i.e., below the ultra-sparse turn point
+
+		public double getSparsity() {
+			switch( this ) {
+				case DENSE:        return 0.95;
+				case SPARSE:       return 0.05;
+				case ULTRA_SPARSE: return MatrixBlock.ULTRA_SPARSITY_TURN_POINT / 2;
+				default:
+					throw new RuntimeException("Unsupported sparsity type: "+this);
+			}
+		}
+	}
+
+	private BenchmarkUtils() {
+		//prevent instantiation via private constructor
+	}
+
+	public static MatrixBlock createMatrix(int rows, int cols, SparsityType type) {
+		return createMatrix(rows, cols, type.getSparsity(), -1, 1, SEED);
+	}
+
+	public static MatrixBlock createMatrix(int rows, int cols, double sparsity, double min, double max, long seed) {
+		MatrixBlock ret = MatrixBlock.randOperations(rows, cols, sparsity, min, max, "uniform", seed);
+		ret.examSparsity();
+		return ret;
+	}
+
+	public static MatrixBlock createIntegerMatrix(int rows, int cols, SparsityType type, int ndistinct) {
+		//rounded values to create ties for stable multi-column sorting
+		MatrixBlock ret = createMatrix(rows, cols, type.getSparsity(), 0, ndistinct, SEED);
+		double[][] tmp = DataConverter.convertToDoubleMatrix(ret);
+		for( int i=0; i<rows; i++ )
+			for( int j=0; j<cols; j++ )
+				tmp[i][j] = Math.round(tmp[i][j]);
+		ret = DataConverter.convertToMatrixBlock(tmp);
+		ret.examSparsity();
+		return ret;
+	}
+}
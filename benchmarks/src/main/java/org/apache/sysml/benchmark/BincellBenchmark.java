@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sysml.benchmark.BenchmarkUtils.SparsityType;
+import org.apache.sysml.runtime.instructions.InstructionUtils;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Microbenchmarks for cell-wise binary operations in LibMatrixBincell, i.e.,
+ * matrix-matrix, matrix-vector (row/column broadcasting), and matrix-scalar.
+ * All operations are invoked through the matrix block API in order to include
+ * the output sparsity estimation and allocation as done by CP instructions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g", "-Xms8g"})
+public class BincellBenchmark
+{
+	@Param({"100000"})
+	public int rows;
+
+	@Param({"1000"})
+	public int cols;
+
+	@Param({"DENSE", "SPARSE", "ULTRA_SPARSE"})
+	public SparsityType sparsity;
+
+	//sparsity of the right-hand side matrix for matrix-matrix operations
+	@Param({"DENSE", "SPARSE"})
+	public SparsityType rhsSparsity;
+
+	@Param({"*", "+", ">"})
+	public String opcode;
+
+	@Param({"1", "8"})
+	public int k;
+
+	private MatrixBlock _X;
+	private MatrixBlock _Y;
+	private MatrixBlock _colv;
+	private MatrixBlock _rowv;
+	private BinaryOperator _bop;
+	private ScalarOperator _sop;
+
+	@Setup
+	public void setup() {
+		_X = BenchmarkUtils.createMatrix(rows, cols, sparsity);
+		_Y = BenchmarkUtils.createMatrix(rows, cols, rhsSparsity);
+		_colv = BenchmarkUtils.createMatrix(rows, 1, SparsityType.DENSE);
+		_rowv = BenchmarkUtils.createMatrix(1, cols, SparsityType.DENSE);
+		_bop = InstructionUtils.parseBinaryOperator(opcode).setNumThreads(k);
+		_sop = InstructionUtils.parseScalarBinaryOperator(opcode, false, 0.5).setNumThreads(k);
+	}
+
+	@Benchmark
+	public MatrixBlock matrixMatrix() {
+		return (MatrixBlock) _X.binaryOperations(_bop, _Y, new MatrixBlock());
+	}
+
+	@Benchmark
+	public MatrixBlock matrixColVector() {
+		return (MatrixBlock) _X.binaryOperations(_bop, _colv, new MatrixBlock());
+	}
+
+	@Benchmark
+	public MatrixBlock matrixRowVector() {
+		return (MatrixBlock) _X.binaryOperations(_bop, _rowv, new MatrixBlock());
+	}
+
+	@Benchmark
+	public MatrixBlock matrixScalar() {
+		return (MatrixBlock) _X.scalarOperations(_sop, new MatrixBlock());
+	}
+}
@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sysml.benchmark.BenchmarkUtils.SparsityType;
+import org.apache.sysml.lops.MapMultChain.ChainType;
+import org.apache.sysml.runtime.matrix.data.LibMatrixMult;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Microbenchmarks for the matrix multiplication kernels in LibMatrixMult, i.e.,
+ * matrix-matrix/matrix-vector multiply, transpose-self (tsmm), and mmchain.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g", "-Xms8g"})
+public class MatrixMultBenchmark
+{
+	@Param({"10000"})
+	public int rows;
+
+	@Param({"1000"})
+	public int cols;
+
+	//number of columns of the right-hand side (1: matrix-vector)
+	@Param({"1", "100"})
+	public int rhsCols;
+
+	@Param({"DENSE", "SPARSE", "ULTRA_SPARSE"})
+	public SparsityType sparsity;
+
+	@Param({"1", "8"})
+	public int k;
+
+	private MatrixBlock _X;
+	private MatrixBlock _Y;
+	private MatrixBlock _v;
+	private MatrixBlock _w;
+
+	@Setup
+	public void setup() {
+		_X = BenchmarkUtils.createMatrix(rows, cols, sparsity);
+		_Y = BenchmarkUtils.createMatrix(cols, rhsCols, SparsityType.DENSE);
+		_v = BenchmarkUtils.createMatrix(cols, 1, SparsityType.DENSE);
+		_w = BenchmarkUtils.createMatrix(rows, 1, SparsityType.DENSE);
+	}
+
+	@Benchmark
+	public MatrixBlock matrixMult() {
+		MatrixBlock ret = new MatrixBlock(rows, rhsCols, false);
+		LibMatrixMult.matrixMult(_X, _Y, ret, k);
+		return ret;
+	}
+
+	@Benchmark
+	public MatrixBlock matrixMultTransposeSelfLeft() {
+		MatrixBlock ret = new MatrixBlock(cols, cols, false);
+		LibMatrixMult.matrixMultTransposeSelf(_X, ret, true, k);
+		return ret;
+	}
+
+	@Benchmark
+	public MatrixBlock matrixMultChainXtXv() {
+		MatrixBlock ret = new MatrixBlock(cols, 1, false);
+		LibMatrixMult.matrixMultChain(_X, _v, null, ret, ChainType.XtXv, k);
+		return ret;
+	}
+
+	@Benchmark
+	public MatrixBlock matrixMultChainXtwXv() {
+		MatrixBlock ret = new MatrixBlock(cols, 1, false);
+		LibMatrixMult.matrixMultChain(_X, _v, _w, ret, ChainType.XtwXv, k);
+		return ret;
+	}
+}
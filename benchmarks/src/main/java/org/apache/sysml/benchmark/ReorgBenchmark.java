@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sysml.benchmark.BenchmarkUtils.SparsityType;
+import org.apache.sysml.runtime.functionobjects.SortIndex;
+import org.apache.sysml.runtime.functionobjects.SwapIndex;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.ReorgOperator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Microbenchmarks for the reorg kernels in LibMatrixReorg, i.e., transpose
+ * and multi-column sort (order) with and without index return.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g", "-Xms8g"})
+public class ReorgBenchmark
+{
+	@Param({"100000"})
+	public int rows;
+
+	@Param({"1000"})
+	public int cols;
+
+	@Param({"DENSE", "SPARSE", "ULTRA_SPARSE"})
+	public SparsityType sparsity;
+
+	//number of rows of the sort input (sorted by its first two columns)
+	@Param({"1000000"})
+	public int sortRows;
+
+	@Param({"1", "8"})
+	public int k;
+
+	private MatrixBlock _X;
+	private MatrixBlock _S;
+	private ReorgOperator _top;
+	private ReorgOperator _sop;
+	private ReorgOperator _sixop;
+
+	@Setup
+	public void setup() {
+		_X = BenchmarkUtils.createMatrix(rows, cols, sparsity);
+		_S = BenchmarkUtils.createIntegerMatrix(sortRows, 3, sparsity, 100);
+		_top = new ReorgOperator(SwapIndex.getSwapIndexFnObject(), k);
+		_sop = new ReorgOperator(new SortIndex(new int[]{1,2}, false, false), k);
+		_sixop = new ReorgOperator(new SortIndex(new int[]{1,2}, false, true), k);
+	}
+
+	@Benchmark
+	public MatrixBlock transpose() {
+		return (MatrixBlock) _X.reorgOperations(_top, new MatrixBlock(), 0, 0, 0);
+	}
+
+	@Benchmark
+	public MatrixBlock sortData() {
+		return (MatrixBlock) _S.reorgOperations(_sop, new MatrixBlock(), 0, 0, 0);
+	}
+
+	@Benchmark
+	public MatrixBlock sortIndexes() {
+		return (MatrixBlock) _S.reorgOperations(_sixop, new MatrixBlock(), 0, 0, 0);
+	}
+}
@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.hadoop.io.Text;
+import org.apache.sysml.runtime.io.IOUtilFunctions;
+import org.apache.sysml.runtime.util.FastByteTokenizer;
+import org.apache.sysml.runtime.util.FastStringTokenizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Single-threaded microbenchmarks for parsing csv and text cell lines,
+ * comparing the string-based tokenization (split or FastStringTokenizer
+ * and Double.parseDouble) with the byte-level FastByteTokenizer. All
+ * benchmarks report parsed cells per second, i.e., the throughput per core.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-Xms4g"})
+public class TextParseBenchmark
+{
+	public enum ValueType {
+		RAND,    //random doubles w/ 17 significant digits
+		ROUND,   //doubles w/ few decimal digits
+		INTEGER, //integer values
+	}
+
+	//fixed shape, as the cells per invocation need to be constant
+	private static final int LINES = 10000;
+	private static final int COLS = 100;
+
+	@Param({"RAND", "ROUND", "INTEGER"})
+	public ValueType vtype;
+
+	private Text[] _csv;
+	private Text[] _cell;
+	private double[] _row;
+
+	@Setup
+	public void setup() {
+		Random rand = new Random(BenchmarkUtils.SEED);
+		_csv = new Text[LINES];
+		_cell = new Text[LINES * COLS];
+		StringBuilder sb = new StringBuilder();
+		for( int i=0; i<LINES; i++ ) {
+			sb.setLength(0);
+			for( int j=0; j<COLS; j++ ) {
+				String val = createValue(rand);
+				sb.append((j>0) ? "," : "").append(val);
+				_cell[i*COLS+j] = new Text((i+1)+" "+(j+1)+" "+val);
+			}
+			_csv[i] = new Text(sb.toString());
+		}
+		_row = new double[COLS];
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(LINES * COLS)
+	public double csvString() {
+		double sum = 0;
+		for( Text line : _csv ) {
+			String[] parts = IOUtilFunctions.split(line.toString().trim(), ",");
+			for( int j=0; j<parts.length; j++ ) {
+				String part = parts[j].trim();
+				_row[j] = part.isEmpty() ? 0 : Double.parseDouble(part);
+			}
+			sum += _row[0];
+		}
+		return sum;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(LINES * COLS)
+	public double csvBytes() {
+		double sum = 0;
+		FastByteTokenizer st = new FastByteTokenizer(",", true, false);
+		for( Text line : _csv ) {
+			st.reset(line);
+			for( int j=0; st.hasMoreTokens(); j++ )
+				_row[j] = st.next().isBlankToken() ? 0 : st.getDouble();
+			sum += _row[0];
+		}
+		return sum;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(LINES * COLS)
+	public double textCellString() {
+		double sum = 0;
+		FastStringTokenizer st = new FastStringTokenizer(' ');
+		for( Text line : _cell ) {
+			st.reset(line.toString());
+			sum += st.nextInt() + st.nextInt() + st.nextDouble();
+		}
+		return sum;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(LINES * COLS)
+	public double textCellBytes() {
+		double sum = 0;
+		FastByteTokenizer st = new FastByteTokenizer(' ');
+		for( Text line : _cell ) {
+			st.reset(line);
+			sum += st.nextInt() + st.nextInt() + st.nextDouble();
+		}
+		return sum;
+	}
+
+	private String createValue(Random rand) {
+		switch( vtype ) {
+			case RAND:    return String.valueOf(rand.nextDouble() * 1000 - 500);
+			case ROUND:   return String.valueOf(Math.round(rand.nextDouble() * 1e5) / 100d);
+			case INTEGER: return String.valueOf(rand.nextInt(100000));
+			default:
+				throw new RuntimeException("Unsupported value type: "+vtype);
+		}
+	}
+}
@@ -76,3 +76,13 @@ void tsmm(double* m1Ptr, double* retPtr, int m1rlen, int m1clen, bool leftTrans,
     cblas_dsyrk(CblasRowMajor, CblasUpper, leftTrans ? CblasTrans : CblasNoTrans, n, k, 1, m1Ptr, n, 0, retPtr, n);
   }
 }
+
+int dcholesky(double* aPtr, int n, int numThreads) {
+  setNumThreadsForBLAS(numThreads);
+  return (int) LAPACKE_dpotrf(LAPACK_ROW_MAJOR, 'L', n, aPtr, n);
+}
+
+int dlu(double* aPtr, int* ipivPtr, int n, int numThreads) {
+  setNumThreadsForBLAS(numThreads);
+  return (int) LAPACKE_dgetrf(LAPACK_ROW_MAJOR, n, n, aPtr, n, ipivPtr);
+}
@@ -46,6 +46,7 @@
   extern "C" void mkl_set_num_threads(int numThreads);
 #else
   #include <cblas.h>
+  #include <lapacke.h>
   extern "C" void openblas_set_num_threads(int numThreads);
 #endif
 
@@ -58,4 +59,12 @@ void smatmult(float* m1Ptr, float* m2Ptr, float* retPtr, int m, int k, int n, in
 
 void tsmm(double* m1Ptr, double* retPtr, int m1rlen, int m1clen, bool isLeftTrans, int numThreads);
 
+// Computes the in-place Cholesky factorization (lower) of the row-major matrix aPtr
+// of shape (n, n), and returns the LAPACK info code
+int dcholesky(double* aPtr, int n, int numThreads);
+
+// Computes the in-place LU factorization with partial pivoting of the row-major 
+// matrix aPtr of shape (n, n), and returns the LAPACK info code
+int dlu(double* aPtr, int* ipivPtr, int n, int numThreads);
+
 #endif
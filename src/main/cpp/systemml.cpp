@@ -122,6 +122,37 @@ JNIEXPORT jboolean JNICALL Java_org_apache_sysml_utils_NativeHelper_tsmm
   return (jboolean) true;
 }
 
+JNIEXPORT jint JNICALL Java_org_apache_sysml_utils_NativeHelper_dpotrf
+  (JNIEnv * env, jclass cls, jdoubleArray a, jint n, jint numThreads) {
+  double* aPtr = GET_DOUBLE_ARRAY(env, a, numThreads);
+  if(aPtr == NULL)
+  	return (jint) -1;
+  
+  int info = dcholesky(aPtr, (int)n, (int)numThreads);
+  
+  RELEASE_ARRAY(env, a, aPtr, numThreads);
+  return (jint) info;
+}
+
+JNIEXPORT jint JNICALL Java_org_apache_sysml_utils_NativeHelper_dgetrf
+  (JNIEnv * env, jclass cls, jdoubleArray a, jintArray ipiv, jint n, jint numThreads) {
+  double* aPtr = GET_DOUBLE_ARRAY(env, a, numThreads);
+  if(aPtr == NULL)
+  	return (jint) -1;
+  int* ipivPtr = ((int*)env->GetPrimitiveArrayCritical(ipiv, NULL));
+  if(ipivPtr == NULL) {
+  	// release the already pinned input (unmodified) before returning
+  	RELEASE_INPUT_ARRAY(env, a, aPtr, numThreads);
+  	return (jint) -1;
+  }
+
+  int info = dlu(aPtr, ipivPtr, (int)n, (int)numThreads);
+  
+  env->ReleasePrimitiveArrayCritical(ipiv, ipivPtr, 0);
+  RELEASE_ARRAY(env, a, aPtr, numThreads);
+  return (jint) info;
+}
+
 JNIEXPORT jboolean JNICALL Java_org_apache_sysml_utils_NativeHelper_conv2dSparse
   (JNIEnv * env, jclass, jint apos, jint alen, jintArray aix, jdoubleArray avals, jdoubleArray filter,
     jdoubleArray ret, jint N, jint C, jint H, jint W, jint K, jint R, jint S,
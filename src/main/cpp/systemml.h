@@ -48,6 +48,22 @@ JNIEXPORT jboolean JNICALL Java_org_apache_sysml_utils_NativeHelper_smmdd
 JNIEXPORT jboolean JNICALL Java_org_apache_sysml_utils_NativeHelper_tsmm
   (JNIEnv *, jclass, jdoubleArray, jdoubleArray, jint, jint, jboolean, jint);
 
+/*
+ * Class:     org_apache_sysml_utils_NativeHelper
+ * Method:    dpotrf
+ * Signature: ([DII)I
+ */
+JNIEXPORT jint JNICALL Java_org_apache_sysml_utils_NativeHelper_dpotrf
+  (JNIEnv *, jclass, jdoubleArray, jint, jint);
+
+/*
+ * Class:     org_apache_sysml_utils_NativeHelper
+ * Method:    dgetrf
+ * Signature: ([D[III)I
+ */
+JNIEXPORT jint JNICALL Java_org_apache_sysml_utils_NativeHelper_dgetrf
+  (JNIEnv *, jclass, jdoubleArray, jintArray, jint, jint);
+
 /*
  * Class:     org_apache_sysml_utils_NativeHelper
  * Method:    conv2dDense
@@ -77,6 +77,8 @@ import org.apache.sysml.runtime.controlprogram.parfor.util.IDHandler;
 import org.apache.sysml.runtime.instructions.gpu.context.GPUContext;
 import org.apache.sysml.runtime.instructions.gpu.context.GPUContextPool;
 import org.apache.sysml.runtime.io.IOUtilFunctions;
+import org.apache.sysml.runtime.lineage.LineageCache;
+import org.apache.sysml.runtime.lineage.LineageCacheConfig;
 import org.apache.sysml.runtime.matrix.CleanupMR;
 import org.apache.sysml.runtime.matrix.mapred.MRConfigurationNames;
 import org.apache.sysml.runtime.matrix.mapred.MRJobConfiguration;
@@ -439,6 +441,13 @@ public class DMLScript
 		CacheableData.CACHING_BUFFER_SIZE = dmlconf.getDoubleValue(DMLConfig.CACHING_BUFFER_SIZE);
 		if(CacheableData.CACHING_BUFFER_SIZE < 0 || CacheableData.CACHING_BUFFER_SIZE > 1) 
 			throw new RuntimeException("Incorrect value (" + CacheableData.CACHING_BUFFER_SIZE + ") for the configuration " + DMLConfig.CACHING_BUFFER_SIZE);
+		double offHeapThreshold = dmlconf.getDoubleValue(DMLConfig.CACHING_OFFHEAP_THRESHOLD);
+		CacheableData.CACHING_BUFFER_OFFHEAP_THRESHOLD = (offHeapThreshold < 0) ? -1 : (long)(offHeapThreshold * 1024 * 1024);
+		CacheableData.CACHING_ASYNC_EVICTION = dmlconf.getBooleanValue(DMLConfig.CACHING_ASYNC_EVICTION);
+		CacheableData.CACHING_BUFFER_COMPRESSION = dmlconf.getBooleanValue(DMLConfig.CACHING_COMPRESS_BUFFER);
+		LineageCacheConfig.setConfig(dmlconf.getTextValue(DMLConfig.LINEAGE),
+			dmlconf.getDoubleValue(DMLConfig.LINEAGE_CACHE_SIZE));
+		LineageCache.resetCache();
 				
 		NativeHelper.initialize(dmlconf.getTextValue(DMLConfig.NATIVE_BLAS_DIR), dmlconf.getTextValue(DMLConfig.NATIVE_BLAS).trim());
 		
@@ -81,7 +81,15 @@ public class DMLConfig
 	public static final String CODEGEN_OPTIMIZER    = "sysml.codegen.optimizer"; //see SpoofCompiler.PlanSelector
 	public static final String CODEGEN_PLANCACHE    = "sysml.codegen.plancache"; //boolean
 	public static final String CODEGEN_LITERALS     = "sysml.codegen.literals"; //1..heuristic, 2..always
+	public static final String CODEGEN_CLASSCACHE   = "sysml.codegen.classcache"; //directory or none
+	public static final String CODEGEN_CLASSCACHE_SIZE = "sysml.codegen.classcache.size"; //in MB
 	public static final String CACHING_BUFFER_SIZE 	= "sysml.caching.bufferSize"; //double: default:0.15
+	public static final String CACHING_OFFHEAP_THRESHOLD = "sysml.caching.offHeapThreshold"; //double: min size in MB, default:-1 (disabled)
+	public static final String CACHING_ASYNC_EVICTION = "sysml.caching.asyncEviction"; //boolean
+	public static final String CACHING_COMPRESS_BUFFER = "sysml.caching.compressBuffer"; //boolean
+	public static final String SPARK_COMPRESS_BROADCAST = "sysml.spark.compressBroadcast"; //boolean
+	public static final String LINEAGE              = "sysml.lineage"; //none, trace, full, partial, hybrid
+	public static final String LINEAGE_CACHE_SIZE   = "sysml.lineage.cacheSize"; //double: fraction of heap, default:0.05
 	public static final String EXTRA_FINEGRAINED_STATS = "sysml.stats.finegrained"; //boolean
 	public static final String STATS_MAX_WRAP_LEN   = "sysml.stats.maxWrapLength"; //int
 	public static final String AVAILABLE_GPUS       = "sysml.gpu.availableGPUs"; // String to specify which GPUs to use (a range, all GPUs, comma separated list or a specific GPU)
@@ -137,6 +145,8 @@ public class DMLConfig
 		_defaultVals.put(CODEGEN_OPTIMIZER,      PlanSelector.FUSE_COST_BASED_V2.name() );
 		_defaultVals.put(CODEGEN_PLANCACHE,      "true" );
 		_defaultVals.put(CODEGEN_LITERALS,       "1" );
+		_defaultVals.put(CODEGEN_CLASSCACHE,     "none" );
+		_defaultVals.put(CODEGEN_CLASSCACHE_SIZE, "64" );
 		_defaultVals.put(NATIVE_BLAS,            "none" );
 		_defaultVals.put(NATIVE_BLAS_DIR,        "none" );
 		_defaultVals.put(EXTRA_FINEGRAINED_STATS,"false" );
@@ -150,6 +160,12 @@ public class DMLConfig
 		_defaultVals.put(GPU_EVICTION_POLICY,    "min_evict");
 		_defaultVals.put(SYNCHRONIZE_GPU,        "false" );
 		_defaultVals.put(CACHING_BUFFER_SIZE,    "0.15" );
+		_defaultVals.put(CACHING_OFFHEAP_THRESHOLD, "-1" );
+		_defaultVals.put(CACHING_ASYNC_EVICTION, "true" );
+		_defaultVals.put(CACHING_COMPRESS_BUFFER, "false" );
+		_defaultVals.put(SPARK_COMPRESS_BROADCAST, "false" );
+		_defaultVals.put(LINEAGE,                "none" );
+		_defaultVals.put(LINEAGE_CACHE_SIZE,     "0.05" );
 		_defaultVals.put(EAGER_CUDA_FREE,        "false" );
 		_defaultVals.put(FORCE_LSTM_CUDNN,		 "true" );
 		_defaultVals.put(GPU_RECOMPUTE_ACTIVATIONS, "false" );
@@ -433,8 +449,9 @@ public class DMLConfig
 				YARN_APPMASTER, YARN_APPMASTERMEM, YARN_MAPREDUCEMEM, 
 				CP_PARALLEL_OPS, CP_PARALLEL_IO, NATIVE_BLAS, NATIVE_BLAS_DIR,
 				COMPRESSED_LINALG, 
-				CODEGEN, CODEGEN_COMPILER, CODEGEN_OPTIMIZER, CODEGEN_PLANCACHE, CODEGEN_LITERALS, GPU_FORCE_MEMSET_ZERO,
-				EXTRA_FINEGRAINED_STATS, STATS_MAX_WRAP_LEN, PRINT_GPU_MEMORY_INFO, CACHING_BUFFER_SIZE,
+				CODEGEN, CODEGEN_COMPILER, CODEGEN_OPTIMIZER, CODEGEN_PLANCACHE, CODEGEN_LITERALS, CODEGEN_CLASSCACHE, CODEGEN_CLASSCACHE_SIZE, GPU_FORCE_MEMSET_ZERO,
+				EXTRA_FINEGRAINED_STATS, STATS_MAX_WRAP_LEN, PRINT_GPU_MEMORY_INFO, CACHING_BUFFER_SIZE, CACHING_OFFHEAP_THRESHOLD, CACHING_ASYNC_EVICTION, CACHING_COMPRESS_BUFFER, SPARK_COMPRESS_BROADCAST,
+				LINEAGE, LINEAGE_CACHE_SIZE,
 				AVAILABLE_GPUS, SYNCHRONIZE_GPU, EAGER_CUDA_FREE, FLOATING_POINT_PRECISION, GPU_EVICTION_POLICY, EVICTION_SHADOW_BUFFERSIZE,
 				GPU_MEMORY_ALLOCATOR, GPU_MEMORY_UTILIZATION_FACTOR, GPU_RECOMPUTE_ACTIVATIONS, FORCE_LSTM_CUDNN
 		}; 
@@ -254,7 +254,8 @@ public class FunctionOp extends MultiThreadedHop
 		//construct function call
 		int numThreads = 0;
 		if(getFunctionType() == FunctionType.MULTIRETURN_BUILTIN && isBuiltinFunction() && et == ExecType.CP &&
-				(getFunctionName().equalsIgnoreCase("lstm") || getFunctionName().equalsIgnoreCase("lstm_backward"))) {
+				(getFunctionName().equalsIgnoreCase("lstm") || getFunctionName().equalsIgnoreCase("lstm_backward")
+				|| getFunctionName().equalsIgnoreCase("lu"))) {
 			numThreads = OptimizerUtils.getConstrainedNumThreads(_maxNumThreads);
 		}
 		
@@ -492,6 +492,13 @@ public class SpoofCompiler
 			CompilerType.JANINO : CompilerType.JAVAC;
 	}
 	
+	public static void setConfiguredClassCache() {
+		DMLConfig conf = ConfigurationManager.getDMLConfig();
+		String dir = conf.getTextValue(DMLConfig.CODEGEN_CLASSCACHE);
+		long size = (long)conf.getIntValue(DMLConfig.CODEGEN_CLASSCACHE_SIZE) * 1024 * 1024;
+		CodegenUtils.setClassCache(dir.equalsIgnoreCase("none") ? null : dir, size);
+	}
+	
 	////////////////////
 	// Codegen plan construction
 	
@@ -78,8 +78,13 @@ public class Transform extends Lop
 	}
 	
 	public Transform(Lop[] inputs, Transform.OperationTypes op, DataType dt, ValueType vt, ExecType et, boolean bSortIndInMem) {
+		this(inputs, op, dt, vt, et, bSortIndInMem, 1);
+	}
+	
+	public Transform(Lop[] inputs, Transform.OperationTypes op, DataType dt, ValueType vt, ExecType et, boolean bSortIndInMem, int k) {
 		super(Lop.Type.Transform, dt, vt);
 		_bSortIndInMem = bSortIndInMem;
+		_numThreads = k;
 		init(inputs, op, dt, vt, et);
 	}
 	
@@ -221,6 +226,11 @@ public class Transform extends Lop
 			sb.append( _bSortIndInMem );
 		}
 		
+		if( getExecType()==ExecType.CP && operation == OperationTypes.Sort ) {
+			sb.append( OPERAND_DELIMITOR );
+			sb.append( _numThreads );
+		}
+		
 		return sb.toString();
 	}
 	
@@ -243,6 +243,15 @@ public class ParForStatementBlock extends ForStatementBlock
 					else //default case
 						params.put(key, _paramDefaults.get(key));
 				}
+			
+			//in-memory data partitions are only accessible by local workers
+			String mode = params.get(EXEC_MODE);
+			if( params.get(DATA_PARTITIONER).equalsIgnoreCase(PDataPartitioner.LOCAL_MEM.name())
+				&& !mode.equalsIgnoreCase(PExecMode.LOCAL.name())
+				&& !mode.equalsIgnoreCase(PExecMode.UNSPECIFIED.name()) ) {
+				raiseValidateError("PARFOR: The data partitioner '"+PDataPartitioner.LOCAL_MEM.name()
+					+"' is only supported with mode="+PExecMode.LOCAL.name()+" (but found mode="+mode+").", false);
+			}
 		}
 		else {
 			//set all defaults
@@ -98,6 +98,7 @@ public abstract class Statement implements ParseInfo
 	}
 	public static final String PS_HYPER_PARAMS = "hyperparams";
 	public static final String PS_CHECKPOINTING = "checkpointing";
+	public static final String PS_SHARDS = "shards";
 	public enum PSCheckpointing {
 		NONE, EPOCH, EPOCH10
 	}
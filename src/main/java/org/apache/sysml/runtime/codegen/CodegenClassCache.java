@@ -0,0 +1,249 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.codegen;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Persistent, content-addressed cache of compiled codegen classes, which
+ * allows to reuse the class files of generated operators across JVM
+ * processes (e.g., short-lived JMLC or batch jobs), and thus avoid repeated
+ * janino or javac compilation. Entries are keyed by a SHA-256 hash of the
+ * canonicalized generated source code (i.e., with class and variable names
+ * renamed in order of appearance) and the SystemML and Java versions, and
+ * stored as individual class files in a shared local directory. Since the
+ * generated names depend on the compilation order, the cached classes use
+ * content-addressed class names as well. New entries are written to a
+ * temporary file and atomically renamed, which makes the cache safe for
+ * concurrent processes.
+ * <p>
+ * If the maximum size is exceeded, we evict the least-recently-used
+ * entries (according to their last-modified times, which are updated on
+ * cache hits) until the cache is below 75% of its maximum size.
+ */
+public class CodegenClassCache
+{
+	private static final Log LOG = LogFactory.getLog(CodegenClassCache.class.getName());
+
+	private static final String FILE_SUFFIX = ".class";
+	private static final String CLASS_PLACEHOLDER = "%CLASS%";
+	private static final Pattern VARNAME = Pattern.compile("\\bTMP[0-9]+\\b");
+	private static final double EVICTION_TARGET = 0.75;
+
+	private final File _dir;
+	private final long _maxSize; //in bytes
+	private long _size = -1;     //lazily computed, in bytes
+
+	public CodegenClassCache(String dir, long maxSize) {
+		_dir = new File(dir);
+		_maxSize = maxSize;
+		if( !_dir.exists() )
+			_dir.mkdirs();
+	}
+
+	public String getDirectory() {
+		return _dir.getAbsolutePath();
+	}
+
+	public long getMaxSize() {
+		return _maxSize;
+	}
+
+	/**
+	 * Canonicalizes the given generated source code by replacing the class name
+	 * with a placeholder and renaming all generated variables in order of their
+	 * first appearance.
+	 *
+	 * @param src generated java source code
+	 * @param className simple name of the generated class
+	 * @return canonicalized source code
+	 */
+	public static String canonicalize(String src, String className) {
+		HashMap<String, String> names = new HashMap<>();
+		names.put(className, CLASS_PLACEHOLDER);
+		Matcher m = VARNAME.matcher(src);
+		StringBuffer sb = new StringBuffer(src.length());
+		while( m.find() ) {
+			String name = names.get(m.group());
+			if( name == null )
+				names.put(m.group(), name = "TMPV"+(names.size()-1));
+			m.appendReplacement(sb, Matcher.quoteReplacement(name));
+		}
+		m.appendTail(sb);
+		return sb.toString();
+	}
+
+	public static String getClassName(String key) {
+		return "TMPC" + key.substring(0, 32);
+	}
+
+	public static String setClassName(String csrc, String className) {
+		return csrc.replace(CLASS_PLACEHOLDER, className);
+	}
+
+	/**
+	 * Obtains the content-addressed key of the given canonicalized source code.
+	 *
+	 * @param src canonicalized java source code
+	 * @return hex-encoded hash key
+	 */
+	public static String createKey(String src) {
+		try {
+			MessageDigest md = MessageDigest.getInstance("SHA-256");
+			md.update(src.getBytes(StandardCharsets.UTF_8));
+			md.update(String.valueOf(CodegenClassCache.class
+				.getPackage().getImplementationVersion()).getBytes(StandardCharsets.UTF_8));
+			md.update(System.getProperty("java.specification.version").getBytes(StandardCharsets.UTF_8));
+			StringBuilder sb = new StringBuilder();
+			for( byte b : md.digest() )
+				sb.append(String.format("%02x", b));
+			return sb.toString();
+		}
+		catch(NoSuchAlgorithmException ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+
+	/**
+	 * Reads the class file of the given key, if available.
+	 *
+	 * @param key content-addressed key
+	 * @return class file bytes, or null if not cached
+	 */
+	public byte[] getClassBytes(String key) {
+		File f = getFile(key);
+		if( !f.exists() )
+			return null;
+		try {
+			byte[] ret = Files.readAllBytes(f.toPath());
+			f.setLastModified(System.currentTimeMillis()); //maintain LRU order
+			return ret;
+		}
+		catch(IOException ex) {
+			//concurrently evicted or corrupted entry
+			LOG.debug("Failed to read cached class "+f.getName()+": "+ex.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * Writes the class file of the given key and evicts least-recently-used
+	 * entries if the maximum size is exceeded. Errors are only logged as the
+	 * persistent cache is a pure optimization.
+	 *
+	 * @param key content-addressed key
+	 * @param classBytes class file bytes
+	 */
+	public synchronized void putClassBytes(String key, byte[] classBytes) {
+		if( classBytes == null || classBytes.length > _maxSize )
+			return;
+		File f = getFile(key);
+		File ftmp = new File(_dir, key+"."+UUID.randomUUID()+".tmp");
+		long size = getSize() - (f.exists() ? f.length() : 0);
+		try {
+			Files.write(ftmp.toPath(), classBytes);
+			Files.move(ftmp.toPath(), f.toPath(),
+				StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			_size = size + classBytes.length;
+		}
+		catch(IOException ex) {
+			LOG.warn("Failed to write class to persistent codegen cache: "+ex.getMessage());
+			ftmp.delete();
+			return;
+		}
+		if( _size > _maxSize )
+			evict((long)(EVICTION_TARGET * _maxSize), f);
+	}
+
+	/**
+	 * Removes the entry of the given key, e.g., if the class file cannot be loaded.
+	 *
+	 * @param key content-addressed key
+	 */
+	public synchronized void removeClassBytes(String key) {
+		File f = getFile(key);
+		long len = f.length();
+		if( f.delete() && _size >= 0 )
+			_size -= len;
+	}
+
+	public synchronized long getSize() {
+		if( _size < 0 ) {
+			_size = 0;
+			for( File f : listEntries() )
+				_size += f.length();
+		}
+		return _size;
+	}
+
+	public synchronized void clear() {
+		for( File f : listEntries() )
+			f.delete();
+		_size = 0;
+	}
+
+	private void evict(long targetSize, File retain) {
+		//recompute the size from disk because other processes might
+		//have added or evicted entries since our last scan
+		File[] entries = listEntries();
+		long[] lastMod = new long[entries.length];
+		Integer[] ix = new Integer[entries.length];
+		long size = 0;
+		for( int i=0; i<entries.length; i++ ) {
+			lastMod[i] = entries[i].lastModified();
+			ix[i] = i;
+			size += entries[i].length();
+		}
+		Arrays.sort(ix, Comparator.comparingLong(i -> lastMod[i]));
+		for( int i=0; i<ix.length && size > targetSize; i++ ) {
+			File f = entries[ix[i]];
+			if( f.equals(retain) )
+				continue;
+			long len = f.length();
+			if( f.delete() )
+				size -= len;
+		}
+		_size = size;
+	}
+
+	private File getFile(String key) {
+		return new File(_dir, key + FILE_SUFFIX);
+	}
+
+	private File[] listEntries() {
+		File[] ret = _dir.listFiles((d, name) -> name.endsWith(FILE_SUFFIX));
+		return (ret != null) ? ret : new File[0];
+	}
+}
@@ -22,7 +22,9 @@ package org.apache.sysml.runtime.codegen;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.StringReader;
 import java.net.URL;
+import java.nio.file.Files;
 import java.net.URLClassLoader;
 import java.util.Arrays;
 import java.util.Iterator;
@@ -52,7 +54,13 @@ import org.apache.sysml.runtime.io.IOUtilFunctions;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.util.LocalFileUtils;
 import org.apache.sysml.utils.Statistics;
+import org.codehaus.janino.ClassLoaderIClassLoader;
+import org.codehaus.janino.Java;
+import org.codehaus.janino.Parser;
+import org.codehaus.janino.Scanner;
 import org.codehaus.janino.SimpleCompiler;
+import org.codehaus.janino.UnitCompiler;
+import org.codehaus.janino.util.ClassFile;
 
 public class CodegenUtils 
 {
@@ -67,6 +75,9 @@ public class CodegenUtils
 	//javac-specific working directory for src/class files
 	private static String _workingDir = null;
 	
+	//persistent cache to reuse compiled classes across processes (optional)
+	private static volatile CodegenClassCache _pcache = null;
+	
 	public static Class<?> compileClass(String name, String src) {
 		//reuse existing compiled class
 		Class<?> ret = _cache.get(name);
@@ -75,8 +86,12 @@ public class CodegenUtils
 		
 		long t0 = ConfigurationManager.isStatistics() ? System.nanoTime() : 0;
 		
-		//compile java source w/ specific compiler
-		if( SpoofCompiler.JAVA_COMPILER == CompilerType.JANINO )
+		//compile java source w/ specific compiler, or obtain
+		//the compiled class from the persistent class cache
+		CodegenClassCache pcache = _pcache;
+		if( pcache != null )
+			ret = compileClassCached(pcache, name, src);
+		else if( SpoofCompiler.JAVA_COMPILER == CompilerType.JANINO )
 			ret = compileClassJanino(name, src);
 		else
 			ret = compileClassJavac(name, src);
@@ -85,13 +100,34 @@ public class CodegenUtils
 		_cache.put(name, ret);
 		
 		if( ConfigurationManager.isStatistics() ) {
-			Statistics.incrementCodegenClassCompile();
+			if( pcache == null )
+				Statistics.incrementCodegenClassCompile();
 			Statistics.incrementCodegenClassCompileTime(System.nanoTime()-t0);
 		}
 		
 		return ret;
 	}
 	
+	/**
+	 * Configures the persistent class cache, which is consulted
+	 * before compiling generated classes.
+	 * 
+	 * @param dir cache directory, or null to disable the cache
+	 * @param maxSize maximum cache size in bytes
+	 */
+	public static synchronized void setClassCache(String dir, long maxSize) {
+		CodegenClassCache pcache = _pcache;
+		if( dir == null )
+			_pcache = null;
+		else if( pcache == null || !pcache.getDirectory().equals(new File(dir).getAbsolutePath())
+			|| pcache.getMaxSize() != maxSize )
+			_pcache = new CodegenClassCache(dir, maxSize);
+	}
+	
+	public static CodegenClassCache getClassCache() {
+		return _pcache;
+	}
+	
 	public static Class<?> getClass(String name) {
 		return getClass(name, null);
 	}
@@ -164,6 +200,64 @@ public class CodegenUtils
 		return (ret.mdat != null) ? new SideInputSparseCell(ret) : ret;
 	}
 	
+	private static Class<?> compileClassCached(CodegenClassCache pcache, String name, String src) {
+		//canonicalize the generated source code (independent of the generated
+		//class and variable names) and derive a content-addressed class name
+		String pkg = name.substring(0, name.lastIndexOf('.')+1);
+		String csrc = CodegenClassCache.canonicalize(src, name.substring(pkg.length()));
+		String key = CodegenClassCache.createKey(csrc);
+		String cname = pkg + CodegenClassCache.getClassName(key);
+		csrc = CodegenClassCache.setClassName(csrc, CodegenClassCache.getClassName(key));
+		
+		//reuse existing class of equivalent operator
+		Class<?> ret = _cache.get(cname);
+		
+		//probe persistent class cache
+		if( ret == null )
+			ret = loadFromClassCache(pcache, key, cname, csrc);
+		if( ConfigurationManager.isStatistics() ) {
+			if( ret != null )
+				Statistics.incrementCodegenClassCacheHits();
+			Statistics.incrementCodegenClassCacheTotal();
+		}
+		
+		//compile java source w/ specific compiler and persist class file
+		if( ret == null ) {
+			if( SpoofCompiler.JAVA_COMPILER == CompilerType.JANINO )
+				ret = compileClassJaninoBytes(cname, csrc, pcache, key);
+			else {
+				ret = compileClassJavac(cname, csrc);
+				pcache.putClassBytes(key, getClassAsByteArray(cname));
+			}
+			if( ConfigurationManager.isStatistics() )
+				Statistics.incrementCodegenClassCompile();
+		}
+		
+		_cache.put(cname, ret);
+		return ret;
+	}
+	
+	private static Class<?> loadFromClassCache(CodegenClassCache pcache, String key, String name, String src) {
+		byte[] classBytes = pcache.getClassBytes(key);
+		if( classBytes == null )
+			return null;
+		try {
+			Class<?> ret = loadFromClassFile(name, classBytes);
+			//keep source code for later re-construction (see getClassData)
+			if( SpoofCompiler.JAVA_COMPILER == CompilerType.JANINO )
+				_src.put(name, src);
+			else
+				writeClassFile(name, classBytes);
+			return ret;
+		}
+		catch(Throwable ex) {
+			//e.g., corrupted or incompatible class file
+			LOG.warn("Failed to load class "+name+" from persistent codegen cache: "+ex.getMessage());
+			pcache.removeClassBytes(key);
+			return null;
+		}
+	}
+	
 	////////////////////////////
 	//JANINO-specific methods (used for spark environments)
 
@@ -186,6 +280,30 @@ public class CodegenUtils
 		}
 	}	
 	
+	private static Class<?> compileClassJaninoBytes(String name, String src, CodegenClassCache pcache, String key) {
+		try {
+			//compile source code into class files (instead of directly into a
+			//class loader as in compileClassJanino to obtain the byte code)
+			Java.CompilationUnit cu = new Parser(new Scanner(null, new StringReader(src))).parseCompilationUnit();
+			ClassFile[] cfs = new UnitCompiler(cu, new ClassLoaderIClassLoader(
+				CodegenUtils.class.getClassLoader())).compileUnit(false, false, false);
+			if( cfs.length != 1 ) //generated operators are single top-level classes
+				throw new RuntimeException("Unexpected number of class files: "+cfs.length);
+			byte[] classBytes = cfs[0].toByteArray();
+			
+			//keep source code for later re-construction and class file for reuse
+			_src.put(name, src);
+			pcache.putClassBytes(key, classBytes);
+			
+			//load compiled class
+			return loadFromClassFile(name, classBytes);
+		}
+		catch(Exception ex) {
+			LOG.error("Failed to compile class "+name+": \n"+src);
+			throw new DMLRuntimeException("Failed to compile class "+name+".", ex);
+		}
+	}
+	
 	////////////////////////////
 	//JAVAC-specific methods (used for hadoop environments)
 
@@ -300,6 +418,16 @@ public class CodegenUtils
 		}
 	}
 	
+	private static void writeClassFile(String name, byte[] classBytes) throws IOException {
+		//materialize cached class file for getClassAsByteArray
+		if( _workingDir == null )
+			createWorkingDir();
+		File fclass = new File(_workingDir+"/"+name.replace(".", "/")+".class");
+		if( !fclass.getParentFile().exists() )
+			fclass.getParentFile().mkdirs();
+		Files.write(fclass.toPath(), classBytes);
+	}
+	
 	private static void createWorkingDir() {
 		if( _workingDir != null )
 			return;
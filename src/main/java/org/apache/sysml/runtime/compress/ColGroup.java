@@ -29,7 +29,9 @@ import java.util.List;
 import org.apache.sysml.runtime.matrix.data.IJV;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
 import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysml.runtime.matrix.operators.UnaryOperator;
 
 /**
  * Class that stores information about a column group within a compressed matrix
@@ -252,6 +254,18 @@ public abstract class ColGroup implements Serializable
 	public abstract void rightMultByVector(MatrixBlock vector,
 			MatrixBlock result, int rl, int ru);
 
+	/**
+	 * Multiply the slice of the matrix that this column group represents by a
+	 * dense matrix on the right, and add the result to the output.
+	 * 
+	 * @param b dense right-hand side matrix (row-major, clen x ncol)
+	 * @param c dense output matrix (row-major, rlen x ncol)
+	 * @param ncol number of columns of the right-hand side and output
+	 * @param rl row lower index, inclusive
+	 * @param ru row upper index, exclusive
+	 */
+	public abstract void rightMultByMatrix(double[] b, double[] c, int ncol, int rl, int ru);
+
 
 	/**
 	 * Multiply the slice of the matrix that this column group represents by a
@@ -273,6 +287,25 @@ public abstract class ColGroup implements Serializable
 	 */
 	public abstract ColGroup scalarOperation(ScalarOperator op);
 
+	/**
+	 * Perform the specified cell-wise unary operation (e.g., exp, abs)
+	 * directly on this column group.
+	 * 
+	 * @param op operation to perform
+	 * @return version of this column group with the operation applied
+	 */
+	public abstract ColGroup unaryOperation(UnaryOperator op);
+
+	/**
+	 * Perform the specified cell-wise binary operation (incl relational
+	 * operations) with a row vector directly on this column group.
+	 * 
+	 * @param op operation to perform
+	 * @param v dense row vector over all columns of the parent block
+	 * @return version of this column group with the operation applied
+	 */
+	public abstract ColGroup binaryRowOperation(BinaryOperator op, double[] v);
+
 	public abstract void unaryAggregateOperations(AggregateUnaryOperator op, MatrixBlock result);
 	
 	/**
@@ -30,8 +30,11 @@ import org.apache.sysml.runtime.functionobjects.KahanFunction;
 import org.apache.sysml.runtime.functionobjects.KahanPlus;
 import org.apache.sysml.runtime.instructions.cp.KahanObject;
 import org.apache.sysml.runtime.matrix.data.DenseBlock;
+import org.apache.sysml.runtime.matrix.data.LibMatrixMult;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
 import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysml.runtime.matrix.operators.UnaryOperator;
 
 /**
  * Class to encapsulate information about a column group that is encoded with
@@ -246,6 +249,13 @@ public class ColGroupDDC1 extends ColGroupDDC
 			rnnz[i-rl] += counts[_data[i]&0xFF];
 	}
 	
+	@Override
+	public void rightMultByPreAggMatrix(double[] preAgg, double[] c, int ncol, int rl, int ru) {
+		//iterative over codes and add pre-aggregated rows to output
+		for( int i=rl, cix=rl*ncol; i<ru; i++, cix+=ncol )
+			LibMatrixMult.vectAdd(preAgg, c, (_data[i]&0xFF)*ncol, cix, ncol);
+	}
+	
 	@Override
 	public void rightMultByVector(MatrixBlock vector, MatrixBlock result, int rl, int ru) 
 	{
@@ -418,4 +428,16 @@ public class ColGroupDDC1 extends ColGroupDDC
 		//as zero are represented, it is sufficient to simply apply the scalar op
 		return new ColGroupDDC1(_colIndexes, _numRows, applyScalarOp(op), _data);
 	}
+
+	@Override
+	public ColGroup unaryOperation(UnaryOperator op) {
+		//zeros are represented, so we simply apply the op to the values
+		return new ColGroupDDC1(_colIndexes, _numRows, applyUnaryOp(op, false), _data);
+	}
+	
+	@Override
+	public ColGroup binaryRowOperation(BinaryOperator op, double[] v) {
+		//zeros are represented, so we simply apply the op to the values
+		return new ColGroupDDC1(_colIndexes, _numRows, applyBinaryRowOp(op, v, false), _data);
+	}
 }
@@ -31,8 +31,11 @@ import org.apache.sysml.runtime.functionobjects.KahanFunction;
 import org.apache.sysml.runtime.functionobjects.KahanPlus;
 import org.apache.sysml.runtime.instructions.cp.KahanObject;
 import org.apache.sysml.runtime.matrix.data.DenseBlock;
+import org.apache.sysml.runtime.matrix.data.LibMatrixMult;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
 import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysml.runtime.matrix.operators.UnaryOperator;
 
 /**
  * Class to encapsulate information about a column group that is encoded with
@@ -268,30 +271,92 @@ public class ColGroupOLE extends ColGroupOffset
 		//fast path: sparse-safe operations
 		// Note that bitmaps don't change and are shallow-copied
 		if( op.sparseSafe || val0==0 ) {
-			return new ColGroupOLE(_colIndexes, _numRows, _zeros, 
+			return new ColGroupOLE(_colIndexes, _numRows, _zeros,
 					applyScalarOp(op), _data, _ptr);
 		}
 		
 		//slow path: sparse-unsafe operations (potentially create new bitmap)
 		//note: for efficiency, we currently don't drop values that become 0
+		return appendZeroTuple(applyScalarOp(op, val0, getNumCols()));
+	}
+	
+	@Override
+	public ColGroup unaryOperation(UnaryOperator op)
+	{
+		//fast path: sparse-safe operations
+		if( op.sparseSafe || op.fn.execute(0)==0 ) {
+			return new ColGroupOLE(_colIndexes, _numRows, _zeros,
+					applyUnaryOp(op, false), _data, _ptr);
+		}
+		
+		//slow path: sparse-unsafe operations (potentially create new bitmap)
+		return appendZeroTuple(applyUnaryOp(op, true));
+	}
+	
+	@Override
+	public ColGroup binaryRowOperation(BinaryOperator op, double[] v)
+	{
+		//fast path: operations that map the zero tuple to zeros
+		if( isSparseSafeBinaryRowOp(op, v) ) {
+			return new ColGroupOLE(_colIndexes, _numRows, _zeros,
+					applyBinaryRowOp(op, v, false), _data, _ptr);
+		}
+		
+		//slow path: sparse-unsafe operations (potentially create new bitmap)
+		return appendZeroTuple(applyBinaryRowOp(op, v, true));
+	}
+	
+	/**
+	 * Creates a new column group of the given values, whose last value tuple
+	 * (i.e., the result for the zero tuple) is assigned to all rows that are
+	 * not covered by the existing bitmaps. Since afterwards all rows are covered,
+	 * the new column group does not contain any zero rows.
+	 * 
+	 * @param rvalues transformed values, incl appended zero tuple
+	 * @return new column group
+	 */
+	private ColGroup appendZeroTuple(double[] rvalues) {
 		boolean[] lind = computeZeroIndicatorVector();
 		int[] loff = computeOffsets(lind);
 		if( loff.length==0 ) { //empty offset list: go back to fast path
-			return new ColGroupOLE(_colIndexes, _numRows, true,
-					applyScalarOp(op), _data, _ptr);
+			return new ColGroupOLE(_colIndexes, _numRows, false,
+					Arrays.copyOf(rvalues, _values.length), _data, _ptr);
 		}
 		
-		double[] rvalues = applyScalarOp(op, val0, getNumCols());
 		char[] lbitmap = BitmapEncoder.genOffsetBitmap(loff, loff.length);
 		char[] rbitmaps = Arrays.copyOf(_data, _data.length+lbitmap.length);
 		System.arraycopy(lbitmap, 0, rbitmaps, _data.length, lbitmap.length);
 		int[] rbitmapOffs = Arrays.copyOf(_ptr, _ptr.length+1);
 		rbitmapOffs[rbitmapOffs.length-1] = rbitmaps.length;
 		
-		return new ColGroupOLE(_colIndexes, _numRows, loff.length<_numRows,
+		return new ColGroupOLE(_colIndexes, _numRows, false,
 				rvalues, rbitmaps, rbitmapOffs);
 	}
 
+	@Override
+	public void rightMultByPreAggMatrix(double[] preAgg, double[] c, int ncol, int rl, int ru)
+	{
+		final int blksz = BitmapEncoder.BITMAP_BLOCK_SZ;
+		final int numVals = getNumValues();
+		
+		//step 1: prepare position array (rl aligned with blksz)
+		int[] apos = skipScan(numVals, rl);
+		
+		//step 2: scatter pre-aggregated rows via offset lists
+		for (int k = 0; k < numVals; k++) {
+			int boff = _ptr[k];
+			int blen = len(k);
+			int aoff = k * ncol;
+			for( int ii=rl, bix=apos[k]; ii<ru && bix<blen; ii+=blksz ) {
+				int len = _data[boff+bix];
+				int pos = boff+bix+1;
+				for( int i=pos; i<pos+len; i++ )
+					LibMatrixMult.vectAdd(preAgg, c, aoff, (ii+_data[i])*ncol, ncol);
+				bix += len + 1;
+			}
+		}
+	}
+	
 	@Override
 	public void rightMultByVector(MatrixBlock vector, MatrixBlock result, int rl, int ru)
 	{
@@ -31,9 +31,12 @@ import org.apache.sysml.runtime.functionobjects.KahanFunction;
 import org.apache.sysml.runtime.functionobjects.KahanPlus;
 import org.apache.sysml.runtime.instructions.cp.KahanObject;
 import org.apache.sysml.runtime.matrix.data.DenseBlock;
+import org.apache.sysml.runtime.matrix.data.LibMatrixMult;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.Pair;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
 import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysml.runtime.matrix.operators.UnaryOperator;
 
 
 /** A group of columns compressed with a single run-length encoded bitmap. */
@@ -264,6 +267,37 @@ public class ColGroupRLE extends ColGroupOffset
 		return counts;
 	}
 	
+	@Override
+	public void rightMultByPreAggMatrix(double[] preAgg, double[] c, int ncol, int rl, int ru)
+	{
+		final int numVals = getNumValues();
+		
+		//step 1: prepare position arrays (rl aligned with blksz)
+		int[] astart = new int[numVals];
+		int[] apos = skipScan(numVals, rl, astart);
+		
+		//step 2: scatter pre-aggregated rows via runs, not aligned
+		for (int k = 0; k < numVals; k++) {
+			int boff = _ptr[k];
+			int blen = len(k);
+			int aoff = k * ncol;
+			int bix = apos[k];
+			int start = astart[k];
+			while( bix<blen ) {
+				int lstart = _data[boff + bix];
+				int llen = _data[boff + bix + 1];
+				int from = Math.max(rl, start+lstart);
+				int to = Math.min(start+lstart+llen, ru);
+				for( int i=from, cix=from*ncol; i<to; i++, cix+=ncol )
+					LibMatrixMult.vectAdd(preAgg, c, aoff, cix, ncol);
+				if(start+lstart+llen >= ru)
+					break;
+				start += lstart + llen;
+				bix += 2;
+			}
+		}
+	}
+	
 	@Override
 	public void rightMultByVector(MatrixBlock vector, MatrixBlock result, int rl, int ru)
 	{
@@ -480,21 +514,59 @@ public class ColGroupRLE extends ColGroupOffset
 		
 		//slow path: sparse-unsafe operations (potentially create new bitmap)
 		//note: for efficiency, we currently don't drop values that become 0
+		return appendZeroTuple(applyScalarOp(op, val0, getNumCols()));
+	}
+	
+	@Override
+	public ColGroup unaryOperation(UnaryOperator op)
+	{
+		//fast path: sparse-safe operations
+		if( op.sparseSafe || op.fn.execute(0)==0 ) {
+			return new ColGroupRLE(_colIndexes, _numRows, _zeros,
+					applyUnaryOp(op, false), _data, _ptr);
+		}
+		
+		//slow path: sparse-unsafe operations (potentially create new bitmap)
+		return appendZeroTuple(applyUnaryOp(op, true));
+	}
+	
+	@Override
+	public ColGroup binaryRowOperation(BinaryOperator op, double[] v)
+	{
+		//fast path: operations that map the zero tuple to zeros
+		if( isSparseSafeBinaryRowOp(op, v) ) {
+			return new ColGroupRLE(_colIndexes, _numRows, _zeros,
+					applyBinaryRowOp(op, v, false), _data, _ptr);
+		}
+		
+		//slow path: sparse-unsafe operations (potentially create new bitmap)
+		return appendZeroTuple(applyBinaryRowOp(op, v, true));
+	}
+	
+	/**
+	 * Creates a new column group of the given values, whose last value tuple
+	 * (i.e., the result for the zero tuple) is assigned to all rows that are
+	 * not covered by the existing bitmaps. Since afterwards all rows are covered,
+	 * the new column group does not contain any zero rows.
+	 * 
+	 * @param rvalues transformed values, incl appended zero tuple
+	 * @return new column group
+	 */
+	private ColGroup appendZeroTuple(double[] rvalues) {
 		boolean[] lind = computeZeroIndicatorVector();
 		int[] loff = computeOffsets(lind);
 		if( loff.length==0 ) { //empty offset list: go back to fast path
-			return new ColGroupRLE(_colIndexes, _numRows, true,
-					applyScalarOp(op), _data, _ptr);
+			return new ColGroupRLE(_colIndexes, _numRows, false,
+					Arrays.copyOf(rvalues, _values.length), _data, _ptr);
 		}
 		
-		double[] rvalues = applyScalarOp(op, val0, getNumCols());
 		char[] lbitmap = BitmapEncoder.genRLEBitmap(loff, loff.length);
 		char[] rbitmaps = Arrays.copyOf(_data, _data.length+lbitmap.length);
 		System.arraycopy(lbitmap, 0, rbitmaps, _data.length, lbitmap.length);
 		int[] rbitmapOffs = Arrays.copyOf(_ptr, _ptr.length+1);
-		rbitmapOffs[rbitmapOffs.length-1] = rbitmaps.length; 
+		rbitmapOffs[rbitmapOffs.length-1] = rbitmaps.length;
 		
-		return new ColGroupRLE(_colIndexes, _numRows, loff.length<_numRows,
+		return new ColGroupRLE(_colIndexes, _numRows, false,
 				rvalues, rbitmaps, rbitmapOffs);
 	}
 
@@ -28,6 +28,7 @@ import java.util.Iterator;
 import java.util.List;
 
 import org.apache.sysml.runtime.functionobjects.ReduceRow;
+import org.apache.sysml.runtime.matrix.data.DenseBlock;
 import org.apache.sysml.runtime.matrix.data.IJV;
 import org.apache.sysml.runtime.matrix.data.LibMatrixAgg;
 import org.apache.sysml.runtime.matrix.data.LibMatrixMult;
@@ -35,7 +36,9 @@ import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.SparseBlock;
 import org.apache.sysml.runtime.matrix.data.SparseBlock.Type;
 import org.apache.sysml.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
 import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysml.runtime.matrix.operators.UnaryOperator;
 import org.apache.sysml.runtime.util.SortUtils;
 
 
@@ -282,6 +285,36 @@ public class ColGroupUncompressed extends ColGroup
 		LibMatrixMult.matrixMult(_data, shortVector, result, rl, ru);	
 	}
 	
+	@Override
+	public void rightMultByMatrix(double[] b, double[] c, int ncol, int rl, int ru) {
+		if( _data.isEmptyBlock(false) )
+			return;
+		
+		// Multiply the selected columns by the relevant rows of the matrix
+		if( _data.isInSparseFormat() ) {
+			SparseBlock a = _data.getSparseBlock();
+			for( int i=rl, cix=rl*ncol; i<ru; i++, cix+=ncol ) {
+				if( a.isEmpty(i) ) continue;
+				int apos = a.pos(i);
+				int alen = a.size(i);
+				int[] aix = a.indexes(i);
+				double[] avals = a.values(i);
+				for( int j=apos; j<apos+alen; j++ )
+					LibMatrixMult.vectMultiplyAdd(avals[j], b, c, _colIndexes[aix[j]]*ncol, cix, ncol);
+			}
+		}
+		else {
+			DenseBlock a = _data.getDenseBlock();
+			for( int i=rl, cix=rl*ncol; i<ru; i++, cix+=ncol ) {
+				double[] avals = a.values(i);
+				int aix = a.pos(i);
+				for( int j=0; j<_colIndexes.length; j++ )
+					if( avals[aix+j] != 0 )
+						LibMatrixMult.vectMultiplyAdd(avals[aix+j], b, c, _colIndexes[j]*ncol, cix, ncol);
+			}
+		}
+	}
+	
 	public void rightMultByVector(MatrixBlock vector, MatrixBlock result, int k) {
 		// Pull out the relevant rows of the vector
 		int clen = _colIndexes.length;
@@ -335,6 +368,28 @@ public class ColGroupUncompressed extends ColGroup
 		return new ColGroupUncompressed(getColIndices(), _data.getNumRows(), retContent);
 	}
 	
+	@Override
+	public ColGroup unaryOperation(UnaryOperator op) {
+		//execute unary operations
+		MatrixBlock retContent = (MatrixBlock) _data
+			.unaryOperations(op, new MatrixBlock());
+		//construct new uncompressed column group
+		return new ColGroupUncompressed(getColIndices(), _data.getNumRows(), retContent);
+	}
+	
+	@Override
+	public ColGroup binaryRowOperation(BinaryOperator op, double[] v) {
+		//project row vector to columns of this group
+		MatrixBlock vect = new MatrixBlock(1, _colIndexes.length, false);
+		for( int j=0; j<_colIndexes.length; j++ )
+			vect.quickSetValue(0, j, v[_colIndexes[j]]);
+		//execute binary operations
+		MatrixBlock retContent = (MatrixBlock) _data
+			.binaryOperations(op, vect, new MatrixBlock());
+		//construct new uncompressed column group
+		return new ColGroupUncompressed(getColIndices(), _data.getNumRows(), retContent);
+	}
+	
 	@Override
 	public void unaryAggregateOperations(AggregateUnaryOperator op, MatrixBlock ret) {
 		//execute unary aggregate operations
@@ -26,10 +26,13 @@ import org.apache.sysml.runtime.functionobjects.Builtin.BuiltinCode;
 import org.apache.sysml.runtime.functionobjects.KahanFunction;
 import org.apache.sysml.runtime.functionobjects.KahanPlus;
 import org.apache.sysml.runtime.instructions.cp.KahanObject;
+import org.apache.sysml.runtime.matrix.data.LibMatrixMult;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.Pair;
 import org.apache.sysml.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
 import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysml.runtime.matrix.operators.UnaryOperator;
 
 
 /**
@@ -265,6 +268,46 @@ public abstract class ColGroupValue extends ColGroup
 		return ret;
 	}
 	
+	/**
+	 * Pre-aggregates all value tuples with the rows of the given dense
+	 * matrix, which correspond to the columns of this column group.
+	 * 
+	 * @param b dense right-hand side matrix (row-major, clen x ncol)
+	 * @param ncol number of columns of the right-hand side
+	 * @return pre-aggregated values (row-major, numVals x ncol)
+	 */
+	public final double[] preaggMatrixValues(double[] b, int ncol) {
+		final int numVals = getNumValues();
+		final int numCols = getNumCols();
+		double[] ret = new double[numVals * ncol];
+		for( int k = 0, valOff = 0; k < numVals; k++, valOff += numCols )
+			for( int j = 0; j < numCols; j++ ) {
+				double val = _values[valOff+j];
+				if( val != 0 )
+					LibMatrixMult.vectMultiplyAdd(val, b, ret, _colIndexes[j]*ncol, k*ncol, ncol);
+			}
+		return ret;
+	}
+	
+	@Override
+	public void rightMultByMatrix(double[] b, double[] c, int ncol, int rl, int ru) {
+		rightMultByPreAggMatrix(preaggMatrixValues(b, ncol), c, ncol, rl, ru);
+	}
+	
+	/**
+	 * Multiply the slice of the matrix that this column group represents by a
+	 * dense matrix on the right, given the pre-aggregated value tuples, and add
+	 * the result to the output. This allows to pre-aggregate the values once
+	 * for multi-threaded operations over row partitions.
+	 * 
+	 * @param preAgg pre-aggregated values (row-major, numVals x ncol)
+	 * @param c dense output matrix (row-major, rlen x ncol)
+	 * @param ncol number of columns of the output
+	 * @param rl row lower index, inclusive
+	 * @param ru row upper index, exclusive
+	 */
+	public abstract void rightMultByPreAggMatrix(double[] preAgg, double[] c, int ncol, int rl, int ru);
+	
 	/**
 	 * NOTE: Shared across OLE/RLE/DDC because value-only computation. 
 	 * 
@@ -357,6 +400,67 @@ public abstract class ColGroupValue extends ColGroup
 		return ret;
 	}
 	
+	/**
+	 * Method for use by subclasses. Applies a unary operation to the value
+	 * metadata stored in the superclass.
+	 * 
+	 * @param op
+	 *            unary operation to perform
+	 * @param inclZeros
+	 *            if true, append the result of the zero tuple as new value tuple
+	 * @return transformed copy of value metadata for this column group
+	 */
+	protected double[] applyUnaryOp(UnaryOperator op, boolean inclZeros) {
+		final int numCols = getNumCols();
+		double[] ret = new double[_values.length + (inclZeros ? numCols : 0)];
+		for( int i = 0; i < _values.length; i++ )
+			ret[i] = op.fn.execute(_values[i]);
+		
+		//add new value to the end
+		if( inclZeros )
+			Arrays.fill(ret, _values.length, ret.length, op.fn.execute(0));
+		
+		return ret;
+	}
+	
+	/**
+	 * Method for use by subclasses. Applies a binary operation with a row
+	 * vector to the value metadata stored in the superclass.
+	 * 
+	 * @param op
+	 *            binary operation to perform
+	 * @param v
+	 *            dense row vector over all columns of the parent block
+	 * @param inclZeros
+	 *            if true, append the result of the zero tuple as new value tuple
+	 * @return transformed copy of value metadata for this column group
+	 */
+	protected double[] applyBinaryRowOp(BinaryOperator op, double[] v, boolean inclZeros) {
+		final int numCols = getNumCols();
+		double[] ret = new double[_values.length + (inclZeros ? numCols : 0)];
+		for( int off = 0; off < ret.length; off += numCols )
+			for( int j = 0; j < numCols; j++ ) {
+				double val = (off < _values.length) ? _values[off+j] : 0;
+				ret[off+j] = op.fn.execute(val, v[_colIndexes[j]]);
+			}
+		return ret;
+	}
+	
+	/**
+	 * Indicates if the given binary operation with a row vector maps the
+	 * zero tuple of this column group again to zeros.
+	 * 
+	 * @param op binary operation
+	 * @param v dense row vector over all columns of the parent block
+	 * @return true if the zero tuple remains all zeros
+	 */
+	protected boolean isSparseSafeBinaryRowOp(BinaryOperator op, double[] v) {
+		for( int j = 0; j < _colIndexes.length; j++ )
+			if( op.fn.execute(0, v[_colIndexes[j]]) != 0 )
+				return false;
+		return true;
+	}
+	
 	@Override
 	public void unaryAggregateOperations(AggregateUnaryOperator op, MatrixBlock result) {
 		unaryAggregateOperations(op, result, 0, getNumRows());
@@ -69,6 +69,7 @@ import org.apache.sysml.runtime.instructions.cp.KahanObject;
 import org.apache.sysml.runtime.instructions.cp.ScalarObject;
 import org.apache.sysml.runtime.matrix.data.CTableMap;
 import org.apache.sysml.runtime.matrix.data.IJV;
+import org.apache.sysml.runtime.matrix.data.LibMatrixAgg;
 import org.apache.sysml.runtime.matrix.data.LibMatrixBincell;
 import org.apache.sysml.runtime.matrix.data.LibMatrixReorg;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
@@ -93,6 +94,7 @@ import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
 import org.apache.sysml.runtime.matrix.operators.TernaryOperator;
 import org.apache.sysml.runtime.matrix.operators.UnaryOperator;
 import org.apache.sysml.runtime.util.CommonThreadPool;
+import org.apache.sysml.runtime.util.DataConverter;
 import org.apache.sysml.runtime.util.IndexRange;
 import org.apache.sysml.runtime.util.SortUtils;
 
@@ -264,36 +266,7 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		CompressedSizeInfo[] sizeInfos = (k > 1) ?
 				computeCompressedSizeInfos(bitmapSizeEstimator, numCols, k) : 
 				computeCompressedSizeInfos(bitmapSizeEstimator, numCols);
-		long nnzUC = 0;
-		for (int col = 0; col < numCols; col++)  {
-			double uncompSize = getUncompressedSize(numRows, 1, 
-				OptimizerUtils.getSparsity(numRows, 1, sizeInfos[col].getEstNnz()));
-			double compRatio = uncompSize / sizeInfos[col].getMinSize();
-			if( compRatio > 1 ) {
-				colsC.add(col);
-				compRatios.put(col, compRatio);
-			}
-			else {
-				colsUC.add(col); 
-				nnzUC += sizeInfos[col].getEstNnz();
-			}
-		}
-		
-		// correction of column classification (reevaluate dense estimates if necessary)
-		boolean sparseUC = MatrixBlock.evalSparseFormatInMemory(numRows, colsUC.size(), nnzUC);
-		if( !sparseUC && !colsUC.isEmpty() ) {
-			for( int i=0; i<colsUC.size(); i++ ) {
-				int col = colsUC.get(i);
-				double uncompSize = getUncompressedSize(numRows, 1, 1.0);
-				double compRatio = uncompSize / sizeInfos[col].getMinSize();
-				if( compRatio > 1 ) {
-					colsC.add(col);
-					colsUC.remove(i); i--;
-					compRatios.put(col, compRatio);
-					nnzUC -= sizeInfos[col].getEstNnz();
-				}
-			}
-		}
+		long nnzUC = classifyColumns(sizeInfos, numRows, colsC, colsUC, compRatios);
 		
 		if( LOG.isTraceEnabled() ) {
 			LOG.trace("C: "+Arrays.toString(colsC.toArray(new Integer[0])));
@@ -403,6 +376,28 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		return this;
 	}
 
+	/**
+	 * Initializes this block with externally constructed column groups
+	 * (e.g., by streaming compression), including the best-effort dictionary
+	 * sharing for DDC1 single-col groups.
+	 *
+	 * @param colGroups list of column groups covering all columns
+	 * @param nnz number of non-zeros
+	 */
+	void initColGroups(List<ColGroup> colGroups, long nnz) {
+		allocateColGroupList();
+		_colGroups.addAll(colGroups);
+		double[] dict = createSharedDDC1Dictionary(_colGroups);
+		if( dict != null ) {
+			applySharedDDC1Dictionary(_colGroups, dict);
+			_sharedDDC1Dict = true;
+		}
+		nonZeros = nnz;
+		_stats = new CompressionStatistics();
+		_stats.size = estimateCompressedSizeInMemory();
+		_stats.ratio= estimateSizeInMemory() / _stats.size;
+	}
+
 	public CompressionStatistics getCompressionStatistics() {
 		return _stats;
 	}
@@ -423,14 +418,63 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		return ret;
 	}
 	
-	private static CompressedSizeInfo[] computeCompressedSizeInfos(CompressedSizeEstimator estim, int clen) {
+	/**
+	 * Classify columns according to ratio (size uncompressed / size compressed),
+	 * where a column is compressible if ratio &gt; 1.
+	 * 
+	 * @param sizeInfos size estimates per column
+	 * @param numRows number of rows
+	 * @param colsC output list of compressible columns
+	 * @param colsUC output list of incompressible columns
+	 * @param compRatios output map of compression ratios of compressible columns
+	 * @return estimated number of non-zeros of incompressible columns
+	 */
+	static long classifyColumns(CompressedSizeInfo[] sizeInfos, int numRows, 
+		List<Integer> colsC, List<Integer> colsUC, HashMap<Integer, Double> compRatios)
+	{
+		long nnzUC = 0;
+		int numCols = sizeInfos.length;
+		for (int col = 0; col < numCols; col++)  {
+			double uncompSize = getUncompressedSize(numRows, 1, 
+				OptimizerUtils.getSparsity(numRows, 1, sizeInfos[col].getEstNnz()));
+			double compRatio = uncompSize / sizeInfos[col].getMinSize();
+			if( compRatio > 1 ) {
+				colsC.add(col);
+				compRatios.put(col, compRatio);
+			}
+			else {
+				colsUC.add(col); 
+				nnzUC += sizeInfos[col].getEstNnz();
+			}
+		}
+		
+		// correction of column classification (reevaluate dense estimates if necessary)
+		boolean sparseUC = MatrixBlock.evalSparseFormatInMemory(numRows, colsUC.size(), nnzUC);
+		if( !sparseUC && !colsUC.isEmpty() ) {
+			for( int i=0; i<colsUC.size(); i++ ) {
+				int col = colsUC.get(i);
+				double uncompSize = getUncompressedSize(numRows, 1, 1.0);
+				double compRatio = uncompSize / sizeInfos[col].getMinSize();
+				if( compRatio > 1 ) {
+					colsC.add(col);
+					colsUC.remove(i); i--;
+					compRatios.put(col, compRatio);
+					nnzUC -= sizeInfos[col].getEstNnz();
+				}
+			}
+		}
+		
+		return nnzUC;
+	}
+	
+	static CompressedSizeInfo[] computeCompressedSizeInfos(CompressedSizeEstimator estim, int clen) {
 		CompressedSizeInfo[] ret = new CompressedSizeInfo[clen];
 		for( int col=0; col<clen; col++ )
 			ret[col] = estim.estimateCompressedColGroupSize(new int[] { col });
 		return ret;
 	}
 
-	private static CompressedSizeInfo[] computeCompressedSizeInfos(CompressedSizeEstimator estim, int clen, int k) 
+	static CompressedSizeInfo[] computeCompressedSizeInfos(CompressedSizeEstimator estim, int clen, int k) 
 	{
 		try {
 			ExecutorService pool = CommonThreadPool.get(k);
@@ -552,7 +596,7 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 	 * @param sparsity the sparsity
 	 * @return estimate of uncompressed size of column group
 	 */
-	private static double getUncompressedSize(int rlen, int clen, double sparsity) {
+	static double getUncompressedSize(int rlen, int clen, double sparsity) {
 		//we estimate the uncompressed size as the minimum of dense representation
 		//and representation in csr, which moderately overestimates sparse representations
 		//of single columns but helps avoid anomalies with sparse columns that are
@@ -950,13 +994,7 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		}
 		
 		//allocate the output matrix block
-		CompressedMatrixBlock ret = null;
-		if( result==null || !(result instanceof CompressedMatrixBlock) )
-			ret = new CompressedMatrixBlock(getNumRows(), getNumColumns(), sparse);
-		else {
-			ret = (CompressedMatrixBlock) result;
-			ret.reset(rlen, clen);
-		}
+		CompressedMatrixBlock ret = allocateCompressedOutput(result);
 		
 		// Apply the operation recursively to each of the column groups.
 		// Most implementations will only modify metadata.
@@ -1145,35 +1183,42 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 					((CompressedMatrixBlock)that).decompress() : that;
 			}
 			
-			//transpose for sequential repeated column access 
-			if( right ) {
-				that = LibMatrixReorg.transpose(that, new MatrixBlock(that.getNumColumns(),
-					that.getNumRows(), that.isInSparseFormat()), op.getNumThreads());
+			//compressed MM right w/ pre-aggregated value tuples
+			if( right && (long)rl*cl < Integer.MAX_VALUE
+				&& (long)that.getNumRows()*cl < Integer.MAX_VALUE ) {
+				rightMultByMatrix(that, ret, op.getNumThreads());
 			}
+			else {
+				//transpose for sequential repeated column access 
+				if( right ) {
+					that = LibMatrixReorg.transpose(that, new MatrixBlock(that.getNumColumns(),
+						that.getNumRows(), that.isInSparseFormat()), op.getNumThreads());
+				}
 			
-			MatrixBlock tmpIn = new MatrixBlock(1, that.getNumColumns(), false).allocateBlock();
-			MatrixBlock tmpOut = new MatrixBlock(right?rl:1, right?1:cl, false).allocateBlock();
-			if( right ) { //MM right
-				for(int i=0; i<that.getNumRows(); i++) { //on transpose
-					tmpIn = that.slice(i, i, 0, that.getNumColumns()-1, tmpIn);
-					MatrixBlock tmpIn2 = LibMatrixReorg.transpose(tmpIn, //meta data op
-						new MatrixBlock(tmpIn.getNumColumns(), tmpIn.getNumRows(), false));
-					tmpOut.reset(tmpOut.getNumRows(), tmpOut.getNumColumns());
-					if( op.getNumThreads()>1 )
-						rightMultByVector(tmpIn2, tmpOut, op.getNumThreads());
-					else
-						rightMultByVector(tmpIn2, tmpOut);
-					ret.leftIndexingOperations(tmpOut, 0, ret.getNumRows()-1, i, i, ret, UpdateType.INPLACE);
+				MatrixBlock tmpIn = new MatrixBlock(1, that.getNumColumns(), false).allocateBlock();
+				MatrixBlock tmpOut = new MatrixBlock(right?rl:1, right?1:cl, false).allocateBlock();
+				if( right ) { //MM right
+					for(int i=0; i<that.getNumRows(); i++) { //on transpose
+						tmpIn = that.slice(i, i, 0, that.getNumColumns()-1, tmpIn);
+						MatrixBlock tmpIn2 = LibMatrixReorg.transpose(tmpIn, //meta data op
+							new MatrixBlock(tmpIn.getNumColumns(), tmpIn.getNumRows(), false));
+						tmpOut.reset(tmpOut.getNumRows(), tmpOut.getNumColumns());
+						if( op.getNumThreads()>1 )
+							rightMultByVector(tmpIn2, tmpOut, op.getNumThreads());
+						else
+							rightMultByVector(tmpIn2, tmpOut);
+						ret.leftIndexingOperations(tmpOut, 0, ret.getNumRows()-1, i, i, ret, UpdateType.INPLACE);
+					}
 				}
-			}
-			else { // MM left
-				for(int i=0; i<that.getNumRows(); i++) {
-					tmpIn = that.slice(i, i, 0, that.getNumColumns()-1, tmpIn);
-					if( op.getNumThreads()>1 )
-						leftMultByVectorTranspose(_colGroups, tmpIn, tmpOut, false, op.getNumThreads());
-					else
-						leftMultByVectorTranspose(_colGroups, tmpIn, tmpOut, false, true);
-					ret.leftIndexingOperations(tmpOut, i, i, 0, ret.getNumColumns()-1, ret, UpdateType.INPLACE);
+				else { // MM left
+					for(int i=0; i<that.getNumRows(); i++) {
+						tmpIn = that.slice(i, i, 0, that.getNumColumns()-1, tmpIn);
+						if( op.getNumThreads()>1 )
+							leftMultByVectorTranspose(_colGroups, tmpIn, tmpOut, false, op.getNumThreads());
+						else
+							leftMultByVectorTranspose(_colGroups, tmpIn, tmpOut, false, true);
+						ret.leftIndexingOperations(tmpOut, i, i, 0, ret.getNumColumns()-1, ret, UpdateType.INPLACE);
+					}
 				}
 			}
 		}
@@ -1226,8 +1271,9 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		MatrixBlock ret = (MatrixBlock) result;
 		ret.allocateDenseBlock();
 		
-		//special handling init value for rowmins/rowmax
-		if( op.indexFn instanceof ReduceCol && op.aggOp.increOp.fn instanceof Builtin ) {
+		//special handling init value for min/max and rowmins/rowmax
+		if( (op.indexFn instanceof ReduceCol || op.indexFn instanceof ReduceAll)
+			&& op.aggOp.increOp.fn instanceof Builtin ) {
 			double val = (((Builtin)op.aggOp.increOp.fn).getBuiltinCode()==BuiltinCode.MAX) ?
 				Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
 			ret.getDenseBlock().set(val);
@@ -1517,6 +1563,85 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		}
 	}
 	
+	/**
+	 * Multiply this matrix block by a dense matrix on the right. We pre-aggregate
+	 * the value tuples of each column group with the relevant rows of the
+	 * right-hand side once, and then scatter these pre-aggregated rows into
+	 * the output via the DDC codes or OLE/RLE offsets.
+	 * 
+	 * @param that right-hand side matrix
+	 * @param result matrix block result
+	 * @param k number of threads
+	 */
+	private void rightMultByMatrix(MatrixBlock that, MatrixBlock result, int k)
+	{
+		// initialize and allocate the result
+		result.allocateDenseBlock();
+		if( that.isEmptyBlock(false) ) {
+			result.setNonZeros(0);
+			return;
+		}
+		
+		// prepare dense right-hand side
+		if( that.isInSparseFormat() ) {
+			MatrixBlock tmp = new MatrixBlock();
+			tmp.copy(that, false);
+			that = tmp;
+		}
+		double[] b = that.getDenseBlockValues();
+		double[] c = result.getDenseBlockValues();
+		int ncol = that.getNumColumns();
+		
+		// pre-aggregate value tuples once per column group
+		double[][] preAgg = new double[_colGroups.size()][];
+		for( int i=0; i<_colGroups.size(); i++ )
+			if( _colGroups.get(i) instanceof ColGroupValue )
+				preAgg[i] = ((ColGroupValue)_colGroups.get(i)).preaggMatrixValues(b, ncol);
+		
+		if( k <= 1 ) {
+			rightMultByMatrix(_colGroups, preAgg, b, c, ncol, 0, rlen);
+			result.recomputeNonZeros();
+			return;
+		}
+		
+		//multi-threaded execution over aligned row partitions
+		try {
+			ExecutorService pool = CommonThreadPool.get(k);
+			int blklen = BitmapEncoder.getAlignedBlocksize(
+				(int)(Math.ceil((double)rlen/k)));
+			ArrayList<RightMatrixMatrixMultTask> tasks = new ArrayList<>();
+			for( int i=0; i<k & i*blklen<rlen; i++ )
+				tasks.add(new RightMatrixMatrixMultTask(_colGroups, preAgg,
+					b, result, i*blklen, Math.min((i+1)*blklen,rlen)));
+			List<Future<Long>> ret = pool.invokeAll(tasks);
+			pool.shutdown();
+			
+			//error handling and nnz aggregation
+			long lnnz = 0;
+			for( Future<Long> tmp : ret )
+				lnnz += tmp.get();
+			result.setNonZeros(lnnz);
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+	
+	private static void rightMultByMatrix(ArrayList<ColGroup> groups, double[][] preAgg, double[] b, double[] c, int ncol, int rl, int ru)
+	{
+		ColGroupValue.setupThreadLocalMemory(getMaxNumValues(groups));
+		
+		//process all groups (adds to output)
+		for( int i=0; i<groups.size(); i++ ) {
+			if( preAgg[i] != null )
+				((ColGroupValue)groups.get(i)).rightMultByPreAggMatrix(preAgg[i], c, ncol, rl, ru);
+			else
+				groups.get(i).rightMultByMatrix(b, c, ncol, rl, ru);
+		}
+		
+		ColGroupValue.cleanupThreadLocalMemory();
+	}
+	
 	private static void rightMultByVector(ArrayList<ColGroup> groups, MatrixBlock vect, MatrixBlock ret, boolean inclUC, int rl, int ru) 
 	{
 		ColGroupValue.setupThreadLocalMemory(getMaxNumValues(groups));
@@ -1807,6 +1932,32 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		}
 	}
 	
+	private static class RightMatrixMatrixMultTask implements Callable<Long> 
+	{
+		private final ArrayList<ColGroup> _groups;
+		private final double[][] _preAgg;
+		private final double[] _b;
+		private final MatrixBlock _ret;
+		private final int _rl;
+		private final int _ru;
+		
+		protected RightMatrixMatrixMultTask( ArrayList<ColGroup> groups, double[][] preAgg, double[] b, MatrixBlock ret, int rl, int ru)  {
+			_groups = groups;
+			_preAgg = preAgg;
+			_b = b;
+			_ret = ret;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Long call() {
+			int ncol = _ret.getNumColumns();
+			rightMultByMatrix(_groups, _preAgg, _b, _ret.getDenseBlockValues(), ncol, _rl, _ru);
+			return _ret.recomputeNonZeros(_rl, _ru-1, 0, ncol-1);
+		}
+	}
+	
 	private static class MatrixMultTransposeTask implements Callable<Object> 
 	{
 		private final ArrayList<ColGroup> _groups;
@@ -1945,6 +2096,17 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 	
 	@Override
 	public MatrixValue unaryOperations(UnaryOperator op, MatrixValue result) {
+		//compressed cell-wise unary operations
+		if( isCompressed() && !LibMatrixAgg.isSupportedUnaryOperator(op) ) {
+			CompressedMatrixBlock ret = allocateCompressedOutput(result);
+			ArrayList<ColGroup> newColGroups = new ArrayList<>();
+			for (ColGroup grp : _colGroups)
+				newColGroups.add(grp.unaryOperation(op));
+			ret._colGroups = newColGroups;
+			ret.setNonZeros(rlen*clen);
+			return ret;
+		}
+		
 		printDecompressWarning("unaryOperations");
 		MatrixBlock tmp = isCompressed() ? decompress() : this;
 		return tmp.unaryOperations(op, result);
@@ -1952,6 +2114,14 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 
 	@Override
 	public MatrixValue binaryOperations(BinaryOperator op, MatrixValue thatValue, MatrixValue result) {
+		//compressed cell-wise binary operations w/ row vectors
+		if( isCompressed() && isRowVectorOperand((MatrixBlock)thatValue) ) {
+			CompressedMatrixBlock ret = allocateCompressedOutput(result);
+			ret._colGroups = binaryRowOperations(op, (MatrixBlock)thatValue);
+			ret.setNonZeros(rlen*clen);
+			return ret;
+		}
+		
 		printDecompressWarning("binaryOperations", (MatrixBlock)thatValue);
 		MatrixBlock left = isCompressed() ? decompress() : this;
 		MatrixBlock right = getUncompressed(thatValue);
@@ -1960,6 +2130,13 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 
 	@Override
 	public void binaryOperationsInPlace(BinaryOperator op, MatrixValue thatValue) {
+		//compressed cell-wise binary operations w/ row vectors
+		if( isCompressed() && isRowVectorOperand((MatrixBlock)thatValue) ) {
+			_colGroups = binaryRowOperations(op, (MatrixBlock)thatValue);
+			setNonZeros(rlen*clen);
+			return;
+		}
+		
 		printDecompressWarning("binaryOperationsInPlace", (MatrixBlock)thatValue);
 		MatrixBlock left = isCompressed() ? decompress() : this;
 		MatrixBlock right = getUncompressed(thatValue);
@@ -2307,6 +2484,30 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		return (mb instanceof CompressedMatrixBlock && ((CompressedMatrixBlock)mb).isCompressed());
 	}
 
+	private CompressedMatrixBlock allocateCompressedOutput(MatrixValue result) {
+		if( result==null || !(result instanceof CompressedMatrixBlock) )
+			return new CompressedMatrixBlock(getNumRows(), getNumColumns(), sparse);
+		CompressedMatrixBlock ret = (CompressedMatrixBlock) result;
+		ret.reset(rlen, clen);
+		return ret;
+	}
+	
+	private boolean isRowVectorOperand(MatrixBlock that) {
+		//note: column vectors and matrices would require row-specific
+		//values and hence cannot be applied to the value dictionaries
+		return that.getNumRows() == 1 && that.getNumColumns() == clen;
+	}
+	
+	private ArrayList<ColGroup> binaryRowOperations(BinaryOperator op, MatrixBlock that) {
+		// Apply the operation recursively to each of the column groups,
+		// which modifies the values but shallow-copies the bitmaps.
+		double[] v = DataConverter.convertToDoubleVector(getUncompressed(that), false);
+		ArrayList<ColGroup> newColGroups = new ArrayList<>();
+		for (ColGroup grp : _colGroups)
+			newColGroups.add(grp.binaryRowOperation(op, v));
+		return newColGroups;
+	}
+	
 	private static MatrixBlock getUncompressed(MatrixValue mVal) {
 		return isCompressed((MatrixBlock)mVal) ? 
 				((CompressedMatrixBlock)mVal).decompress() : 
@@ -0,0 +1,611 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.compress;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.compress.cocode.PlanningCoCoder;
+import org.apache.sysml.runtime.compress.estim.CompressedSizeEstimator;
+import org.apache.sysml.runtime.compress.estim.CompressedSizeEstimatorExact;
+import org.apache.sysml.runtime.compress.estim.CompressedSizeInfo;
+import org.apache.sysml.runtime.compress.estim.SizeEstimatorFactory;
+import org.apache.sysml.runtime.compress.utils.DblArray;
+import org.apache.sysml.runtime.compress.utils.DblArrayIntListHashMap;
+import org.apache.sysml.runtime.compress.utils.DoubleIntListHashMap;
+import org.apache.sysml.runtime.compress.utils.IntArrayList;
+import org.apache.sysml.runtime.matrix.data.LibMatrixReorg;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlock.Type;
+import org.apache.sysml.runtime.util.CommonThreadPool;
+
+/**
+ * Streaming compression of matrices that cannot be materialized in
+ * uncompressed form. Row chunks (covering all columns) are appended in
+ * arbitrary order, e.g., while reading the splits of a binary block or csv
+ * file. The first chunks are buffered as a sample, which is used to classify
+ * columns and plan column groups via the size estimators and co-coding of
+ * the in-memory compression. Subsequently, all chunks are directly encoded
+ * into per-group dictionaries and codes (planned DDC groups), per-value
+ * offset lists (planned OLE/RLE groups), or the uncompressed columns. On
+ * finish, we decide the final encoding of each group based on exact
+ * statistics, and fall back to uncompressed columns if a planned group
+ * turns out to be incompressible.
+ * <p>
+ * Hence, the peak memory is roughly the compressed size plus the sample and
+ * one chunk, except for the offset lists of OLE/RLE groups, which are
+ * encoded with 4 bytes per non-zero offset until finish.
+ */
+public class StreamingCompressor
+{
+	private static final Log LOG = LogFactory.getLog(StreamingCompressor.class.getName());
+
+	public static final int MIN_SAMPLE_SIZE = 2048; //rows
+	public static final long MAX_SAMPLE_SIZE = 256L*1024*1024; //256MB
+	public static final long MAX_CHUNK_SIZE = 32L*1024*1024; //32MB
+
+	private final int _rlen;
+	private final int _clen;
+	private final int _k;
+	private final int _sampleSize;
+
+	//buffered chunks before planning (row offset, chunk)
+	private ArrayList<MatrixBlock> _sample = new ArrayList<>();
+	private ArrayList<Integer> _sampleOffsets = new ArrayList<>();
+	private int _sampleRows = 0;
+
+	//planned column groups and uncompressed columns
+	private ColGroupEncoder[] _encoders = null;
+	private int[] _colsUC = null;
+	private MatrixBlock _uc = null;
+
+	public StreamingCompressor(int rlen, int clen, int k) {
+		this(rlen, clen, k, MAX_SAMPLE_SIZE);
+	}
+	
+	/**
+	 * Creates a streaming compressor with the given memory budget for the
+	 * buffered sample, which allows to bound the total sample size if
+	 * multiple compressors are used for disjoint column ranges (see
+	 * {@link #finish(StreamingCompressor[])}).
+	 * 
+	 * @param rlen number of rows
+	 * @param clen number of columns
+	 * @param k number of threads
+	 * @param maxSampleSize maximum size of the buffered sample in bytes
+	 */
+	public StreamingCompressor(int rlen, int clen, int k, long maxSampleSize) {
+		_rlen = rlen;
+		_clen = clen;
+		_k = k;
+		int size = (int) Math.min(rlen * SizeEstimatorFactory.SAMPLING_RATIO,
+			maxSampleSize / (8d * Math.max(clen, 1)));
+		_sampleSize = Math.min(rlen, Math.max(size, MIN_SAMPLE_SIZE));
+	}
+
+	/**
+	 * Obtains the number of rows per chunk such that a dense chunk of the
+	 * given number of columns is bounded by the maximum chunk size.
+	 *
+	 * @param clen number of columns
+	 * @return number of rows per chunk
+	 */
+	public static int getChunkSize(long clen) {
+		return (int) Math.max(1, Math.min(BitmapEncoder.BITMAP_BLOCK_SZ,
+			MAX_CHUNK_SIZE / (8 * Math.max(clen, 1))));
+	}
+
+	/**
+	 * Appends the given row chunk. The chunk is not modified and can be
+	 * reused by the caller once this method returns.
+	 *
+	 * @param chunk row chunk with all columns of the matrix
+	 * @param rl row offset of the chunk (0-based)
+	 */
+	public synchronized void append(MatrixBlock chunk, int rl) {
+		if( chunk.getNumColumns() != _clen || rl < 0 || rl + chunk.getNumRows() > _rlen )
+			throw new DMLRuntimeException("Invalid chunk ["+(rl+1)+":"+(rl+chunk.getNumRows())
+				+",1:"+chunk.getNumColumns()+"] for matrix of size "+_rlen+"x"+_clen+".");
+
+		if( _encoders == null ) {
+			//buffer chunks until the sample is complete
+			_sample.add(new MatrixBlock(chunk));
+			_sampleOffsets.add(rl);
+			_sampleRows += chunk.getNumRows();
+			if( _sampleRows >= _sampleSize )
+				plan();
+		}
+		else {
+			encode(chunk, rl);
+		}
+	}
+
+	/**
+	 * Finalizes the streaming compression. Rows that were never appended
+	 * are treated as zeros.
+	 *
+	 * @return compressed matrix block or uncompressed block if incompressible
+	 */
+	public MatrixBlock finish() {
+		return finish(new StreamingCompressor[]{this});
+	}
+	
+	/**
+	 * Finalizes the streaming compression of a matrix whose column ranges
+	 * were compressed independently, e.g., per column block to avoid the
+	 * assembly of uncompressed row blocks. The compressors are given in
+	 * column order and their column groups are combined into a single
+	 * compressed block. Rows that were never appended are treated as zeros.
+	 * 
+	 * @param parts compressors of consecutive column ranges (same number of rows)
+	 * @return compressed matrix block or uncompressed block if incompressible
+	 */
+	public static MatrixBlock finish(StreamingCompressor[] parts) {
+		//create column groups w/ exact encoding decisions
+		int rlen = parts[0]._rlen;
+		int clen = 0;
+		List<ColGroup> groups = new ArrayList<>();
+		List<ColGroup> groupsUC = new ArrayList<>();
+		for( StreamingCompressor part : parts ) {
+			if( part._rlen != rlen )
+				throw new DMLRuntimeException("Invalid number of rows: "+part._rlen+" vs "+rlen+".");
+			part.createColGroups(groups, groupsUC, clen);
+			clen += part._clen;
+		}
+		
+		//create uncompressed column group, incl incompressible groups
+		ColGroupUncompressed ucgrp = null;
+		if( groupsUC.size() == 1 && groupsUC.get(0) instanceof ColGroupUncompressed )
+			ucgrp = (ColGroupUncompressed) groupsUC.get(0);
+		else if( !groupsUC.isEmpty() ) {
+			ucgrp = new ColGroupUncompressed(groupsUC);
+			ucgrp.getData().recomputeNonZeros();
+			ucgrp.getData().examSparsity();
+		}
+		if( LOG.isDebugEnabled() )
+			LOG.debug("Streaming compression: "+groups.size()+" compressed col groups, "
+				+ (ucgrp != null ? ucgrp.getNumCols() : 0) + " uncompressed columns.");
+
+		//abort compression if all columns are incompressible (or no columns)
+		if( groups.isEmpty() )
+			return (ucgrp != null) ? ucgrp.getData() : new MatrixBlock(rlen, clen, true);
+		if( ucgrp != null )
+			groups.add(ucgrp);
+
+		//create compressed block, which is decompressed if incompressible
+		long nnz = computeNonZeros(groups, rlen);
+		CompressedMatrixBlock ret = new CompressedMatrixBlock(rlen, clen,
+			MatrixBlock.evalSparseFormatInMemory(rlen, clen, nnz));
+		ret.initColGroups(groups, nnz);
+		if( ret.getCompressionStatistics().ratio < 1 ) {
+			if( LOG.isDebugEnabled() )
+				LOG.debug("Decompress streamed block because compression ratio is less than 1.");
+			return ret.decompress();
+		}
+		return ret;
+	}
+	
+	private synchronized void createColGroups(List<ColGroup> groups, List<ColGroup> groupsUC, int cl) {
+		if( _encoders == null )
+			plan();
+		
+		//compressed groups and incompressible groups w/ exact encoding decisions
+		CompressedSizeEstimator estim = new CompressedSizeEstimatorExact(
+			CompressedMatrixBlock.TRANSPOSE_INPUT ? new MatrixBlock(_clen, _rlen, true) :
+			new MatrixBlock(_rlen, _clen, true));
+		boolean denseEst = (_colsUC.length == 0);
+		for( int i=0; i<_encoders.length; i++ ) {
+			ColGroup grp = _encoders[i].createColGroup(estim, denseEst);
+			grp.shiftColIndices(cl);
+			(_encoders[i].isCompressible() ? groups : groupsUC).add(grp);
+			_encoders[i] = null;
+		}
+		
+		//uncompressed columns w/ shifted column indexes
+		if( _colsUC.length > 0 ) {
+			_uc.examSparsity();
+			if( _uc.isInSparseFormat() )
+				_uc = new MatrixBlock(_uc, Type.CSR, false);
+			int[] colsUC = Arrays.stream(_colsUC).map(c -> c + cl).toArray();
+			groupsUC.add(new ColGroupUncompressed(colsUC, _rlen, _uc));
+			_uc = null;
+		}
+	}
+
+	private void plan() {
+		//create sample from buffered chunks
+		MatrixBlock sample = new MatrixBlock(_sampleRows, _clen, false);
+		for( int i=0, pos=0; i<_sample.size(); i++ ) {
+			MatrixBlock chunk = _sample.get(i);
+			sample.copy(pos, pos+chunk.getNumRows()-1, 0, _clen-1, chunk, false);
+			pos += chunk.getNumRows();
+		}
+		sample.examSparsity();
+		int numRows = sample.getNumRows();
+		MatrixBlock rawsample = !CompressedMatrixBlock.TRANSPOSE_INPUT ? sample :
+			LibMatrixReorg.transpose(sample, new MatrixBlock(_clen, numRows, sample.isInSparseFormat()), _k);
+
+		//classify columns and plan column groups (exact on the sample)
+		CompressedSizeEstimator estim = new CompressedSizeEstimatorExact(rawsample);
+		CompressedSizeInfo[] sizeInfos = (_k > 1) ?
+			CompressedMatrixBlock.computeCompressedSizeInfos(estim, _clen, _k) :
+			CompressedMatrixBlock.computeCompressedSizeInfos(estim, _clen);
+		List<Integer> colsC = new ArrayList<>();
+		List<Integer> colsUC = new ArrayList<>();
+		HashMap<Integer, Double> compRatios = new HashMap<>();
+		long nnzUC = CompressedMatrixBlock.classifyColumns(sizeInfos, numRows, colsC, colsUC, compRatios);
+		List<int[]> groups = colsC.isEmpty() ? new ArrayList<>() :
+			PlanningCoCoder.findCocodesByPartitioning(estim, colsC, sizeInfos, numRows, _k);
+
+		//create encoders according to the planned encoding formats
+		_encoders = new ColGroupEncoder[groups.size()];
+		for( int i=0; i<groups.size(); i++ ) {
+			int[] colIndexes = groups.get(i);
+			Arrays.sort(colIndexes);
+			CompressedSizeInfo sizeInfo = estim.estimateCompressedColGroupSize(colIndexes);
+			boolean ddc = CompressedMatrixBlock.ALLOW_DDC_ENCODING
+				&& sizeInfo.getDDCSize() < Math.min(sizeInfo.getRLESize(), sizeInfo.getOLESize());
+			_encoders[i] = new ColGroupEncoder(colIndexes, _rlen, ddc);
+		}
+		_colsUC = colsUC.stream().mapToInt(Integer::intValue).toArray();
+		if( _colsUC.length > 0 ) {
+			long estnnz = (long)((double)nnzUC / numRows * _rlen);
+			_uc = new MatrixBlock(_rlen, _colsUC.length,
+				MatrixBlock.evalSparseFormatInMemory(_rlen, _colsUC.length, estnnz));
+		}
+
+		if( LOG.isDebugEnabled() )
+			LOG.debug("Streaming compression plan (sample of "+numRows+" rows): "
+				+ groups.size()+" col groups, "+_colsUC.length+" uncompressed columns.");
+
+		//encode buffered chunks and release sample
+		for( int i=0; i<_sample.size(); i++ )
+			encode(_sample.get(i), _sampleOffsets.get(i));
+		_sample = null;
+		_sampleOffsets = null;
+	}
+
+	private void encode(MatrixBlock chunk, int rl) {
+		if( _k <= 1 || _encoders.length <= 1 ) {
+			for( ColGroupEncoder enc : _encoders )
+				enc.encode(chunk, rl);
+			encodeUncompressed(chunk, rl);
+			return;
+		}
+
+		try {
+			ExecutorService pool = CommonThreadPool.get(_k);
+			ArrayList<EncodeTask> tasks = new ArrayList<>();
+			int blklen = (int)Math.ceil((double)_encoders.length / _k);
+			for( int i=0; i<_k && i*blklen<_encoders.length; i++ )
+				tasks.add(new EncodeTask(chunk, rl, i*blklen, Math.min((i+1)*blklen, _encoders.length)));
+			Future<Object> ucfut = pool.submit(() -> encodeUncompressed(chunk, rl));
+			for( Future<Object> rtask : pool.invokeAll(tasks) )
+				rtask.get(); //error handling
+			ucfut.get();
+			pool.shutdown();
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+
+	private Object encodeUncompressed(MatrixBlock chunk, int rl) {
+		if( _colsUC.length == 0 || chunk.isEmptyBlock(false) )
+			return null;
+		int n = chunk.getNumRows();
+		for( int i=0; i<n; i++ )
+			for( int j=0; j<_colsUC.length; j++ )
+				_uc.appendValue(rl+i, j, chunk.quickGetValue(i, _colsUC[j]));
+		return null;
+	}
+
+	private static long computeNonZeros(List<ColGroup> groups, int rlen) {
+		long nnz = 0;
+		int blksz = BitmapEncoder.BITMAP_BLOCK_SZ;
+		int[] rnnz = new int[Math.min(rlen, blksz)];
+		for( int rl=0; rl<rlen; rl+=blksz ) {
+			int ru = Math.min(rl+blksz, rlen);
+			Arrays.fill(rnnz, 0);
+			for( ColGroup grp : groups )
+				grp.countNonZerosPerRow(rnnz, rl, ru);
+			for( int i=0; i<ru-rl; i++ )
+				nnz += rnnz[i];
+		}
+		return nnz;
+	}
+
+	/**
+	 * Incremental encoder of a single column group, which directly
+	 * maintains dictionary codes for planned DDC groups (with fallback
+	 * to offset lists on dictionary overflow), and per-value offset
+	 * lists for planned OLE/RLE groups.
+	 */
+	private static class ColGroupEncoder
+	{
+		private final int[] _colIndexes;
+		private final int _numRows;
+		private final double[] _tmp;
+		private final DblArray _key;
+
+		//dictionary encoding w/ zero tuple as code 0 (for unseen rows)
+		private HashMap<DblArray, Integer> _dict = null;
+		private ArrayList<DblArray> _dictVals = null;
+		private byte[] _data1 = null;
+		private char[] _data2 = null;
+		private long _numZeros = 0;
+		private long _numEncoded = 0;
+
+		//offset lists (w/o zero tuples)
+		private DoubleIntListHashMap _offsets1 = null;
+		private DblArrayIntListHashMap _offsetsN = null;
+		private int _maxOffset = -1;
+		private boolean _sorted = true;
+
+		private boolean _compressible = true;
+
+		public ColGroupEncoder(int[] colIndexes, int numRows, boolean ddc) {
+			_colIndexes = colIndexes;
+			_numRows = numRows;
+			_tmp = new double[colIndexes.length];
+			_key = new DblArray(_tmp);
+			if( ddc ) {
+				_dict = new HashMap<>();
+				_dictVals = new ArrayList<>();
+				DblArray zero = new DblArray(new double[colIndexes.length]);
+				_dict.put(zero, 0);
+				_dictVals.add(zero);
+				_data1 = new byte[numRows];
+			}
+			else
+				allocateOffsetLists();
+		}
+
+		public boolean isCompressible() {
+			return _compressible;
+		}
+
+		public void encode(MatrixBlock chunk, int rl) {
+			int n = chunk.getNumRows();
+			if( chunk.isEmptyBlock(false) ) {
+				//zero tuples (already encoded as code 0, or skipped)
+				_numZeros += n;
+				_numEncoded += n;
+				return;
+			}
+			for( int i=0; i<n; i++ ) {
+				boolean zero = true;
+				for( int j=0; j<_colIndexes.length; j++ ) {
+					_tmp[j] = chunk.quickGetValue(i, _colIndexes[j]);
+					zero &= (_tmp[j] == 0);
+				}
+				if( _dict != null )
+					encodeCode(rl+i, zero);
+				else if( !zero )
+					encodeOffset(rl+i);
+			}
+			_numEncoded += n;
+		}
+
+		private void encodeCode(int r, boolean zero) {
+			int code = 0;
+			if( !zero ) {
+				Integer tmp = _dict.get(_key);
+				if( tmp == null ) {
+					if( _dict.size() >= Character.MAX_VALUE ) {
+						//dictionary overflow: fallback to offset lists
+						convertToOffsetLists();
+						encodeOffset(r);
+						return;
+					}
+					code = _dict.size();
+					DblArray val = new DblArray(_key);
+					_dict.put(val, code);
+					_dictVals.add(val);
+					if( code == 256 ) { //switch to 2 byte codes
+						_data2 = convertToCharCodes(_data1);
+						_data1 = null;
+					}
+				}
+				else
+					code = tmp;
+			}
+			else
+				_numZeros++;
+
+			if( _data2 != null )
+				_data2[r] = (char) code;
+			else
+				_data1[r] = (byte) code;
+		}
+
+		private void encodeOffset(int r) {
+			_sorted &= (r > _maxOffset);
+			_maxOffset = Math.max(_maxOffset, r);
+			if( _colIndexes.length == 1 ) {
+				IntArrayList lstPtr = _offsets1.get(_tmp[0]);
+				if( lstPtr == null )
+					_offsets1.appendValue(_tmp[0], new IntArrayList(r));
+				else
+					lstPtr.appendValue(r);
+			}
+			else {
+				IntArrayList lstPtr = _offsetsN.get(_key);
+				if( lstPtr == null )
+					_offsetsN.appendValue(new DblArray(_key), new IntArrayList(r));
+				else
+					lstPtr.appendValue(r);
+			}
+		}
+
+		private void allocateOffsetLists() {
+			if( _colIndexes.length == 1 )
+				_offsets1 = new DoubleIntListHashMap();
+			else
+				_offsetsN = new DblArrayIntListHashMap();
+		}
+
+		private void convertToOffsetLists() {
+			IntArrayList[] lists = new IntArrayList[_dictVals.size()];
+			for( int r=0; r<_numRows; r++ ) {
+				int code = (_data2 != null) ? _data2[r] : _data1[r] & 0xFF;
+				if( code == 0 )
+					continue;
+				if( lists[code] == null )
+					lists[code] = new IntArrayList(r);
+				else
+					lists[code].appendValue(r);
+				_maxOffset = r;
+			}
+			allocateOffsetLists();
+			for( int i=1; i<lists.length; i++ ) {
+				if( lists[i] == null )
+					continue;
+				if( _colIndexes.length == 1 )
+					_offsets1.appendValue(_dictVals.get(i).getData()[0], lists[i]);
+				else
+					_offsetsN.appendValue(_dictVals.get(i), lists[i]);
+			}
+			_dict = null;
+			_dictVals = null;
+			_data1 = null;
+			_data2 = null;
+		}
+
+		public ColGroup createColGroup(CompressedSizeEstimator estim, boolean denseEst) {
+			return (_dict != null) ?
+				createDDCColGroup(denseEst) :
+				createOffsetColGroup(estim, denseEst);
+		}
+
+		private ColGroup createDDCColGroup(boolean denseEst) {
+			int numCols = _colIndexes.length;
+
+			//remove zero tuple if unused (to keep aggregates exact)
+			boolean zeros = (_numZeros > 0 || _numEncoded < _numRows);
+			int off = zeros ? 0 : 1;
+			if( !zeros ) {
+				for( int r=0; r<_numRows; r++ ) {
+					if( _data2 != null )
+						_data2[r]--;
+					else
+						_data1[r]--;
+				}
+			}
+			int numVals = _dictVals.size() - off;
+			double[] values = new double[numVals * numCols];
+			for( int i=0; i<numVals; i++ )
+				System.arraycopy(_dictVals.get(i+off).getData(), 0, values, i*numCols, numCols);
+			if( _data2 != null && numVals <= 256 )
+				_data1 = convertToByteCodes(_data2);
+
+			//create column group and check compression ratio
+			ColGroup ret = (numVals <= 256) ?
+				new ColGroupDDC1(_colIndexes, _numRows, values, _data1) :
+				new ColGroupDDC2(_colIndexes, _numRows, values, _data2);
+			double sp = denseEst ? 1.0 : OptimizerUtils.getSparsity(
+				_numRows, 1, _numEncoded - _numZeros);
+			_compressible = CompressedMatrixBlock.getUncompressedSize(_numRows, numCols, sp)
+				/ ret.estimateInMemorySize() > 1;
+			_dict = null;
+			_dictVals = null;
+			_data1 = null;
+			_data2 = null;
+			return ret;
+		}
+
+		private ColGroup createOffsetColGroup(CompressedSizeEstimator estim, boolean denseEst) {
+			UncompressedBitmap ubm = (_colIndexes.length == 1) ?
+				new UncompressedBitmap(_offsets1) :
+				new UncompressedBitmap(_offsetsN, _colIndexes.length);
+			_offsets1 = null;
+			_offsetsN = null;
+
+			//sort offset lists if chunks were appended out of order
+			if( !_sorted )
+				for( int i=0; i<ubm.getNumValues(); i++ )
+					Arrays.sort(ubm.getOffsetsList(i).extractValues(), 0, ubm.getNumOffsets(i));
+
+			//decide encoding format according to exact size estimates
+			CompressedSizeInfo sizeInfo = estim.estimateCompressedColGroupSize(ubm);
+			double sp = denseEst ? 1.0 : OptimizerUtils.getSparsity(_numRows, 1, ubm.getNumOffsets());
+			_compressible = CompressedMatrixBlock.getUncompressedSize(_numRows,
+				_colIndexes.length, sp) / sizeInfo.getMinSize() > 1;
+			long rleSize = sizeInfo.getRLESize();
+			long oleSize = sizeInfo.getOLESize();
+			long ddcSize = sizeInfo.getDDCSize();
+			if( CompressedMatrixBlock.ALLOW_DDC_ENCODING && ddcSize < rleSize && ddcSize < oleSize ) {
+				if( ubm.getNumValues()<=255 )
+					return new ColGroupDDC1(_colIndexes, _numRows, ubm);
+				else
+					return new ColGroupDDC2(_colIndexes, _numRows, ubm);
+			}
+			else if( rleSize < oleSize )
+				return new ColGroupRLE(_colIndexes, _numRows, ubm);
+			else
+				return new ColGroupOLE(_colIndexes, _numRows, ubm);
+		}
+
+		private static char[] convertToCharCodes(byte[] data) {
+			char[] ret = new char[data.length];
+			for( int i=0; i<data.length; i++ )
+				ret[i] = (char) (data[i] & 0xFF);
+			return ret;
+		}
+
+		private static byte[] convertToByteCodes(char[] data) {
+			byte[] ret = new byte[data.length];
+			for( int i=0; i<data.length; i++ )
+				ret[i] = (byte) data[i];
+			return ret;
+		}
+	}
+
+	private class EncodeTask implements Callable<Object>
+	{
+		private final MatrixBlock _chunk;
+		private final int _rl;
+		private final int _gl;
+		private final int _gu;
+
+		protected EncodeTask(MatrixBlock chunk, int rl, int gl, int gu) {
+			_chunk = chunk;
+			_rl = rl;
+			_gl = gl;
+			_gu = gu;
+		}
+
+		@Override
+		public Object call() {
+			for( int i=_gl; i<_gu; i++ )
+				_encoders[i].encode(_chunk, _rl);
+			return null;
+		}
+	}
+}
@@ -60,10 +60,12 @@ import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysml.runtime.controlprogram.context.SparkExecutionContext;
 import org.apache.sysml.runtime.controlprogram.parfor.DataPartitioner;
 import org.apache.sysml.runtime.controlprogram.parfor.DataPartitionerLocal;
+import org.apache.sysml.runtime.controlprogram.parfor.DataPartitionerLocalMemory;
 import org.apache.sysml.runtime.controlprogram.parfor.DataPartitionerRemoteMR;
 import org.apache.sysml.runtime.controlprogram.parfor.DataPartitionerRemoteSpark;
 import org.apache.sysml.runtime.controlprogram.parfor.LocalParWorker;
 import org.apache.sysml.runtime.controlprogram.parfor.LocalTaskQueue;
+import org.apache.sysml.runtime.controlprogram.parfor.LocalTaskQueueWorkStealing;
 import org.apache.sysml.runtime.controlprogram.parfor.ParForBody;
 import org.apache.sysml.runtime.util.ProgramConverter;
 import org.apache.sysml.runtime.controlprogram.parfor.RemoteDPParForMR;
@@ -146,6 +148,7 @@ public class ParForProgramBlock extends ForProgramBlock
 		FACTORING,      //factoring task partitioner  
 		FACTORING_CMIN, //constrained factoring task partitioner, uses tasksize as min constraint
 		FACTORING_CMAX, //constrained factoring task partitioner, uses tasksize as max constraint
+		WORK_STEALING,  //work-stealing task partitioner (local only), uses tasksize as min constraint
 		UNSPECIFIED
 	}
 	
@@ -270,6 +273,7 @@ public class ParForProgramBlock extends ForProgramBlock
 	public enum PDataPartitioner {
 		NONE,            // no data partitioning
 		LOCAL,           // local file based partition split on master node
+		LOCAL_MEM,       // local in-memory partitions as views over the read-only input
 		REMOTE_MR,       // remote partition split using a reblock MR job 
 		REMOTE_SPARK,    // remote partition split using a spark job
 		UNSPECIFIED, 
@@ -301,6 +305,7 @@ public class ParForProgramBlock extends ForProgramBlock
 	public static       boolean ALLOW_REUSE_MR_JVMS         = true; // potential benefits: less setup costs per task, NOTE> cannot be used MR4490 in Hadoop 1.0.3, still not fixed in 1.1.1
 	public static       boolean ALLOW_REUSE_MR_PAR_WORKER   = ALLOW_REUSE_MR_JVMS; //potential benefits: less initialization, reuse in-memory objects and result consolidation!
 	public static final boolean USE_PARALLEL_RESULT_MERGE   = false; // if result merge is run in parallel or serial 
+	public static final boolean USE_PARALLEL_RESULT_MERGE_LOCAL = true; // if local in-memory result merge is run in parallel over row blocks
 	public static final boolean USE_PARALLEL_RESULT_MERGE_REMOTE = true; // if remote result merge should be run in parallel for multiple result vars
 	public static final boolean ALLOW_DATA_COLOCATION       = true;
 	public static final boolean CREATE_UNSCOPED_RESULTVARS  = true;
@@ -753,7 +758,8 @@ public class ParForProgramBlock extends ForProgramBlock
 		{
 			// Step 1) create task queue and init workers in parallel
 			// (including preparation of update-in-place variables)
-			LocalTaskQueue<Task> queue = new LocalTaskQueue<>();
+			LocalTaskQueue<Task> queue = (_taskPartitioner == PTaskPartitioner.WORK_STEALING) ?
+				new LocalTaskQueueWorkStealing(_numThreads, _taskSize) : new LocalTaskQueue<>();
 			Thread[] threads         = new Thread[_numThreads];
 			LocalParWorker[] workers = new LocalParWorker[_numThreads];
 			IntStream.range(0, _numThreads).parallel().forEach(i -> {
@@ -801,6 +807,10 @@ public class ParForProgramBlock extends ForProgramBlock
 			for( Thread thread : threads )
 				thread.join();
 			
+			//account for tasks created by splits of work-stealing
+			if( queue instanceof LocalTaskQueueWorkStealing )
+				numCreatedTasks += ((LocalTaskQueueWorkStealing)queue).getNumSplits();
+			
 			if( _monitor ) 
 				StatisticMonitor.putPFStat(_ID, Stat.PARFOR_WAIT_EXEC_T, time.stop());
 			
@@ -813,6 +823,8 @@ public class ParForProgramBlock extends ForProgramBlock
 					.map(v -> v._name).collect(Collectors.toSet()));
 				numExecutedTasks += workers[i].getExecutedTasks();
 				numExecutedIterations += workers[i].getExecutedIterations();
+				if( ConfigurationManager.isStatistics() )
+					Statistics.incrementParForIdleTime((long)workers[i].getIdleTime());
 			}
 			//consolidate results into global symbol table
 			consolidateAndCheckResults( ec, numIterations, numCreatedTasks,
@@ -1136,6 +1148,12 @@ public class ParForProgramBlock extends ForProgramBlock
 	private void handleDataPartitioning( ExecutionContext ec ) 
 	{
 		PDataPartitioner dataPartitioner = _dataPartitioner;
+		if( dataPartitioner == PDataPartitioner.LOCAL_MEM && _execMode != PExecMode.LOCAL ) {
+			//in-memory partitions are not shipped to remote workers
+			LOG.warn("PARFOR ID = "+_ID+", Switching data partitioner from " + dataPartitioner + 
+				" to " + PDataPartitioner.LOCAL.name()+" for execution mode "+_execMode+".");
+			dataPartitioner = PDataPartitioner.LOCAL;
+		}
 		if( dataPartitioner != PDataPartitioner.NONE )
 		{
 			ParForStatementBlock sb = (ParForStatementBlock) getStatementBlock();
@@ -1157,7 +1175,8 @@ public class ParForProgramBlock extends ForProgramBlock
 					
 					if( dpf != PartitionFormat.NONE )
 					{
-						if( dataPartitioner != PDataPartitioner.REMOTE_SPARK && dpf.isBlockwise() ) {
+						if( dataPartitioner != PDataPartitioner.REMOTE_SPARK 
+							&& dataPartitioner != PDataPartitioner.LOCAL_MEM && dpf.isBlockwise() ) {
 							LOG.warn("PARFOR ID = "+_ID+", Switching data partitioner from " + dataPartitioner + 
 								" to " + PDataPartitioner.REMOTE_SPARK.name()+" for blockwise-n partitioning.");
 							dataPartitioner = PDataPartitioner.REMOTE_SPARK;
@@ -1182,6 +1201,9 @@ public class ParForProgramBlock extends ForProgramBlock
 							//skip remaining partitioning logic if not partitioned (e.g., too small)
 							if( moVar == moVarNew ) 
 								continue; //skip to next
+							if( dataPartitioner == PDataPartitioner.LOCAL_MEM
+								&& ConfigurationManager.isStatistics() )
+								Statistics.incrementParForMemDPCount();
 						}
 						ec.setVariable(var, dpdatNew);
 						
@@ -1377,7 +1399,7 @@ public class ParForProgramBlock extends ForProgramBlock
 			
 			//create the actual parallel worker
 			ParForBody body = new ParForBody( cpChildBlocks, _resultVars, cpEc );
-			pw = new LocalParWorker( pwID, queue, body, cconf, MAX_RETRYS_ON_ERROR, _monitor );
+			pw = new LocalParWorker( pwID, queue, index, body, cconf, MAX_RETRYS_ON_ERROR, _monitor );
 			pw.setFunctionNames(fnNames);
 		}
 		catch(Exception ex) {
@@ -1409,6 +1431,8 @@ public class ParForProgramBlock extends ForProgramBlock
 					_taskSize, _iterPredVar, from, to, incr);
 				break;
 			case STATIC:
+			case WORK_STEALING:
+				//for work stealing, static tasks are split adaptively by the task queue
 				tp = new TaskPartitionerStatic(
 					_taskSize, _numThreads, _iterPredVar, from, to, incr);
 				break;
@@ -1462,6 +1486,9 @@ public class ParForProgramBlock extends ForProgramBlock
 			case LOCAL:
 				dp = new DataPartitionerLocal(dpf, _numThreads);
 				break;
+			case LOCAL_MEM:
+				dp = new DataPartitionerLocalMemory(dpf);
+				break;
 			case REMOTE_MR:
 				dp = new DataPartitionerRemoteMR( dpf, _ID, numRed,
 					_replicationDP, ALLOW_REUSE_MR_JVMS, false );
@@ -1678,7 +1705,7 @@ public class ParForProgramBlock extends ForProgramBlock
 						vars.get(var._name)).toArray(MatrixObject[]::new);
 					String fname = constructResultMergeFileName();
 					ResultMerge rm = createResultMerge(_resultMerge, out, in, fname, var._isAccum, ec);
-					MatrixObject outNew = USE_PARALLEL_RESULT_MERGE ?
+					MatrixObject outNew = (USE_PARALLEL_RESULT_MERGE || checkParallelLocalResultMerge()) ?
 						rm.executeParallelMerge(_numThreads) :
 						rm.executeSerialMerge();
 					
@@ -1730,6 +1757,19 @@ public class ParForProgramBlock extends ForProgramBlock
 			Statistics.incrementParForMergeTime((long) time.stop());
 	}
 	
+	/**
+	 * Local in-memory result merge is run in parallel over disjoint row blocks
+	 * of the output, if multiple threads are available (with fallback to serial
+	 * merge for small outputs).
+	 * 
+	 * @return true if parallel local result merge
+	 */
+	private boolean checkParallelLocalResultMerge() {
+		return (USE_PARALLEL_RESULT_MERGE_LOCAL && _numThreads > 1
+			&& ( _resultMerge == PResultMerge.LOCAL_MEM
+				||_resultMerge == PResultMerge.LOCAL_AUTOMATIC) );
+	}
+	
 	/**
 	 * NOTE: Currently we use a fixed rule (multiple results AND REMOTE_MR -> only selected by the optimizer
 	 * if mode was REMOTE_MR as well). 
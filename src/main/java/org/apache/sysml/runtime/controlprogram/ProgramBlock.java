@@ -248,8 +248,11 @@ public class ProgramBlock implements ParseInfo
 			// pre-process instruction (debug state, inst patching, listeners)
 			Instruction tmp = currInst.preprocessInstruction( ec );
 
-			// process actual instruction
-			tmp.processInstruction( ec );
+			// process actual instruction (w/ optional lineage tracing and reuse)
+			if( ec.getLineage() != null )
+				ec.getLineage().processInstruction(tmp, ec);
+			else
+				tmp.processInstruction( ec );
 
 			// post-process instruction (debug)
 			tmp.postprocessInstruction( ec );
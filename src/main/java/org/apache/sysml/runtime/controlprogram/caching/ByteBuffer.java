@@ -23,15 +23,28 @@ import java.io.ByteArrayInputStream;
 import java.io.DataInput;
 import java.io.DataInputStream;
 import java.io.DataOutput;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
 
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysml.runtime.io.IOUtilFunctions;
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock.BlockType;
+import org.apache.sysml.runtime.util.FastBufferedDataOutputStream;
 import org.apache.sysml.runtime.util.LocalFileUtils;
 
 /**
  * Wrapper for WriteBuffer byte array per matrix/frame in order to
- * support matrix/frame serialization outside global lock.
+ * support matrix/frame serialization outside global lock. Large dense
+ * matrices are optionally kept in off-heap buffers, whose native memory
+ * is explicitly released on eviction and deletion of the buffer entry.
+ * If enabled, entries are kept as compressed byte arrays (fast deflate),
+ * which are only decompressed on restore or eviction.
  * 
  */
 public class ByteBuffer
@@ -39,10 +52,18 @@ public class ByteBuffer
 	private volatile boolean _serialized;	
 	private volatile boolean _shallow;
 	private volatile boolean _matrix;
-	private final long _size;
+	private volatile boolean _offheap;
+	private volatile boolean _persisted; //valid copy on local FS
+	private volatile boolean _compressed;
+	private volatile long _size;
 	
-	protected byte[]     _bdata = null; //sparse matrix
+	protected byte[]     _bdata = null; //sparse matrix (or compressed block)
 	protected CacheBlock _cdata = null; //dense matrix/frame
+	protected OffHeapDenseBuffer _odata = null; //large dense matrix (off-heap)
+	private int _rlen = -1; //meta data of off-heap matrix
+	private int _clen = -1;
+	private long _nnz = -1;
+	private int _ulen = -1; //uncompressed size of compressed block
 	
 	public ByteBuffer( long size ) {
 		_size = size;
@@ -54,10 +75,28 @@ public class ByteBuffer
 	{	
 		_shallow = cb.isShallowSerialize(true);
 		_matrix = (cb instanceof MatrixBlock);
+		_offheap = isOffHeapBlock(cb);
 		
 		try
 		{
-			if( !_shallow ) //SPARSE/DENSE -> SPARSE
+			if( _offheap ) //DENSE -> OFF-HEAP DENSE
+			{
+				//copy dense block into native memory, which releases
+				//the on-heap block once unreferenced by the cache envelope
+				MatrixBlock mb = (MatrixBlock) cb;
+				_rlen = mb.getNumRows();
+				_clen = mb.getNumColumns();
+				_nnz = mb.getNonZeros();
+				_odata = new OffHeapDenseBuffer(mb.getDenseBlock(), _rlen, _clen);
+			}
+			else if( compressBlock(cb) ) //SPARSE/DENSE -> COMPRESSED
+			{
+				//keep compressed byte array (if sufficient compression
+				//ratio), incl shallow blocks which are no longer referenced
+				_compressed = true;
+				_shallow = false;
+			}
+			else if( !_shallow ) //SPARSE/DENSE -> SPARSE
 			{
 				//deep serialize (for compression)
 				if( CacheableData.CACHING_BUFFER_PAGECACHE )
@@ -89,9 +128,13 @@ public class ByteBuffer
 	{
 		CacheBlock ret = null;
 		
-		if( !_shallow ) { //sparse matrix / string frame
-			DataInput din = _matrix ? new CacheDataInput(_bdata) :
-				new DataInputStream(new ByteArrayInputStream(_bdata));
+		if( _offheap ) { //large dense matrix
+			ret = deserializeOffHeapBlock();
+		}
+		else if( !_shallow ) { //sparse matrix / string frame / compressed
+			byte[] bdata = _compressed ? decompressBlock() : _bdata;
+			DataInput din = _matrix ? new CacheDataInput(bdata) :
+				new DataInputStream(new ByteArrayInputStream(bdata));
 			ret = _matrix ? new MatrixBlock() : new FrameBlock();
 			ret.readFields(din);
 		}
@@ -105,9 +148,14 @@ public class ByteBuffer
 	public void evictBuffer( String fname ) 
 		throws IOException
 	{
-		if( !_shallow ) {
+		if( _offheap ) {
+			//stream off-heap block to output stream (dense format)
+			evictOffHeapBlock(fname);
+		}
+		else if( !_shallow ) {
 			//write out byte serialized array
-			LocalFileUtils.writeByteArrayToLocal(fname, _bdata);
+			LocalFileUtils.writeByteArrayToLocal(fname,
+				_compressed ? decompressBlock() : _bdata);
 		}
 		else {
 			//serialize cache block to output stream
@@ -123,16 +171,63 @@ public class ByteBuffer
 	public long getSize() {
 		return _size;
 	}
+	
+	/**
+	 * Sets the buffer size in bytes, which allows to release reserved
+	 * but unused memory of compressed buffers.
+	 * NOTE: the caller is required to hold the buffer pool lock.
+	 * 
+	 * @param size buffer size in bytes
+	 */
+	public void setSize(long size) {
+		_size = size;
+	}
+	
+	/**
+	 * Returns the size in bytes of the compressed byte array for
+	 * compressed buffers, and the buffer size otherwise.
+	 * 
+	 * @return compressed size in bytes
+	 */
+	public long getCompressedSize() {
+		return _compressed ? _bdata.length : _size;
+	}
 
 	public boolean isShallow() {
 		return _shallow;
 	}
 	
+	public boolean isOffHeap() {
+		return _offheap;
+	}
+	
+	public boolean isCompressed() {
+		return _compressed;
+	}
+	
+	/**
+	 * Indicates if the local file of this buffer is up-to-date (e.g., for
+	 * buffers of blocks restored from local FS), in which case eviction
+	 * does not require to write the buffer again.
+	 * 
+	 * @return true if persisted on local FS
+	 */
+	public boolean isPersisted() {
+		return _persisted;
+	}
+	
+	public void setPersisted(boolean flag) {
+		_persisted = flag;
+	}
+	
 	public void freeMemory()
 	{
 		//clear strong references to buffer/matrix
-		if( !_shallow ) {
-			if( CacheableData.CACHING_BUFFER_PAGECACHE )
+		if( _offheap ) {
+			freeOffHeapBlock();
+		}
+		else if( !_shallow ) {
+			if( CacheableData.CACHING_BUFFER_PAGECACHE && !_compressed )
 				PageCache.putPage(_bdata);
 			_bdata = null;
 		}
@@ -153,6 +248,35 @@ public class ByteBuffer
 		}
 	}
 	
+	/**
+	 * Determines if the given cache block is kept off-heap in the buffer pool,
+	 * which applies to non-empty, uncompressed dense matrix blocks that exceed
+	 * the configured off-heap threshold.
+	 * 
+	 * @param cb cache block
+	 * @return true if kept off-heap
+	 */
+	public static boolean isOffHeapBlock( CacheBlock cb ) {
+		if( !(cb instanceof MatrixBlock) || cb instanceof CompressedMatrixBlock )
+			return false;
+		MatrixBlock mb = (MatrixBlock) cb;
+		long threshold = CacheableData.CACHING_BUFFER_OFFHEAP_THRESHOLD;
+		return !mb.isInSparseFormat() && mb.getDenseBlock() != null 
+			&& mb.getNonZeros() > 0 && threshold >= 0
+			&& mb.getInMemorySize() >= threshold
+			&& OffHeapDenseBuffer.isSupported();
+	}
+	
+	/**
+	 * Returns the allocated native memory of all off-heap buffers,
+	 * which have not been released yet.
+	 * 
+	 * @return size in bytes
+	 */
+	public static long getOffHeapSize() {
+		return OffHeapDenseBuffer.getAllocatedSize();
+	}
+	
 	/**
 	 * Determines if byte buffer can hold the given size given this specific cache block.
 	 * This call is consistent with 'serializeBlock' and allows for internal optimization
@@ -176,4 +300,105 @@ public class ByteBuffer
 			return true;
 		}
 	}
+	
+	private boolean compressBlock( CacheBlock cb ) 
+		throws IOException
+	{
+		//compress uncompressed blocks of valid byte array capacity
+		if( !CacheableData.CACHING_BUFFER_COMPRESSION 
+			|| cb instanceof CompressedMatrixBlock )
+			return false;
+		long ulen = cb.getExactSerializedSize();
+		if( ulen > Integer.MAX_VALUE )
+			return false;
+		
+		//serialize block into temporary byte array
+		byte[] tmp = new byte[(int)ulen];
+		cb.write(new CacheDataOutput(tmp));
+		
+		//compress with fast deflate, aborted if the output 
+		//exceeds the max compression ratio
+		int maxLen = (int)(CacheableData.CACHING_BUFFER_COMPRESSION_RATIO * ulen);
+		byte[] out = new byte[maxLen];
+		Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+		try {
+			deflater.setInput(tmp);
+			deflater.finish();
+			int clen = 0;
+			while( !deflater.finished() && clen < maxLen )
+				clen += deflater.deflate(out, clen, maxLen-clen);
+			if( !deflater.finished() )
+				return false;
+			_bdata = Arrays.copyOf(out, clen);
+			_ulen = (int)ulen;
+			return true;
+		}
+		finally {
+			deflater.end();
+		}
+	}
+	
+	private byte[] decompressBlock() 
+		throws IOException
+	{
+		byte[] ret = new byte[_ulen];
+		Inflater inflater = new Inflater();
+		try {
+			inflater.setInput(_bdata);
+			int len = 0;
+			while( !inflater.finished() && len < _ulen )
+				len += inflater.inflate(ret, len, _ulen-len);
+			if( len != _ulen )
+				throw new IOException("Failed to decompress buffer: "+len+" vs "+_ulen+" bytes.");
+			return ret;
+		}
+		catch(DataFormatException ex) {
+			throw new IOException("Failed to decompress buffer.", ex);
+		}
+		finally {
+			inflater.end();
+		}
+	}
+	
+	private synchronized MatrixBlock deserializeOffHeapBlock() {
+		//robustness for concurrent eviction (null indicates to read from local FS)
+		if( _odata == null )
+			return null;
+		MatrixBlock ret = new MatrixBlock(_rlen, _clen, false);
+		ret.allocateDenseBlock();
+		_odata.copyTo(ret.getDenseBlock());
+		ret.setNonZeros(_nnz);
+		return ret;
+	}
+	
+	private synchronized void evictOffHeapBlock(String fname) 
+		throws IOException
+	{
+		//robustness for concurrent delete of pending evictions
+		if( _odata == null )
+			return;
+		FileOutputStream fos = new FileOutputStream(fname);
+		FastBufferedDataOutputStream out = new FastBufferedDataOutputStream(fos, LocalFileUtils.BUFFER_SIZE);
+		try {
+			//write header and rows, consistent with MatrixBlock.write
+			out.writeInt(_rlen);
+			out.writeInt(_clen);
+			out.writeByte(BlockType.DENSE_BLOCK.ordinal());
+			double[] row = new double[_clen];
+			for( int i=0; i<_rlen; i++ ) {
+				_odata.get(i, row);
+				out.writeDoubleArray(_clen, row);
+			}
+		}
+		finally {
+			IOUtilFunctions.closeSilently(out);
+			IOUtilFunctions.closeSilently(fos);
+		}
+	}
+	
+	private synchronized void freeOffHeapBlock() {
+		if( _odata != null )
+			_odata.free();
+		_odata = null;
+	}
 }
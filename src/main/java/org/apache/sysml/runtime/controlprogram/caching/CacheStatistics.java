@@ -60,6 +60,13 @@ public class CacheStatistics
 	private static final LongAdder _numWritesFS     = new LongAdder();
 	private static final LongAdder _numWritesHDFS   = new LongAdder();
 	
+	//eviction statistics write buffer
+	private static final LongAdder _numEvictAsync   = new LongAdder(); //write-behind
+	private static final LongAdder _numEvictSync    = new LongAdder(); //caller thread
+	private static final LongAdder _numEvictWM      = new LongAdder(); //proactive (watermark)
+	private static final LongAdder _numHitsPending  = new LongAdder(); //reads of pending evictions
+	private static final LongAdder _numRestores     = new LongAdder(); //restored blocks put in buffer
+	
 	//time statistics caching
 	private static final LongAdder _ctimeAcquireR   = new LongAdder(); //in nano sec
 	private static final LongAdder _ctimeAcquireM   = new LongAdder(); //in nano sec
@@ -76,6 +83,12 @@ public class CacheStatistics
 		_numWritesFS.reset();
 		_numWritesHDFS.reset();
 		
+		_numEvictAsync.reset();
+		_numEvictSync.reset();
+		_numEvictWM.reset();
+		_numHitsPending.reset();
+		_numRestores.reset();
+		
 		_ctimeAcquireR.reset();
 		_ctimeAcquireM.reset();
 		_ctimeRelease.reset();
@@ -166,6 +179,46 @@ public class CacheStatistics
 		return _numWritesHDFS.longValue();
 	}
 	
+	public static void incrementAsyncEvictions(int delta) {
+		_numEvictAsync.add(delta);
+	}
+	
+	public static long getAsyncEvictions() {
+		return _numEvictAsync.longValue();
+	}
+	
+	public static void incrementSyncEvictions(int delta) {
+		_numEvictSync.add(delta);
+	}
+	
+	public static long getSyncEvictions() {
+		return _numEvictSync.longValue();
+	}
+	
+	public static void incrementWatermarkEvictions(int delta) {
+		_numEvictWM.add(delta);
+	}
+	
+	public static long getWatermarkEvictions() {
+		return _numEvictWM.longValue();
+	}
+	
+	public static void incrementPendingHits() {
+		_numHitsPending.increment();
+	}
+	
+	public static long getPendingHits() {
+		return _numHitsPending.longValue();
+	}
+	
+	public static void incrementRestores() {
+		_numRestores.increment();
+	}
+	
+	public static long getRestores() {
+		return _numRestores.longValue();
+	}
+	
 	public static void incrementAcquireRTime(long delta) {
 		_ctimeAcquireR.add(delta);
 	}
@@ -222,6 +275,26 @@ public class CacheStatistics
 		return sb.toString();
 	}
 	
+	public static String displayEvictions() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(_numEvictAsync.longValue());
+		sb.append("/");
+		sb.append(_numEvictSync.longValue());
+		sb.append("/");
+		sb.append(_numEvictWM.longValue());
+		
+		return sb.toString();
+	}
+	
+	public static String displayRestores() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(_numHitsPending.longValue());
+		sb.append("/");
+		sb.append(_numRestores.longValue());
+		
+		return sb.toString();
+	}
+	
 	public static String displayTime() {	
 		StringBuilder sb = new StringBuilder();
 		sb.append(String.format("%.3f", ((double)_ctimeAcquireR.longValue())/1000000000)); //in sec
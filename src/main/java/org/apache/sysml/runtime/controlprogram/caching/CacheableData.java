@@ -79,12 +79,20 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	public static final long    CACHING_THRESHOLD = (long)Math.max(4*1024, //obj not s.t. caching
 		1e-5 * InfrastructureAnalyzer.getLocalMaxMemory());       //if below threshold [in bytes]
 	public static double CACHING_BUFFER_SIZE = 0.15; 
+	public static long CACHING_BUFFER_OFFHEAP_THRESHOLD = -1; //min size [in bytes] of off-heap dense buffers, -1 disables
 	public static final RPolicy CACHING_BUFFER_POLICY = RPolicy.FIFO; 
+	public static boolean CACHING_ASYNC_EVICTION = true; //write-behind eviction to local disk
+	public static final double CACHING_BUFFER_WRITEBEHIND = 0.25; //max fraction of buffer size pending async eviction
+	public static final double CACHING_BUFFER_HIGH_WATERMARK = 0.9; //buffer fraction that triggers proactive eviction
+	public static final double CACHING_BUFFER_LOW_WATERMARK = 0.75; //buffer fraction targeted by proactive eviction
+	public static boolean CACHING_BUFFER_COMPRESSION = false; //compressed buffer entries
+	public static final double CACHING_BUFFER_COMPRESSION_RATIO = 0.75; //max compressed/uncompressed size
 	public static final boolean CACHING_BUFFER_PAGECACHE = false; 
 	public static final boolean CACHING_WRITE_CACHE_ON_READ = false;	
 	public static final String  CACHING_COUNTER_GROUP_NAME    = "SystemML Caching Counters";
 	public static final String  CACHING_EVICTION_FILEEXTENSION = ".dat";
 	public static final boolean CACHING_ASYNC_FILECLEANUP = true;
+	public static boolean CACHING_LOCAL_BINARY_BLOCK = true; //mmap binary block format for local scratch files
 	
 	/**
 	 * Defines all possible cache status types for a data blob.
@@ -585,9 +593,11 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 			&& isCached(true) //not empty and not read/modify
 			&& !isBelowCachingThreshold() ) //min size for caching
 		{
+			boolean offheap = false;
 			if( write || _requiresLocalWrite ) {
 				String filePath = getCacheFilePathAndName();
 				try {
+					offheap = LazyWriteBuffer.isBufferedOffHeap(_data);
 					LazyWriteBuffer.writeBlock(filePath, _data);
 				}
 				catch (Exception e) {
@@ -596,8 +606,10 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 				_requiresLocalWrite = false;
 			}
 			
-			//create cache
-			createCache();
+			//create cache (except for blocks moved off-heap into the buffer
+			//pool, which allows the garbage collection of on-heap blocks)
+			if( !offheap )
+				createCache();
 			_data = null;
 		}
 	}
@@ -731,7 +743,8 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 		
 		//actual export (note: no direct transfer of local copy in order to ensure blocking (and hence, parallelism))
 		if( isDirty() || !eqScheme ||
-			(pWrite && !isEqualOutputFormat(outputFormat)) ) 
+			(pWrite && !isEqualOutputFormat(outputFormat)) ||
+			(pWrite && isLocalOnlyFileFormat(fName)) ) 
 		{
 			// CASE 1: dirty in-mem matrix or pWrite w/ different format (write matrix to fname; load into memory if evicted)
 			// a) get the matrix
@@ -956,6 +969,18 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 		}
 	}
 
+	/**
+	 * Indicates if the current file is in a format that is only consumed
+	 * by the local runtime (e.g., local binary block) and hence, cannot be
+	 * directly copied or renamed to the given target file.
+	 * 
+	 * @param fName target file name
+	 * @return true if the data needs to be exported instead of copied
+	 */
+	protected boolean isLocalOnlyFileFormat( String fName ) {
+		return false;
+	}
+	
 	protected boolean isEqualOutputFormat( String outputFormat )
 	{
 		boolean ret = true;
@@ -1297,7 +1322,8 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 			
 			//export or rename to target file on hdfs
 			if( isDirty() || !eqScheme || (!isEqualOutputFormat(outputFormat) && isEmpty(true)) 
-				|| (getRDDHandle()!=null && !MapReduceTool.existsFileOnHDFS(_hdfsFileName)) )
+				|| (getRDDHandle()!=null && !MapReduceTool.existsFileOnHDFS(_hdfsFileName))
+				|| isLocalOnlyFileFormat(fName) )
 			{
 				exportData(fName, outputFormat);
 				ret = true;
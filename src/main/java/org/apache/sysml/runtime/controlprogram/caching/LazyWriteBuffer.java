@@ -20,13 +20,21 @@
 package org.apache.sysml.runtime.controlprogram.caching;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.LinkedList;
 import java.util.Map.Entry;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
 import org.apache.sysml.runtime.util.LocalFileUtils;
 
@@ -38,7 +46,7 @@ public class LazyWriteBuffer
 	}
 	
 	//global size limit in bytes
-	private static final long _limit;
+	private static long _limit;
 	
 	//current size in bytes
 	private static long _size;
@@ -47,13 +55,29 @@ public class LazyWriteBuffer
 	//for (1) queue semantics and (2) constant time get/insert/delete operations)
 	private static EvictionQueue _mQueue;
 	
+	//entries removed from the eviction queue but not yet written to local FS, 
+	//which are still served from memory (guarded by the eviction queue lock, 
+	//all critical sections are constant time and without I/O)
+	private static EvictionQueue _mPending;
+	
+	//current size of pending evictions in bytes
+	private static long _pendingSize;
+	
+	//local files with in-progress writes (guarded by the eviction queue lock),
+	//which serializes evictions and direct writes of the same file
+	private static HashSet<String> _mWriting;
+	
+	//optional callback before eviction writes (for testing only)
+	private static volatile Consumer<String> _evictHook = null;
+	
 	//file cleaner for synchronous or asynchronous delete of evicted files
 	private static FileCleaner _fClean;
 	
+	//background writer for asynchronous (write-behind) eviction
+	private static EvictionWriter _fEvict;
+	
 	static {
-		//obtain the logical buffer size in bytes
-		long maxMem = InfrastructureAnalyzer.getLocalMaxMemory();
-		_limit = (long)(CacheableData.CACHING_BUFFER_SIZE * maxMem);
+		_limit = computeWriteBufferLimit();
 	}
 	
 	public static int writeBlock(String fname, CacheBlock cb)
@@ -61,8 +85,7 @@ public class LazyWriteBuffer
 	{
 		//obtain basic meta data of cache block
 		long lSize = getCacheBlockSize(cb);
-		boolean requiresWrite = (lSize > _limit        //global buffer limit
-			|| !ByteBuffer.isValidCapacity(lSize, cb)); //local buffer limit
+		boolean requiresWrite = requiresDirectWrite(lSize, cb);
 		int numEvicted = 0;
 		
 		//handle caching/eviction if it fits in writebuffer
@@ -70,47 +93,81 @@ public class LazyWriteBuffer
 		{
 			//create byte buffer handle (no block allocation yet)
 			ByteBuffer bbuff = new ByteBuffer( lSize );
+			ArrayList<String> evicted = new ArrayList<>();
+			boolean async = false;
+			int numProactive = 0;
 			
 			//modify buffer pool
 			synchronized( _mQueue )
 			{
+				//remove outdated entry of the same file (e.g., restored block)
+				removeEntry(fname);
+				
 				//evict matrices to make room (by default FIFO)
 				while( _size+lSize > _limit && !_mQueue.isEmpty() )
-				{
-					//remove first entry from eviction queue
-					Entry<String, ByteBuffer> entry = _mQueue.removeFirst();
-					String ftmp = entry.getKey();
-					ByteBuffer tmp = entry.getValue();
-					
-					if( tmp != null ) {
-						//wait for pending serialization
-						tmp.checkSerialized();
-						
-						//evict matrix
-						tmp.evictBuffer(ftmp);
-						tmp.freeMemory();
-						_size -= tmp.getSize();
-						numEvicted++;
-					}
-				}
+					evicted.add(moveToPending());
 				
 				//put placeholder into buffer pool (reserve mem)
 				_mQueue.addLast(fname, bbuff);
 				_size += lSize;
+				
+				//write-behind if pending evictions fit into the write-behind
+				//capacity, otherwise evict synchronously (backpressure)
+				async = _fEvict != null && _pendingSize <= getWriteBehindLimit();
+				
+				//proactive eviction down to the low watermark if the buffer 
+				//exceeds the high watermark (w/o evicting the new entry)
+				if( async && _size > CacheableData.CACHING_BUFFER_HIGH_WATERMARK * _limit ) {
+					while( _size > CacheableData.CACHING_BUFFER_LOW_WATERMARK * _limit && _mQueue.size() > 1
+						&& _pendingSize + _mQueue.getFirst().getSize() <= getWriteBehindLimit() ) {
+						evicted.add(moveToPending());
+						numProactive++;
+					}
+				}
+			}
+			
+			//evict matrices (outside synchronized critical path)
+			for( String ftmp : evicted ) {
+				if( async )
+					_fEvict.evictFile(ftmp);
+				else
+					evictPending(ftmp);
 			}
+			numEvicted = evicted.size();
 			
 			//serialize matrix (outside synchronized critical path)
 			bbuff.serializeBlock(cb);
+			if( bbuff.isCompressed() )
+				shrinkEntry(fname, bbuff);
 			
 			if( ConfigurationManager.isStatistics() ) {
 				CacheStatistics.incrementFSBuffWrites();
-				CacheStatistics.incrementFSWrites(numEvicted);
+				if( async )
+					CacheStatistics.incrementAsyncEvictions(numEvicted);
+				else
+					CacheStatistics.incrementSyncEvictions(numEvicted);
+				CacheStatistics.incrementWatermarkEvictions(numProactive);
 			}
 		}
 		else
 		{
+			//remove outdated entry of the same file and wait for
+			//in-progress evictions of this file (to avoid that they
+			//overwrite or delete the file after the direct write)
+			synchronized( _mQueue ) {
+				removeEntry(fname);
+				lockFile(fname);
+			}
+			
 			//write directly to local FS (bypass buffer if too large)
-			LocalFileUtils.writeCacheBlockToLocal(fname, cb);
+			try {
+				LocalFileUtils.writeCacheBlockToLocal(fname, cb);
+			}
+			finally {
+				synchronized( _mQueue ) {
+					unlockFile(fname);
+				}
+			}
 			if( ConfigurationManager.isStatistics() ) {
 				CacheStatistics.incrementFSWrites();
 			}
@@ -126,13 +183,11 @@ public class LazyWriteBuffer
 		
 		synchronized( _mQueue )
 		{
-			//remove queue entry 
-			ByteBuffer ldata = _mQueue.remove(fname);
-			if( ldata != null ) {
-				_size -= ldata.getSize();
-				requiresDelete = false;
-				ldata.freeMemory(); //cleanup
-			}
+			//remove queue or pending entry (pending evictions
+			//are skipped or cleaned up by the eviction task)
+			ByteBuffer ldata = removeEntry(fname);
+			if( ldata != null )
+				requiresDelete = ldata.isPersisted();
 		}
 		
 		//delete from FS if required
@@ -145,8 +200,13 @@ public class LazyWriteBuffer
 	{
 		CacheBlock cb = null;
 		ByteBuffer ldata = null;
+		boolean pending = false;
+		
+		//propagate failures of asynchronous evictions
+		if( _fEvict != null )
+			_fEvict.checkFailures();
 		
-		//probe write buffer
+		//probe write buffer and pending evictions
 		synchronized( _mQueue )
 		{
 			ldata = _mQueue.get(fname);
@@ -159,36 +219,79 @@ public class LazyWriteBuffer
 				_mQueue.remove( fname );
 				_mQueue.addLast( fname, ldata );
 			}
+			
+			if( ldata == null ) {
+				ldata = _mPending.get(fname);
+				pending = (ldata != null);
+			}
 		}
 		
 		//deserialize or read from FS if required
-		if( ldata != null )
-		{
+		//(off-heap blocks might have been concurrently evicted)
+		if( ldata != null ) {
+			ldata.checkSerialized();
 			cb = ldata.deserializeBlock();
-			if( ConfigurationManager.isStatistics() )
+		}
+		if( cb != null )
+		{
+			if( ConfigurationManager.isStatistics() ) {
 				CacheStatistics.incrementFSBuffHits();
+				if( pending )
+					CacheStatistics.incrementPendingHits();
+			}
 		}
 		else
 		{
 			cb = LocalFileUtils.readCacheBlockFromLocal(fname, matrix);
 			if( ConfigurationManager.isStatistics() )
 				CacheStatistics.incrementFSHits();
+			
+			//put restored block back into the buffer as a clean entry,
+			//which avoids repeated reads and writes on subsequent acquires
+			putRestoredBlock(fname, cb);
 		}
 		
 		return cb;
 	}
 
 	public static void init() {
+		//refresh the limit w/ the configured buffer size
+		_limit = computeWriteBufferLimit();
 		_mQueue = new EvictionQueue();
+		_mPending = new EvictionQueue();
+		_mWriting = new HashSet<>();
 		_fClean = new FileCleaner();
+		if( _fEvict != null )
+			_fEvict.close();
+		_fEvict = CacheableData.CACHING_ASYNC_EVICTION ? new EvictionWriter() : null;
 		_size = 0;
+		_pendingSize = 0;
 		if( CacheableData.CACHING_BUFFER_PAGECACHE )
 			PageCache.init();
 	}
 
 	public static void cleanup() {
-		if( _mQueue != null )
-			_mQueue.clear();
+		//stop background eviction (pending tasks skip
+		//writes because the pending entries are cleared)
+		if( _fEvict != null ) {
+			_fEvict.close();
+			_fEvict = null;
+		}
+		if( _mQueue != null ) {
+			//explicitly free off-heap buffers
+			synchronized( _mQueue ) {
+				for( ByteBuffer bbuff : _mQueue.values() )
+					if( bbuff != null && bbuff.isOffHeap() )
+						bbuff.freeMemory();
+				for( ByteBuffer bbuff : _mPending.values() )
+					if( bbuff != null && bbuff.isOffHeap() )
+						bbuff.freeMemory();
+				_mQueue.clear();
+				_mPending.clear();
+				_size = 0;
+				_pendingSize = 0;
+			}
+		}
 		if( _fClean != null )
 			_fClean.close();
 		if( CacheableData.CACHING_BUFFER_PAGECACHE )
@@ -211,11 +314,231 @@ public class LazyWriteBuffer
 			return _limit - _size; }
 	}
 	
+	/**
+	 * Indicates if the given cache block would be kept off-heap by the buffer
+	 * pool on writeBlock, i.e., if it is eligible for off-heap storage and fits
+	 * into the buffer (instead of a direct write to local FS).
+	 * 
+	 * @param cb cache block
+	 * @return true if buffered off-heap
+	 */
+	public static boolean isBufferedOffHeap(CacheBlock cb) {
+		return ByteBuffer.isOffHeapBlock(cb)
+			&& !requiresDirectWrite(getCacheBlockSize(cb), cb);
+	}
+	
 	public static long getCacheBlockSize(CacheBlock cb) {
 		return cb.isShallowSerialize() ?
 			cb.getInMemorySize() : cb.getExactSerializedSize();
 	}
 	
+	private static boolean requiresDirectWrite(long lSize, CacheBlock cb) {
+		return (lSize > _limit                       //global buffer limit
+			|| !ByteBuffer.isValidCapacity(lSize, cb)); //local buffer limit
+	}
+	
+	private static long computeWriteBufferLimit() {
+		//obtain the logical buffer size in bytes
+		long maxMem = InfrastructureAnalyzer.getLocalMaxMemory();
+		return (long)(CacheableData.CACHING_BUFFER_SIZE * maxMem);
+	}
+	
+	private static long getWriteBehindLimit() {
+		return (long)(CacheableData.CACHING_BUFFER_WRITEBEHIND * _limit);
+	}
+	
+	/**
+	 * Moves the first entry of the eviction queue to the pending evictions.
+	 * NOTE: the caller is required to hold the eviction queue lock.
+	 * 
+	 * @return file name of the moved entry
+	 */
+	private static String moveToPending() {
+		Entry<String, ByteBuffer> entry = _mQueue.removeFirst();
+		ByteBuffer tmp = entry.getValue();
+		_size -= tmp.getSize();
+		_mPending.addLast(entry.getKey(), tmp);
+		_pendingSize += tmp.getSize();
+		return entry.getKey();
+	}
+	
+	/**
+	 * Removes the queue or pending entry of the given file, if it exists.
+	 * NOTE: the caller is required to hold the eviction queue lock.
+	 * 
+	 * @param fname file name
+	 * @return removed byte buffer, or null if not existing
+	 */
+	private static ByteBuffer removeEntry(String fname) {
+		ByteBuffer ldata = _mQueue.remove(fname);
+		if( ldata != null ) {
+			_size -= ldata.getSize();
+			ldata.freeMemory(); //cleanup
+		}
+		else if( (ldata = _mPending.remove(fname)) != null ) {
+			_pendingSize -= ldata.getSize();
+			//only off-heap buffers are freed explicitly because 
+			//on-heap buffers might be concurrently deserialized
+			if( ldata.isOffHeap() )
+				ldata.freeMemory();
+		}
+		return ldata;
+	}
+	
+	/**
+	 * Waits until no other thread writes the given local file, and
+	 * marks the file as being written by the current thread.
+	 * NOTE: the caller is required to hold the eviction queue lock.
+	 * 
+	 * @param fname file name
+	 * @throws IOException if interrupted while waiting
+	 */
+	private static void lockFile(String fname) 
+		throws IOException
+	{
+		try {
+			while( _mWriting.contains(fname) )
+				_mQueue.wait();
+		}
+		catch(InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting for local write of "+fname+".");
+		}
+		_mWriting.add(fname);
+	}
+	
+	/**
+	 * Releases the write mark of the given local file.
+	 * NOTE: the caller is required to hold the eviction queue lock.
+	 * 
+	 * @param fname file name
+	 */
+	private static void unlockFile(String fname) {
+		_mWriting.remove(fname);
+		_mQueue.notifyAll();
+	}
+	
+	/**
+	 * Releases the reserved but unused memory of the given compressed buffer,
+	 * if the buffer is still in the eviction queue or pending evictions.
+	 * 
+	 * @param fname file name
+	 * @param bbuff compressed byte buffer
+	 */
+	private static void shrinkEntry(String fname, ByteBuffer bbuff) {
+		synchronized( _mQueue ) {
+			long delta = bbuff.getSize() - bbuff.getCompressedSize();
+			if( _mQueue.get(fname) == bbuff )
+				_size -= delta;
+			else if( _mPending.get(fname) == bbuff )
+				_pendingSize -= delta;
+			bbuff.setSize(bbuff.getCompressedSize());
+		}
+	}
+	
+	/**
+	 * Writes the pending eviction of the given file to local FS and removes
+	 * the pending entry. If the entry has been deleted concurrently, the 
+	 * write is skipped or the written file is deleted again. Writes of the
+	 * same file are serialized, and the file is deleted before other writers
+	 * of this file proceed, which prevents deleting a rewritten file.
+	 * 
+	 * @param fname file name
+	 * @throws IOException if IOException occurs
+	 */
+	private static void evictPending(String fname)
+		throws IOException
+	{
+		ByteBuffer bbuff = null;
+		synchronized( _mQueue ) {
+			bbuff = _mPending.get(fname);
+		}
+		if( bbuff == null )
+			return; //deleted before eviction
+		
+		//wait for pending serialization
+		bbuff.checkSerialized();
+		
+		//obtain exclusive write of the local file (the pending
+		//entry might have been deleted or superseded meanwhile)
+		synchronized( _mQueue ) {
+			lockFile(fname);
+			if( _mPending.get(fname) != bbuff ) {
+				unlockFile(fname);
+				return;
+			}
+		}
+		
+		boolean write = !bbuff.isPersisted();
+		try {
+			if( _evictHook != null )
+				_evictHook.accept(fname);
+			
+			//evict matrix (unless already persisted on local FS)
+			if( write )
+				bbuff.evictBuffer(fname);
+			
+			//remove pending entry (or cleanup if deleted concurrently,
+			//unless the file got superseded by a new pending entry)
+			boolean delete = false;
+			synchronized( _mQueue ) {
+				ByteBuffer tmp = _mPending.get(fname);
+				if( tmp == bbuff ) {
+					_mPending.remove(fname);
+					_pendingSize -= bbuff.getSize();
+				}
+				else if( tmp == null && !_mQueue.containsKey(fname) )
+					delete = write;
+			}
+			
+			//synchronous delete while holding the write mark 
+			if( delete )
+				LocalFileUtils.deleteFileIfExists(fname, true);
+		}
+		finally {
+			synchronized( _mQueue ) {
+				unlockFile(fname);
+			}
+		}
+		
+		if( bbuff.isOffHeap() )
+			bbuff.freeMemory();
+		
+		if( write && ConfigurationManager.isStatistics() )
+			CacheStatistics.incrementFSWrites();
+	}
+	
+	/**
+	 * Puts a block restored from local FS back into the buffer pool as 
+	 * a persisted entry (without copy and serialization), if it fits into
+	 * the buffer below the low watermark.
+	 * 
+	 * @param fname file name
+	 * @param cb restored cache block
+	 * @throws IOException if IOException occurs
+	 */
+	private static void putRestoredBlock(String fname, CacheBlock cb) 
+		throws IOException
+	{
+		if( !cb.isShallowSerialize(true) || ByteBuffer.isOffHeapBlock(cb) )
+			return;
+		long lSize = getCacheBlockSize(cb);
+		ByteBuffer bbuff = new ByteBuffer( lSize );
+		synchronized( _mQueue ) {
+			if( _size + lSize > CacheableData.CACHING_BUFFER_LOW_WATERMARK * _limit
+				|| _mQueue.containsKey(fname) || _mPending.containsKey(fname) )
+				return;
+			_mQueue.addLast(fname, bbuff);
+			_size += lSize;
+			bbuff.setPersisted(true);
+		}
+		bbuff.serializeBlock(cb);
+		if( bbuff.isCompressed() )
+			shrinkEntry(fname, bbuff);
+		if( ConfigurationManager.isStatistics() )
+			CacheStatistics.incrementRestores();
+	}
+	
 	/**
 	 * Print current status of buffer pool, including all entries.
 	 * NOTE: use only for debugging or testing.
@@ -231,7 +554,9 @@ public class LazyWriteBuffer
 			System.out.println("\tWB: Buffer Meta Data: " +
 				"limit="+_limit+", " +
 				"size[bytes]="+_size+", " +
-				"size[elements]="+_mQueue.size()+"/"+_mQueue.size());
+				"size[elements]="+_mQueue.size()+"/"+_mQueue.size()+", " +
+				"pending[bytes]="+_pendingSize+", " +
+				"pending[elements]="+_mPending.size());
 			
 			//print current buffer entries
 			int count = _mQueue.size();
@@ -255,21 +580,29 @@ public class LazyWriteBuffer
 		throws IOException 
 	{
 		//evict all matrices and frames
-		while( !_mQueue.isEmpty() )
-		{
-			//remove first entry from eviction queue
-			Entry<String, ByteBuffer> entry = _mQueue.removeFirst();
-			ByteBuffer tmp = entry.getValue();
-			
-			if( tmp != null ) {
-				//wait for pending serialization
-				tmp.checkSerialized();
-				
-				//evict matrix
-				tmp.evictBuffer(entry.getKey());
-				tmp.freeMemory();
-			}
+		ArrayList<String> evicted = new ArrayList<>();
+		synchronized( _mQueue ) {
+			while( !_mQueue.isEmpty() )
+				evicted.add(moveToPending());
 		}
+		for( String ftmp : evicted )
+			evictPending(ftmp);
+		
+		//wait for pending asynchronous evictions and file deletes
+		if( _fEvict != null )
+			_fEvict.awaitPending();
+		_fClean.awaitPending();
+	}
+	
+	/**
+	 * Sets a callback that is invoked with the file name before 
+	 * each eviction write (null to unset).
+	 * NOTE: use only for testing.
+	 * 
+	 * @param hook callback on file name
+	 */
+	public static void setEvictionHook(Consumer<String> hook) {
+		_evictHook = hook;
 	}
 	
 	public static ExecutorService getUtilThreadPool() {
@@ -285,6 +618,10 @@ public class LazyWriteBuffer
 	{
 		private static final long serialVersionUID = -5208333402581364859L;
 		
+		public ByteBuffer getFirst() {
+			return values().iterator().next();
+		}
+		
 		public void addLast( String fname, ByteBuffer bbuff ) {
 			//put entry into eviction queue w/ 'addLast' semantics
 			put(fname, bbuff);
@@ -303,6 +640,95 @@ public class LazyWriteBuffer
 		}
 	}
 	
+	/**
+	 * Background writer for asynchronous (write-behind) eviction of pending 
+	 * buffer entries. A single writer thread processes evictions in queue order,
+	 * which keeps the local disk access sequential and bounds the number of
+	 * concurrent writes, while the size of pending evictions is bounded by the
+	 * write-behind capacity (otherwise callers evict synchronously).
+	 */
+	private static class EvictionWriter
+	{
+		private final ExecutorService _pool;
+		private final LinkedList<Future<?>> _tasks = new LinkedList<>();
+		private final AtomicReference<Exception> _error = new AtomicReference<>();
+		
+		public EvictionWriter() {
+			_pool = Executors.newSingleThreadExecutor(r -> {
+				Thread t = new Thread(r, "sysml-eviction");
+				t.setDaemon(true);
+				return t;
+			});
+		}
+		
+		public void evictFile(String fname) {
+			Future<?> f = _pool.submit(new EvictionTask(fname, _error));
+			synchronized( _tasks ) {
+				//prune completed tasks and track new task
+				while( !_tasks.isEmpty() && _tasks.getFirst().isDone() )
+					_tasks.removeFirst();
+				_tasks.addLast(f);
+			}
+		}
+		
+		public void awaitPending() throws IOException {
+			while( true ) {
+				Future<?> f = null;
+				synchronized( _tasks ) {
+					if( _tasks.isEmpty() )
+						break;
+					f = _tasks.removeFirst();
+				}
+				try {
+					f.get();
+				}
+				catch(Exception ex) {
+					throw new IOException("Failed to wait for pending eviction.", ex);
+				}
+			}
+			checkFailures();
+		}
+		
+		/**
+		 * Throws the first failure of completed evictions since
+		 * the last check, if any. Failed pending entries remain
+		 * in memory and are still served on reads.
+		 * 
+		 * @throws IOException if a previous eviction failed
+		 */
+		public void checkFailures() throws IOException {
+			Exception ex = _error.getAndSet(null);
+			if( ex != null )
+				throw new IOException("Asynchronous eviction failed.", ex);
+		}
+		
+		public void close() {
+			_pool.shutdownNow();
+		}
+		
+		private static class EvictionTask implements Runnable {
+			private String _fname = null;
+			private AtomicReference<Exception> _error = null;
+			
+			public EvictionTask( String fname, AtomicReference<Exception> error ) {
+				_fname = fname;
+				_error = error;
+			}
+			
+			@Override
+			public void run() {
+				try {
+					evictPending(_fname);
+				}
+				catch(Exception ex) {
+					//keep the first failure for subsequent reads
+					_error.compareAndSet(null, new DMLRuntimeException(
+						"Eviction to local path " + _fname + " failed.", ex));
+				}
+			}
+		}
+	}
+	
 	/**
 	 * File delete service for abstraction of synchronous and asynchronous
 	 * file cleanup on rmvar/cpvar. The threadpool for asynchronous cleanup
@@ -312,6 +738,7 @@ public class LazyWriteBuffer
 	private static class FileCleaner
 	{
 		private ExecutorService _pool = null;
+		private final LinkedList<Future<?>> _tasks = new LinkedList<>();
 		
 		public FileCleaner() {
 			//create new threadpool for async cleanup
@@ -321,12 +748,36 @@ public class LazyWriteBuffer
 		
 		public void deleteFile(String fname) {
 			//sync or async file delete
-			if( CacheableData.CACHING_ASYNC_FILECLEANUP )
-				_pool.submit(new FileCleanerTask(fname));
+			if( CacheableData.CACHING_ASYNC_FILECLEANUP ) {
+				Future<?> f = _pool.submit(new FileCleanerTask(fname));
+				synchronized( _tasks ) {
+					//prune completed tasks and track new task
+					while( !_tasks.isEmpty() && _tasks.getFirst().isDone() )
+						_tasks.removeFirst();
+					_tasks.addLast(f);
+				}
+			}
 			else
 				LocalFileUtils.deleteFileIfExists(fname, true);
 		}
 		
+		public void awaitPending() throws IOException {
+			while( true ) {
+				Future<?> f = null;
+				synchronized( _tasks ) {
+					if( _tasks.isEmpty() )
+						return;
+					f = _tasks.removeFirst();
+				}
+				try {
+					f.get();
+				}
+				catch(Exception ex) {
+					throw new IOException("Failed to wait for pending file cleanup.", ex);
+				}
+			}
+		}
+		
 		public void close() {
 			//execute pending tasks and shutdown pool
 			if( CacheableData.CACHING_ASYNC_FILECLEANUP )
@@ -23,6 +23,7 @@ import java.io.IOException;
 import java.lang.ref.SoftReference;
 
 import org.apache.commons.lang.mutable.MutableBoolean;
+import org.apache.hadoop.fs.LocalFileSystem;
 import org.apache.sysml.api.DMLScript.RUNTIME_PLATFORM;
 import org.apache.sysml.conf.ConfigurationManager;
 import org.apache.sysml.hops.OptimizerUtils;
@@ -34,6 +35,8 @@ import org.apache.sysml.runtime.controlprogram.ParForProgramBlock.PDataPartition
 import org.apache.sysml.runtime.controlprogram.context.SparkExecutionContext;
 import org.apache.sysml.runtime.instructions.spark.data.RDDObject;
 import org.apache.sysml.runtime.io.FileFormatProperties;
+import org.apache.sysml.runtime.io.IOUtilFunctions;
+import org.apache.sysml.runtime.io.ReaderBinaryBlockLocal;
 import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
 import org.apache.sysml.runtime.matrix.MetaDataFormat;
 import org.apache.sysml.runtime.matrix.MetaData;
@@ -78,6 +81,7 @@ public class MatrixObject extends CacheableData<MatrixBlock>
 	private int _partitionSize = -1; //indicates n for BLOCKWISE_N
 	private String _partitionCacheName = null; //name of cache block
 	private MatrixBlock _partitionInMemory = null;
+	private MatrixObject _partitionSource = null; //read-only input of in-memory partitions
 	
 	/**
 	 * Constructor that takes the value type and the HDFS filename.
@@ -124,6 +128,7 @@ public class MatrixObject extends CacheableData<MatrixBlock>
 		_partitionFormat = mo._partitionFormat;
 		_partitionSize = mo._partitionSize;
 		_partitionCacheName = mo._partitionCacheName;
+		_partitionSource = mo._partitionSource;
 	}
 
 	public void setUpdateType(UpdateType flag) {
@@ -201,11 +206,27 @@ public class MatrixObject extends CacheableData<MatrixBlock>
 	}
 	
 
+	/**
+	 * Marks this matrix object as partitioned in-memory, where partitions are
+	 * obtained as views over the given read-only input matrix object (i.e., 
+	 * shallow copies of sparse rows) instead of reading partition files.
+	 * 
+	 * @param format partition format
+	 * @param n partition size (for BLOCKWISE_N)
+	 * @param source read-only input matrix object
+	 */
+	public void setPartitionedInMemory( PDataPartitionFormat format, int n, MatrixObject source )
+	{
+		setPartitioned(format, n);
+		_partitionSource = source;
+	}
+
 	public void unsetPartitioned() 
 	{
 		_partitioned = false;
 		_partitionFormat = null;
 		_partitionSize = -1;
+		_partitionSource = null;
 	}
 
 	public boolean isPartitioned()
@@ -213,6 +234,11 @@ public class MatrixObject extends CacheableData<MatrixBlock>
 		return _partitioned;
 	}
 	
+	public boolean isPartitionedInMemory()
+	{
+		return _partitioned && _partitionSource != null;
+	}
+	
 	public PDataPartitionFormat getPartitionFormat()
 	{
 		return _partitionFormat;
@@ -239,7 +265,15 @@ public class MatrixObject extends CacheableData<MatrixBlock>
 	 * @param pred index range
 	 * @return matrix block
 	 */
-	public synchronized MatrixBlock readMatrixPartition( IndexRange pred ) {
+	public MatrixBlock readMatrixPartition( IndexRange pred ) {
+		//in-memory partitions are sliced from the shared read-only 
+		//input without synchronization across parfor workers
+		return isPartitionedInMemory() ?
+			readMatrixPartitionInMemory(pred) :
+			readMatrixPartitionFromFile(pred);
+	}
+	
+	private synchronized MatrixBlock readMatrixPartitionFromFile( IndexRange pred ) {
 		if( LOG.isTraceEnabled() )
 			LOG.trace("Acquire partition "+hashCode()+" "+pred);
 		long t0 = ConfigurationManager.isStatistics() ? System.nanoTime() : 0;
@@ -352,6 +386,63 @@ public class MatrixObject extends CacheableData<MatrixBlock>
 		return mb;
 	}
 
+	private MatrixBlock readMatrixPartitionInMemory( IndexRange pred ) {
+		if( LOG.isTraceEnabled() )
+			LOG.trace("Acquire in-memory partition "+hashCode()+" "+pred);
+		long t0 = ConfigurationManager.isStatistics() ? System.nanoTime() : 0;
+		
+		//pin the read-only input (multiple concurrent readers)
+		MatrixBlock in = _partitionSource.acquireRead();
+		MatrixBlock mb = null;
+		try {
+			//determine index range of partition, consistent with
+			//the partitions of file-based data partitioning
+			int rows = in.getNumRows(), cols = in.getNumColumns();
+			int rl = 0, ru = rows-1, cl = 0, cu = cols-1;
+			switch( _partitionFormat ) {
+				case ROW_WISE:
+					rl = ru = (int)pred.rowStart-1;
+					break;
+				case ROW_BLOCK_WISE:
+					rl = ru = (int)pred.rowStart-1;
+					cl = (int)pred.colStart-1; cu = (int)pred.colEnd-1;
+					break;
+				case ROW_BLOCK_WISE_N:
+					rl = (int)(pred.rowStart-1)/_partitionSize*_partitionSize;
+					ru = Math.min(rl+_partitionSize, rows)-1;
+					break;
+				case COLUMN_WISE:
+					cl = cu = (int)pred.colStart-1;
+					break;
+				case COLUMN_BLOCK_WISE:
+					cl = cu = (int)pred.colStart-1;
+					rl = (int)pred.rowStart-1; ru = (int)pred.rowEnd-1;
+					break;
+				case COLUMN_BLOCK_WISE_N:
+					cl = (int)(pred.colStart-1)/_partitionSize*_partitionSize;
+					cu = Math.min(cl+_partitionSize, cols)-1;
+					break;
+				default:
+					throw new DMLRuntimeException("Unsupported partition format: "+_partitionFormat);
+			}
+			
+			//slice partition with shallow copies of sparse rows, which is safe 
+			//due to copy on update (deep copy if the entire matrix is requested)
+			boolean deep = (rl==0 && ru==rows-1 && cl==0 && cu==cols-1);
+			mb = in.slice(rl, ru, cl, cu, deep, new MatrixBlock());
+		}
+		finally {
+			_partitionSource.release();
+		}
+		
+		if( ConfigurationManager.isStatistics() ){
+			long t1 = System.nanoTime();
+			CacheStatistics.incrementAcquireRTime(t1-t0);
+		}
+		
+		return mb;
+	}
+	
 	public String getPartitionFileName( IndexRange pred, int brlen, int bclen ) 
 	{
 		if ( !_partitioned )
@@ -509,6 +600,24 @@ public class MatrixObject extends CacheableData<MatrixBlock>
 		return mb;
 	}
 	
+	@Override
+	protected boolean isLocalOnlyFileFormat(String fName) {
+		try {
+			return _hdfsFileName != null && !isLocalBinaryBlockFile(fName)
+				&& ReaderBinaryBlockLocal.isLocalBinaryBlock(_hdfsFileName, false);
+		}
+		catch(IOException ex) {
+			return false;
+		}
+	}
+	
+	private static boolean isLocalBinaryBlockFile(String fname) throws IOException {
+		return CACHING_LOCAL_BINARY_BLOCK
+			&& ConfigurationManager.getExecutionMode() == RUNTIME_PLATFORM.SINGLE_NODE
+			&& fname.startsWith(ConfigurationManager.getScratchSpace())
+			&& IOUtilFunctions.getFileSystem(fname) instanceof LocalFileSystem;
+	}
+	
 	/**
 	 * Writes in-memory matrix to HDFS in a specified format.
 	 */
@@ -538,12 +647,14 @@ public class MatrixObject extends CacheableData<MatrixBlock>
 			if ( oinfo == OutputInfo.BinaryBlockOutputInfo && ConfigurationManager.getExecutionMode() == RUNTIME_PLATFORM.SINGLE_NODE &&
 				(mc.getRowsPerBlock() != ConfigurationManager.getBlocksize() || mc.getColsPerBlock() != ConfigurationManager.getBlocksize()) ) 
 			{
-				DataConverter.writeMatrixToHDFS(_data, fname, oinfo, new MatrixCharacteristics(mc.getRows(), mc.getCols(),
-					ConfigurationManager.getBlocksize(), ConfigurationManager.getBlocksize(), mc.getNonZeros()), rep, fprop, _diag);
-			}
-			else {
-				DataConverter.writeMatrixToHDFS(_data, fname, oinfo, mc, rep, fprop, _diag);
+				mc = new MatrixCharacteristics(mc.getRows(), mc.getCols(),
+					ConfigurationManager.getBlocksize(), ConfigurationManager.getBlocksize(), mc.getNonZeros());
 			}
+			
+			// temporary files in the local scratch space are only consumed by the local
+			// runtime (e.g., parfor result files), hence we use the mmap binary block format
+			boolean localBinary = oinfo == OutputInfo.BinaryBlockOutputInfo && isLocalBinaryBlockFile(fname);
+			DataConverter.writeMatrixToHDFS(_data, fname, oinfo, mc, rep, fprop, _diag, localBinary);
 
 			if( LOG.isTraceEnabled() )
 				LOG.trace("Writing matrix to HDFS ("+fname+") - COMPLETED... " + (System.currentTimeMillis()-begin) + " msec.");
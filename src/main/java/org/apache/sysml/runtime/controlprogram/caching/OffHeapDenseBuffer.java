@@ -0,0 +1,206 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.controlprogram.caching;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.matrix.data.DenseBlock;
+
+/**
+ * Off-heap buffer of a dense matrix in row-major order, backed by direct
+ * buffers of up to 2^26 cells each (i.e., with 64-bit addressing). This
+ * buffer is owned by the buffer pool's {@link ByteBuffer} to keep large,
+ * currently unpinned dense matrices outside the Java heap. Its native memory
+ * is released deterministically via the JDK's cleaner on {@link #free()},
+ * instead of waiting for garbage collection of the direct buffers. If the
+ * cleaner is not accessible, off-heap buffers are not supported.
+ */
+final class OffHeapDenseBuffer
+{
+	//max number of cells per direct buffer (512MB)
+	private static final int BUFFER_SHIFT = 26;
+	private static final int BUFFER_SIZE = 1 << BUFFER_SHIFT;
+	private static final int BUFFER_MASK = BUFFER_SIZE - 1;
+
+	//cleaner of direct buffers (Java 9+: Unsafe.invokeCleaner,
+	//Java 8: DirectBuffer.cleaner().clean()), obtained via reflection
+	private static final Object UNSAFE;
+	private static final Method CLEANER;
+	private static final Method CLEAN;
+
+	//allocated native memory of all off-heap buffers in bytes
+	private static final AtomicLong _allocated = new AtomicLong(0);
+
+	static {
+		Object unsafe = null;
+		Method cleaner = null;
+		Method clean = null;
+		try {
+			Class<?> clazz = Class.forName("sun.misc.Unsafe");
+			cleaner = clazz.getMethod("invokeCleaner", java.nio.ByteBuffer.class);
+			Field field = clazz.getDeclaredField("theUnsafe");
+			field.setAccessible(true);
+			unsafe = field.get(null);
+		}
+		catch(Exception ex) {
+			try {
+				cleaner = Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner");
+				clean = Class.forName("sun.misc.Cleaner").getMethod("clean");
+			}
+			catch(Exception ex2) {
+				cleaner = null;
+			}
+		}
+		UNSAFE = unsafe;
+		CLEANER = cleaner;
+		CLEAN = clean;
+	}
+
+	private final int _rlen;
+	private final int _clen;
+	private java.nio.ByteBuffer[] _buffers; //native memory
+	private DoubleBuffer[] _data; //views of native memory
+
+	/**
+	 * Creates an off-heap copy of the given on-heap dense block.
+	 *
+	 * @param db dense block
+	 * @param rlen number of rows
+	 * @param clen number of columns
+	 */
+	public OffHeapDenseBuffer(DenseBlock db, int rlen, int clen) {
+		_rlen = rlen;
+		_clen = clen;
+		allocate((long)rlen * clen);
+		for( int bi=0, r=0; bi<db.numBlocks(); r+=db.blockSize(bi), bi++ )
+			copyFromArray(db.valuesAt(bi), 0, (long)r * clen, db.size(bi));
+	}
+
+	/**
+	 * Indicates if off-heap buffers are supported, i.e., if
+	 * native memory can be released deterministically.
+	 *
+	 * @return true if supported
+	 */
+	public static boolean isSupported() {
+		return CLEANER != null;
+	}
+
+	/**
+	 * Returns the allocated native memory of all unreleased
+	 * off-heap buffers.
+	 *
+	 * @return size in bytes
+	 */
+	public static long getAllocatedSize() {
+		return _allocated.get();
+	}
+
+	/**
+	 * Copies the given row into the given array.
+	 *
+	 * @param r row index
+	 * @param ret output array of at least length clen
+	 */
+	public void get(int r, double[] ret) {
+		copyToArray((long)r * _clen, ret, 0, _clen);
+	}
+
+	/**
+	 * Copies all values into the given on-heap dense block
+	 * of equal dimensions.
+	 *
+	 * @param db output dense block
+	 */
+	public void copyTo(DenseBlock db) {
+		for( int bi=0, r=0; bi<db.numBlocks(); r+=db.blockSize(bi), bi++ )
+			copyToArray((long)r * _clen, db.valuesAt(bi), 0, db.size(bi));
+	}
+
+	/**
+	 * Releases the native memory of this buffer, which must
+	 * not be accessed anymore after this call.
+	 */
+	public void free() {
+		if( _buffers == null )
+			return;
+		for( java.nio.ByteBuffer buff : _buffers ) {
+			release(buff);
+			_allocated.addAndGet(-buff.capacity());
+		}
+		_buffers = null;
+		_data = null;
+	}
+
+	public boolean isFreed() {
+		return _buffers == null;
+	}
+
+	private void allocate(long len) {
+		int num = (int)((len + BUFFER_MASK) >>> BUFFER_SHIFT);
+		_buffers = new java.nio.ByteBuffer[num];
+		_data = new DoubleBuffer[num];
+		for( int i=0; i<num; i++ ) {
+			int n = (int)Math.min(len - ((long)i << BUFFER_SHIFT), BUFFER_SIZE);
+			_buffers[i] = java.nio.ByteBuffer.allocateDirect(n * 8).order(ByteOrder.nativeOrder());
+			_data[i] = _buffers[i].asDoubleBuffer();
+			_allocated.addAndGet(n * 8L);
+		}
+	}
+
+	private void copyFromArray(double[] src, int spos, long dpos, long len) {
+		while( len > 0 ) {
+			DoubleBuffer buff = _data[(int)(dpos >>> BUFFER_SHIFT)].duplicate();
+			int off = (int)(dpos & BUFFER_MASK);
+			int n = (int)Math.min(len, BUFFER_SIZE - off);
+			buff.position(off);
+			buff.put(src, spos, n);
+			spos += n; dpos += n; len -= n;
+		}
+	}
+
+	private void copyToArray(long spos, double[] dst, int dpos, long len) {
+		while( len > 0 ) {
+			DoubleBuffer buff = _data[(int)(spos >>> BUFFER_SHIFT)].duplicate();
+			int off = (int)(spos & BUFFER_MASK);
+			int n = (int)Math.min(len, BUFFER_SIZE - off);
+			buff.position(off);
+			buff.get(dst, dpos, n);
+			spos += n; dpos += n; len -= n;
+		}
+	}
+
+	private static void release(java.nio.ByteBuffer buff) {
+		try {
+			if( UNSAFE != null )
+				CLEANER.invoke(UNSAFE, buff);
+			else
+				CLEAN.invoke(CLEANER.invoke(buff));
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException("Failed to release off-heap buffer.", ex);
+		}
+	}
+}
@@ -50,6 +50,8 @@ import org.apache.sysml.runtime.instructions.cp.ScalarObject;
 import org.apache.sysml.runtime.instructions.cp.ScalarObjectFactory;
 import org.apache.sysml.runtime.instructions.gpu.context.GPUContext;
 import org.apache.sysml.runtime.instructions.gpu.context.GPUObject;
+import org.apache.sysml.runtime.lineage.Lineage;
+import org.apache.sysml.runtime.lineage.LineageCacheConfig;
 import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
 import org.apache.sysml.runtime.matrix.MetaDataFormat;
 import org.apache.sysml.runtime.matrix.MetaData;
@@ -74,6 +76,9 @@ public class ExecutionContext {
 	
 	//debugging (optional)
 	protected DebugState _dbState = null;
+	
+	//lineage trace (optional)
+	protected Lineage _lineage = null;
 
 	/**
 	 * List of {@link GPUContext}s owned by this {@link ExecutionContext}
@@ -97,6 +102,8 @@ public class ExecutionContext {
 		if (DMLScript.ENABLE_DEBUG_MODE){
 			_dbState = DebugState.getInstance();
 		}
+		if( LineageCacheConfig.isTracing() )
+			_lineage = new Lineage();
 	}
 	
 	public Program getProgram(){
@@ -114,6 +121,14 @@ public class ExecutionContext {
 	public void setVariables(LocalVariableMap vars) {
 		_variables = vars;
 	}
+	
+	public Lineage getLineage() {
+		return _lineage;
+	}
+	
+	public void setLineage(Lineage lineage) {
+		_lineage = lineage;
+	}
 
 	/**
 	 * Get the i-th GPUContext
@@ -34,7 +34,7 @@ public class LocalParamServer extends ParamServer {
 		return new LocalParamServer(model, aggFunc, updateType, ec, workerNum);
 	}
 
-	private LocalParamServer(ListObject model, String aggFunc, Statement.PSUpdateType updateType, ExecutionContext ec, int workerNum) {
+	protected LocalParamServer(ListObject model, String aggFunc, Statement.PSUpdateType updateType, ExecutionContext ec, int workerNum) {
 		super(model, aggFunc, updateType, ec, workerNum);
 	}
 
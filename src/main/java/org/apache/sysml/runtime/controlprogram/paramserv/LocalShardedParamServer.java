@@ -0,0 +1,283 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.controlprogram.paramserv;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.parser.Statement;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
+import org.apache.sysml.runtime.functionobjects.Plus;
+import org.apache.sysml.runtime.instructions.cp.Data;
+import org.apache.sysml.runtime.instructions.cp.ListObject;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysml.utils.Statistics;
+
+/**
+ * Local parameter server that partitions the gradient entries (e.g., of the
+ * per-layer weights and biases) into shards with independent locks.
+ * Pushed gradients are accrued per shard, which allows concurrent pushes
+ * to proceed in parallel on different shards. The user-defined aggregation
+ * function, however, is defined over the entire model list and thus still
+ * applied by a single thread at a time. Under ASP, this thread applies the
+ * accrued gradients of all pending pushes at once (i.e., a combining
+ * update), and broadcasts the resulting model to all pushing workers.
+ * Since every broadcast model is the copy of a single aggregation result,
+ * pulls always read consistent model snapshots.
+ */
+public class LocalShardedParamServer extends LocalParamServer
+{
+	private static final BinaryOperator PLUS = new BinaryOperator(Plus.getPlusFnObject());
+
+	//shards of gradient entries w/ accrued gradients (lazily
+	//initialized because gradients might cover a subset of the model)
+	private final int _numShards;
+	private volatile Shard[] _shards = null;
+	private volatile int[] _entry2shard = null;
+	private volatile List<String> _names = null;
+
+	//pushers accrue gradients under the shared read lock, while the
+	//aggregation swaps the accrued gradients under the write lock
+	private final ReentrantReadWriteLock _accLock = new ReentrantReadWriteLock();
+	private final ReentrantLock _aggLock = new ReentrantLock();
+	private final AtomicIntegerArray _pending; //workers w/ accrued but unapplied gradients
+	private final AtomicInteger _numPushes = new AtomicInteger(0);
+
+	public static LocalShardedParamServer create(ListObject model, String aggFunc, Statement.PSUpdateType updateType, ExecutionContext ec, int workerNum, int numShards) {
+		return new LocalShardedParamServer(model, aggFunc, updateType, ec, workerNum, numShards);
+	}
+
+	private LocalShardedParamServer(ListObject model, String aggFunc, Statement.PSUpdateType updateType, ExecutionContext ec, int workerNum, int numShards) {
+		super(model, aggFunc, updateType, ec, workerNum);
+		if( updateType != Statement.PSUpdateType.BSP && updateType != Statement.PSUpdateType.ASP )
+			throw new DMLRuntimeException("Unsupported update: " + updateType.name());
+		_pending = new AtomicIntegerArray(workerNum);
+		_numShards = numShards;
+	}
+
+	@Override
+	public void push(int workerID, ListObject gradients) {
+		try {
+			//accrue gradients into shards (in parallel to other pushes)
+			accrueGradients(workerID, gradients);
+
+			switch( getUpdateType() ) {
+				case BSP: {
+					//last worker of the current iteration updates and broadcasts
+					if( _numPushes.incrementAndGet() == _modelMap.size() ) {
+						_aggLock.lock();
+						try {
+							_numPushes.set(0);
+							updateGlobalModel(drainGradients());
+							for( int i=0; i<_pending.length(); i++ )
+								_pending.set(i, 0);
+							broadcastModel(true);
+						}
+						finally {
+							_aggLock.unlock();
+						}
+					}
+					break;
+				}
+				case ASP: {
+					//apply all pending gradients, unless a concurrent
+					//update already included and broadcast our gradients
+					_aggLock.lock();
+					try {
+						if( _pending.get(workerID) == 1 )
+							updateAndBroadcastPending();
+					}
+					finally {
+						_aggLock.unlock();
+					}
+					break;
+				}
+				default:
+					throw new DMLRuntimeException("Unsupported update: " + getUpdateType().name());
+			}
+		}
+		catch(Exception e) {
+			throw new DMLRuntimeException("Aggregation service failed: ", e);
+		}
+	}
+
+	@Override
+	public ListObject getResult() {
+		if( ConfigurationManager.isStatistics() && _shards != null ) {
+			long[] contention = new long[_shards.length];
+			for( int i=0; i<_shards.length; i++ ) {
+				contention[i] = _shards[i].contention.longValue();
+				Statistics.accPSShardAccrueTime(_shards[i].accrueTime.longValue());
+				Statistics.accPSShardWaitTime(_shards[i].waitTime.longValue());
+			}
+			Statistics.accPSShardContention(contention);
+		}
+		return super.getResult();
+	}
+
+	private void updateAndBroadcastPending() throws InterruptedException {
+		//collect pending workers, whose gradients are accrued before
+		//the flag is set and hence included in the drained gradients
+		List<Integer> workers = new ArrayList<>();
+		for( int i=0; i<_pending.length(); i++ )
+			if( _pending.compareAndSet(i, 1, 0) )
+				workers.add(i);
+		ListObject gradients = drainGradients();
+		if( gradients != null )
+			updateGlobalModel(gradients);
+		for( Integer workerID : workers )
+			broadcastModel(workerID);
+	}
+
+	private void accrueGradients(int workerID, ListObject gradients) {
+		if( _shards == null )
+			initShards(gradients);
+		if( gradients.getLength() != _entry2shard.length )
+			throw new DMLRuntimeException("Number of gradients does not match previous pushes: "
+				+ gradients.getLength() + " vs " + _entry2shard.length);
+		_accLock.readLock().lock();
+		try {
+			//probe shards in worker-specific order to reduce convoys
+			for( int j=0; j<_shards.length; j++ ) {
+				int s = (workerID + j) % _shards.length;
+				Shard shard = _shards[s];
+				long t0 = ConfigurationManager.isStatistics() ? System.nanoTime() : 0;
+				if( !shard.lock.tryLock() ) {
+					shard.contention.increment();
+					shard.lock.lock();
+				}
+				try {
+					long t1 = ConfigurationManager.isStatistics() ? System.nanoTime() : 0;
+					for( int i=0; i<_entry2shard.length; i++ )
+						if( _entry2shard[i] == s )
+							shard.accrue(i, gradients.slice(i));
+					if( ConfigurationManager.isStatistics() ) {
+						shard.waitTime.add(t1 - t0);
+						shard.accrueTime.add(System.nanoTime() - t1);
+					}
+				}
+				finally {
+					shard.lock.unlock();
+				}
+			}
+			_pending.set(workerID, 1);
+		}
+		finally {
+			_accLock.readLock().unlock();
+		}
+		ParamservUtils.cleanupListObject(gradients);
+	}
+
+	private ListObject drainGradients() {
+		MatrixBlock[] blocks = new MatrixBlock[_entry2shard.length];
+		_accLock.writeLock().lock();
+		try {
+			for( int i=0; i<_entry2shard.length; i++ ) {
+				Shard shard = _shards[_entry2shard[i]];
+				blocks[i] = shard.acc[i];
+				shard.acc[i] = null;
+			}
+		}
+		finally {
+			_accLock.writeLock().unlock();
+		}
+		if( blocks.length == 0 || blocks[0] == null )
+			return null; //no pending gradients
+		List<Data> data = new ArrayList<>();
+		for( MatrixBlock mb : blocks )
+			data.add(ParamservUtils.newMatrixObject(mb));
+		return new ListObject(data, _names);
+	}
+
+	private synchronized void initShards(ListObject gradients) {
+		if( _shards != null )
+			return;
+		int numShards = Math.max(Math.min(_numShards, gradients.getLength()), 1);
+		Shard[] shards = new Shard[numShards];
+		for( int i=0; i<numShards; i++ )
+			shards[i] = new Shard(gradients.getLength());
+		_names = gradients.getNames();
+		_entry2shard = assignShards(gradients, numShards);
+		_shards = shards;
+	}
+
+	/**
+	 * Assigns gradient entries to shards, where we greedily place the
+	 * largest entries into the shard with the smallest total size.
+	 *
+	 * @param gradients list of gradient entries
+	 * @param numShards number of shards
+	 * @return shard index per gradient entry
+	 */
+	private static int[] assignShards(ListObject gradients, int numShards) {
+		int n = gradients.getLength();
+		long[] sizes = new long[n];
+		Integer[] ix = new Integer[n];
+		for( int i=0; i<n; i++ ) {
+			Data dat = gradients.slice(i);
+			sizes[i] = (dat instanceof MatrixObject) ?
+				((MatrixObject)dat).getNumRows() * ((MatrixObject)dat).getNumColumns() : 1;
+			ix[i] = i;
+		}
+		Arrays.sort(ix, (a, b) -> Long.compare(sizes[b], sizes[a]));
+		long[] load = new long[numShards];
+		int[] ret = new int[n];
+		for( Integer i : ix ) {
+			int minPos = 0;
+			for( int s=1; s<numShards; s++ )
+				minPos = (load[s] < load[minPos]) ? s : minPos;
+			ret[i] = minPos;
+			load[minPos] += sizes[i];
+		}
+		return ret;
+	}
+
+	private static class Shard {
+		private final ReentrantLock lock = new ReentrantLock();
+		private final MatrixBlock[] acc;
+		private final LongAdder contention = new LongAdder();
+		private final LongAdder waitTime = new LongAdder();   //in nano
+		private final LongAdder accrueTime = new LongAdder(); //in nano
+
+		public Shard(int numEntries) {
+			acc = new MatrixBlock[numEntries];
+		}
+
+		public void accrue(int pos, Data gradient) {
+			//note: the first block is copied because the worker might
+			//still reference and reuse the pushed gradient
+			MatrixBlock mb = ((MatrixObject) gradient).acquireReadAndRelease();
+			if( acc[pos] == null )
+				acc[pos] = new MatrixBlock(mb);
+			else
+				acc[pos].binaryOperationsInPlace(PLUS, mb);
+		}
+	}
+}
@@ -116,6 +116,10 @@ public abstract class ParamServer
 
 	public abstract ListObject pull(int workerID);
 
+	protected Statement.PSUpdateType getUpdateType() {
+		return _updateType;
+	}
+	
 	public ListObject getResult() {
 		// All the model updating work has terminated,
 		// so we could return directly the result model
@@ -168,7 +172,7 @@ public abstract class ParamServer
 		}
 	}
 
-	private void updateGlobalModel(ListObject gradients) {
+	protected void updateGlobalModel(ListObject gradients) {
 		Timing tAgg = ConfigurationManager.isStatistics() ? new Timing(true) : null;
 		_model = updateLocalModel(_ec, gradients, _model);
 		if (ConfigurationManager.isStatistics())
@@ -215,7 +219,7 @@ public abstract class ParamServer
 	/**
 	 * Broadcast the model for all workers
 	 */
-	private void broadcastModel(boolean par) {
+	protected void broadcastModel(boolean par) {
 		IntStream stream = IntStream.range(0, _modelMap.size());
 		(par ? stream.parallel() : stream).forEach(workerID -> {
 			try {
@@ -226,7 +230,7 @@ public abstract class ParamServer
 		});
 	}
 
-	private void broadcastModel(int workerID) throws InterruptedException {
+	protected void broadcastModel(int workerID) throws InterruptedException {
 		Timing tBroad = ConfigurationManager.isStatistics() ? new Timing(true) : null;
 
 		//broadcast copy of model to specific worker, cleaned up by worker
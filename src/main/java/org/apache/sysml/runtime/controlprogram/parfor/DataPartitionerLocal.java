@@ -48,6 +48,8 @@ import org.apache.sysml.runtime.controlprogram.parfor.util.Cell;
 import org.apache.sysml.runtime.controlprogram.parfor.util.IDSequence;
 import org.apache.sysml.runtime.controlprogram.parfor.util.StagingFileUtils;
 import org.apache.sysml.runtime.io.IOUtilFunctions;
+import org.apache.sysml.runtime.io.ReaderBinaryBlockLocal;
+import org.apache.sysml.runtime.io.ReaderBinaryBlockLocal.LocalBlockReader;
 import org.apache.sysml.runtime.matrix.data.IJV;
 import org.apache.sysml.runtime.matrix.data.InputInfo;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
@@ -323,30 +325,25 @@ public class DataPartitionerLocal extends DataPartitioner
 			MatrixIndexes key = new MatrixIndexes(); 
 			MatrixBlock value = new MatrixBlock();
 			
-			for(Path lpath : IOUtilFunctions.getSequenceFilePaths(fs, path) )
-			{
-				SequenceFile.Reader reader = new SequenceFile.Reader(fs,lpath,job);
-				try
-				{
+			if( ReaderBinaryBlockLocal.isLocalBinaryBlock(fs, path) ) {
+				//local binary block files (e.g., exported local parfor inputs)
+				try( LocalBlockReader reader = new LocalBlockReader(fs, path) ) {
 					while(reader.next(key, value)) //for each block
+						processBinaryBlock(fnameStaging, key, value, rlen, clen, brlen, bclen);
+				}
+			}
+			else {
+				for(Path lpath : IOUtilFunctions.getSequenceFilePaths(fs, path) )
+				{
+					SequenceFile.Reader reader = new SequenceFile.Reader(fs,lpath,job);
+					try
 					{
-						long row_offset = (key.getRowIndex()-1)*brlen;
-						long col_offset = (key.getColumnIndex()-1)*bclen;
-						long rows = value.getNumRows();
-						long cols = value.getNumColumns();
-						
-						//bound check per block
-						if( row_offset + rows < 1 || row_offset + rows > rlen || col_offset + cols<1 || col_offset + cols > clen )
-						{
-							throw new IOException("Matrix block ["+(row_offset+1)+":"+(row_offset+rows)+","+(col_offset+1)+":"+(col_offset+cols)+"] " +
-									              "out of overall matrix range [1:"+rlen+",1:"+clen+"].");
-						}
-						
-					    appendBlockToStagingArea(fnameStaging, value, row_offset, col_offset, brlen, bclen);
+						while(reader.next(key, value)) //for each block
+							processBinaryBlock(fnameStaging, key, value, rlen, clen, brlen, bclen);
+					}
+					finally {
+						IOUtilFunctions.closeSilently(reader);
 					}
-				}
-				finally {
-					IOUtilFunctions.closeSilently(reader);
 				}
 			}
 
@@ -397,60 +394,25 @@ public class DataPartitionerLocal extends DataPartitioner
 			
 			LinkedList<Cell> buffer = new LinkedList<>();
 			
-			for(Path lpath : IOUtilFunctions.getSequenceFilePaths(fs, path) )
-			{
-				SequenceFile.Reader reader = new SequenceFile.Reader(fs,lpath,job);
-				try
-				{
+			if( ReaderBinaryBlockLocal.isLocalBinaryBlock(fs, path) ) {
+				//local binary block files (e.g., exported local parfor inputs)
+				try( LocalBlockReader reader = new LocalBlockReader(fs, path) ) {
 					while(reader.next(key, value)) //for each block
+						processBinaryBlock2BinaryCell(fnameStaging, key, value, buffer, rlen, clen, brlen, bclen);
+				}
+			}
+			else {
+				for(Path lpath : IOUtilFunctions.getSequenceFilePaths(fs, path) )
+				{
+					SequenceFile.Reader reader = new SequenceFile.Reader(fs,lpath,job);
+					try
 					{
-						long row_offset = (key.getRowIndex()-1)*brlen;
-						long col_offset = (key.getColumnIndex()-1)*bclen;
-						long rows = value.getNumRows();
-						long cols = value.getNumColumns();
-						
-						//bound check per block
-						if( row_offset + rows < 1 || row_offset + rows > rlen || col_offset + cols<1 || col_offset + cols > clen )
-						{
-							throw new IOException("Matrix block ["+(row_offset+1)+":"+(row_offset+rows)+","+(col_offset+1)+":"+(col_offset+cols)+"] " +
-									              "out of overall matrix range [1:"+rlen+",1:"+clen+"].");
-						}
-						
-						boolean sparse = value.isInSparseFormat();
-						if( sparse ) //SPARSE
-						{
-							Iterator<IJV> iter = value.getSparseBlockIterator();
-							while( iter.hasNext() )
-							{
-								IJV lcell = iter.next();
-								Cell tmp = new Cell( row_offset + lcell.getI() + 1, 
-													 col_offset + lcell.getJ() + 1,
-													 lcell.getV() ); 
-								buffer.addLast( tmp );
-							}
-						}
-						else //DENSE
-						{
-							for( int i=0; i<rows; i++ )
-								for( int j=0; j<cols; j++ )
-								{
-									double lvalue  = value.getValueDenseUnsafe(i, j);
-									if( lvalue != 0 ) //for nnz
-									{
-										Cell tmp = new Cell( row_offset + i + 1, 
-												 			 col_offset + j + 1,
-												 			 lvalue ); 
-										buffer.addLast( tmp );
-									}
-								}
-						}
-						
-						appendCellBufferToStagingArea(fnameStaging, buffer, brlen, bclen);
-						buffer.clear();
+						while(reader.next(key, value)) //for each block
+							processBinaryBlock2BinaryCell(fnameStaging, key, value, buffer, rlen, clen, brlen, bclen);
+					}
+					finally {
+						IOUtilFunctions.closeSilently(reader);
 					}
-				}
-				finally {
-					IOUtilFunctions.closeSilently(reader);
 				}
 			}
 
@@ -484,6 +446,74 @@ public class DataPartitionerLocal extends DataPartitioner
 		}
 	}
 
+	private void processBinaryBlock( String fnameStaging, MatrixIndexes key, MatrixBlock value, long rlen, long clen, int brlen, int bclen ) 
+		throws IOException
+	{
+		long row_offset = (key.getRowIndex()-1)*brlen;
+		long col_offset = (key.getColumnIndex()-1)*bclen;
+		
+		//bound check per block
+		checkBlockBounds(value, row_offset, col_offset, rlen, clen);
+		
+		appendBlockToStagingArea(fnameStaging, value, row_offset, col_offset, brlen, bclen);
+	}
+	
+	private void processBinaryBlock2BinaryCell( String fnameStaging, MatrixIndexes key, MatrixBlock value, LinkedList<Cell> buffer, long rlen, long clen, int brlen, int bclen ) 
+		throws IOException
+	{
+		long row_offset = (key.getRowIndex()-1)*brlen;
+		long col_offset = (key.getColumnIndex()-1)*bclen;
+		long rows = value.getNumRows();
+		long cols = value.getNumColumns();
+		
+		//bound check per block
+		checkBlockBounds(value, row_offset, col_offset, rlen, clen);
+		
+		boolean sparse = value.isInSparseFormat();
+		if( sparse ) //SPARSE
+		{
+			Iterator<IJV> iter = value.getSparseBlockIterator();
+			while( iter.hasNext() )
+			{
+				IJV lcell = iter.next();
+				Cell tmp = new Cell( row_offset + lcell.getI() + 1, 
+									 col_offset + lcell.getJ() + 1,
+									 lcell.getV() ); 
+				buffer.addLast( tmp );
+			}
+		}
+		else //DENSE
+		{
+			for( int i=0; i<rows; i++ )
+				for( int j=0; j<cols; j++ )
+				{
+					double lvalue  = value.getValueDenseUnsafe(i, j);
+					if( lvalue != 0 ) //for nnz
+					{
+						Cell tmp = new Cell( row_offset + i + 1, 
+								 			 col_offset + j + 1,
+								 			 lvalue ); 
+						buffer.addLast( tmp );
+					}
+				}
+		}
+		
+		appendCellBufferToStagingArea(fnameStaging, buffer, brlen, bclen);
+		buffer.clear();
+	}
+	
+	private static void checkBlockBounds( MatrixBlock value, long row_offset, long col_offset, long rlen, long clen ) 
+		throws IOException
+	{
+		long rows = value.getNumRows();
+		long cols = value.getNumColumns();
+		if( row_offset + rows < 1 || row_offset + rows > rlen || col_offset + cols<1 || col_offset + cols > clen )
+		{
+			throw new IOException("Matrix block ["+(row_offset+1)+":"+(row_offset+rows)+","+(col_offset+1)+":"+(col_offset+cols)+"] " +
+					              "out of overall matrix range [1:"+rlen+",1:"+clen+"].");
+		}
+	}
+
 	private void appendBlockToStagingArea( String dir, MatrixBlock mb, long row_offset, long col_offset, long brlen, long bclen ) 
 		throws IOException
 	{
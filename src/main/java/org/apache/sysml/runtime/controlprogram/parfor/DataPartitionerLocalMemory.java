@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.controlprogram.parfor;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.controlprogram.ParForProgramBlock.PDataPartitionFormat;
+import org.apache.sysml.runtime.controlprogram.ParForProgramBlock.PartitionFormat;
+import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.MetaDataFormat;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.OutputInfo;
+
+/**
+ * Partitions a given matrix into row or column partitions without materialization.
+ * If the input matrix fits into the local memory budget, the partitioned matrix object
+ * simply references the read-only input, and partitions are sliced on demand from the
+ * in-memory input block (shared by all parfor workers). Partitions of entire sparse rows
+ * are shallow copies (i.e., references to the rows of the input); all other partitions 
+ * are copies of the respective row or column range. Compared to DataPartitionerLocal, 
+ * this avoids the export of the input, the local staging, and the write/read of all
+ * partition files.
+ * 
+ * NOTE: Similar to file-based partitioning, the partitioned matrix object is only
+ * used for indexed access; full reads are served from the original input variable.
+ * 
+ */
+public class DataPartitionerLocalMemory extends DataPartitioner
+{
+	public DataPartitionerLocalMemory(PartitionFormat dpf) {
+		super(dpf._dpf, dpf._N);
+		if( dpf._dpf == PDataPartitionFormat.BLOCK_WISE_M_N )
+			throw new DMLRuntimeException("Data partitioning format '"+dpf+"' not supported by DataPartitionerLocalMemory" );
+	}
+	
+	@Override
+	public MatrixObject createPartitionedMatrixObject( MatrixObject in, MatrixObject out, boolean force ) {
+		//check for naive partitioning
+		if( _format == PDataPartitionFormat.NONE )
+			return in;
+		
+		//create output matrix object w/ deep copy of meta data,
+		//but without data or partition files (views over input)
+		MetaDataFormat meta = (MetaDataFormat)in.getMetaData();
+		MatrixCharacteristics mcNew = new MatrixCharacteristics(meta.getMatrixCharacteristics());
+		out.setMetaData(new MetaDataFormat(mcNew, meta.getOutputInfo(), meta.getInputInfo()));
+		out.setPartitionedInMemory( _format, _n, in );
+		
+		return out;
+	}
+	
+	@Override
+	protected void partitionMatrix(MatrixObject in, String fnameNew, InputInfo ii, OutputInfo oi, long rlen, long clen, int brlen, int bclen) {
+		//no materialized partitions (see createPartitionedMatrixObject)
+		throw new DMLRuntimeException("Unsupported materialization of in-memory data partitions.");
+	}
+}
@@ -41,14 +41,21 @@ import org.apache.sysml.runtime.controlprogram.parfor.stat.Timing;
 public class LocalParWorker extends ParWorker implements Runnable
 {
 	protected final LocalTaskQueue<Task> _taskQueue;
+	protected final int _queuePos;
 	protected final CompilerConfig _cconf;
 	protected final boolean _stopped;
 	protected final int _max_retry;
 	protected Collection<String> _fnNames = null;
+	protected long _idleTime = 0; //in nano sec
 	
 	public LocalParWorker( long ID, LocalTaskQueue<Task> q, ParForBody body, CompilerConfig cconf, int max_retry, boolean monitor ) {
+		this(ID, q, 0, body, cconf, max_retry, monitor);
+	}
+	
+	public LocalParWorker( long ID, LocalTaskQueue<Task> q, int pos, ParForBody body, CompilerConfig cconf, int max_retry, boolean monitor ) {
 		super(ID, body, monitor);
 		_taskQueue = q;
+		_queuePos = pos;
 		_cconf = cconf;
 		_stopped   = false;
 		_max_retry = max_retry;
@@ -62,6 +69,16 @@ public class LocalParWorker extends ParWorker implements Runnable
 		return _fnNames;
 	}
 	
+	/**
+	 * Returns the time this worker spent waiting for tasks, and hence
+	 * should only be called after execution.
+	 * 
+	 * @return idle time in milliseconds
+	 */
+	public double getIdleTime() {
+		return _idleTime / 1e6;
+	}
+	
 	@Override
 	public void run() 
 	{
@@ -97,7 +114,9 @@ public class LocalParWorker extends ParWorker implements Runnable
 			while( !_stopped ) {
 				//dequeue the next task (abort on NO_MORE_TASKS or error)
 				try {
-					lTask = _taskQueue.dequeueTask();
+					long t0 = System.nanoTime();
+					lTask = _taskQueue.dequeueTask( _queuePos );
+					_idleTime += System.nanoTime() - t0;
 					
 					if( lTask == LocalTaskQueue.NO_MORE_TASKS ) // task queue closed (no more tasks)
 						break; //normal end of parallel worker
@@ -147,6 +166,7 @@ public class LocalParWorker extends ParWorker implements Runnable
 			StatisticMonitor.putPWStat(_workerID, Stat.PARWRK_NUMTASKS, _numTasks);
 			StatisticMonitor.putPWStat(_workerID, Stat.PARWRK_NUMITERS, _numIters);
 			StatisticMonitor.putPWStat(_workerID, Stat.PARWRK_EXEC_T, time1.stop());
+			StatisticMonitor.putPWStat(_workerID, Stat.PARWRK_IDLE_T, getIdleTime());
 		}
 	}
 }
@@ -97,6 +97,21 @@ public class LocalTaskQueue<T>
 		return t;
 	}
 	
+	/**
+	 * Read of the next task for the worker at the given position, which
+	 * allows queues with per-worker state (e.g., work stealing). By default,
+	 * all workers read from the shared FIFO queue.
+	 * 
+	 * @param pos position of the reading worker
+	 * @return task
+	 * @throws InterruptedException if InterruptedException occurs
+	 */
+	public T dequeueTask( int pos ) 
+		throws InterruptedException
+	{
+		return dequeueTask();
+	}
+	
 	/**
 	 * Synchronized (logical) insert of a NO_MORE_TASKS symbol at the end of the FIFO queue in order to
 	 * mark that no more tasks will be inserted into the queue.
@@ -0,0 +1,215 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.controlprogram.parfor;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.sysml.runtime.controlprogram.parfor.Task.TaskType;
+import org.apache.sysml.runtime.instructions.cp.IntObject;
+
+/**
+ * Task queue for work-stealing parfor execution, where each worker owns a
+ * deque of tasks. Workers take tasks from the bottom of their own deque and,
+ * if empty, steal from the top of other deques. Range tasks are split
+ * adaptively in halves on dequeue: the dequeuing worker keeps the first
+ * half and pushes the second half to the bottom of its own deque, until
+ * the task size reaches the minimum task size. Hence, large (unsplit)
+ * ranges remain at the top of deques, where they are stolen by idle
+ * workers, which handles skewed per-iteration costs without fine-grained
+ * tasks in the common case.
+ *
+ * NOTE: The number of tasks returned by this queue exceeds the number of
+ * enqueued tasks by the number of splits (see getNumSplits).
+ */
+public class LocalTaskQueueWorkStealing extends LocalTaskQueue<Task>
+{
+	//max wait time of idle workers before re-probing all deques
+	//(in ms, splits of other workers are not signaled)
+	private static final long MAX_IDLE_WAIT = 1;
+
+	private final ArrayDeque<Task>[] _deques;
+	private final long _minTaskSize;
+	private final AtomicLong _numPending = new AtomicLong(0); //iterations not yet dequeued
+	private final AtomicLong _numSplits = new AtomicLong(0);
+	private final AtomicLong _numSteals = new AtomicLong(0);
+	private volatile boolean _closedInput = false;
+	private int _pos = 0; //round-robin assignment of enqueued tasks
+
+	@SuppressWarnings("unchecked")
+	public LocalTaskQueueWorkStealing( int numWorkers, long minTaskSize ) {
+		_deques = new ArrayDeque[numWorkers];
+		for( int i=0; i<numWorkers; i++ )
+			_deques[i] = new ArrayDeque<>();
+		_minTaskSize = Math.max(minTaskSize, 1);
+	}
+
+	/**
+	 * Inserts a new task to the bottom of the next deque (round-robin).
+	 *
+	 * @param t task
+	 */
+	@Override
+	public synchronized void enqueueTask( Task t ) {
+		//increment pending iterations before publishing the task
+		_numPending.addAndGet(getNumIterations(t));
+		ArrayDeque<Task> dq = _deques[_pos];
+		synchronized( dq ) {
+			dq.addLast(t);
+		}
+		_pos = (_pos + 1) % _deques.length;
+		notifyAll(); //notify idle workers
+	}
+
+	/**
+	 * Reads a task from the bottom of the own deque or steals a task from
+	 * the top of another deque, which is split according to the minimum
+	 * task size before it is returned.
+	 *
+	 * @return task
+	 * @throws InterruptedException if InterruptedException occurs
+	 */
+	@Override
+	public Task dequeueTask()
+		throws InterruptedException
+	{
+		return dequeueTask(0);
+	}
+
+	@Override
+	public Task dequeueTask( int pos )
+		throws InterruptedException
+	{
+		int len = _deques.length;
+		int lpos = pos % len;
+		while( true ) {
+			//probe own deque (bottom) and other deques (top)
+			Task t = poll(_deques[lpos], true);
+			for( int i=1; t == null && i<len; i++ ) {
+				t = poll(_deques[(lpos + i) % len], false);
+				if( t != null )
+					_numSteals.incrementAndGet();
+			}
+
+			//split and return obtained task
+			if( t != null ) {
+				t = split(t, _deques[lpos]);
+				_numPending.addAndGet(-getNumIterations(t));
+				return t;
+			}
+
+			//wait for new tasks or splits of other workers
+			synchronized( this ) {
+				if( _closedInput && _numPending.get() == 0 )
+					return (Task)NO_MORE_TASKS;
+				wait(MAX_IDLE_WAIT);
+			}
+		}
+	}
+
+	@Override
+	public synchronized void closeInput() {
+		_closedInput = true;
+		notifyAll(); //notify all waiting readers
+	}
+
+	public long getNumSplits() {
+		return _numSplits.get();
+	}
+
+	public long getNumSteals() {
+		return _numSteals.get();
+	}
+
+	private static Task poll( ArrayDeque<Task> dq, boolean bottom ) {
+		synchronized( dq ) {
+			return bottom ? dq.pollLast() : dq.pollFirst();
+		}
+	}
+
+	private Task split( Task t, ArrayDeque<Task> dq ) {
+		if( t.getType() != TaskType.RANGE )
+			return t;
+
+		List<IntObject> iters = t.getIterations();
+		long from = iters.get(0).getLongValue();
+		long to = iters.get(1).getLongValue();
+		long incr = iters.get(2).getLongValue();
+		long n = (to - from) / incr + 1;
+		if( n < 2 * _minTaskSize )
+			return t;
+
+		//split in halves, keep first and push second halves
+		//(pushed in decreasing size, i.e., largest halves remain on top)
+		while( n >= 2 * _minTaskSize ) {
+			long n1 = (n + 1) / 2;
+			long mid = from + (n1 - 1) * incr;
+			Task t2 = createRangeTask(t.getVarName(), mid + incr, to, incr);
+			synchronized( dq ) {
+				dq.addLast(t2);
+			}
+			_numSplits.incrementAndGet();
+			to = mid;
+			n = n1;
+		}
+		return createRangeTask(t.getVarName(), from, to, incr);
+	}
+
+	private static Task createRangeTask( String iterVar, long from, long to, long incr ) {
+		Task t = new Task(iterVar, TaskType.RANGE);
+		t.addIteration(new IntObject(from));
+		t.addIteration(new IntObject(to));
+		t.addIteration(new IntObject(incr));
+		return t;
+	}
+
+	private static long getNumIterations( Task t ) {
+		if( t.getType() == TaskType.SET )
+			return t.size();
+		List<IntObject> iters = t.getIterations();
+		return (iters.get(1).getLongValue() - iters.get(0).getLongValue())
+			/ iters.get(2).getLongValue() + 1;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("WORK-STEALING TASK QUEUE (workers=");
+		sb.append(_deques.length);
+		sb.append(",pending=");
+		sb.append(_numPending.get());
+		sb.append(",close=");
+		sb.append(_closedInput);
+		sb.append(")\n");
+		for( int i=0; i<_deques.length; i++ ) {
+			synchronized( _deques[i] ) {
+				for( Task t : _deques[i] ) {
+					sb.append("  DEQUE #");
+					sb.append(i);
+					sb.append(": ");
+					sb.append(t.toString());
+					sb.append("\n");
+				}
+			}
+		}
+		return sb.toString();
+	}
+}
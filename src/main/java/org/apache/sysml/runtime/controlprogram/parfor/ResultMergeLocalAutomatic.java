@@ -62,7 +62,8 @@ public class ResultMergeLocalAutomatic extends ResultMerge
 		long rows = mc.getRows();
 		long cols = mc.getCols();
 		
-		if( OptimizerRuleBased.isInMemoryResultMerge(par * rows, cols, OptimizerUtils.getLocalMemBudget()) )
+		//note: in-memory parallel merge pins inputs in waves that fit into memory
+		if( OptimizerRuleBased.isInMemoryResultMerge(rows, cols, OptimizerUtils.getLocalMemBudget()) )
 			_rm = new ResultMergeLocalMemory( _output, _inputs, _outputFName, _isAccum );
 		else
 			_rm = new ResultMergeLocalFile( _output, _inputs, _outputFName, _isAccum );
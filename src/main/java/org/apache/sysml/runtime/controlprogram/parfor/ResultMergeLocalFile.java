@@ -47,6 +47,8 @@ import org.apache.sysml.runtime.controlprogram.parfor.util.Cell;
 import org.apache.sysml.runtime.controlprogram.parfor.util.IDSequence;
 import org.apache.sysml.runtime.controlprogram.parfor.util.StagingFileUtils;
 import org.apache.sysml.runtime.io.IOUtilFunctions;
+import org.apache.sysml.runtime.io.ReaderBinaryBlockLocal;
+import org.apache.sysml.runtime.io.ReaderBinaryBlockLocal.LocalBlockReader;
 import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
 import org.apache.sysml.runtime.matrix.MetaDataFormat;
 import org.apache.sysml.runtime.matrix.data.DenseBlock;
@@ -466,27 +468,40 @@ public class ResultMergeLocalFile extends ResultMerge
 		Path tmpPath = new Path(mo.getFileName());
 		FileSystem fs = IOUtilFunctions.getFileSystem(tmpPath, tmpJob);
 		
+		//local binary block files (e.g., exported local parfor results)
+		if( ReaderBinaryBlockLocal.isLocalBinaryBlock(fs, tmpPath) ) {
+			try( LocalBlockReader reader = new LocalBlockReader(fs, tmpPath) ) {
+				while(reader.next(key, value)) //for each block
+					appendBlockToStagingArea(fnameStaging, key, value);
+			}
+			return;
+		}
+		
 		for(Path lpath : IOUtilFunctions.getSequenceFilePaths(fs, tmpPath))
 		{
 			SequenceFile.Reader reader = new SequenceFile.Reader(fs,lpath,tmpJob);
 			try
 			{
 				while(reader.next(key, value)) //for each block
-				{							
-					String lname = key.getRowIndex()+"_"+key.getColumnIndex();
-					String dir = fnameStaging+"/"+lname;
-					if( value.getNonZeros()>0 ) //write only non-empty blocks
-					{
-						LocalFileUtils.checkAndCreateStagingDir( dir );
-						LocalFileUtils.writeMatrixBlockToLocal(dir+"/"+_seq.getNextID(), value);
-					}
-				}
+					appendBlockToStagingArea(fnameStaging, key, value);
 			}
 			finally {
 				IOUtilFunctions.closeSilently(reader);
 			}
 		}
 	}
+	
+	private void appendBlockToStagingArea( String fnameStaging, MatrixIndexes key, MatrixBlock value ) 
+		throws IOException
+	{
+		String lname = key.getRowIndex()+"_"+key.getColumnIndex();
+		String dir = fnameStaging+"/"+lname;
+		if( value.getNonZeros()>0 ) //write only non-empty blocks
+		{
+			LocalFileUtils.checkAndCreateStagingDir( dir );
+			LocalFileUtils.writeMatrixBlockToLocal(dir+"/"+_seq.getNextID(), value);
+		}
+	}
 
 	private static void createTextCellStagingFile( String fnameStaging, MatrixObject mo, long ID ) 
 		throws IOException, DMLRuntimeException
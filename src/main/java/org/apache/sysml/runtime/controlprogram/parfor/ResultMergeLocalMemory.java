@@ -20,7 +20,12 @@
 package org.apache.sysml.runtime.controlprogram.parfor;
 
 import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
+import org.apache.sysml.hops.OptimizerUtils;
 import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
@@ -31,19 +36,27 @@ import org.apache.sysml.runtime.matrix.data.DenseBlock;
 import org.apache.sysml.runtime.matrix.data.InputInfo;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.util.CommonThreadPool;
 import org.apache.sysml.runtime.util.DataConverter;
 
 /**
  * Local in-memory realization of result merge. If the resulting matrix is
  * small enough to fit into the JVM memory, this class can be used for efficient 
- * serial or multi-threaded merge.
- * 
+ * serial or multi-threaded merge. The multi-threaded merge partitions the output
+ * into disjoint ranges of row blocks, which are merged by independent tasks
+ * without synchronization. Inputs are pinned in waves according to the local
+ * memory budget, i.e., only inputs of other waves are subject to eviction by
+ * the buffer pool.
  * 
  */
 public class ResultMergeLocalMemory extends ResultMerge
 {
 	private static final long serialVersionUID = -3543612508601511701L;
 	
+	//min number of output cells for parallel merge (otherwise serial)
+	private static final long PAR_MERGE_MIN_CELLS = 64 * 1024;
+	
 	//internal comparison matrix
 	private DenseBlock _compare = null;
 	
@@ -144,8 +157,17 @@ public class ResultMergeLocalMemory extends ResultMerge
 	{
 		MatrixObject moNew = null; //always create new matrix object (required for nested parallelism)
 		
+		//fallback to serial merge for small outputs or single row blocks
+		long rows = _output.getNumRows();
+		long cols = _output.getNumColumns();
+		int blen = (int) Math.max(_output.getNumRowsPerBlock(), 1);
+		int nblk = (int) ((rows + blen - 1) / blen);
+		int k = Math.min(par, nblk); //number of row partitions
+		if( k <= 1 || rows * cols < PAR_MERGE_MIN_CELLS )
+			return executeSerialMerge();
+		
 		if( LOG.isTraceEnabled() )
-			LOG.trace("ResultMerge (local, in-memory): Execute parallel (par="+par+") "
+			LOG.trace("ResultMerge (local, in-memory): Execute parallel (par="+k+") "
 				+ "merge for output "+_output.hashCode()+" (fname="+_output.getFileName()+")");
 		
 		try
@@ -161,40 +183,73 @@ public class ResultMergeLocalMemory extends ResultMerge
 			
 			if( !inMO.isEmpty() ) //if there exist something to merge
 			{
-				//get old output matrix from cache for compare
-				//NOTE: always in dense representation in order to allow for parallel unsynchronized access 
-				long rows = outMB.getNumRows();
-				long cols = outMB.getNumColumns();
-				MatrixBlock outMBNew = new MatrixBlock((int)rows, (int)cols, false);
-				outMBNew.allocateDenseBlockUnsafe((int)rows, (int)cols);
-				
 				//create compare matrix if required (existing data in result)
 				_compare = getCompareMatrix(outMB);
-				if( _compare != null )
-					outMBNew.copy(outMB);
 				
-				//parallel merge of all inputs
-
-				int numThreads = Math.min(par, inMO.size()); //number of inputs can be lower than par
-				numThreads = Math.min(numThreads, InfrastructureAnalyzer.getLocalParallelism()); //ensure robustness for remote exec
-				Thread[] threads = new Thread[ numThreads ];
-				for( int k=0; k<inMO.size(); k+=numThreads ) //multiple waves if necessary
-				{
-					//create and start threads
-					for( int i=0; i<threads.length; i++ )
-					{
-						ResultMergeWorker rmw = new ResultMergeWorker(inMO.get(k+i), outMBNew);
-						threads[i] = new Thread(rmw);
-						threads[i].setPriority(Thread.MAX_PRIORITY);
-						threads[i].start(); // start execution
-					}	
-					//wait for all workers to finish
-					for( int i=0; i<threads.length; i++ )
-					{
-						threads[i].join();
+				//create output matrix in sparse (append-only) or dense representation,
+				//NOTE: both allow for parallel unsynchronized access to disjoint rows
+				long estnnz = getOutputNnzEstimate();
+				boolean sparse = !_isAccum && _compare == null && MatrixBlock
+					.evalSparseFormatInMemory(rows, cols, estnnz) && MatrixBlock.isThreadSafe(true);
+				MatrixBlock outMBNew = new MatrixBlock((int)rows, (int)cols, sparse, estnnz).allocateBlock();
+				
+				//create row-block-aligned partitions of the output
+				ArrayList<int[]> ranges = new ArrayList<>();
+				int blkPerTask = (int) Math.ceil((double)nblk / k);
+				for( int i=0; i<nblk; i+=blkPerTask )
+					ranges.add(new int[]{i*blen, (int)Math.min((long)(i+blkPerTask)*blen, rows)});
+				
+				//parallel merge of all inputs in waves that fit into the memory budget,
+				//where inputs of other waves are not pinned and thus, evictable
+				double memBudget = OptimizerUtils.getLocalMemBudget()
+					- OptimizerUtils.estimateSizeExactSparsity(rows, cols, estnnz);
+				int numThreads = Math.min(k, InfrastructureAnalyzer.getLocalParallelism()); //ensure robustness for remote exec
+				ExecutorService pool = CommonThreadPool.get(numThreads);
+				try {
+					long nnz = 0;
+					boolean init = (_compare != null);
+					for( int pos=0; pos<inMO.size(); ) {
+						//read/pin inputs of current wave
+						ArrayList<MatrixObject> wave = new ArrayList<>();
+						double memWave = 0;
+						while( pos < inMO.size() ) {
+							double memIn = OptimizerUtils.estimateSize(inMO.get(pos).getMatrixCharacteristics());
+							if( !wave.isEmpty() && memWave + memIn > memBudget )
+								break;
+							memWave += memIn;
+							wave.add(inMO.get(pos++));
+						}
+						ArrayList<MatrixBlock> inMB = new ArrayList<>();
+						for( MatrixObject in : wave ) {
+							if( LOG.isTraceEnabled() )
+								LOG.trace("ResultMerge (local, in-memory): Merge input "+in.hashCode()+" (fname="+in.getFileName()+")");
+							inMB.add(in.acquireRead());
+						}
+						
+						//merge wave into disjoint row partitions
+						ArrayList<MergeRowsTask> tasks = new ArrayList<>();
+						for( int[] range : ranges )
+							tasks.add(new MergeRowsTask(outMBNew, inMB, range[0], range[1], init));
+						nnz = 0;
+						for( Future<Long> task : pool.invokeAll(tasks) )
+							nnz += task.get();
+						init = false;
+						
+						//unpin and clear in-memory inputs
+						for( MatrixObject in : wave ) {
+							in.release();
+							in.clearData();
+						}
 					}
+					outMBNew.setNonZeros(nnz);
+				}
+				finally {
+					pool.shutdown();
 				}
 				
+				//change sparsity if required after 
+				outMBNew.examSparsity();
+				
 				//create new output matrix 
 				//(e.g., to prevent potential export<->read file access conflict in specific cases of 
 				// local-remote nested parfor))
@@ -211,8 +266,6 @@ public class ResultMergeLocalMemory extends ResultMerge
 			throw new DMLRuntimeException(ex);
 		}
 		
-		//LOG.trace("ResultMerge (local, in-memory): Executed parallel (par="+par+") merge for output "+_output.getVarName()+" (fname="+_output.getFileName()+") in "+time.stop()+"ms");
-
 		return moNew;
 	}
 
@@ -287,37 +340,137 @@ public class ResultMergeLocalMemory extends ResultMerge
 	
 	
 	/**
-	 * NOTE: only used if matrix in dense
+	 * Merges all inputs of a wave into a disjoint range of rows [rl,ru) of the
+	 * output, and returns the number of non-zeros of this row range. For sparse
+	 * outputs (without compare), the non-zeros are appended and the rows sorted
+	 * once per wave; for dense outputs, the task optionally initializes its
+	 * rows with the compare matrix (i.e., the initial state of the output).
 	 */
-	private class ResultMergeWorker implements Runnable
+	private class MergeRowsTask implements Callable<Long>
 	{
-		private MatrixObject _inMO  = null;
-		private MatrixBlock  _outMB = null;
+		private final MatrixBlock _outMB;
+		private final List<MatrixBlock> _inMB;
+		private final int _rl;
+		private final int _ru;
+		private final boolean _init;
 		
-		public ResultMergeWorker(MatrixObject inMO, MatrixBlock outMB)
-		{
-			_inMO  = inMO;
+		public MergeRowsTask(MatrixBlock outMB, List<MatrixBlock> inMB, int rl, int ru, boolean init) {
 			_outMB = outMB;
+			_inMB = inMB;
+			_rl = rl;
+			_ru = ru;
+			_init = init;
 		}
-
+		
 		@Override
-		public void run() 
-		{
-			//read each input if required
-			try
-			{
-				LOG.trace("ResultMerge (local, in-memory): Merge input "+_inMO.hashCode()+" (fname="+_inMO.getFileName()+")");
-				
-				MatrixBlock inMB = _inMO.acquireRead(); //incl. implicit read from HDFS
-				merge( _outMB, inMB, false );
-				_inMO.release();
-				_inMO.clearData();
+		public Long call() {
+			int cols = _outMB.getNumColumns();
+			if( _outMB.isInSparseFormat() ) {
+				SparseBlock c = _outMB.getSparseBlock();
+				for( MatrixBlock in : _inMB )
+					mergeSparse(c, in, cols);
+				for( int i=_rl; i<_ru; i++ )
+					if( !c.isEmpty(i) )
+						c.sort(i);
+				return c.size(_rl, _ru);
 			}
-			catch(Exception ex)
-			{
-				throw new RuntimeException("Failed to parallel merge result.", ex);
+			
+			DenseBlock c = _outMB.getDenseBlock();
+			if( _init ) {
+				for( int i=_rl; i<_ru; i++ )
+					System.arraycopy(_compare.values(i), _compare.pos(i), c.values(i), c.pos(i), cols);
+			}
+			for( MatrixBlock in : _inMB ) {
+				if( _compare == null )
+					mergeDense(c, in, cols);
+				else
+					mergeDenseWithComp(c, in, cols);
+			}
+			return c.countNonZeros(_rl, _ru, 0, cols);
+		}
+		
+		private void mergeSparse(SparseBlock c, MatrixBlock in, int cols) {
+			if( in.isEmptyBlock(false) )
+				return;
+			if( in.isInSparseFormat() ) {
+				SparseBlock a = in.getSparseBlock();
+				for( int i=_rl; i<_ru; i++ ) {
+					if( a.isEmpty(i) ) continue;
+					int apos = a.pos(i);
+					int alen = a.size(i);
+					int[] aix = a.indexes(i);
+					double[] avals = a.values(i);
+					for( int j=apos; j<apos+alen; j++ )
+						c.append(i, aix[j], avals[j]);
+				}
+			}
+			else {
+				DenseBlock a = in.getDenseBlock();
+				for( int i=_rl; i<_ru; i++ ) {
+					double[] avals = a.values(i);
+					int aix = a.pos(i);
+					for( int j=0; j<cols; j++ )
+						if( avals[aix+j] != 0 )
+							c.append(i, j, avals[aix+j]);
+				}
+			}
+		}
+		
+		private void mergeDense(DenseBlock c, MatrixBlock in, int cols) {
+			if( in.isEmptyBlock(false) )
+				return;
+			if( in.isInSparseFormat() ) {
+				SparseBlock a = in.getSparseBlock();
+				for( int i=_rl; i<_ru; i++ ) {
+					if( a.isEmpty(i) ) continue;
+					int apos = a.pos(i);
+					int alen = a.size(i);
+					int[] aix = a.indexes(i);
+					double[] avals = a.values(i);
+					double[] cvals = c.values(i);
+					int cix = c.pos(i);
+					for( int j=apos; j<apos+alen; j++ )
+						cvals[cix+aix[j]] = _isAccum ?
+							cvals[cix+aix[j]] + avals[j] : avals[j];
+				}
+			}
+			else {
+				DenseBlock a = in.getDenseBlock();
+				for( int i=_rl; i<_ru; i++ ) {
+					double[] avals = a.values(i);
+					double[] cvals = c.values(i);
+					int aix = a.pos(i);
+					int cix = c.pos(i);
+					for( int j=0; j<cols; j++ )
+						if( avals[aix+j] != 0 )
+							cvals[cix+j] = _isAccum ?
+								cvals[cix+j] + avals[aix+j] : avals[aix+j];
+				}
 			}
 		}
 		
+		private void mergeDenseWithComp(DenseBlock c, MatrixBlock in, int cols) {
+			//see ResultMerge.mergeWithComp for the NaN-aware comparison 
+			//and accumulation semantics, here restricted to rows [rl,ru)
+			if( in.isEmptyBlock(false) ) {
+				if( _isAccum ) return; //nothing to do
+				for( int i=_rl; i<_ru; i++ )
+					for( int j=0; j<cols; j++ )
+						if( _compare.get(i, j) != 0 )
+							c.set(i, j, 0);
+				return;
+			}
+			for( int i=_rl; i<_ru; i++ )
+				for( int j=0; j<cols; j++ ) {
+					double valOld = _compare.get(i, j);
+					double valNew = in.quickGetValue(i, j);
+					if( (valNew != valOld && !Double.isNaN(valNew) )
+						|| Double.isNaN(valNew) != Double.isNaN(valOld) )
+					{
+						c.set(i, j, !_isAccum ? valNew :
+							(c.get(i, j) + (valNew - valOld)));
+					}
+				}
+		}
 	}
 }
@@ -55,6 +55,7 @@ import org.apache.sysml.runtime.controlprogram.parfor.opt.OptNode.ParamType;
  * - 9) rewrite set degree of parallelism
  * - 10) rewrite set task partitioner
  * - 11) rewrite set result merge
+ * - 24) rewrite set in-memory data partitioner
  *
  */
 public class OptimizerConstrained extends OptimizerRuleBased
@@ -173,8 +174,11 @@ public class OptimizerConstrained extends OptimizerRuleBased
 		}
 		else //if( pn.getExecType() == ExecType.CP )
 		{
-			// rewrite 10: determine parallelism
-			rewriteSetDegreeOfParallelism( pn, _cost, ec.getVariables(), M1, false );
+			// rewrite 24: in-memory data partitioning
+			double Mdp = rewriteSetInMemoryDataPartitioner( pn, partitionedMatrices, ec.getVariables(), M1 );
+			
+			// rewrite 10: determine parallelism (w/o memory of in-memory partitioned inputs)
+			rewriteSetDegreeOfParallelism( pn, _cost, ec.getVariables(), M1, Mdp, false );
 
 			// rewrite 11: task partitioning
 			rewriteSetTaskPartitioner( pn, false, false ); //flagLIX always false 
@@ -243,6 +247,29 @@ public class OptimizerConstrained extends OptimizerRuleBased
 	}
 
 
+	///////
+	//REWRITE set in-memory data partitioner
+	///
+	
+	@Override
+	protected double rewriteSetInMemoryDataPartitioner(OptNode pn, HashMap<String, PartitionFormat> partitionedMatrices, LocalVariableMap vars, double M)
+	{
+		// constraint awareness
+		ParForProgramBlock pfpb = (ParForProgramBlock) OptTreeConverter
+			.getAbstractPlanMapping().getMappedProg(pn.getID())[1];
+		String initPlan = pfpb.getParForParams().get(ParForStatementBlock.DATA_PARTITIONER);
+		if( initPlan != null && !initPlan.equals(PDataPartitioner.UNSPECIFIED.name()) ) {
+			LOG.debug(getOptMode()+" OPT: forced 'set in-memory data partitioner' - result=" + initPlan );
+			//memory of user-requested in-memory partitioned inputs
+			double ret = 0;
+			if( initPlan.equals(PDataPartitioner.LOCAL_MEM.name()) )
+				for( String var : partitionedMatrices.keySet() )
+					ret += getMemoryEstimate(var, vars);
+			return ret;
+		}
+		return super.rewriteSetInMemoryDataPartitioner(pn, partitionedMatrices, vars, M);
+	}
+	
 	///////
 	//REWRITE set execution strategy
 	///
@@ -283,7 +310,7 @@ public class OptimizerConstrained extends OptimizerRuleBased
 	///
 
 	@Override
-	protected void rewriteSetDegreeOfParallelism(OptNode n, CostEstimator cost, LocalVariableMap vars, double M, boolean flagNested) {
+	protected void rewriteSetDegreeOfParallelism(OptNode n, CostEstimator cost, LocalVariableMap vars, double M, double Mpinned, boolean flagNested) {
 		// constraint awareness
 		if( n.getK() > 0 && ConfigurationManager.isParallelParFor() )
 		{
@@ -300,7 +327,7 @@ public class OptimizerConstrained extends OptimizerRuleBased
 			LOG.debug(getOptMode()+" OPT: forced 'set degree of parallelism' - result=(see EXPLAIN)" );
 		}
 		else
-			super.rewriteSetDegreeOfParallelism(n, cost, vars, M, flagNested);
+			super.rewriteSetDegreeOfParallelism(n, cost, vars, M, Mpinned, flagNested);
 	}
 
 
@@ -129,6 +129,7 @@ import org.apache.sysml.yarn.ropt.YarnClusterAnalyzer;
  * - 21) rewrite set recompile memory budget
  * - 22) rewrite remove recursive parfor
  * - 23) rewrite remove unnecessary parfor
+ * - 24) rewrite set in-memory data partitioner
  * 	 
  * TODO fuse also result merge into fused data partitioning and execute
  *      (for writing the result directly from execute we need to partition
@@ -294,8 +295,11 @@ public class OptimizerRuleBased extends Optimizer
 		}
 		else //if( pn.getExecType() == ExecType.CP )
 		{
-			// rewrite 10: determine parallelism
-			rewriteSetDegreeOfParallelism( pn, _cost, ec.getVariables(), M1, false );
+			// rewrite 24: in-memory data partitioning
+			double Mdp = rewriteSetInMemoryDataPartitioner( pn, partitionedMatrices, ec.getVariables(), M1 );
+			
+			// rewrite 10: determine parallelism (w/o memory of in-memory partitioned inputs)
+			rewriteSetDegreeOfParallelism( pn, _cost, ec.getVariables(), M1, Mdp, false );
 			
 			// rewrite 11: task partitioning
 			rewriteSetTaskPartitioner( pn, false, false ); //flagLIX always false 
@@ -793,6 +797,80 @@ public class OptimizerRuleBased extends Optimizer
 	}
 	
 	
+	///////
+	//REWRITE set in-memory data partitioner
+	///
+	
+	/**
+	 * For local parfor execution, replaces the remote data partitioning of read-only 
+	 * inputs by in-memory partitions (views over the shared input) if all partitioned 
+	 * inputs fit into the local memory budget together with the parfor body. This
+	 * avoids the partitioning job and the write/read of partition files, while the
+	 * indexed access in the parfor body remains unchanged. Without data partitioning,
+	 * large read-only inputs (candidates of data partitioning) with row or column 
+	 * access are partitioned in memory as well, which makes row-wise access over
+	 * sparse inputs zero-copy.
+	 * 
+	 * @param pn internal representation of a plan alternative for program blocks and instructions
+	 * @param partitionedMatrices map of data partition formats
+	 * @param vars local variable map
+	 * @param M estimated memory of the parfor body
+	 * @return memory of the shared in-memory partitioned inputs, or 0 if not applied
+	 */
+	protected double rewriteSetInMemoryDataPartitioner(OptNode pn, HashMap<String, PartitionFormat> partitionedMatrices, LocalVariableMap vars, double M) 
+	{
+		if( pn.getNodeType() != NodeType.PARFOR )
+			LOG.warn(getOptMode()+" OPT: In-memory data partitioner can only be set for a ParFor node.");
+		
+		double ret = 0;
+		String partitioner = pn.getParam(ParamType.DATA_PARTITIONER);
+		PDataPartitioner REMOTE_DP = OptimizerUtils.isSparkExecutionMode() ? 
+			PDataPartitioner.REMOTE_SPARK : PDataPartitioner.REMOTE_MR;
+		
+		if( pn.getExecType() == ExecType.CP && partitioner != null ) //local parfor
+		{
+			Object[] o = OptTreeConverter.getAbstractPlanMapping().getMappedProg(pn.getID());
+			ParForStatementBlock pfsb = (ParForStatementBlock) o[0];
+			ParForProgramBlock pfpb = (ParForProgramBlock) o[1];
+			
+			//determine candidates (remote partitioned inputs, or large unpartitioned
+			//inputs, which are partitioned at runtime by their access pattern)
+			HashMap<String, PartitionFormat> cand = new HashMap<>();
+			if( partitioner.equals(REMOTE_DP.toString()) )
+				cand.putAll(partitionedMatrices);
+			else if( partitioner.equals(PDataPartitioner.NONE.toString()) ) {
+				for( String c : pfsb.getReadOnlyParentMatrixVars() ) {
+					PartitionFormat dpf = pfsb.determineDataPartitionFormat(c);
+					if( dpf != PartitionFormat.NONE && vars.get(c) instanceof MatrixObject
+						&& getMemoryEstimate(c, vars) > _lm/2 )
+						cand.put(c, dpf);
+				}
+			}
+			
+			//memory of shared inputs (once) and the parfor body w/o shared reads
+			double memShared = 0;
+			boolean supported = !cand.isEmpty();
+			for( Entry<String, PartitionFormat> e : cand.entrySet() ) {
+				memShared += getMemoryEstimate(e.getKey(), vars);
+				supported &= (e.getValue()._dpf != PDataPartitionFormat.BLOCK_WISE_M_N);
+			}
+			double memBody = supported ? Math.min(M, _cost.getEstimate(TestMeasure.MEMORY_USAGE,
+				pn, true, cand.keySet(), ExcludeType.SHARED_READ)) : M;
+			
+			if( supported && memShared + memBody <= _lm ) {
+				pfpb.setDataPartitioner(PDataPartitioner.LOCAL_MEM);
+				pn.addParam(ParamType.DATA_PARTITIONER, PDataPartitioner.LOCAL_MEM.toString());
+				partitionedMatrices.putAll(cand);
+				ret = memShared;
+			}
+		}
+		
+		LOG.debug(getOptMode()+" OPT: rewrite 'set in-memory data partitioner' - result="+(ret>0)+
+			" ("+toMB(ret)+")" );
+		
+		return ret;
+	}
+	
 	///////
 	//REWRITE set execution strategy
 	///
@@ -1183,7 +1261,22 @@ public class OptimizerRuleBased extends Optimizer
 	//REWRITE set degree of parallelism
 	///
 
-	protected void rewriteSetDegreeOfParallelism(OptNode n, CostEstimator cost, LocalVariableMap vars, double M, boolean flagNested) 
+	protected void rewriteSetDegreeOfParallelism(OptNode n, CostEstimator cost, LocalVariableMap vars, double M, boolean flagNested) {
+		rewriteSetDegreeOfParallelism(n, cost, vars, M, 0, flagNested);
+	}
+	
+	/**
+	 * Sets the degree of parallelism of the given parfor node and distributes the
+	 * remaining parallelism to nested parfor loops and operations.
+	 * 
+	 * @param n internal representation of a plan alternative for program blocks and instructions
+	 * @param cost cost estimator
+	 * @param vars local variable map
+	 * @param M estimated memory of the parfor body
+	 * @param Mpinned memory of in-memory partitioned inputs, which are shared by all workers
+	 * @param flagNested true if nested parfor
+	 */
+	protected void rewriteSetDegreeOfParallelism(OptNode n, CostEstimator cost, LocalVariableMap vars, double M, double Mpinned, boolean flagNested) 
 	{
 		ExecType type = n.getExecType();
 		long id = n.getID();
@@ -1202,7 +1295,16 @@ public class OptimizerRuleBased extends Optimizer
 			//compute memory budgets and partial estimates for handling shared reads
 			double mem = (OptimizerUtils.isSparkExecutionMode() && !n.isCPOnly()) ? _lm/2 : _lm;
 			double sharedM = 0, nonSharedM = M;
-			if( computeMaxK(M, M, 0, mem) < kMax ) { //account for shared read if necessary
+			if( Mpinned > 0 ) { //in-memory partitioned inputs, shared by all workers
+				//reduce the budget by all shared reads, and size workers w/o shared reads
+				double memReads = pfsb.getReadOnlyParentMatrixVars().stream().map(s -> vars.get(s))
+					.filter(d -> d instanceof MatrixObject).mapToDouble(mo -> OptimizerUtils
+					.estimateSize(((MatrixObject)mo).getMatrixCharacteristics())).sum();
+				mem = Math.max(mem - Math.max(Mpinned, memReads), 0);
+				M = nonSharedM = Math.min(M, cost.getEstimate(TestMeasure.MEMORY_USAGE, n, true,
+					pfsb.getReadOnlyParentMatrixVars(), ExcludeType.SHARED_READ));
+			}
+			else if( computeMaxK(M, M, 0, mem) < kMax ) { //account for shared read if necessary
 				sharedM = pfsb.getReadOnlyParentMatrixVars().stream().map(s -> vars.get(s))
 					.filter(d -> d instanceof MatrixObject).mapToDouble(mo -> OptimizerUtils
 					.estimateSize(((MatrixObject)mo).getMatrixCharacteristics())).sum();
@@ -1282,7 +1384,7 @@ public class OptimizerRuleBased extends Optimizer
 		//note: we compute max K for both w/o and w/ shared reads and take the max, because
 		//the latter might reduce the degree of parallelism if shared reads don't dominate
 		int k1 = (int)Math.floor(memBudget / M);
-		int k2 = (int)Math.floor(memBudget-memShared / memNonShared);
+		int k2 = (int)Math.floor((memBudget-memShared) / memNonShared);
 		return Math.max(k1, k2);
 	}
 
@@ -1327,8 +1429,8 @@ public class OptimizerRuleBased extends Optimizer
 						&& !( h instanceof UnaryOp //only unaryop-cumulativeagg
 							 && !((UnaryOp)h).isCumulativeUnaryOperation()
 							 && !((UnaryOp)h).isExpensiveUnaryOperation())
-						&& !( h instanceof ReorgOp //only reorgop-transpose
-							 && ((ReorgOp)h).getOp() != ReOrgOp.TRANS )
+						&& !( h instanceof ReorgOp //only reorgop-transpose/sort
+							 && !HopRewriteUtils.isValidOp(((ReorgOp)h).getOp(), ReOrgOp.TRANS, ReOrgOp.SORT) )
 						&& !( h instanceof BinaryOp && h.getDataType().isScalar() ) )
 					{
 						MultiThreadedHop mhop = (MultiThreadedHop) h;
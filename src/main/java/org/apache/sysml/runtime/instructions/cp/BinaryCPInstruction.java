@@ -23,7 +23,10 @@ import org.apache.sysml.parser.Expression.DataType;
 import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.instructions.InstructionUtils;
+import org.apache.sysml.runtime.matrix.data.LibCommonsMath;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
 import org.apache.sysml.runtime.matrix.operators.Operator;
+import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
 
 public abstract class BinaryCPInstruction extends ComputationCPInstruction {
 
@@ -40,12 +43,26 @@ public abstract class BinaryCPInstruction extends ComputationCPInstruction {
 		CPOperand in1 = new CPOperand("", ValueType.UNKNOWN, DataType.UNKNOWN);
 		CPOperand in2 = new CPOperand("", ValueType.UNKNOWN, DataType.UNKNOWN);
 		CPOperand out = new CPOperand("", ValueType.UNKNOWN, DataType.UNKNOWN);
-		String opcode = parseBinaryInstruction(str, in1, in2, out);
+		String[] parts = InstructionUtils.getInstructionPartsWithValueType(str);
+		InstructionUtils.checkNumFields ( parts, 3, 4 );
+		String opcode = parts[0];
+		in1.split(parts[1]);
+		in2.split(parts[2]);
+		out.split(parts[3]);
+		int k = (parts.length == 5) ? Integer.parseInt(parts[4]) : 1;
 		
 		checkOutputDataType(in1, in2, out);
 		
 		Operator operator = InstructionUtils.parseBinaryOrBuiltinOperator(opcode, in1, in2);
 		
+		//set degree of parallelism for matrix-matrix and matrix-scalar operations
+		if( k > 1 && operator instanceof BinaryOperator )
+			operator = ((BinaryOperator) operator).setNumThreads(k);
+		else if( k > 1 && operator instanceof ScalarOperator )
+			operator = ((ScalarOperator) operator).setNumThreads(k);
+		else if( k > 1 && LibCommonsMath.isSupportedMatrixMatrixOperation(opcode) )
+			operator = new BinaryOperator(null, k); //solve
+		
 		if( in1.getDataType() == DataType.SCALAR && in2.getDataType() == DataType.SCALAR ) 
 			return new BinaryScalarScalarCPInstruction(operator, in1, in2, out, opcode, str);
 		else if( in1.getDataType() == DataType.MATRIX && in2.getDataType() == DataType.MATRIX )
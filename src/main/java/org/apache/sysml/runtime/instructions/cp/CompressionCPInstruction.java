@@ -19,11 +19,22 @@
 
 package org.apache.sysml.runtime.instructions.cp;
 
+import java.io.IOException;
+
 import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysml.runtime.controlprogram.caching.CacheableData.CacheStatus;
+import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysml.runtime.instructions.Instruction;
 import org.apache.sysml.runtime.instructions.InstructionUtils;
+import org.apache.sysml.runtime.io.FileFormatPropertiesCSV;
+import org.apache.sysml.runtime.io.ReaderBinaryBlock;
+import org.apache.sysml.runtime.io.ReaderTextCSV;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.MetaDataFormat;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.operators.Operator;
 
@@ -43,13 +54,50 @@ public class CompressionCPInstruction extends ComputationCPInstruction {
 	
 	@Override
 	public void processInstruction( ExecutionContext ec ) {
+		int k = OptimizerUtils.getConstrainedNumThreads(-1);
+		
+		//streaming compression of unread inputs that do not fit in memory
+		MatrixObject mo = ec.getMatrixObject(input1.getName());
+		if( isStreamingCompression(mo) ) {
+			ec.setMatrixOutput(output.getName(), readCompressed(mo, k), getExtendedOpcode());
+			return;
+		}
+		
 		//get matrix block input
 		MatrixBlock in = ec.getMatrixInput(input1.getName(), getExtendedOpcode());
 		//compress the matrix block
-		MatrixBlock out = new CompressedMatrixBlock(in)
-			.compress(OptimizerUtils.getConstrainedNumThreads(-1));
+		MatrixBlock out = new CompressedMatrixBlock(in).compress(k);
 		//set output and release input
 		ec.releaseMatrixInput(input1.getName(), getExtendedOpcode());
 		ec.setMatrixOutput(output.getName(), out, getExtendedOpcode());
 	}
+	
+	private static boolean isStreamingCompression(MatrixObject mo) {
+		if( mo.getStatus() != CacheStatus.EMPTY || !mo.isHDFSFileExists() || mo.isDirty() 
+			|| !(mo.getMetaData() instanceof MetaDataFormat) )
+			return false;
+		InputInfo iinfo = ((MetaDataFormat)mo.getMetaData()).getInputInfo();
+		MatrixCharacteristics mc = mo.getMatrixCharacteristics();
+		return (iinfo == InputInfo.BinaryBlockInputInfo || iinfo == InputInfo.CSVInputInfo)
+			&& mc.dimsKnown() && mc.getRows() <= Integer.MAX_VALUE
+			&& OptimizerUtils.estimateSize(mc) > OptimizerUtils.getLocalMemBudget();
+	}
+	
+	private static MatrixBlock readCompressed(MatrixObject mo, int k) {
+		MatrixCharacteristics mc = mo.getMatrixCharacteristics();
+		InputInfo iinfo = ((MetaDataFormat)mo.getMetaData()).getInputInfo();
+		try {
+			if( iinfo == InputInfo.BinaryBlockInputInfo ) {
+				return new ReaderBinaryBlock(false).readCompressedMatrixFromHDFS(mo.getFileName(),
+					mc.getRows(), mc.getCols(), mc.getRowsPerBlock(), mc.getColsPerBlock(), k);
+			}
+			FileFormatPropertiesCSV props = (mo.getFileFormatProperties() instanceof FileFormatPropertiesCSV) ?
+				(FileFormatPropertiesCSV)mo.getFileFormatProperties() : new FileFormatPropertiesCSV();
+			return new ReaderTextCSV(props).readCompressedMatrixFromHDFS(
+				mo.getFileName(), mc.getRows(), mc.getCols(), k);
+		}
+		catch(IOException ex) {
+			throw new DMLRuntimeException("Failed streaming compression of "+mo.getFileName()+".", ex);
+		}
+	}
 }
@@ -122,6 +122,14 @@ public class DataGenCPInstruction extends UnaryCPInstruction {
 		return sparsity;
 	}
 
+	public DataGenMethod getDataGenMethod() {
+		return method;
+	}
+
+	public long getSeed() {
+		return seed;
+	}
+
 	public static DataGenCPInstruction parseInstruction(String str)
 	{
 		DataGenMethod method = DataGenMethod.INVALID;
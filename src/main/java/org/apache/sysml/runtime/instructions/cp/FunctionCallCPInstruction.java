@@ -20,8 +20,10 @@
 package org.apache.sysml.runtime.instructions.cp;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map.Entry;
 
 import org.apache.sysml.api.DMLScript;
 import org.apache.sysml.conf.ConfigurationManager;
@@ -38,6 +40,8 @@ import org.apache.sysml.runtime.controlprogram.context.ExecutionContextFactory;
 import org.apache.sysml.runtime.instructions.Instruction;
 import org.apache.sysml.runtime.instructions.InstructionUtils;
 import org.apache.sysml.runtime.io.IOUtilFunctions;
+import org.apache.sysml.runtime.lineage.Lineage;
+import org.apache.sysml.runtime.lineage.LineageItem;
 
 public class FunctionCallCPInstruction extends CPInstruction {
 	private final String _functionName;
@@ -116,6 +120,8 @@ public class FunctionCallCPInstruction extends CPInstruction {
 		// create bindings to formal parameters for given function call
 		// These are the bindings passed to the FunctionProgramBlock for function execution 
 		LocalVariableMap functionVariables = new LocalVariableMap();
+		Lineage lineage = ec.getLineage();
+		HashMap<String, LineageItem> lineageInputs = (lineage != null) ? new HashMap<>() : null;
 		for( int i=0; i<_boundInputs.length; i++) {
 			//error handling non-existing variables
 			CPOperand input = _boundInputs[i];
@@ -143,6 +149,8 @@ public class FunctionCallCPInstruction extends CPInstruction {
 			
 			//set input parameter
 			functionVariables.put(currFormalParam.getName(), value);
+			if( lineage != null && !input.isLiteral() && value.getDataType() != DataType.SCALAR )
+				lineageInputs.put(currFormalParam.getName(), lineage.get(input, ec));
 		}
 		
 		// Pin the input variables so that they do not get deleted 
@@ -157,6 +165,9 @@ public class FunctionCallCPInstruction extends CPInstruction {
 			fn_ec.getGPUContext(0).initializeThread();
 		}
 		fn_ec.setVariables(functionVariables);
+		if( lineage != null && fn_ec.getLineage() != null )
+			for( Entry<String, LineageItem> e : lineageInputs.entrySet() )
+				fn_ec.getLineage().set(e.getKey(), e.getValue(), fn_ec);
 		// execute the function block
 		try {
 			fpb._functionName = this._functionName;
@@ -203,6 +214,10 @@ public class FunctionCallCPInstruction extends CPInstruction {
 			
 			//add/replace data in symbol table
 			ec.setVariable(boundVarName, boundValue);
+			if( lineage != null && fn_ec.getLineage() != null ) {
+				lineage.set(boundVarName, fn_ec.getLineage().get(
+					fpb.getOutputParams().get(i).getName(), fn_ec), boundValue);
+			}
 		}
 	}
 
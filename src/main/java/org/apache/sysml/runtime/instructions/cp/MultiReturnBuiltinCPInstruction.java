@@ -33,11 +33,18 @@ import org.apache.sysml.runtime.matrix.operators.Operator;
 public class MultiReturnBuiltinCPInstruction extends ComputationCPInstruction {
 
 	protected ArrayList<CPOperand> _outputs;
+	private final int _numThreads;
 
 	private MultiReturnBuiltinCPInstruction(Operator op, CPOperand input1, ArrayList<CPOperand> outputs, String opcode,
 			String istr) {
+		this(op, input1, outputs, opcode, istr, 1);
+	}
+	
+	private MultiReturnBuiltinCPInstruction(Operator op, CPOperand input1, ArrayList<CPOperand> outputs, String opcode,
+			String istr, int k) {
 		super(CPType.MultiReturnBuiltin, op, input1, null, outputs.get(0), opcode, istr);
 		_outputs = outputs;
+		_numThreads = k;
 	}
 	
 	public CPOperand getOutput(int i) {
@@ -65,8 +72,9 @@ public class MultiReturnBuiltinCPInstruction extends ComputationCPInstruction {
 			outputs.add ( new CPOperand(parts[2], ValueType.DOUBLE, DataType.MATRIX) );
 			outputs.add ( new CPOperand(parts[3], ValueType.DOUBLE, DataType.MATRIX) );
 			outputs.add ( new CPOperand(parts[4], ValueType.DOUBLE, DataType.MATRIX) );
+			int k = (parts.length > 5) ? Integer.parseInt(parts[5]) : 1;
 			
-			return new MultiReturnBuiltinCPInstruction(null, in1, outputs, opcode, str);
+			return new MultiReturnBuiltinCPInstruction(null, in1, outputs, opcode, str, k);
 			
 		}
 		else if ( opcode.equalsIgnoreCase("eigen") ) {
@@ -101,7 +109,7 @@ public class MultiReturnBuiltinCPInstruction extends ComputationCPInstruction {
 			throw new DMLRuntimeException("Invalid opcode in MultiReturnBuiltin instruction: " + getOpcode());
 		
 		MatrixBlock in = ec.getMatrixInput(input1.getName());
-		MatrixBlock[] out = LibCommonsMath.multiReturnOperations(in, getOpcode());
+		MatrixBlock[] out = LibCommonsMath.multiReturnOperations(in, getOpcode(), _numThreads);
 		ec.releaseMatrixInput(input1.getName(), getExtendedOpcode());
 		for(int i=0; i < _outputs.size(); i++) {
 			ec.setMatrixOutput(_outputs.get(i).getName(), out[i], getExtendedOpcode());
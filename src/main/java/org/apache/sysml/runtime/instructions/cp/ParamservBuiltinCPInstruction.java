@@ -34,6 +34,7 @@ import static org.apache.sysml.parser.Statement.PS_MODE;
 import static org.apache.sysml.parser.Statement.PS_MODEL;
 import static org.apache.sysml.parser.Statement.PS_PARALLELISM;
 import static org.apache.sysml.parser.Statement.PS_SCHEME;
+import static org.apache.sysml.parser.Statement.PS_SHARDS;
 import static org.apache.sysml.parser.Statement.PS_UPDATE_FUN;
 import static org.apache.sysml.parser.Statement.PS_UPDATE_TYPE;
 
@@ -65,6 +66,7 @@ import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysml.runtime.controlprogram.context.SparkExecutionContext;
 import org.apache.sysml.runtime.controlprogram.paramserv.LocalPSWorker;
 import org.apache.sysml.runtime.controlprogram.paramserv.LocalParamServer;
+import org.apache.sysml.runtime.controlprogram.paramserv.LocalShardedParamServer;
 import org.apache.sysml.runtime.controlprogram.paramserv.ParamServer;
 import org.apache.sysml.runtime.controlprogram.paramserv.ParamservUtils;
 import org.apache.sysml.runtime.controlprogram.paramserv.SparkPSBody;
@@ -348,12 +350,20 @@ public class ParamservBuiltinCPInstruction extends ParameterizedBuiltinCPInstruc
 		switch (mode) {
 			case LOCAL:
 			case REMOTE_SPARK:
-				return LocalParamServer.create(model, aggFunc, updateType, ec, workerNum);
+				int numShards = getNumShards();
+				return (numShards > 1) ?
+					LocalShardedParamServer.create(model, aggFunc, updateType, ec, workerNum, numShards) :
+					LocalParamServer.create(model, aggFunc, updateType, ec, workerNum);
 			default:
 				throw new DMLRuntimeException("Unsupported parameter server: "+mode.name());
 		}
 	}
 
+	private int getNumShards() {
+		return getParameterMap().containsKey(PS_SHARDS) ?
+			Integer.valueOf(getParam(PS_SHARDS)) : 1;
+	}
+
 	private long getBatchSize() {
 		if (!getParameterMap().containsKey(PS_BATCH_SIZE)) {
 			return DEFAULT_BATCH_SIZE;
@@ -87,7 +87,7 @@ public final class MatrixIndexingCPFileInstruction extends IndexingCPInstruction
 			MatrixCharacteristics mc = meta.getMatrixCharacteristics();
 			String pfname = mo.getPartitionFileName( ixrange, mc.getRowsPerBlock(), mc.getColsPerBlock());
 			
-			if( MapReduceTool.existsFileOnHDFS(pfname) ) { //default
+			if( !mo.isPartitionedInMemory() && MapReduceTool.existsFileOnHDFS(pfname) ) { //default
 				//create output matrix object
 				MatrixObject mobj = new MatrixObject(mo.getValueType(), pfname );
 				MatrixCharacteristics mcNew = null;
@@ -118,7 +118,7 @@ public final class MatrixIndexingCPFileInstruction extends IndexingCPInstruction
 				//put output object into symbol table
 				ec.setVariable(output.getName(), mobj);
 			}
-			else { //empty matrix partition
+			else { //empty or in-memory matrix partition
 				//note: for binary cell data partitioning empty partitions are not materialized
 				MatrixBlock resultBlock = mo.readMatrixPartition( ixrange );
 				ec.setMatrixOutput(output.getName(), resultBlock, getExtendedOpcode());
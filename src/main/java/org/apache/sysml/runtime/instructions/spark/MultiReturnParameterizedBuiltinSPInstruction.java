@@ -57,11 +57,13 @@ import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
 import org.apache.sysml.runtime.matrix.operators.Operator;
 import org.apache.sysml.runtime.transform.encode.Encoder;
+import org.apache.sysml.runtime.transform.encode.EncoderBin;
 import org.apache.sysml.runtime.transform.encode.EncoderComposite;
 import org.apache.sysml.runtime.transform.encode.EncoderFactory;
 import org.apache.sysml.runtime.transform.encode.EncoderMVImpute;
 import org.apache.sysml.runtime.transform.encode.EncoderRecode;
 import org.apache.sysml.runtime.transform.encode.EncoderMVImpute.MVMethod;
+import org.apache.sysml.runtime.transform.meta.QuantileSketch;
 import org.apache.sysml.runtime.transform.meta.TfMetaUtils;
 import org.apache.sysml.runtime.transform.meta.TfOffsetMap;
 
@@ -128,6 +130,12 @@ public class MultiReturnParameterizedBuiltinSPInstruction extends ComputationSPI
 						in.mapPartitionsToPair(new TransformEncodeBuild2Function(mva))
 						  .groupByKey().flatMap(new TransformEncodeGroup2Function(mva)) );
 			}
+			if( containsBinEncoder(encoderBuild) ) {
+				EncoderBin ba = getBinEncoder(encoderBuild);
+				rcMaps = rcMaps.union(
+						in.mapPartitionsToPair(new TransformEncodeBuild3Function(ba))
+						  .groupByKey().flatMap(new TransformEncodeGroup3Function(ba, accMax)) );
+			}
 			rcMaps.saveAsTextFile(fometa.getFileName()); //trigger eval
 			
 			//consolidate meta data frame (reuse multi-threaded reader, special handling missing values) 
@@ -183,6 +191,18 @@ public class MultiReturnParameterizedBuiltinSPInstruction extends ComputationSPI
 		return null;	
 	}
 	
+	private static boolean containsBinEncoder(Encoder encoder) {
+		return getBinEncoder(encoder) != null;
+	}
+
+	private static EncoderBin getBinEncoder(Encoder encoder) {
+		if( encoder instanceof EncoderComposite )
+			for( Encoder cencoder : ((EncoderComposite)encoder).getEncoders() )
+				if( cencoder instanceof EncoderBin && cencoder.isApplicable() )
+					return (EncoderBin) cencoder;
+		return null;
+	}
+	
 	private static MaxLongAccumulator registerMaxLongAccumulator(JavaSparkContext sc) {
 		MaxLongAccumulator acc = new MaxLongAccumulator(Long.MIN_VALUE);
 		sc.sc().register(acc, "max");
@@ -255,6 +275,8 @@ public class MultiReturnParameterizedBuiltinSPInstruction extends ComputationSPI
 			throws Exception 
 		{
 			//build meta data (e.g., recode maps)
+			if( _raEncoder == null )
+				return new ArrayList<Tuple2<Integer,Object>>().iterator();
 			while( iter.hasNext() ) {
 				_raEncoder.buildPartial(iter.next()._2());	
 			}
@@ -416,4 +438,77 @@ public class MultiReturnParameterizedBuiltinSPInstruction extends ComputationSPI
 			return ret.iterator();
 		}
 	}
+	
+	/**
+	 * This function builds partial quantile sketches of binned columns per 
+	 * partition (part of distributed bin map construction), where equi-width 
+	 * bins only require min/max while equi-height bins use mergeable sketches.
+	 */
+	public static class TransformEncodeBuild3Function implements PairFlatMapFunction<Iterator<Tuple2<Long, FrameBlock>>, Integer, QuantileSketch>
+	{
+		private static final long serialVersionUID = -5532314581297396466L;
+
+		private EncoderBin _encoder = null;
+		
+		public TransformEncodeBuild3Function(EncoderBin encoder) {
+			_encoder = encoder;
+		}
+		
+		@Override
+		public Iterator<Tuple2<Integer, QuantileSketch>> call(Iterator<Tuple2<Long, FrameBlock>> iter)
+			throws Exception 
+		{
+			//build partial sketches
+			while( iter.hasNext() )
+				_encoder.buildPartial(iter.next()._2());
+			
+			//output sketches as columnID - sketch pairs
+			ArrayList<Tuple2<Integer,QuantileSketch>> ret = new ArrayList<>();
+			QuantileSketch[] sketches = _encoder.getPartialSketches();
+			int[] collist = _encoder.getColList();
+			for( int j=0; j<collist.length && sketches!=null; j++ )
+				ret.add(new Tuple2<>(collist[j], sketches[j]));
+			_encoder.resetPartialSketches();
+			
+			return ret.iterator();
+		}
+	}
+	
+	/**
+	 * This function merges the partial sketches of a binned column, derives the
+	 * bin boundaries and writes the resulting bin map in textcell (IJV) format. 
+	 */
+	public static class TransformEncodeGroup3Function implements FlatMapFunction<Tuple2<Integer, Iterable<QuantileSketch>>, String>
+	{
+		private static final long serialVersionUID = 2497301839455129402L;
+		
+		private EncoderBin _encoder = null;
+		private MaxLongAccumulator _accMax = null;
+		
+		public TransformEncodeGroup3Function(EncoderBin encoder, MaxLongAccumulator accMax) {
+			_encoder = encoder;
+			_accMax = accMax;
+		}
+
+		@Override
+		public Iterator<String> call(Tuple2<Integer, Iterable<QuantileSketch>> arg0)
+			throws Exception 
+		{
+			//merge partial sketches
+			Iterator<QuantileSketch> iter = arg0._2().iterator();
+			QuantileSketch sketch = iter.next();
+			while( iter.hasNext() )
+				sketch.merge(iter.next());
+			
+			//derive and output bin boundaries
+			double[][] bins = _encoder.computeBinBoundaries(arg0._1(), sketch);
+			ArrayList<String> ret = new ArrayList<>();
+			for( int i=0; i<bins[0].length; i++ )
+				ret.add((i+1) + " " + arg0._1() + " " 
+					+ EncoderBin.constructBinMapEntry(bins[0][i], bins[1][i]));
+			_accMax.add((long)bins[0].length);
+			
+			return ret.iterator();
+		}
+	}
 }
@@ -0,0 +1,290 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.instructions.spark.data;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.lang.ref.SoftReference;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.controlprogram.caching.CacheDataInput;
+import org.apache.sysml.runtime.controlprogram.caching.CacheDataOutput;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+
+/**
+ * Partitioned matrix block for broadcasts, which keeps all blocks as
+ * individually compressed byte arrays in a single indexed buffer. Blocks
+ * are compressed with fast deflate on construction (or kept uncompressed
+ * if deflate does not reduce their size), and only the requested blocks
+ * are decompressed and deserialized on getBlock. Decompressed blocks are
+ * cached via soft references, which allows tasks of an executor to share
+ * them, while the JVM may reclaim them under memory pressure.
+ *
+ * Serialized layout: header (as PartitionedBlock), uncompressed block
+ * lengths, block offsets, and the concatenated (compressed) block bytes.
+ */
+public class CompressedPartitionedBlock extends PartitionedBlock<MatrixBlock>
+{
+	private int[] _ulens = null;  //uncompressed block lengths
+	private int[] _pos = null;    //block offsets into data (incl end)
+	private byte[] _data = null;  //concatenated block bytes
+	private AtomicReferenceArray<SoftReference<MatrixBlock>> _cache = null;
+
+	public CompressedPartitionedBlock() {
+		//do nothing (required for Externalizable)
+	}
+
+	public CompressedPartitionedBlock(PartitionedBlock<MatrixBlock> pb) {
+		_rlen = pb._rlen;
+		_clen = pb._clen;
+		_brlen = pb._brlen;
+		_bclen = pb._bclen;
+		_offset = pb._offset;
+
+		//serialize and compress blocks in parallel
+		int len = pb._partBlocks.length;
+		_ulens = new int[len];
+		byte[][] tmp = new byte[len][];
+		try {
+			Arrays.parallelSetAll(tmp, i ->
+				compressBlock((MatrixBlock)pb._partBlocks[i], i));
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException("Failed compression of broadcast variable input.", ex);
+		}
+
+		//concatenate compressed blocks into indexed buffer
+		_pos = new int[len + 1];
+		for( int i=0; i<len; i++ )
+			_pos[i+1] = _pos[i] + tmp[i].length;
+		_data = new byte[_pos[len]];
+		for( int i=0; i<len; i++ )
+			System.arraycopy(tmp[i], 0, _data, _pos[i], tmp[i].length);
+		_cache = new AtomicReferenceArray<>(len);
+	}
+
+	@Override
+	public CompressedPartitionedBlock createPartition(int offset, int numBlks) {
+		CompressedPartitionedBlock ret = new CompressedPartitionedBlock();
+		ret._rlen = _rlen;
+		ret._clen = _clen;
+		ret._brlen = _brlen;
+		ret._bclen = _bclen;
+		ret._offset = offset;
+		int lix = offset - _offset;
+		ret._ulens = Arrays.copyOfRange(_ulens, lix, lix + numBlks);
+		ret._data = Arrays.copyOfRange(_data, _pos[lix], _pos[lix + numBlks]);
+		ret._pos = new int[numBlks + 1];
+		for( int i=0; i<=numBlks; i++ )
+			ret._pos[i] = _pos[lix + i] - _pos[lix];
+		ret._cache = new AtomicReferenceArray<>(numBlks);
+		return ret;
+	}
+
+	@Override
+	public MatrixBlock getBlock(int rowIndex, int colIndex) {
+		int ix = getBlockIndex(rowIndex, colIndex);
+
+		//probe cache of decompressed blocks
+		SoftReference<MatrixBlock> ref = _cache.get(ix);
+		MatrixBlock ret = (ref != null) ? ref.get() : null;
+
+		//decompress and deserialize requested block, where concurrent tasks
+		//might redundantly decompress the same block (identical content)
+		if( ret == null ) {
+			try {
+				ret = decompressBlock(ix);
+			}
+			catch(IOException ex) {
+				throw new DMLRuntimeException("Failed to decompress broadcast block "
+					+ "["+rowIndex+","+colIndex+"].", ex);
+			}
+			_cache.set(ix, new SoftReference<>(ret));
+		}
+		return ret;
+	}
+
+	@Override
+	public void setBlock(int rowIndex, int colIndex, MatrixBlock block) {
+		throw new DMLRuntimeException("Compressed partitioned blocks are read-only.");
+	}
+
+	public int getNumCompressedBytes() {
+		return (_data != null) ? _data.length : 0;
+	}
+
+	@Override
+	public long getInMemorySize() {
+		long ret = 24; //header
+		if( _data != null ) {
+			ret += 16 + 4L * _ulens.length; //ulens array
+			ret += 16 + 4L * _pos.length;   //offsets array
+			ret += 16 + _data.length;      //data array
+			ret += 16 + 8L * _ulens.length; //cache array
+		}
+		return ret;
+	}
+
+	@Override
+	public long getExactSerializedSize() {
+		long ret = 33; //header
+		if( _data != null )
+			ret += 4L * _ulens.length + 4L * _pos.length + 4 + _data.length;
+		return ret;
+	}
+
+	@Override
+	public void clearBlocks() {
+		_ulens = null;
+		_pos = null;
+		_data = null;
+		_cache = null;
+	}
+
+	/**
+	 * Redirects the default java serialization via externalizable to a
+	 * read of the indexed byte layout, without decompressing blocks.
+	 *
+	 * @param is object input
+	 * @throws IOException if IOException occurs
+	 */
+	@Override
+	public void readExternal(ObjectInput is)
+		throws IOException
+	{
+		_rlen = is.readLong();
+		_clen = is.readLong();
+		_brlen = is.readInt();
+		_bclen = is.readInt();
+		_offset = is.readInt();
+		int len = is.readInt();
+		is.readByte(); //matrix block code
+
+		_ulens = new int[len];
+		for( int i=0; i<len; i++ )
+			_ulens[i] = is.readInt();
+		_pos = new int[len + 1];
+		for( int i=0; i<=len; i++ )
+			_pos[i] = is.readInt();
+		_data = new byte[is.readInt()];
+		is.readFully(_data);
+		_cache = new AtomicReferenceArray<>(len);
+	}
+
+	/**
+	 * Redirects the default java serialization via externalizable to a
+	 * write of the indexed byte layout of compressed blocks.
+	 *
+	 * @param os object output
+	 * @throws IOException if IOException occurs
+	 */
+	@Override
+	public void writeExternal(ObjectOutput os)
+		throws IOException
+	{
+		os.writeLong(_rlen);
+		os.writeLong(_clen);
+		os.writeInt(_brlen);
+		os.writeInt(_bclen);
+		os.writeInt(_offset);
+		os.writeInt(_ulens.length);
+		os.writeByte(0); //matrix block code
+
+		for( int ulen : _ulens )
+			os.writeInt(ulen);
+		for( int pos : _pos )
+			os.writeInt(pos);
+		os.writeInt(_data.length);
+		os.write(_data);
+	}
+
+	private byte[] compressBlock(MatrixBlock mb, int ix) {
+		long ulen = mb.getExactSerializedSize();
+		if( ulen > Integer.MAX_VALUE )
+			throw new DMLRuntimeException("Broadcast block exceeds max byte array size: "+ulen);
+		_ulens[ix] = (int)ulen;
+
+		//serialize block into temporary byte array
+		byte[] tmp = new byte[(int)ulen];
+		try {
+			mb.write(new CacheDataOutput(tmp));
+		}
+		catch(IOException ex) {
+			throw new DMLRuntimeException(ex);
+		}
+
+		//compress with fast deflate, but keep uncompressed bytes if the
+		//output does not fit into less than the uncompressed size
+		int maxLen = (int)ulen - 1;
+		if( maxLen <= 0 )
+			return tmp;
+		byte[] out = new byte[maxLen];
+		Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+		try {
+			deflater.setInput(tmp);
+			deflater.finish();
+			int clen = 0;
+			while( !deflater.finished() && clen < maxLen )
+				clen += deflater.deflate(out, clen, maxLen-clen);
+			return deflater.finished() ? Arrays.copyOf(out, clen) : tmp;
+		}
+		finally {
+			deflater.end();
+		}
+	}
+
+	private MatrixBlock decompressBlock(int ix)
+		throws IOException
+	{
+		int ulen = _ulens[ix];
+		int clen = _pos[ix+1] - _pos[ix];
+		byte[] bdata = null;
+		if( clen == ulen ) { //uncompressed
+			bdata = Arrays.copyOfRange(_data, _pos[ix], _pos[ix+1]);
+		}
+		else {
+			bdata = new byte[ulen];
+			Inflater inflater = new Inflater();
+			try {
+				inflater.setInput(_data, _pos[ix], clen);
+				int len = 0;
+				while( !inflater.finished() && len < ulen )
+					len += inflater.inflate(bdata, len, ulen-len);
+				if( len != ulen )
+					throw new IOException("Failed to decompress block: "+len+" vs "+ulen+" bytes.");
+			}
+			catch(DataFormatException ex) {
+				throw new IOException("Failed to decompress block.", ex);
+			}
+			finally {
+				inflater.end();
+			}
+		}
+		MatrixBlock ret = new MatrixBlock();
+		ret.readFields(new CacheDataInput(bdata));
+		return ret;
+	}
+}
@@ -141,21 +141,16 @@ public class PartitionedBlock<T extends CacheBlock> implements Externalizable
 
 	@SuppressWarnings("unchecked")
 	public T getBlock(int rowIndex, int colIndex) {
-		//check for valid block index
-		int nrblks = getNumRowBlocks();
-		int ncblks = getNumColumnBlocks();
-		if( rowIndex <= 0 || rowIndex > nrblks || colIndex <= 0 || colIndex > ncblks ) {
-			throw new DMLRuntimeException("Block indexes ["+rowIndex+","+colIndex+"] out of range ["+nrblks+","+ncblks+"]");
-		}
-		
 		//get the requested frame/matrix block
-		int rix = rowIndex - 1;
-		int cix = colIndex - 1;
-		int ix = rix*ncblks+cix - _offset;
-		return (T)_partBlocks[ix];
+		return (T)_partBlocks[getBlockIndex(rowIndex, colIndex)];
 	}
 
 	public void setBlock(int rowIndex, int colIndex, T block) {
+		//set the requested matrix block
+		_partBlocks[getBlockIndex(rowIndex, colIndex)] = block;
+	}
+	
+	protected int getBlockIndex(int rowIndex, int colIndex) {
 		//check for valid block index
 		int nrblks = getNumRowBlocks();
 		int ncblks = getNumColumnBlocks();
@@ -163,11 +158,10 @@ public class PartitionedBlock<T extends CacheBlock> implements Externalizable
 			throw new DMLRuntimeException("Block indexes ["+rowIndex+","+colIndex+"] out of range ["+nrblks+","+ncblks+"]");
 		}
 		
-		//get the requested matrix block
+		//compute the partition-local block index
 		int rix = rowIndex - 1;
 		int cix = colIndex - 1;
-		int ix = rix*ncblks+cix - _offset;
-		_partBlocks[ ix ] = block;	
+		return rix*ncblks+cix - _offset;
 	}
 
 	public long getInMemorySize() {
@@ -65,7 +65,7 @@ import org.apache.sysml.runtime.matrix.data.Pair;
 import org.apache.sysml.runtime.matrix.mapred.FrameReblockBuffer;
 import org.apache.sysml.runtime.transform.TfUtils;
 import org.apache.sysml.runtime.util.DataConverter;
-import org.apache.sysml.runtime.util.FastStringTokenizer;
+import org.apache.sysml.runtime.util.FastByteTokenizer;
 import org.apache.sysml.runtime.util.UtilFunctions;
 
 import scala.Tuple2;
@@ -844,20 +844,19 @@ public class FrameRDDConverterUtils
 		{
 			ArrayList<Tuple2<Long,FrameBlock>> ret = new ArrayList<>();
 			FrameReblockBuffer rbuff = new FrameReblockBuffer(_bufflen, _rlen, _clen, _schema );
-			FastStringTokenizer st = new FastStringTokenizer(' ');
+			FastByteTokenizer st = new FastByteTokenizer(' ');
 			
 			while( arg0.hasNext() )
 			{
-				//get input string (ignore matrix market comments)
-				String strVal = arg0.next().toString();
-				if( strVal.startsWith("%") ) 
+				//get input line (ignore matrix market comments)
+				st.reset( arg0.next() );
+				if( st.startsWith("%") ) 
 					continue;
 				
 				//parse input ijv triple
-				st.reset( strVal );
 				long row = st.nextLong();
 				long col = st.nextLong();
-				Object val = UtilFunctions.stringToObject(_schema[(int)col-1], st.nextToken());
+				Object val = st.next().getObject(_schema[(int)col-1]);
 				
 				//flush buffer if necessary
 				if( rbuff.getSize() >= rbuff.getCapacity() )
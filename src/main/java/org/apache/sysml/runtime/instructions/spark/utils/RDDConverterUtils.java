@@ -68,7 +68,7 @@ import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
 import org.apache.sysml.runtime.matrix.data.OutputInfo;
 import org.apache.sysml.runtime.matrix.mapred.ReblockBuffer;
 import org.apache.sysml.runtime.util.DataConverter;
-import org.apache.sysml.runtime.util.FastStringTokenizer;
+import org.apache.sysml.runtime.util.FastByteTokenizer;
 import org.apache.sysml.runtime.util.MapReduceTool;
 import org.apache.sysml.runtime.util.UtilFunctions;
 
@@ -513,14 +513,14 @@ public class RDDConverterUtils
 		{
 			ArrayList<Tuple2<MatrixIndexes,MatrixBlock>> ret = new ArrayList<>();
 			ReblockBuffer rbuff = new ReblockBuffer(_bufflen, _rlen, _clen, _brlen, _bclen);
-			FastStringTokenizer st = new FastStringTokenizer(' ');
+			FastByteTokenizer st = new FastByteTokenizer(' ');
 			boolean first = false;
 			
 			while( arg0.hasNext() ) {
-				//get input string (ignore matrix market comments as well as
+				//get input line (ignore matrix market comments as well as
 				//first row which indicates meta data, i.e., <nrow> <ncol> <nnz>)
-				String strVal = arg0.next().toString();
-				if( strVal.startsWith("%") ) {
+				st.reset( arg0.next() ); //reinit tokenizer
+				if( st.startsWith("%") ) {
 					first = true;
 					continue;
 				}
@@ -530,7 +530,6 @@ public class RDDConverterUtils
 				}
 				
 				//parse input ijv triple
-				st.reset( strVal.toString() ); //reinit tokenizer
 				long row = st.nextLong();
 				long col = st.nextLong();
 				double val = (_mmProps == null) ? st.nextDouble() : 
@@ -705,11 +704,12 @@ public class RDDConverterUtils
 			int ncblks = (int)Math.ceil((double)_clen/_bclen);
 			MatrixIndexes[] ix = new MatrixIndexes[ncblks];
 			MatrixBlock[] mb = new MatrixBlock[ncblks];
+			FastByteTokenizer st = new FastByteTokenizer(_delim, true, false);
+			double[] vals = new double[(int)_clen];
 			
 			while( arg0.hasNext() )
 			{
 				Tuple2<Text,Long> tmp = arg0.next();
-				String row = tmp._1().toString();
 				long rowix = tmp._2() + (_header ? 0 : 1);
 				
 				//skip existing header
@@ -727,28 +727,34 @@ public class RDDConverterUtils
 					createBlocks(rowix, (int)len, ix, mb);
 				}
 				
-				//process row data
-				String[] parts = IOUtilFunctions.split(row, _delim);
+				//parse row data (w/o string materialization)
+				st.reset(tmp._1());
 				boolean emptyFound = false;
+				for( int j=0; j<_clen; j++ ) {
+					if( st.next().isBlankToken() ) {
+						emptyFound |= !_fill;
+						vals[j] = _fillValue;
+					}
+					else
+						vals[j] = st.getDouble();
+				}
+				
+				//process row data
 				for( int cix=1, pix=0; cix<=ncblks; cix++ ) 
 				{
 					int lclen = (int)UtilFunctions.computeBlockSize(_clen, cix, _bclen);
 					if( mb[cix-1].isInSparseFormat() ) {
 						//allocate row once (avoid re-allocations)
-						int lnnz = IOUtilFunctions.countNnz(parts, pix, lclen);
+						int lnnz = UtilFunctions.computeNnz(vals, pix, lclen);
 						mb[cix-1].getSparseBlock().allocate(pos, lnnz);
 					}
-					for( int j=0; j<lclen; j++ ) {
-						String part = parts[pix++];
-						emptyFound |= part.isEmpty() && !_fill;
-						double val = (part.isEmpty() && _fill) ?
-								_fillValue : Double.parseDouble(part);
-						mb[cix-1].appendValue(pos, j, val);
-					}	
+					for( int j=0; j<lclen; j++ )
+						mb[cix-1].appendValue(pos, j, vals[pix++]);
 				}
 		
 				//sanity check empty cells filled w/ values
-				IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(row, _fill, emptyFound);
+				if( emptyFound )
+					IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(st.toString(), _fill, emptyFound);
 			}
 		
 			//flush last blocks
@@ -53,7 +53,7 @@ import org.apache.sysml.runtime.matrix.data.MatrixCell;
 import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
 import org.apache.sysml.runtime.matrix.mapred.IndexedMatrixValue;
 import org.apache.sysml.runtime.matrix.mapred.ReblockBuffer;
-import org.apache.sysml.runtime.util.FastStringTokenizer;
+import org.apache.sysml.runtime.util.FastByteTokenizer;
 
 import scala.Tuple2;
 
@@ -337,14 +337,13 @@ public class RDDConverterUtilsExt
 		// ----------------------------------------------------
 		// Can extend this by having type hierarchy
 		public Tuple2<MatrixIndexes, MatrixCell> textToMatrixCell(Text txt) {
-			FastStringTokenizer st = new FastStringTokenizer(' ');
-			//get input string (ignore matrix market comments)
-			String strVal = txt.toString();
-			if( strVal.startsWith("%") )
+			FastByteTokenizer st = new FastByteTokenizer(' ');
+			//get input line (ignore matrix market comments)
+			st.reset( txt );
+			if( st.startsWith("%") )
 				return null;
 
 			//parse input ijv triple
-			st.reset( strVal );
 			long row = st.nextLong();
 			long col = st.nextLong();
 			double val = st.nextDouble();
@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.Serializable;
+
+/**
+ * Properties of the columnar binary frame format, i.e., the number of
+ * rows per row group on write, and an optional column projection (0-based
+ * column indexes) on read. Passing these properties with binary block
+ * input/output infos into the frame reader/writer factories selects the
+ * columnar readers and writers.
+ */
+public class FileFormatPropertiesColumnar extends FileFormatProperties implements Serializable
+{
+	private static final long serialVersionUID = 4381929403785470571L;
+
+	public static final int DEFAULT_ROW_GROUP_SIZE = 16384;
+
+	private int rowGroupSize;
+	private int[] columns;
+
+	public FileFormatPropertiesColumnar() {
+		this(DEFAULT_ROW_GROUP_SIZE, null);
+	}
+
+	public FileFormatPropertiesColumnar(int[] columns) {
+		this(DEFAULT_ROW_GROUP_SIZE, columns);
+	}
+
+	public FileFormatPropertiesColumnar(int rowGroupSize, int[] columns) {
+		this.rowGroupSize = rowGroupSize;
+		this.columns = columns;
+	}
+
+	public int getRowGroupSize() {
+		return rowGroupSize;
+	}
+
+	public void setRowGroupSize(int rowGroupSize) {
+		this.rowGroupSize = rowGroupSize;
+	}
+
+	public int[] getColumns() {
+		return columns;
+	}
+
+	public void setColumns(int[] columns) {
+		this.columns = columns;
+	}
+
+	public boolean hasProjection() {
+		return columns != null;
+	}
+}
@@ -0,0 +1,258 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.matrix.data.FrameBlock.ColumnMetadata;
+
+/**
+ * Footer of a part file of the columnar binary frame format. A part file
+ * has the following layout (all values big-endian):
+ *
+ * <pre>
+ * [MAGIC][VERSION]
+ * [row group 1: chunk col 1, ..., chunk col n] ... [row group k: ...]
+ * [footer][footer length][MAGIC]
+ * </pre>
+ *
+ * The footer holds the schema, column names and column meta data, as well
+ * as the row offset and number of rows of all row groups, and the offset,
+ * length, encoding, and statistics of all column chunks. Readers only
+ * access the chunks of projected columns and hence skip all other columns.
+ */
+public class FrameColumnarFooter
+{
+	public static final int MAGIC = 0x53594D43; //'SYMC'
+	public static final int VERSION = 1;
+	public static final int HEADER_SIZE = 8;
+	public static final int TRAILER_SIZE = 8;
+
+	public enum Encoding {
+		PLAIN,    //raw values (length-prefixed utf-8 strings, bit-packed booleans)
+		DICT,     //distinct strings and fixed-width codes (0 for null)
+		RLE,      //runs of (value, length) for numeric and boolean values
+		DICT_RLE, //distinct strings and runs of (code, length)
+	}
+
+	private final ValueType[] _schema;
+	private final String[] _names;
+	private final ColumnMetadata[] _colmeta;
+	private final List<RowGroup> _rowGroups;
+
+	public FrameColumnarFooter(ValueType[] schema, String[] names, ColumnMetadata[] colmeta) {
+		_schema = schema;
+		_names = names;
+		_colmeta = colmeta;
+		_rowGroups = new ArrayList<>();
+	}
+
+	public ValueType[] getSchema() {
+		return _schema;
+	}
+
+	public String[] getColumnNames() {
+		return _names;
+	}
+
+	public ColumnMetadata[] getColumnMetadata() {
+		return _colmeta;
+	}
+
+	public int getNumColumns() {
+		return _schema.length;
+	}
+
+	public long getNumRows() {
+		long ret = 0;
+		for( RowGroup rg : _rowGroups )
+			ret += rg.getNumRows();
+		return ret;
+	}
+
+	public List<RowGroup> getRowGroups() {
+		return _rowGroups;
+	}
+
+	public void addRowGroup(RowGroup rg) {
+		_rowGroups.add(rg);
+	}
+
+	public void write(DataOutput out) throws IOException {
+		out.writeInt(_schema.length);
+		for( int j=0; j<_schema.length; j++ ) {
+			out.writeByte(_schema[j].ordinal());
+			out.writeUTF(_names[j]);
+			out.writeLong(_colmeta[j].getNumDistinct());
+			out.writeBoolean(_colmeta[j].getMvValue() != null);
+			if( _colmeta[j].getMvValue() != null )
+				out.writeUTF(_colmeta[j].getMvValue());
+		}
+		out.writeInt(_rowGroups.size());
+		for( RowGroup rg : _rowGroups )
+			rg.write(out);
+	}
+
+	public static FrameColumnarFooter read(DataInput in) throws IOException {
+		int ncol = in.readInt();
+		ValueType[] schema = new ValueType[ncol];
+		String[] names = new String[ncol];
+		ColumnMetadata[] colmeta = new ColumnMetadata[ncol];
+		for( int j=0; j<ncol; j++ ) {
+			schema[j] = ValueType.values()[in.readByte()];
+			names[j] = in.readUTF();
+			long ndistinct = in.readLong();
+			colmeta[j] = new ColumnMetadata(ndistinct,
+				in.readBoolean() ? in.readUTF() : null);
+		}
+		FrameColumnarFooter ret = new FrameColumnarFooter(schema, names, colmeta);
+		int nrg = in.readInt();
+		for( int i=0; i<nrg; i++ )
+			ret.addRowGroup(RowGroup.read(in, ncol));
+		return ret;
+	}
+
+	/**
+	 * Row group of a part file, i.e., a contiguous range of rows whose
+	 * columns are stored as separate, independently readable chunks.
+	 */
+	public static class RowGroup
+	{
+		private final long _rowOffset;
+		private final int _numRows;
+		private final ColumnChunk[] _chunks;
+
+		public RowGroup(long rowOffset, int numRows, int ncol) {
+			_rowOffset = rowOffset;
+			_numRows = numRows;
+			_chunks = new ColumnChunk[ncol];
+		}
+
+		/**
+		 * @return 0-based row offset of the row group in the entire frame
+		 */
+		public long getRowOffset() {
+			return _rowOffset;
+		}
+
+		public int getNumRows() {
+			return _numRows;
+		}
+
+		public ColumnChunk getColumnChunk(int c) {
+			return _chunks[c];
+		}
+
+		public void setColumnChunk(int c, ColumnChunk chunk) {
+			_chunks[c] = chunk;
+		}
+
+		private void write(DataOutput out) throws IOException {
+			out.writeLong(_rowOffset);
+			out.writeInt(_numRows);
+			for( ColumnChunk chunk : _chunks )
+				chunk.write(out);
+		}
+
+		private static RowGroup read(DataInput in, int ncol) throws IOException {
+			RowGroup ret = new RowGroup(in.readLong(), in.readInt(), ncol);
+			for( int j=0; j<ncol; j++ )
+				ret.setColumnChunk(j, ColumnChunk.read(in));
+			return ret;
+		}
+	}
+
+	/**
+	 * Location, encoding, and statistics of a column chunk. The number of
+	 * non-empty values refers to non-null strings, true booleans, and
+	 * non-zero numbers; the number of distinct values is only available for
+	 * dictionary encodings; and min/max are only available for numeric and
+	 * boolean columns (NaN otherwise).
+	 */
+	public static class ColumnChunk
+	{
+		private final long _offset;
+		private final int _length;
+		private final Encoding _encoding;
+		private final long _nnz;
+		private final long _ndistinct;
+		private final double _min;
+		private final double _max;
+
+		public ColumnChunk(long offset, int length, Encoding encoding, long nnz, long ndistinct, double min, double max) {
+			_offset = offset;
+			_length = length;
+			_encoding = encoding;
+			_nnz = nnz;
+			_ndistinct = ndistinct;
+			_min = min;
+			_max = max;
+		}
+
+		public long getOffset() {
+			return _offset;
+		}
+
+		public int getLength() {
+			return _length;
+		}
+
+		public Encoding getEncoding() {
+			return _encoding;
+		}
+
+		public long getNumNonEmpty() {
+			return _nnz;
+		}
+
+		public long getNumDistinct() {
+			return _ndistinct;
+		}
+
+		public double getMin() {
+			return _min;
+		}
+
+		public double getMax() {
+			return _max;
+		}
+
+		private void write(DataOutput out) throws IOException {
+			out.writeLong(_offset);
+			out.writeInt(_length);
+			out.writeByte(_encoding.ordinal());
+			out.writeLong(_nnz);
+			out.writeLong(_ndistinct);
+			out.writeDouble(_min);
+			out.writeDouble(_max);
+		}
+
+		private static ColumnChunk read(DataInput in) throws IOException {
+			return new ColumnChunk(in.readLong(), in.readInt(),
+				Encoding.values()[in.readByte()], in.readLong(),
+				in.readLong(), in.readDouble(), in.readDouble());
+		}
+	}
+}
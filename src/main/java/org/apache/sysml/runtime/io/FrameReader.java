@@ -107,6 +107,17 @@ public abstract class FrameReader
 		ret.ensureAllocatedColumns((int)nrow);
 		return ret;
 	}
+	
+	/**
+	 * Converts the columns of a read frame block into compact column
+	 * representations (e.g., dictionary-encoded strings), if enabled.
+	 * 
+	 * @param ret frame block
+	 * @return frame block
+	 */
+	protected static FrameBlock compactOutputFrameBlock(FrameBlock ret) {
+		return FrameBlock.COMPACT_COLUMNS ? ret.compactColumns() : ret;
+	}
 
 	protected static ValueType[] createOutputSchema(ValueType[] schema, long ncol) {
 		if( schema.length==1 && ncol > 1 )
@@ -55,11 +55,15 @@ public class FrameReaderBinaryBlock extends FrameReader
 		
 		//check existence and non-empty file
 		checkValidInputFile(fs, path); 
+		
+		//probe for columnar frame files (written via columnar frame writers)
+		if( FrameReaderColumnar.isColumnarFrame(fs, path) )
+			return createColumnarReader().readFrameFromHDFS(fname, schema, names, rlen, clen);
 	
 		//core read (sequential/parallel)
 		readBinaryBlockFrameFromHDFS(path, job, fs, ret, rlen, clen);
 		
-		return ret;
+		return compactOutputFrameBlock(ret);
 	}
 	
 	@Override
@@ -69,6 +73,10 @@ public class FrameReaderBinaryBlock extends FrameReader
 		throw new DMLRuntimeException("Not implemented yet.");
 	}
 
+	protected FrameReaderColumnar createColumnarReader() {
+		return new FrameReaderColumnar();
+	}
+
 	protected void readBinaryBlockFrameFromHDFS( Path path, JobConf job, FileSystem fs, FrameBlock dest, long rlen, long clen )
 		throws IOException, DMLRuntimeException
 	{
@@ -41,6 +41,11 @@ import org.apache.sysml.runtime.util.CommonThreadPool;
  */
 public class FrameReaderBinaryBlockParallel extends FrameReaderBinaryBlock
 {
+	@Override
+	protected FrameReaderColumnar createColumnarReader() {
+		return new FrameReaderColumnarParallel();
+	}
+
 	@Override
 	protected void readBinaryBlockFrameFromHDFS( Path path, JobConf job, FileSystem fs, FrameBlock dest, long rlen, long clen )
 		throws IOException, DMLRuntimeException
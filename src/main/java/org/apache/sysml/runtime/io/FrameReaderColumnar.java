@@ -0,0 +1,378 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.io.FrameColumnarFooter.ColumnChunk;
+import org.apache.sysml.runtime.io.FrameColumnarFooter.RowGroup;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.matrix.data.FrameBlock.ColumnMetadata;
+
+
+/**
+ * Single-threaded reader of the columnar binary frame format (see
+ * {@link FrameColumnarFooter} for the file layout). The schema, column
+ * names, and number of rows are obtained from the part file footers. With
+ * a column projection, only the chunks of the selected columns are read
+ * (via positional reads), i.e., all other columns are skipped.
+ *
+ */
+public class FrameReaderColumnar extends FrameReader
+{
+	protected final int[] _cols;
+
+	public FrameReaderColumnar() {
+		this(null);
+	}
+
+	public FrameReaderColumnar(FileFormatPropertiesColumnar props) {
+		_cols = (props != null) ? props.getColumns() : null;
+	}
+
+	@Override
+	public final FrameBlock readFrameFromHDFS(String fname, ValueType[] schema, String[] names, long rlen, long clen)
+		throws IOException, DMLRuntimeException
+	{
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path( fname );
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+
+		//check existence and non-empty file
+		checkValidInputFile(fs, path);
+
+		//read footers of all part files
+		Path[] files = IOUtilFunctions.getSequenceFilePaths(fs, path);
+		FrameColumnarFooter[] footers = new FrameColumnarFooter[files.length];
+		long nrow = 0;
+		for( int i=0; i<files.length; i++ ) {
+			footers[i] = readFooter(fs, files[i]);
+			nrow += footers[i].getNumRows();
+		}
+		if( rlen >= 0 && nrow != rlen )
+			throw new IOException("Mismatch in number of rows of columnar frame "
+				+ fname + ": " + nrow + " (expected: " + rlen + ").");
+
+		//determine projected columns and allocate output frame block
+		FrameColumnarFooter footer = footers[0];
+		int[] cols = getProjectedColumns(footer.getNumColumns());
+		ValueType[] lschema = new ValueType[cols.length];
+		String[] lnames = new String[cols.length];
+		ColumnMetadata[] lcolmeta = new ColumnMetadata[cols.length];
+		for( int k=0; k<cols.length; k++ ) {
+			lschema[k] = footer.getSchema()[cols[k]];
+			lnames[k] = footer.getColumnNames()[cols[k]];
+			lcolmeta[k] = footer.getColumnMetadata()[cols[k]];
+		}
+		FrameBlock ret = createOutputFrameBlock(lschema, lnames, nrow);
+		ret.setColumnMetadata(lcolmeta);
+
+		//core read of projected columns (sequential/parallel)
+		Object[] dest = new Object[cols.length];
+		for( int k=0; k<cols.length; k++ )
+			dest[k] = ret.getColumnData(k);
+		readColumnarFrameFromHDFS(fs, files, footers, cols, dest, (int)nrow);
+
+		return compactOutputFrameBlock(ret);
+	}
+
+	@Override
+	public FrameBlock readFrameFromInputStream(InputStream is, ValueType[] schema, String[] names, long rlen, long clen)
+		throws IOException, DMLRuntimeException
+	{
+		throw new DMLRuntimeException("Not implemented yet.");
+	}
+
+	protected void readColumnarFrameFromHDFS(FileSystem fs, Path[] files, FrameColumnarFooter[] footers, int[] cols, Object[] dest, int nrow)
+		throws IOException
+	{
+		//sequential read of all row groups
+		for( int i=0; i<files.length; i++ ) {
+			FSDataInputStream in = fs.open(files[i]);
+			try {
+				for( RowGroup rg : footers[i].getRowGroups() )
+					readRowGroup(in, rg, footers[i].getSchema(), cols, dest, nrow);
+			}
+			finally {
+				IOUtilFunctions.closeSilently(in);
+			}
+		}
+	}
+
+	/**
+	 * Reads the given column projection of the given row group into the
+	 * preallocated column arrays of the output frame block.
+	 *
+	 * @param in input stream of the part file
+	 * @param rg row group
+	 * @param schema schema of all columns
+	 * @param cols projected columns (0-based)
+	 * @param dest output column arrays of the projected columns
+	 * @param nrow number of rows of the entire frame
+	 * @throws IOException if IOException occurs
+	 */
+	protected static void readRowGroup(FSDataInputStream in, RowGroup rg, ValueType[] schema, int[] cols, Object[] dest, int nrow)
+		throws IOException
+	{
+		int rl = (int) rg.getRowOffset();
+		int len = rg.getNumRows();
+
+		//bound check per row group
+		if( rl < 0 || rl + len > nrow )
+			throw new IOException("Row group ["+(rl+1)+":"+(rl+len)+"] out of overall frame range [1:"+nrow+"].");
+
+		byte[] buff = null;
+		for( int k=0; k<cols.length; k++ ) {
+			ColumnChunk chunk = rg.getColumnChunk(cols[k]);
+			//skip empty chunks (all null, false, or zero)
+			if( chunk.getNumNonEmpty() == 0 )
+				continue;
+			if( buff == null || buff.length < chunk.getLength() )
+				buff = new byte[chunk.getLength()];
+			in.readFully(chunk.getOffset(), buff, 0, chunk.getLength());
+			ByteBuffer bb = ByteBuffer.wrap(buff, 0, chunk.getLength());
+			switch( schema[cols[k]] ) {
+				case STRING:  readStringChunk(bb, chunk, (String[])dest[k], rl, len); break;
+				case BOOLEAN: readBooleanChunk(bb, chunk, (boolean[])dest[k], rl, len); break;
+				case INT:     readLongChunk(bb, chunk, (long[])dest[k], rl, len); break;
+				case DOUBLE:  readDoubleChunk(bb, chunk, (double[])dest[k], rl, len); break;
+				default: throw new IOException("Unsupported value type: "+schema[cols[k]]);
+			}
+		}
+	}
+
+	private static void readStringChunk(ByteBuffer bb, ColumnChunk chunk, String[] dest, int rl, int len) {
+		switch( chunk.getEncoding() ) {
+			case PLAIN:
+				for( int i=rl; i<rl+len; i++ )
+					dest[i] = readString(bb);
+				break;
+			case DICT: {
+				String[] dict = readDictionary(bb);
+				int width = bb.get();
+				for( int i=rl; i<rl+len; i++ ) {
+					int code = (width == 1) ? bb.get() : (width == 2) ? bb.getShort() : bb.getInt();
+					dest[i] = (code != 0) ? dict[code-1] : null;
+				}
+				break;
+			}
+			case DICT_RLE: {
+				String[] dict = readDictionary(bb);
+				int runs = bb.getInt();
+				for( int r=0, i=rl; r<runs; r++ ) {
+					int code = bb.getInt();
+					int rlen = bb.getInt();
+					Arrays.fill(dest, i, i+rlen, (code != 0) ? dict[code-1] : null);
+					i += rlen;
+				}
+				break;
+			}
+			default:
+				throw new DMLRuntimeException("Unsupported string encoding: "+chunk.getEncoding());
+		}
+	}
+
+	private static String[] readDictionary(ByteBuffer bb) {
+		String[] dict = new String[bb.getInt()];
+		for( int i=0; i<dict.length; i++ )
+			dict[i] = readString(bb);
+		return dict;
+	}
+
+	private static String readString(ByteBuffer bb) {
+		int len = bb.getInt();
+		if( len < 0 )
+			return null;
+		String ret = new String(bb.array(), bb.arrayOffset()+bb.position(), len, StandardCharsets.UTF_8);
+		bb.position(bb.position() + len);
+		return ret;
+	}
+
+	private static void readBooleanChunk(ByteBuffer bb, ColumnChunk chunk, boolean[] dest, int rl, int len) {
+		switch( chunk.getEncoding() ) {
+			case PLAIN:
+				for( int i=rl; i<rl+len; i+=64 ) {
+					long word = bb.getLong();
+					for( int k=i; k<Math.min(i+64, rl+len); k++ )
+						dest[k] = ((word >>> (k-i)) & 1) != 0;
+				}
+				break;
+			case RLE: {
+				int runs = bb.getInt();
+				for( int r=0, i=rl; r<runs; r++ ) {
+					boolean val = bb.get() != 0;
+					int rlen = bb.getInt();
+					Arrays.fill(dest, i, i+rlen, val);
+					i += rlen;
+				}
+				break;
+			}
+			default:
+				throw new DMLRuntimeException("Unsupported boolean encoding: "+chunk.getEncoding());
+		}
+	}
+
+	private static void readLongChunk(ByteBuffer bb, ColumnChunk chunk, long[] dest, int rl, int len) {
+		switch( chunk.getEncoding() ) {
+			case PLAIN:
+				bb.asLongBuffer().get(dest, rl, len);
+				break;
+			case RLE: {
+				int runs = bb.getInt();
+				for( int r=0, i=rl; r<runs; r++ ) {
+					long val = bb.getLong();
+					int rlen = bb.getInt();
+					Arrays.fill(dest, i, i+rlen, val);
+					i += rlen;
+				}
+				break;
+			}
+			default:
+				throw new DMLRuntimeException("Unsupported int encoding: "+chunk.getEncoding());
+		}
+	}
+
+	private static void readDoubleChunk(ByteBuffer bb, ColumnChunk chunk, double[] dest, int rl, int len) {
+		switch( chunk.getEncoding() ) {
+			case PLAIN:
+				bb.asDoubleBuffer().get(dest, rl, len);
+				break;
+			case RLE: {
+				int runs = bb.getInt();
+				for( int r=0, i=rl; r<runs; r++ ) {
+					double val = bb.getDouble();
+					int rlen = bb.getInt();
+					Arrays.fill(dest, i, i+rlen, val);
+					i += rlen;
+				}
+				break;
+			}
+			default:
+				throw new DMLRuntimeException("Unsupported double encoding: "+chunk.getEncoding());
+		}
+	}
+
+	private int[] getProjectedColumns(int ncol) throws IOException {
+		if( _cols == null ) {
+			int[] ret = new int[ncol];
+			for( int j=0; j<ncol; j++ )
+				ret[j] = j;
+			return ret;
+		}
+		for( int c : _cols )
+			if( c < 0 || c >= ncol )
+				throw new IOException("Invalid projected column "+c+" of columnar frame with "+ncol+" columns.");
+		return _cols;
+	}
+
+	/**
+	 * Reads the footer (schema, row groups, and column chunk statistics)
+	 * of a part file of the columnar binary frame format.
+	 *
+	 * @param fs file system
+	 * @param path path of the part file
+	 * @return footer
+	 * @throws IOException if IOException occurs
+	 */
+	public static FrameColumnarFooter readFooter(FileSystem fs, Path path)
+		throws IOException
+	{
+		long flen = fs.getFileStatus(path).getLen();
+		if( flen < FrameColumnarFooter.HEADER_SIZE + FrameColumnarFooter.TRAILER_SIZE )
+			throw new IOException("Invalid columnar frame file "+path+" of size "+flen+".");
+		FSDataInputStream in = fs.open(path);
+		try {
+			//read trailer and footer
+			byte[] tmp = new byte[FrameColumnarFooter.TRAILER_SIZE];
+			in.readFully(flen - tmp.length, tmp);
+			ByteBuffer trailer = ByteBuffer.wrap(tmp);
+			int len = trailer.getInt();
+			if( trailer.getInt() != FrameColumnarFooter.MAGIC )
+				throw new IOException("Invalid columnar frame file "+path+" (wrong magic number).");
+			byte[] buff = new byte[len];
+			in.readFully(flen - tmp.length - len, buff);
+			return FrameColumnarFooter.read(new DataInputStream(new ByteArrayInputStream(buff)));
+		}
+		finally {
+			IOUtilFunctions.closeSilently(in);
+		}
+	}
+
+	/**
+	 * Reads the footers of all part files of the given columnar frame, e.g.,
+	 * for obtaining the schema and row group statistics without reading data.
+	 *
+	 * @param fname file name
+	 * @return array of footers
+	 * @throws IOException if IOException occurs
+	 */
+	public static FrameColumnarFooter[] readFooters(String fname)
+		throws IOException
+	{
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path( fname );
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		Path[] files = IOUtilFunctions.getSequenceFilePaths(fs, path);
+		FrameColumnarFooter[] ret = new FrameColumnarFooter[files.length];
+		for( int i=0; i<files.length; i++ )
+			ret[i] = readFooter(fs, files[i]);
+		return ret;
+	}
+
+	/**
+	 * Probes if the given file or directory is a columnar frame, based
+	 * on the magic number at the beginning of the first part file.
+	 *
+	 * @param fs file system
+	 * @param path file or directory
+	 * @return true if columnar frame
+	 */
+	public static boolean isColumnarFrame(FileSystem fs, Path path) {
+		try {
+			Path[] files = IOUtilFunctions.getSequenceFilePaths(fs, path);
+			if( files.length == 0 || fs.getFileStatus(files[0]).getLen() < FrameColumnarFooter.HEADER_SIZE )
+				return false;
+			FSDataInputStream in = fs.open(files[0]);
+			try {
+				return in.readInt() == FrameColumnarFooter.MAGIC;
+			}
+			finally {
+				IOUtilFunctions.closeSilently(in);
+			}
+		}
+		catch(IOException ex) {
+			return false;
+		}
+	}
+}
@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.io.FrameColumnarFooter.RowGroup;
+import org.apache.sysml.runtime.util.CommonThreadPool;
+
+
+/**
+ * Multi-threaded reader of the columnar binary frame format, which reads
+ * row groups (of one or many part files) in parallel. Since row groups
+ * cover disjoint row ranges, the tasks directly write into the output
+ * column arrays without synchronization.
+ *
+ */
+public class FrameReaderColumnarParallel extends FrameReaderColumnar
+{
+	public FrameReaderColumnarParallel() {
+		super();
+	}
+
+	public FrameReaderColumnarParallel(FileFormatPropertiesColumnar props) {
+		super(props);
+	}
+
+	@Override
+	protected void readColumnarFrameFromHDFS(FileSystem fs, Path[] files, FrameColumnarFooter[] footers, int[] cols, Object[] dest, int nrow)
+		throws IOException
+	{
+		//create read tasks for all row groups
+		ArrayList<ReadRowGroupTask> tasks = new ArrayList<>();
+		for( int i=0; i<files.length; i++ )
+			for( RowGroup rg : footers[i].getRowGroups() )
+				tasks.add(new ReadRowGroupTask(fs, files[i], rg, footers[i].getSchema(), cols, dest, nrow));
+
+		//fall back to sequential read for a single row group
+		int numThreads = Math.min(OptimizerUtils.getParallelBinaryReadParallelism(), tasks.size());
+		if( numThreads <= 1 ) {
+			super.readColumnarFrameFromHDFS(fs, files, footers, cols, dest, nrow);
+			return;
+		}
+
+		try
+		{
+			ExecutorService pool = CommonThreadPool.get(numThreads);
+
+			//wait until all tasks have been executed
+			List<Future<Object>> rt = pool.invokeAll(tasks);
+			pool.shutdown();
+
+			//check for exceptions
+			for( Future<Object> task : rt )
+				task.get();
+		}
+		catch (Exception e) {
+			throw new IOException("Failed parallel read of columnar frame.", e);
+		}
+	}
+
+	private static class ReadRowGroupTask implements Callable<Object>
+	{
+		private final FileSystem _fs;
+		private final Path _path;
+		private final RowGroup _rg;
+		private final ValueType[] _schema;
+		private final int[] _cols;
+		private final Object[] _dest;
+		private final int _nrow;
+
+		public ReadRowGroupTask(FileSystem fs, Path path, RowGroup rg, ValueType[] schema, int[] cols, Object[] dest, int nrow) {
+			_fs = fs;
+			_path = path;
+			_rg = rg;
+			_schema = schema;
+			_cols = cols;
+			_dest = dest;
+			_nrow = nrow;
+		}
+
+		@Override
+		public Object call() throws Exception {
+			FSDataInputStream in = _fs.open(_path);
+			try {
+				readRowGroup(in, _rg, _schema, _cols, _dest, _nrow);
+			}
+			finally {
+				IOUtilFunctions.closeSilently(in);
+			}
+			return null;
+		}
+	}
+}
@@ -50,6 +50,12 @@ public class FrameReaderFactory
 			else
 				reader = new FrameReaderTextCSV( (FileFormatPropertiesCSV)props );
 		}
+		else if( iinfo == InputInfo.BinaryBlockInputInfo && props instanceof FileFormatPropertiesColumnar ) {
+			if( ConfigurationManager.getCompilerConfigFlag(ConfigType.PARALLEL_CP_READ_BINARYFORMATS) )
+				reader = new FrameReaderColumnarParallel( (FileFormatPropertiesColumnar)props );
+			else
+				reader = new FrameReaderColumnar( (FileFormatPropertiesColumnar)props );
+		}
 		else if( iinfo == InputInfo.BinaryBlockInputInfo ) {
 			if( ConfigurationManager.getCompilerConfigFlag(ConfigType.PARALLEL_CP_READ_BINARYFORMATS) )
 				reader = new FrameReaderBinaryBlockParallel();
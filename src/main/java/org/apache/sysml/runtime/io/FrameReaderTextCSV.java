@@ -39,6 +39,7 @@ import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
 import org.apache.sysml.runtime.matrix.data.Pair;
 import org.apache.sysml.runtime.transform.TfUtils;
+import org.apache.sysml.runtime.util.FastByteTokenizer;
 import org.apache.sysml.runtime.util.InputStreamInputFormat;
 import org.apache.sysml.runtime.util.UtilFunctions;
 
@@ -83,7 +84,7 @@ public class FrameReaderTextCSV extends FrameReader
 		//core read (sequential/parallel) 
 		readCSVFrameFromHDFS(path, job, fs, ret, lschema, lnames, rlen, clen);
 		
-		return ret;
+		return compactOutputFrameBlock(ret);
 	}
 	
 	@Override
@@ -101,7 +102,7 @@ public class FrameReaderTextCSV extends FrameReader
 		InputSplit split = informat.getSplits(null, 1)[0];
 		readCSVFrameFromInputSplit(split, informat, null, ret, schema, names, rlen, clen, 0, true);
 		
-		return ret;
+		return compactOutputFrameBlock(ret);
 	}
 
 	protected void readCSVFrameFromHDFS( Path path, JobConf job, FileSystem fs, 
@@ -141,43 +142,49 @@ public class FrameReaderTextCSV extends FrameReader
 		}
 			
 		// Read the data
+		FastByteTokenizer st = new FastByteTokenizer(delim, true, true);
 		boolean emptyValuesFound = false;
 		try
 		{
 			while( reader.next(key, value) ) //foreach line
 			{
-				String cellStr = value.toString().trim();
+				st.reset(value);
 				emptyValuesFound = false; col = 0;
-				String[] parts = IOUtilFunctions.splitCSV(cellStr, delim);
 				
 				//parse frame meta data (missing values / num distinct)
-				if( parts[0].equals(TfUtils.TXMTD_MVPREFIX) || parts[0].equals(TfUtils.TXMTD_NDPREFIX) ) {
-					if( parts[0].equals(TfUtils.TXMTD_MVPREFIX) )
+				if( st.startsWith(TfUtils.TXMTD_MVPREFIX) || st.startsWith(TfUtils.TXMTD_NDPREFIX) ) {
+					String prefix = st.nextToken();
+					if( prefix.equals(TfUtils.TXMTD_MVPREFIX) ) {
 						for( int j=0; j<dest.getNumColumns(); j++ )
-							dest.getColumnMetadata(j).setMvValue(parts[j+1]);
-					else if( parts[0].equals(TfUtils.TXMTD_NDPREFIX) )
+							dest.getColumnMetadata(j).setMvValue(st.nextToken());
+						continue;
+					}
+					else if( prefix.equals(TfUtils.TXMTD_NDPREFIX) ) {
 						for( int j=0; j<dest.getNumColumns(); j++ )
-							dest.getColumnMetadata(j).setNumDistinct(Long.parseLong(parts[j+1]));
-					continue;
+							dest.getColumnMetadata(j).setNumDistinct(st.nextLong());
+						continue;
+					}
+					st.reset(value);
 				}
 				
-				for( String part : parts ) //foreach cell
+				while( st.hasMoreTokens() ) //foreach cell
 				{
-					part = part.trim();
-					if ( part.isEmpty() ) {
+					if ( st.next().isBlankToken() ) {
 						if( isFill && dfillValue!=0 )
 							dest.set(row, col, UtilFunctions.stringToObject(schema[col], sfillValue));
 						emptyValuesFound = true;
 					}
 					else {
-						dest.set(row, col, UtilFunctions.stringToObject(schema[col], part));
+						dest.set(row, col, st.getObject(schema[col]));
 					}
 					col++;
 				}
 				
 				//sanity checks for empty values and number of columns
-				IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(cellStr, isFill, emptyValuesFound);
-				IOUtilFunctions.checkAndRaiseErrorCSVNumColumns("", cellStr, parts, clen);
+				if( emptyValuesFound )
+					IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(st.toString(), isFill, emptyValuesFound);
+				if( col != clen )
+					IOUtilFunctions.checkAndRaiseErrorCSVNumColumns("", st.toString(), col, clen);
 				row++;
 			}
 		}
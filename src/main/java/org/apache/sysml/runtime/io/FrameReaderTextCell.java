@@ -19,10 +19,8 @@
 
 package org.apache.sysml.runtime.io;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
@@ -34,12 +32,12 @@ import org.apache.hadoop.mapred.JobConf;
 import org.apache.hadoop.mapred.RecordReader;
 import org.apache.hadoop.mapred.Reporter;
 import org.apache.hadoop.mapred.TextInputFormat;
+import org.apache.hadoop.util.LineReader;
 import org.apache.sysml.conf.ConfigurationManager;
 import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
-import org.apache.sysml.runtime.util.FastStringTokenizer;
-import org.apache.sysml.runtime.util.UtilFunctions;
+import org.apache.sysml.runtime.util.FastByteTokenizer;
 
 /**
  * Single-threaded frame textcell reader.
@@ -67,7 +65,7 @@ public class FrameReaderTextCell extends FrameReader
 		//core read (sequential/parallel)
 		readTextCellFrameFromHDFS(path, job, fs, ret, lschema, lnames, rlen, clen);
 		
-		return ret;
+		return compactOutputFrameBlock(ret);
 	}
 
 	@Override
@@ -82,7 +80,7 @@ public class FrameReaderTextCell extends FrameReader
 		//core read 
 		readRawTextCellFrameFromInputStream(is, ret, lschema, lnames, rlen, clen);
 		
-		return ret;
+		return compactOutputFrameBlock(ret);
 	}
 
 	protected void readTextCellFrameFromHDFS( Path path, JobConf job, FileSystem fs, FrameBlock dest, 
@@ -114,14 +112,14 @@ public class FrameReaderTextCell extends FrameReader
 		
 		LongWritable key = new LongWritable();
 		Text value = new Text();
-		FastStringTokenizer st = new FastStringTokenizer(' ');
+		FastByteTokenizer st = new FastByteTokenizer(' ');
 		int row = -1;
 		int col = -1;
 		
 		try
 		{
 			while( reader.next(key, value) ) {
-				st.reset( value.toString() ); //reinit tokenizer
+				st.reset( value ); //reinit tokenizer
 				row = st.nextInt()-1;
 				col = st.nextInt()-1;
 				if( row == -3 )
@@ -129,7 +127,7 @@ public class FrameReaderTextCell extends FrameReader
 				else if( row == -2 )
 					dest.getColumnMetadata(col).setNumDistinct(st.nextLong());
 				else
-					dest.set(row, col, UtilFunctions.stringToObject(schema[col], st.nextToken()));
+					dest.set(row, col, st.next().getObject(schema[col]));
 			}
 		}
 		catch(Exception ex) 
@@ -162,17 +160,17 @@ public class FrameReaderTextCell extends FrameReader
 	protected static void readRawTextCellFrameFromInputStream( InputStream is, FrameBlock dest, ValueType[] schema, String[] names, long rlen, long clen)
 		throws IOException
 	{
-		//create buffered reader
-		BufferedReader br = new BufferedReader(new InputStreamReader( is ));	
+		//create line reader
+		LineReader br = new LineReader( is );
 		
-		String value = null;
-		FastStringTokenizer st = new FastStringTokenizer(' ');
+		Text value = new Text();
+		FastByteTokenizer st = new FastByteTokenizer(' ');
 		int row = -1;
 		int col = -1;
 		
 		try
 		{			
-			while( (value=br.readLine())!=null ) {
+			while( br.readLine(value) > 0 ) {
 				st.reset( value ); //reinit tokenizer
 				row = st.nextInt()-1;
 				col = st.nextInt()-1;
@@ -181,7 +179,7 @@ public class FrameReaderTextCell extends FrameReader
 				else if (row == -2)
 					dest.getColumnMetadata(col).setNumDistinct(st.nextLong());
 				else
-					dest.set(row, col, UtilFunctions.stringToObject(schema[col], st.nextToken()));
+					dest.set(row, col, st.next().getObject(schema[col]));
 			}
 		}
 		catch(Exception ex)
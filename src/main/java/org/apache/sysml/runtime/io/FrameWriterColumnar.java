@@ -0,0 +1,440 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.io.FrameColumnarFooter.ColumnChunk;
+import org.apache.sysml.runtime.io.FrameColumnarFooter.Encoding;
+import org.apache.sysml.runtime.io.FrameColumnarFooter.RowGroup;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.matrix.data.FrameBlock.ColumnMetadata;
+import org.apache.sysml.runtime.util.FastBufferedDataOutputStream;
+import org.apache.sysml.runtime.util.MapReduceTool;
+
+
+/**
+ * Single-threaded writer of the columnar binary frame format (see
+ * {@link FrameColumnarFooter} for the file layout). Rows are partitioned
+ * into row groups, and every column of a row group is written as a
+ * separate chunk with an encoding chosen per chunk: dictionary encoding
+ * (optionally with run-length encoded codes) for strings of low
+ * cardinality, run-length encoding for numeric and boolean columns with
+ * few runs, and plain encoding otherwise.
+ *
+ */
+public class FrameWriterColumnar extends FrameWriter
+{
+	//maximum ratio of distinct values to rows for dictionary encoding
+	private static final double DICT_MAX_DISTINCT_RATIO = 0.5;
+
+	protected final int _rowGroupSize;
+
+	public FrameWriterColumnar() {
+		this(null);
+	}
+
+	public FrameWriterColumnar(FileFormatPropertiesColumnar props) {
+		_rowGroupSize = (props != null) ? props.getRowGroupSize() :
+			FileFormatPropertiesColumnar.DEFAULT_ROW_GROUP_SIZE;
+		if( _rowGroupSize <= 0 )
+			throw new DMLRuntimeException("Invalid row group size: "+_rowGroupSize);
+	}
+
+	@Override
+	public final void writeFrameToHDFS( FrameBlock src, String fname, long rlen, long clen )
+		throws IOException, DMLRuntimeException
+	{
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path( fname );
+
+		//if the file already exists on HDFS, remove it.
+		MapReduceTool.deleteFileIfExistOnHDFS( fname );
+
+		//bound check for src block
+		if( src.getNumRows() > rlen || src.getNumColumns() > clen ) {
+			throw new IOException("Frame block [1:"+src.getNumRows()+",1:"+src.getNumColumns()+"] " +
+					              "out of overall frame range [1:"+rlen+",1:"+clen+"].");
+		}
+
+		//write columnar frame to hdfs (sequential/parallel)
+		writeColumnarFrameToHDFS( path, job, src, src.getNumRows() );
+	}
+
+	protected void writeColumnarFrameToHDFS( Path path, JobConf job, FrameBlock src, int rlen )
+		throws IOException, DMLRuntimeException
+	{
+		FileSystem fs = IOUtilFunctions.getFileSystem(path);
+
+		//sequential write to single file
+		writeColumnarFrameToFile(path, fs, src, getColumnData(src), 0, rlen, _rowGroupSize);
+		IOUtilFunctions.deleteCrcFilesFromLocalFileSystem(fs, path);
+	}
+
+	/**
+	 * Obtains the column arrays of the given frame block, where compact
+	 * columns are materialized once for all writers of row ranges, except
+	 * dictionary-encoded columns (null), whose codes are used directly.
+	 *
+	 * @param src frame block
+	 * @return array of column arrays
+	 */
+	protected static Object[] getColumnData(FrameBlock src) {
+		Object[] ret = new Object[src.getNumColumns()];
+		for( int j=0; j<ret.length; j++ )
+			if( !src.isDictionaryEncoded(j) )
+				ret[j] = src.getColumnData(j);
+		return ret;
+	}
+
+	private static ColumnMetadata[] getColumnMetadata(FrameBlock src) {
+		ColumnMetadata[] ret = new ColumnMetadata[src.getNumColumns()];
+		for( int j=0; j<ret.length; j++ )
+			ret[j] = (src.getColumnMetadata() != null && src.getColumnMetadata(j) != null) ?
+				src.getColumnMetadata(j) : new ColumnMetadata(0);
+		return ret;
+	}
+
+	/**
+	 * Internal primitive to write a row range of a frame to a single part file,
+	 * which is used for both single- and multi-threaded writers (for consistency).
+	 *
+	 * @param path file path
+	 * @param fs file system
+	 * @param src frame block
+	 * @param cols column arrays (see getColumnData)
+	 * @param rl lower row (inclusive)
+	 * @param ru upper row (exclusive)
+	 * @param rgsize number of rows per row group
+	 * @throws IOException if IOException occurs
+	 */
+	protected static void writeColumnarFrameToFile( Path path, FileSystem fs, FrameBlock src, Object[] cols, int rl, int ru, int rgsize )
+		throws IOException
+	{
+		DataOutputStream out = fs.create(path, true);
+		try {
+			out.writeInt(FrameColumnarFooter.MAGIC);
+			out.writeInt(FrameColumnarFooter.VERSION);
+
+			//write row groups, chunk by chunk
+			int ncol = src.getNumColumns();
+			FrameColumnarFooter footer = new FrameColumnarFooter(
+				src.getSchema(), src.getColumnNames(), getColumnMetadata(src));
+			ChunkWriter writer = new ChunkWriter(FrameColumnarFooter.HEADER_SIZE);
+			for( int bi=rl; bi<ru; bi+=rgsize ) {
+				int len = Math.min(rgsize, ru-bi);
+				RowGroup rg = new RowGroup(bi, len, ncol);
+				for( int j=0; j<ncol; j++ )
+					rg.setColumnChunk(j, writer.writeChunk(out, src, j, cols[j], bi, bi+len));
+				footer.addRowGroup(rg);
+			}
+
+			//write footer and trailer
+			ByteArrayOutputStream bos = new ByteArrayOutputStream();
+			DataOutputStream dos = new DataOutputStream(bos);
+			footer.write(dos);
+			dos.flush();
+			bos.writeTo(out);
+			out.writeInt(bos.size());
+			out.writeInt(FrameColumnarFooter.MAGIC);
+		}
+		finally {
+			IOUtilFunctions.closeSilently(out);
+		}
+	}
+
+	/**
+	 * Encoder of column chunks, which buffers the encoded chunk in
+	 * order to write it as a whole and maintains the file offset.
+	 */
+	private static class ChunkWriter
+	{
+		private final ByteArrayOutputStream _bos = new ByteArrayOutputStream();
+		private final FastBufferedDataOutputStream _buff = new FastBufferedDataOutputStream(_bos);
+		private long _offset;
+
+		//encoding stats of current chunk
+		private Encoding _enc;
+		private long _nnz;
+		private long _ndistinct;
+		private double _min;
+		private double _max;
+
+		public ChunkWriter(long offset) {
+			_offset = offset;
+		}
+
+		public ColumnChunk writeChunk(DataOutputStream out, FrameBlock src, int c, Object col, int rl, int ru)
+			throws IOException
+		{
+			_bos.reset();
+			_ndistinct = -1;
+			_min = _max = Double.NaN;
+
+			//encode chunk into buffer
+			if( col == null )
+				writeDictColumn(src.getDictionaryCodes(c), src.getDictionary(c), src.getDictionarySize(c), rl, ru);
+			else if( col instanceof String[] )
+				writeStringColumn((String[])col, rl, ru);
+			else if( col instanceof boolean[] )
+				writeBooleanColumn((boolean[])col, rl, ru);
+			else if( col instanceof long[] )
+				writeLongColumn((long[])col, rl, ru);
+			else if( col instanceof double[] )
+				writeDoubleColumn((double[])col, rl, ru);
+			else
+				throw new IOException("Unsupported column type: "+src.getSchema()[c]);
+			_buff.flush();
+
+			//write chunk to file
+			ColumnChunk ret = new ColumnChunk(_offset, _bos.size(), _enc, _nnz, _ndistinct, _min, _max);
+			_bos.writeTo(out);
+			_offset += _bos.size();
+			return ret;
+		}
+
+		private void writeStringColumn(String[] data, int rl, int ru) throws IOException {
+			//build local dictionary until the max number of distinct values is exceeded
+			int len = ru - rl;
+			int maxDistinct = getMaxDistinct(len);
+			HashMap<String,Integer> map = new HashMap<>();
+			ArrayList<String> dict = new ArrayList<>();
+			int[] codes = new int[len];
+			_nnz = 0;
+			for( int i=rl; i<ru; i++ ) {
+				String val = data[i];
+				if( val == null )
+					continue;
+				_nnz++;
+				Integer code = map.get(val);
+				if( code == null ) {
+					if( map.size() >= maxDistinct ) {
+						writePlainStrings(data, rl, ru);
+						return;
+					}
+					map.put(val, code = map.size()+1);
+					dict.add(val);
+				}
+				codes[i-rl] = code;
+			}
+			writeDictChunk(codes, dict);
+		}
+
+		private void writeDictColumn(int[] gcodes, String[] gdict, int gndict, int rl, int ru) throws IOException {
+			//remap codes of the frame dictionary to codes of a local dictionary
+			int len = ru - rl;
+			int maxDistinct = getMaxDistinct(len);
+			int[] remap = new int[gndict+1];
+			ArrayList<String> dict = new ArrayList<>();
+			int[] codes = new int[len];
+			_nnz = 0;
+			for( int i=rl; i<ru; i++ ) {
+				int gcode = gcodes[i];
+				if( gcode == 0 )
+					continue;
+				_nnz++;
+				if( remap[gcode] == 0 ) {
+					if( dict.size() >= maxDistinct ) {
+						String[] data = new String[len];
+						for( int k=rl; k<ru; k++ )
+							data[k-rl] = (gcodes[k] != 0) ? gdict[gcodes[k]-1] : null;
+						writePlainStrings(data, 0, len);
+						return;
+					}
+					dict.add(gdict[gcode-1]);
+					remap[gcode] = dict.size();
+				}
+				codes[i-rl] = remap[gcode];
+			}
+			writeDictChunk(codes, dict);
+		}
+
+		private void writeDictChunk(int[] codes, ArrayList<String> dict) throws IOException {
+			_ndistinct = dict.size();
+			int width = getCodeWidth(dict.size());
+			int runs = countRuns(codes);
+			_enc = (runs * 8L < (long)codes.length * width) ? Encoding.DICT_RLE : Encoding.DICT;
+			_buff.writeInt(dict.size());
+			for( String val : dict )
+				writeString(val);
+			if( _enc == Encoding.DICT_RLE ) {
+				_buff.writeInt(runs);
+				for( int i=0; i<codes.length; ) {
+					int j = i + 1;
+					while( j<codes.length && codes[j]==codes[i] ) j++;
+					_buff.writeInt(codes[i]);
+					_buff.writeInt(j-i);
+					i = j;
+				}
+			}
+			else {
+				_buff.writeByte(width);
+				for( int code : codes ) {
+					switch( width ) {
+						case 1: _buff.writeByte(code); break;
+						case 2: _buff.writeShort(code); break;
+						default: _buff.writeInt(code);
+					}
+				}
+			}
+		}
+
+		private void writePlainStrings(String[] data, int rl, int ru) throws IOException {
+			_enc = Encoding.PLAIN;
+			_ndistinct = -1;
+			_nnz = 0;
+			for( int i=rl; i<ru; i++ ) {
+				_nnz += (data[i] != null) ? 1 : 0;
+				writeString(data[i]);
+			}
+		}
+
+		private void writeString(String val) throws IOException {
+			if( val == null ) {
+				_buff.writeInt(-1);
+				return;
+			}
+			byte[] bytes = val.getBytes(StandardCharsets.UTF_8);
+			_buff.writeInt(bytes.length);
+			_buff.write(bytes, 0, bytes.length);
+		}
+
+		private void writeBooleanColumn(boolean[] data, int rl, int ru) throws IOException {
+			int runs = 1;
+			_nnz = data[rl] ? 1 : 0;
+			for( int i=rl+1; i<ru; i++ ) {
+				runs += (data[i] != data[i-1]) ? 1 : 0;
+				_nnz += data[i] ? 1 : 0;
+			}
+			_min = (_nnz == ru-rl) ? 1 : 0;
+			_max = (_nnz > 0) ? 1 : 0;
+			_enc = (runs * 5L < (ru-rl+7)/8) ? Encoding.RLE : Encoding.PLAIN;
+			if( _enc == Encoding.RLE ) {
+				_buff.writeInt(runs);
+				for( int i=rl; i<ru; ) {
+					int j = i + 1;
+					while( j<ru && data[j]==data[i] ) j++;
+					_buff.writeBoolean(data[i]);
+					_buff.writeInt(j-i);
+					i = j;
+				}
+			}
+			else {
+				//bit-packed words of 64 values
+				for( int i=rl; i<ru; i+=64 ) {
+					long word = 0;
+					for( int k=i; k<Math.min(i+64, ru); k++ )
+						word |= data[k] ? (1L << (k-i)) : 0;
+					_buff.writeLong(word);
+				}
+			}
+		}
+
+		private void writeLongColumn(long[] data, int rl, int ru) throws IOException {
+			int runs = 1;
+			long min = data[rl], max = data[rl];
+			_nnz = (data[rl] != 0) ? 1 : 0;
+			for( int i=rl+1; i<ru; i++ ) {
+				runs += (data[i] != data[i-1]) ? 1 : 0;
+				_nnz += (data[i] != 0) ? 1 : 0;
+				min = Math.min(min, data[i]);
+				max = Math.max(max, data[i]);
+			}
+			_min = min;
+			_max = max;
+			_enc = (runs * 12L < (ru-rl) * 8L) ? Encoding.RLE : Encoding.PLAIN;
+			if( _enc == Encoding.RLE ) {
+				_buff.writeInt(runs);
+				for( int i=rl; i<ru; ) {
+					int j = i + 1;
+					while( j<ru && data[j]==data[i] ) j++;
+					_buff.writeLong(data[i]);
+					_buff.writeInt(j-i);
+					i = j;
+				}
+			}
+			else {
+				for( int i=rl; i<ru; i++ )
+					_buff.writeLong(data[i]);
+			}
+		}
+
+		private void writeDoubleColumn(double[] data, int rl, int ru) throws IOException {
+			//note: runs on raw bits in order to preserve NaNs and negative zeros
+			int runs = 1;
+			_nnz = 0;
+			for( int i=rl; i<ru; i++ ) {
+				if( i > rl )
+					runs += (!equalsBits(data[i], data[i-1])) ? 1 : 0;
+				_nnz += (data[i] != 0) ? 1 : 0;
+				if( !Double.isNaN(data[i]) ) {
+					_min = Double.isNaN(_min) ? data[i] : Math.min(_min, data[i]);
+					_max = Double.isNaN(_max) ? data[i] : Math.max(_max, data[i]);
+				}
+			}
+			_enc = (runs * 12L < (ru-rl) * 8L) ? Encoding.RLE : Encoding.PLAIN;
+			if( _enc == Encoding.RLE ) {
+				_buff.writeInt(runs);
+				for( int i=rl; i<ru; ) {
+					int j = i + 1;
+					while( j<ru && equalsBits(data[j], data[i]) ) j++;
+					_buff.writeDouble(data[i]);
+					_buff.writeInt(j-i);
+					i = j;
+				}
+			}
+			else {
+				for( int i=rl; i<ru; i++ )
+					_buff.writeDouble(data[i]);
+			}
+		}
+
+		private static boolean equalsBits(double a, double b) {
+			return Double.doubleToRawLongBits(a) == Double.doubleToRawLongBits(b);
+		}
+
+		private static int countRuns(int[] codes) {
+			int runs = (codes.length > 0) ? 1 : 0;
+			for( int i=1; i<codes.length; i++ )
+				runs += (codes[i] != codes[i-1]) ? 1 : 0;
+			return runs;
+		}
+
+		private static int getMaxDistinct(int len) {
+			return (int)Math.max(DICT_MAX_DISTINCT_RATIO * len, 1);
+		}
+
+		private static int getCodeWidth(int ndict) {
+			return (ndict < Byte.MAX_VALUE) ? 1 :
+				(ndict < Short.MAX_VALUE) ? 2 : 4;
+		}
+	}
+}
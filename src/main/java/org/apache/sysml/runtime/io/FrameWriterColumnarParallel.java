@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.LocalFileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.sysml.conf.DMLConfig;
+import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.util.CommonThreadPool;
+import org.apache.sysml.runtime.util.MapReduceTool;
+
+
+/**
+ * Multi-threaded writer of the columnar binary frame format, which
+ * writes row-group-aligned row ranges to separate part files.
+ *
+ */
+public class FrameWriterColumnarParallel extends FrameWriterColumnar
+{
+	public FrameWriterColumnarParallel() {
+		super();
+	}
+
+	public FrameWriterColumnarParallel(FileFormatPropertiesColumnar props) {
+		super(props);
+	}
+
+	@Override
+	protected void writeColumnarFrameToHDFS( Path path, JobConf job, FrameBlock src, int rlen )
+		throws IOException, DMLRuntimeException
+	{
+		//estimate output size and number of output files (min 1)
+		int clen = src.getNumColumns();
+		int numPartFiles = Math.max((int)(OptimizerUtils.estimatePartitionedSizeExactSparsity(rlen, clen, _rowGroupSize, clen, (long)rlen*clen)
+			/ InfrastructureAnalyzer.getHDFSBlockSize()), 1);
+
+		//determine degree of parallelism (at most one file per row group)
+		int numThreads = OptimizerUtils.getParallelBinaryWriteParallelism();
+		numThreads = Math.min(Math.min(numThreads, numPartFiles), (int)Math.ceil((double)rlen/_rowGroupSize));
+
+		//fall back to sequential write if dop is 1 (e.g., <128MB) in order to create single file
+		if( numThreads <= 1 ) {
+			super.writeColumnarFrameToHDFS(path, job, src, rlen);
+			return;
+		}
+
+		//create directory for concurrent tasks
+		MapReduceTool.createDirIfNotExistOnHDFS(path, DMLConfig.DEFAULT_SHARED_DIR_PERMISSION);
+		FileSystem fs = IOUtilFunctions.getFileSystem(path);
+
+		//create and execute write tasks
+		try
+		{
+			Object[] cols = getColumnData(src);
+			ExecutorService pool = CommonThreadPool.get(numThreads);
+			ArrayList<WriteFileTask> tasks = new ArrayList<>();
+			int blklen = (int)Math.ceil((double)rlen / _rowGroupSize / numThreads) * _rowGroupSize;
+			for(int i=0; i<numThreads & i*blklen<rlen; i++) {
+				Path newPath = new Path(path, IOUtilFunctions.getPartFileName(i));
+				tasks.add(new WriteFileTask(newPath, fs, src, cols, i*blklen, Math.min((i+1)*blklen, rlen)));
+			}
+
+			//wait until all tasks have been executed
+			List<Future<Object>> rt = pool.invokeAll(tasks);
+			pool.shutdown();
+
+			//check for exceptions
+			for( Future<Object> task : rt )
+				task.get();
+
+			// delete crc files if written to local file system
+			if (fs instanceof LocalFileSystem) {
+				for(int i=0; i<numThreads & i*blklen<rlen; i++)
+					IOUtilFunctions.deleteCrcFilesFromLocalFileSystem(fs,
+						new Path(path, IOUtilFunctions.getPartFileName(i)));
+			}
+		}
+		catch (Exception e) {
+			throw new IOException("Failed parallel write of columnar frame.", e);
+		}
+	}
+
+	private class WriteFileTask implements Callable<Object>
+	{
+		private final Path _path;
+		private final FileSystem _fs;
+		private final FrameBlock _src;
+		private final Object[] _cols;
+		private final int _rl;
+		private final int _ru;
+
+		public WriteFileTask(Path path, FileSystem fs, FrameBlock src, Object[] cols, int rl, int ru) {
+			_path = path;
+			_fs = fs;
+			_src = src;
+			_cols = cols;
+			_rl = rl;
+			_ru = ru;
+		}
+
+		@Override
+		public Object call() throws Exception {
+			writeColumnarFrameToFile(_path, _fs, _src, _cols, _rl, _ru, _rowGroupSize);
+			return null;
+		}
+	}
+}
@@ -48,6 +48,12 @@ public class FrameWriterFactory
 			else
 				writer = new FrameWriterTextCSV((FileFormatPropertiesCSV)props);	
 		}
+		else if( oinfo == OutputInfo.BinaryBlockOutputInfo && props instanceof FileFormatPropertiesColumnar ) {
+			if( ConfigurationManager.getCompilerConfigFlag(ConfigType.PARALLEL_CP_WRITE_BINARYFORMATS) )
+				writer = new FrameWriterColumnarParallel((FileFormatPropertiesColumnar)props);
+			else
+				writer = new FrameWriterColumnar((FileFormatPropertiesColumnar)props);
+		}
 		else if( oinfo == OutputInfo.BinaryBlockOutputInfo ) {
 			if( ConfigurationManager.getCompilerConfigFlag(ConfigType.PARALLEL_CP_WRITE_BINARYFORMATS) )
 				writer = new FrameWriterBinaryBlockParallel();
@@ -31,7 +31,11 @@ public class MatrixWriterFactory
 		return createMatrixWriter(oinfo, -1, null);
 	}
 
-	public static MatrixWriter createMatrixWriter( OutputInfo oinfo, int replication, FileFormatProperties props ) 
+	public static MatrixWriter createMatrixWriter( OutputInfo oinfo, int replication, FileFormatProperties props ) {
+		return createMatrixWriter(oinfo, replication, props, false);
+	}
+
+	public static MatrixWriter createMatrixWriter( OutputInfo oinfo, int replication, FileFormatProperties props, boolean localBinary ) 
 	{
 		MatrixWriter writer = null;
 		
@@ -62,7 +66,9 @@ public class MatrixWriterFactory
 			writer = new WriterBinaryCell();
 		}
 		else if( oinfo == OutputInfo.BinaryBlockOutputInfo ) {
-			if( ConfigurationManager.getCompilerConfigFlag(ConfigType.PARALLEL_CP_WRITE_BINARYFORMATS) )
+			if( localBinary )
+				writer = new WriterBinaryBlockLocal();
+			else if( ConfigurationManager.getCompilerConfigFlag(ConfigType.PARALLEL_CP_WRITE_BINARYFORMATS) )
 				writer = new WriterBinaryBlockParallel(replication);
 			else
 				writer = new WriterBinaryBlock(replication);
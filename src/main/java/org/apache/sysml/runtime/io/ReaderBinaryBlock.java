@@ -31,6 +31,7 @@ import org.apache.hadoop.mapred.JobConf;
 
 import org.apache.sysml.conf.ConfigurationManager;
 import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.compress.StreamingCompressor;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
 import org.apache.sysml.runtime.matrix.data.SparseBlock;
@@ -107,6 +108,42 @@ public class ReaderBinaryBlock extends MatrixReader
 		return ret;
 	}
 	
+	/**
+	 * Reads the given matrix row block by row block directly into a compressed
+	 * matrix block (see {@link StreamingCompressor}), without materializing the
+	 * uncompressed matrix in memory.
+	 * 
+	 * @param fname file name
+	 * @param rlen number of rows
+	 * @param clen number of columns
+	 * @param brlen number of rows in block
+	 * @param bclen number of columns in block
+	 * @param k number of threads
+	 * @return compressed matrix block or uncompressed block if incompressible
+	 * @throws IOException if IOException occurs
+	 */
+	public MatrixBlock readCompressedMatrixFromHDFS(String fname, long rlen, long clen, int brlen, int bclen, int k) 
+		throws IOException
+	{
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path( (_localFS ? "file:///" : "") + fname);
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		
+		//check existence and non-empty file
+		checkValidInputFile(fs, path);
+		
+		//core read and compression (independently per column block, which
+		//avoids the assembly of uncompressed row blocks from column blocks)
+		int ncblks = (int)Math.ceil((double)clen/bclen);
+		StreamingCompressor[] compressors = new StreamingCompressor[Math.max(ncblks, 1)];
+		for( int i=0; i<compressors.length; i++ )
+			compressors[i] = new StreamingCompressor((int)rlen, (int)Math.min(bclen, clen-(long)i*bclen),
+				k, StreamingCompressor.MAX_SAMPLE_SIZE/compressors.length);
+		readBinaryBlockMatrixFromHDFS(path, job, fs, compressors, rlen, clen, brlen, bclen);
+		return StreamingCompressor.finish(compressors);
+	}
+	
 	protected static MatrixBlock getReuseBlock(int brlen, int bclen, boolean sparse) {
 		//note: we allocate the reuse block in CSR because this avoids unnecessary
 		//reallocations in the presence of a mix of sparse and ultra-sparse blocks,
@@ -211,6 +248,50 @@ public class ReaderBinaryBlock extends MatrixReader
 		}
 	}
 	
+	private static void readBinaryBlockMatrixFromHDFS( Path path, JobConf job, FileSystem fs, StreamingCompressor[] dest, long rlen, long clen, int brlen, int bclen )
+		throws IOException
+	{
+		MatrixIndexes key = new MatrixIndexes(); 
+		MatrixBlock value = new MatrixBlock();
+		
+		//set up preferred custom serialization framework for binary block format
+		if( MRJobConfiguration.USE_BINARYBLOCK_SERIALIZATION )
+			MRJobConfiguration.addBinaryBlockSerializationFramework( job );
+		
+		for( Path lpath : IOUtilFunctions.getSequenceFilePaths(fs, path) ) //1..N files 
+		{
+			//directly read from sequence files (individual partfiles)
+			SequenceFile.Reader reader = new SequenceFile
+				.Reader(job, SequenceFile.Reader.file(lpath));
+			
+			try
+			{
+				while( reader.next(key, value) )
+				{
+					int row_offset = (int)(key.getRowIndex()-1)*brlen;
+					int col_offset = (int)(key.getColumnIndex()-1)*bclen;
+					int rows = value.getNumRows();
+					int cols = value.getNumColumns();
+					
+					//bound check per block
+					if( row_offset + rows < 0 || row_offset + rows > rlen || col_offset + cols<0 || col_offset + cols > clen )
+					{
+						throw new IOException("Matrix block ["+(row_offset+1)+":"+(row_offset+rows)+","+(col_offset+1)+":"+(col_offset+cols)+"] " +
+								              "out of overall matrix range [1:"+rlen+",1:"+clen+"].");
+					}
+					
+					//compress block into the column block's compressor (missing blocks are empty)
+					if( !value.isEmptyBlock(false) )
+						dest[(int)key.getColumnIndex()-1].append(value, row_offset);
+				}
+			}
+			finally
+			{
+				IOUtilFunctions.closeSilently(reader);
+			}
+		}
+	}
+	
 	private static void readBinaryBlockMatrixBlocksFromHDFS( Path path, JobConf job, FileSystem fs, Collection<IndexedMatrixValue> dest, long rlen, long clen, int brlen, int bclen )
 		throws IOException
 	{
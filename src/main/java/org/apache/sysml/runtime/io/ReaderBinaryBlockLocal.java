@@ -0,0 +1,395 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.LocalFileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.sysml.conf.CompilerConfig.ConfigType;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.io.WriterBinaryBlockLocal.MappedRegions;
+import org.apache.sysml.runtime.matrix.data.DenseBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlockMCSR;
+import org.apache.sysml.runtime.util.CommonThreadPool;
+
+/**
+ * Reader for the local binary block format written by {@link WriterBinaryBlockLocal}.
+ * All block payloads are accessed through memory-mapped regions (mapped once per
+ * file and sliced per block) and bulk-copied
+ * (for dense blocks) directly into the rows of the output matrix block, i.e.,
+ * without intermediate block objects or deserialization. Since the block index
+ * is known upfront, the parallel read is partitioned by block rows, which
+ * avoids any synchronization and sorting of sparse rows.
+ */
+public class ReaderBinaryBlockLocal extends MatrixReader
+{
+	protected boolean _localFS = false;
+
+	public ReaderBinaryBlockLocal( boolean localFS ) {
+		_localFS = localFS;
+	}
+
+	/**
+	 * Indicates if the given file exists on the local file system
+	 * and is in the local binary block format (magic number probe).
+	 *
+	 * @param fname file name
+	 * @param localFS true if the file name needs to be qualified for the local file system
+	 * @return true if local binary block file
+	 */
+	public static boolean isLocalBinaryBlock(String fname, boolean localFS) {
+		try {
+			Path path = new Path((localFS ? "file:///" : "") + fname);
+			return isLocalBinaryBlock(IOUtilFunctions.getFileSystem(path), path);
+		}
+		catch(IOException ex) {
+			return false;
+		}
+	}
+
+	public static boolean isLocalBinaryBlock(FileSystem fs, Path path) {
+		if( !(fs instanceof LocalFileSystem) )
+			return false;
+		File file = ((LocalFileSystem)fs).pathToFile(path);
+		if( !file.isFile() || file.length() < WriterBinaryBlockLocal.HEADER_SIZE )
+			return false;
+		try( RandomAccessFile raf = new RandomAccessFile(file, "r") ) {
+			return Integer.reverseBytes(raf.readInt()) == WriterBinaryBlockLocal.MAGIC;
+		}
+		catch(IOException ex) {
+			return false;
+		}
+	}
+
+	@Override
+	public MatrixBlock readMatrixFromHDFS(String fname, long rlen, long clen, int brlen, int bclen, long estnnz)
+		throws IOException, DMLRuntimeException
+	{
+		//early abort for known empty matrices (e.g., remote parfor result vars)
+		if( RETURN_EMPTY_NNZ0 && estnnz == 0 )
+			return new MatrixBlock((int)rlen, (int)clen, true);
+
+		//prepare file access
+		Path path = new Path( (_localFS ? "file:///" : "") + fname );
+		FileSystem fs = IOUtilFunctions.getFileSystem(path);
+		checkValidInputFile(fs, path);
+
+		try( RandomAccessFile raf = new RandomAccessFile(((LocalFileSystem)fs).pathToFile(path), "r") ) {
+			FileChannel channel = raf.getChannel();
+			Header header = readHeader(channel, fname);
+			if( (rlen >= 0 && rlen != header.rlen) || (clen >= 0 && clen != header.clen) )
+				throw new IOException("Mismatching dimensions of local binary block file "+fname+": ["
+					+header.rlen+"x"+header.clen+"] vs expected ["+rlen+"x"+clen+"].");
+
+			//allocate output matrix block w/ exact nnz of the file header
+			MatrixBlock ret = createOutputMatrixBlock(header.rlen, header.clen,
+				header.brlen, header.bclen, header.nnz, true, true);
+			if( header.numBlocks == 0 )
+				return ret;
+
+			//map block payloads once (sliced per block)
+			MappedRegions regions = mapRegions(channel, header);
+			
+			//core read (sequential or parallel over block rows)
+			int numThreads = ConfigurationManager.getCompilerConfigFlag(ConfigType.PARALLEL_CP_READ_BINARYFORMATS)
+				&& (!ret.isInSparseFormat() || ret.getSparseBlock() instanceof SparseBlockMCSR) ?
+				OptimizerUtils.getParallelBinaryReadParallelism() : 1;
+			numThreads = (int) Math.min(numThreads, Math.ceil((double)header.rlen/header.brlen));
+			if( numThreads <= 1 ) {
+				readBlocks(regions, header, ret, 0, header.numBlocks);
+			}
+			else {
+				ExecutorService pool = CommonThreadPool.get(numThreads);
+				ArrayList<ReadBlocksTask> tasks = new ArrayList<>();
+				int blklen = (int)Math.ceil((double)header.rlen / header.brlen / numThreads);
+				for( int i=0, pos=0; i<numThreads && pos<header.numBlocks; i++ ) {
+					int pos2 = pos;
+					while( pos2 < header.numBlocks && header.rowIx[pos2] <= (i+1)*blklen )
+						pos2++;
+					tasks.add(new ReadBlocksTask(regions, header, ret, pos, pos2));
+					pos = pos2;
+				}
+				List<Future<Object>> rt = pool.invokeAll(tasks);
+				pool.shutdown();
+				for( Future<Object> task : rt )
+					task.get();
+			}
+
+			//finally check if change of sparse/dense block representation required
+			if( header.nnz >= 0 )
+				ret.setNonZeros(header.nnz);
+			else
+				ret.recomputeNonZeros();
+			ret.examSparsity();
+			return ret;
+		}
+		catch(IOException ex) {
+			throw ex;
+		}
+		catch(Exception ex) {
+			throw new IOException("Failed read of local binary block file: "+fname, ex);
+		}
+	}
+
+	@Override
+	public MatrixBlock readMatrixFromInputStream(InputStream is, long rlen, long clen, int brlen, int bclen, long estnnz)
+		throws IOException, DMLRuntimeException
+	{
+		throw new DMLRuntimeException("Not implemented yet.");
+	}
+
+	private static Header readHeader(FileChannel channel, String fname) throws IOException {
+		ByteBuffer buff = readFully(channel, 0, WriterBinaryBlockLocal.HEADER_SIZE, fname);
+		if( buff.getInt() != WriterBinaryBlockLocal.MAGIC )
+			throw new IOException("Invalid local binary block file (wrong magic number): "+fname);
+		if( buff.getInt() != WriterBinaryBlockLocal.VERSION )
+			throw new IOException("Unsupported version of local binary block file: "+fname);
+		Header ret = new Header(buff.getLong(), buff.getLong(),
+			buff.getInt(), buff.getInt(), buff.getLong(), buff.getInt());
+
+		//read block index
+		if( ret.numBlocks > 0 ) {
+			long size = (long)ret.numBlocks * WriterBinaryBlockLocal.INDEX_ENTRY_SIZE;
+			if( size > Integer.MAX_VALUE )
+				throw new IOException("Block index exceeds size limit: "+size);
+			buff = readFully(channel, WriterBinaryBlockLocal.HEADER_SIZE, (int)size, fname);
+			for( int i=0; i<ret.numBlocks; i++ ) {
+				ret.rowIx[i] = buff.getInt();
+				ret.colIx[i] = buff.getInt();
+				ret.offset[i] = buff.getLong();
+				ret.rows[i] = buff.getInt();
+				ret.cols[i] = buff.getInt();
+				ret.blockNnz[i] = buff.getLong();
+				ret.sparse[i] = buff.getInt() == WriterBinaryBlockLocal.BLOCK_SPARSE;
+				buff.getInt(); //padding
+				ret.size[i] = ret.sparse[i] ?
+					WriterBinaryBlockLocal.sparseValueOffset(ret.rows[i], (int)ret.blockNnz[i]) + ret.blockNnz[i] * 8 :
+					(long)ret.rows[i] * ret.cols[i] * 8;
+			}
+		}
+		return ret;
+	}
+
+	private static ByteBuffer readFully(FileChannel channel, long pos, int len, String fname) throws IOException {
+		//positional read w/o mapping (header and block index)
+		ByteBuffer buff = ByteBuffer.allocate(len).order(WriterBinaryBlockLocal.BYTE_ORDER);
+		while( buff.hasRemaining() ) {
+			int n = channel.read(buff, pos + buff.position());
+			if( n < 0 )
+				throw new IOException("Unexpected end of local binary block file: "+fname);
+		}
+		buff.flip();
+		return buff;
+	}
+
+	private static MappedRegions mapRegions(FileChannel channel, Header header) throws IOException {
+		return new MappedRegions(channel, MapMode.READ_ONLY, header.offset, header.size);
+	}
+
+	private static void readBlocks(MappedRegions regions, Header header, MatrixBlock dest, int pl, int pu) {
+
+		double[] tmpVals = new double[dest.isInSparseFormat() ? Math.min(header.bclen, (int)header.clen) : 0];
+		int[] tmpIx = new int[tmpVals.length];
+		for( int pos=pl; pos<pu; pos++ ) {
+			ByteBuffer buff = regions.slice(header.offset[pos], header.size[pos]);
+			int rl = (header.rowIx[pos]-1) * header.brlen;
+			int cl = (header.colIx[pos]-1) * header.bclen;
+			if( header.sparse[pos] )
+				readSparseBlock(buff, dest, rl, cl, header.rows[pos], (int)header.blockNnz[pos], tmpIx, tmpVals);
+			else
+				readDenseBlock(buff, dest, rl, cl, header.rows[pos], header.cols[pos], tmpVals);
+		}
+	}
+
+	private static void readDenseBlock(ByteBuffer buff, MatrixBlock dest, int rl, int cl, int rows, int cols, double[] tmp) {
+		DoubleBuffer dbuff = buff.asDoubleBuffer();
+		if( !dest.isInSparseFormat() ) {
+			//bulk copy into output rows (memcpy for native byte order)
+			DenseBlock c = dest.getDenseBlock();
+			for( int i=rl; i<rl+rows; i++ )
+				dbuff.get(c.values(i), c.pos(i, cl), cols);
+		}
+		else {
+			SparseBlock c = dest.getSparseBlock();
+			for( int i=rl; i<rl+rows; i++ ) {
+				dbuff.get(tmp, 0, cols);
+				for( int j=0; j<cols; j++ )
+					if( tmp[j] != 0 )
+						c.append(i, cl+j, tmp[j]);
+			}
+		}
+	}
+
+	private static void readSparseBlock(ByteBuffer buff, MatrixBlock dest, int rl, int cl, int rows, int nnz, int[] tmpIx, double[] tmpVals) {
+		IntBuffer cnts = buff.asIntBuffer();
+		buff.position(rows * 4);
+		IntBuffer cix = buff.asIntBuffer();
+		buff.position(WriterBinaryBlockLocal.sparseValueOffset(rows, nnz));
+		DoubleBuffer vals = buff.asDoubleBuffer();
+		boolean sparse = dest.isInSparseFormat();
+		for( int i=rl; i<rl+rows; i++ ) {
+			int alen = cnts.get();
+			if( alen == 0 )
+				continue;
+			if( sparse ) {
+				SparseBlock c = dest.getSparseBlock();
+				cix.get(tmpIx, 0, alen);
+				vals.get(tmpVals, 0, alen);
+				for( int j=0; j<alen; j++ )
+					c.append(i, cl+tmpIx[j], tmpVals[j]);
+			}
+			else {
+				DenseBlock c = dest.getDenseBlock();
+				double[] cvals = c.values(i);
+				int cpos = c.pos(i, cl);
+				for( int j=0; j<alen; j++ )
+					cvals[cpos+cix.get()] = vals.get();
+			}
+		}
+	}
+
+	private static class Header
+	{
+		private final long rlen, clen;
+		private final int brlen, bclen;
+		private final long nnz;
+		private final int numBlocks;
+		private final int[] rowIx, colIx, rows, cols;
+		private final long[] offset, blockNnz, size;
+		private final boolean[] sparse;
+
+		public Header(long rlen, long clen, int brlen, int bclen, long nnz, int numBlocks) {
+			this.rlen = rlen;
+			this.clen = clen;
+			this.brlen = brlen;
+			this.bclen = bclen;
+			this.nnz = nnz;
+			this.numBlocks = numBlocks;
+			rowIx = new int[numBlocks];
+			colIx = new int[numBlocks];
+			rows = new int[numBlocks];
+			cols = new int[numBlocks];
+			offset = new long[numBlocks];
+			blockNnz = new long[numBlocks];
+			size = new long[numBlocks];
+			sparse = new boolean[numBlocks];
+		}
+	}
+
+	/**
+	 * Block-wise reader of local binary block files, similar to
+	 * SequenceFile.Reader, for consumers that process individual
+	 * blocks (e.g., parfor data partitioning and result merge).
+	 * Only non-empty blocks are returned.
+	 */
+	public static class LocalBlockReader implements Closeable
+	{
+		private final RandomAccessFile _raf;
+		private final Header _header;
+		private final MappedRegions _regions;
+		private int _pos = 0;
+
+		public LocalBlockReader(FileSystem fs, Path path) throws IOException {
+			_raf = new RandomAccessFile(((LocalFileSystem)fs).pathToFile(path), "r");
+			try {
+				FileChannel channel = _raf.getChannel();
+				_header = readHeader(channel, path.toString());
+				_regions = mapRegions(channel, _header);
+			}
+			catch(IOException ex) {
+				_raf.close();
+				throw ex;
+			}
+		}
+
+		public boolean next(MatrixIndexes key, MatrixBlock value) throws IOException {
+			if( _pos >= _header.numBlocks )
+				return false;
+			ByteBuffer buff = _regions.slice(_header.offset[_pos], _header.size[_pos]);
+			int rows = _header.rows[_pos];
+			int cols = _header.cols[_pos];
+			boolean sparse = _header.sparse[_pos];
+			key.setIndexes(_header.rowIx[_pos], _header.colIx[_pos]);
+			value.reset(rows, cols, sparse);
+			if( sparse ) {
+				value.allocateSparseRowsBlock();
+				int nnz = (int)_header.blockNnz[_pos];
+				readSparseBlock(buff, value, 0, 0, rows, nnz,
+					new int[Math.min(cols, nnz)], new double[Math.min(cols, nnz)]);
+				value.setNonZeros(nnz);
+			}
+			else {
+				value.allocateDenseBlock();
+				readDenseBlock(buff, value, 0, 0, rows, cols, null);
+				value.recomputeNonZeros();
+			}
+			_pos++;
+			return true;
+		}
+
+		@Override
+		public void close() throws IOException {
+			_raf.close();
+		}
+	}
+
+	private static class ReadBlocksTask implements Callable<Object>
+	{
+		private final MappedRegions _regions;
+		private final Header _header;
+		private final MatrixBlock _dest;
+		private final int _pl, _pu;
+
+		protected ReadBlocksTask(MappedRegions regions, Header header, MatrixBlock dest, int pl, int pu) {
+			_regions = regions;
+			_header = header;
+			_dest = dest;
+			_pl = pl;
+			_pu = pu;
+		}
+
+		@Override
+		public Object call() throws Exception {
+			readBlocks(_regions, _header, _dest, _pl, _pu);
+			return null;
+		}
+	}
+}
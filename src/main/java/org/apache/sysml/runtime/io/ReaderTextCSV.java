@@ -32,14 +32,17 @@ import org.apache.commons.lang.mutable.MutableInt;
 import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.Text;
 import org.apache.hadoop.mapred.JobConf;
+import org.apache.hadoop.util.LineReader;
 
 import org.apache.sysml.conf.ConfigurationManager;
 import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.compress.StreamingCompressor;
 import org.apache.sysml.runtime.matrix.CSVReblockMR;
 import org.apache.sysml.runtime.matrix.data.DenseBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
-import org.apache.sysml.runtime.util.UtilFunctions;
+import org.apache.sysml.runtime.util.FastByteTokenizer;
 
 public class ReaderTextCSV extends MatrixReader
 {
@@ -95,20 +98,55 @@ public class ReaderTextCSV extends MatrixReader
 		return ret;
 	}
 	
+	/**
+	 * Reads the given matrix in row chunks directly into a compressed matrix
+	 * block (see {@link StreamingCompressor}), without materializing the
+	 * uncompressed matrix in memory.
+	 * 
+	 * @param fname file name
+	 * @param rlen number of rows, or -1 if unknown
+	 * @param clen number of columns, or -1 if unknown
+	 * @param k number of threads
+	 * @return compressed matrix block or uncompressed block if incompressible
+	 * @throws IOException if IOException occurs
+	 */
+	public MatrixBlock readCompressedMatrixFromHDFS(String fname, long rlen, long clen, int k) 
+		throws IOException
+	{
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path( fname );
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		
+		//check existence and non-empty file
+		checkValidInputFile(fs, path);
+		List<Path> files = getFilePaths(path, fs);
+		
+		//determine matrix size via additional pass if required
+		if( rlen < 0 || clen < 0 ) {
+			long[] dims = computeCSVDims(files, fs, _props.hasHeader(), _props.getDelim());
+			rlen = dims[0];
+			clen = dims[1];
+		}
+		
+		//core read and compression
+		StreamingCompressor compressor = new StreamingCompressor((int)rlen, (int)clen, k);
+		MatrixBlock chunk = new MatrixBlock(StreamingCompressor.getChunkSize(clen), (int)clen, false);
+		MutableInt row = new MutableInt(0);
+		for(int fileNo=0; fileNo<files.size(); fileNo++) {
+			readCSVMatrixFromInputStream(fs.open(files.get(fileNo)), path.toString(), compressor, chunk, row,
+				clen, _props.hasHeader(), _props.getDelim(), _props.isFill(), _props.getFillValue(), fileNo==0);
+		}
+		return compressor.finish();
+	}
+	
 	@SuppressWarnings("unchecked")
 	private static MatrixBlock readCSVMatrixFromHDFS( Path path, JobConf job, FileSystem fs, MatrixBlock dest, 
 			long rlen, long clen, int brlen, int bclen, boolean hasHeader, String delim, boolean fill, double fillValue )
 		throws IOException, DMLRuntimeException
 	{
 		//prepare file paths in alphanumeric order
-		ArrayList<Path> files=new ArrayList<>();
-		if(fs.isDirectory(path)) {
-			for(FileStatus stat: fs.listStatus(path, CSVReblockMR.hiddenFileFilter))
-				files.add(stat.getPath());
-			Collections.sort(files);
-		}
-		else
-			files.add(path);
+		List<Path> files = getFilePaths(path, fs);
 		
 		//determine matrix size via additional pass if required
 		if ( dest == null ) {
@@ -135,14 +173,15 @@ public class ReaderTextCSV extends MatrixReader
 		throws IOException
 	{
 		boolean sparse = dest.isInSparseFormat();
-		String value = null;
+		Text value = new Text();
 		int row = rowPos.intValue();
 		double cellValue = 0;
 		long lnnz = 0;
 		
-		BufferedReader br = new BufferedReader(new InputStreamReader(is));
+		LineReader br = new LineReader(is);
+		FastByteTokenizer st = new FastByteTokenizer(delim, true, false);
 		if(first && hasHeader ) 
-			br.readLine(); //ignore header
+			br.readLine(value); //ignore header
 		
 		// Read the data
 		boolean emptyValuesFound = false;
@@ -150,22 +189,20 @@ public class ReaderTextCSV extends MatrixReader
 		{
 			if( sparse ) //SPARSE<-value
 			{
-				while( (value=br.readLine())!=null ) //foreach line
+				while( br.readLine(value) > 0 ) //foreach line
 				{
-					String cellStr = value.toString().trim();
+					st.reset(value);
 					emptyValuesFound = false;
-					String[] parts = IOUtilFunctions.split(cellStr, delim);
 					int col = 0;
 					
-					for(String part : parts) //foreach cell
+					while( st.hasMoreTokens() ) //foreach cell
 					{
-						part = part.trim();
-						if ( part.isEmpty() ) {
+						if ( st.next().isBlankToken() ) {
 							emptyValuesFound = true;
 							cellValue = fillValue;
 						}
 						else {
-							cellValue = UtilFunctions.parseToDouble(part);
+							cellValue = st.getDouble();
 						}
 						if ( cellValue != 0 ) {
 							dest.appendValue(row, col, cellValue);
@@ -175,27 +212,24 @@ public class ReaderTextCSV extends MatrixReader
 					}
 					
 					//sanity checks for empty values and number of columns
-					IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(cellStr, fill, emptyValuesFound);
-					IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(srcInfo, cellStr, parts, clen);
+					checkLine(srcInfo, st, fill, emptyValuesFound, col, clen);
 					row++;
 				}
 			} 
 			else //DENSE<-value
 			{
 				DenseBlock a = dest.getDenseBlock();
-				while( (value=br.readLine())!=null ) { //foreach line
-					String cellStr = value.toString().trim();
+				while( br.readLine(value) > 0 ) { //foreach line
+					st.reset(value);
 					emptyValuesFound = false;
-					String[] parts = IOUtilFunctions.split(cellStr, delim);
 					int col = 0;
-					for( String part : parts ) { //foreach cell
-						part = part.trim();
-						if ( part.isEmpty() ) {
+					while( st.hasMoreTokens() ) { //foreach cell
+						if ( st.next().isBlankToken() ) {
 							emptyValuesFound = true;
 							cellValue = fillValue;
 						}
 						else {
-							cellValue = UtilFunctions.parseToDouble(part);
+							cellValue = st.getDouble();
 						}
 						if ( cellValue != 0 ) {
 							a.set(row, col, cellValue);
@@ -205,8 +239,7 @@ public class ReaderTextCSV extends MatrixReader
 					}
 					
 					//sanity checks for empty values and number of columns
-					IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(cellStr, fill, emptyValuesFound);
-					IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(srcInfo, cellStr, parts, clen);
+					checkLine(srcInfo, st, fill, emptyValuesFound, col, clen);
 					row++;
 				}
 			}
@@ -219,14 +252,97 @@ public class ReaderTextCSV extends MatrixReader
 		return lnnz;
 	}
 
-	private static MatrixBlock computeCSVSize( List<Path> files, JobConf job, FileSystem fs, boolean hasHeader, String delim, boolean fill, double fillValue) 
-		throws IOException, DMLRuntimeException 
-	{		
+	private static void readCSVMatrixFromInputStream( InputStream is, String srcInfo, StreamingCompressor dest, MatrixBlock chunk, 
+			MutableInt rowPos, long clen, boolean hasHeader, String delim, boolean fill, double fillValue, boolean first )
+		throws IOException
+	{
+		Text value = new Text();
+		int row = rowPos.intValue();
+		int chunkSize = chunk.getNumRows();
+		
+		LineReader br = new LineReader(is);
+		FastByteTokenizer st = new FastByteTokenizer(delim, true, false);
+		if(first && hasHeader ) 
+			br.readLine(value); //ignore header
+		
+		//read the data in dense row chunks (flushed to the compressor)
+		try
+		{
+			//note: all cells are overwritten, so no reset of reused chunks
+			DenseBlock a = chunk.allocateBlock().getDenseBlock();
+			int pos = 0;
+			while( br.readLine(value) > 0 ) { //foreach line
+				st.reset(value);
+				boolean emptyValuesFound = false;
+				int col = 0;
+				while( st.hasMoreTokens() ) { //foreach cell
+					if( col >= clen ) //count extra cells for error
+						st.next();
+					else if ( st.next().isBlankToken() ) {
+						emptyValuesFound = true;
+						a.set(pos, col, fillValue);
+					}
+					else {
+						a.set(pos, col, st.getDouble());
+					}
+					col++;
+				}
+				
+				//sanity checks for empty values and number of columns
+				checkLine(srcInfo, st, fill, emptyValuesFound, col, clen);
+				if( ++pos == chunkSize ) {
+					flushChunk(dest, chunk, row, pos);
+					row += pos;
+					pos = 0;
+				}
+			}
+			if( pos > 0 ) {
+				flushChunk(dest, chunk, row, pos);
+				row += pos;
+			}
+		}
+		finally {
+			IOUtilFunctions.closeSilently(br);
+		}
+		
+		rowPos.setValue(row);
+	}
+	
+	private static void checkLine(String srcInfo, FastByteTokenizer st, boolean fill, boolean emptyFound, int ncol, long clen) 
+		throws IOException
+	{
+		//materialize the line string only for error messages
+		if( emptyFound )
+			IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(st.toString(), fill, emptyFound);
+		if( ncol != clen )
+			IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(srcInfo, st.toString(), ncol, clen);
+	}
+	
+	private static void flushChunk(StreamingCompressor dest, MatrixBlock chunk, int row, int len) {
+		chunk.recomputeNonZeros();
+		dest.append((len < chunk.getNumRows()) ? chunk.slice(0, len-1) : chunk, row);
+	}
+	
+	private static List<Path> getFilePaths(Path path, FileSystem fs) 
+		throws IOException
+	{
+		ArrayList<Path> files=new ArrayList<>();
+		if(fs.isDirectory(path)) {
+			for(FileStatus stat: fs.listStatus(path, CSVReblockMR.hiddenFileFilter))
+				files.add(stat.getPath());
+			Collections.sort(files);
+		}
+		else
+			files.add(path);
+		return files;
+	}
+	
+	private static long[] computeCSVDims( List<Path> files, FileSystem fs, boolean hasHeader, String delim) 
+		throws IOException
+	{
 		int nrow = -1;
 		int ncol = -1;
 		String value = null;
-		
-		String cellStr = null;
 		for(int fileNo=0; fileNo<files.size(); fileNo++)
 		{
 			BufferedReader br = new BufferedReader(new InputStreamReader(fs.open(files.get(fileNo))));	
@@ -238,8 +354,7 @@ public class ReaderTextCSV extends MatrixReader
 					if ( hasHeader ) 
 						br.readLine(); //ignore header
 					if( (value = br.readLine()) != null ) {
-						cellStr = value.toString().trim();
-						ncol = StringUtils.countMatches(cellStr, delim) + 1;
+						ncol = StringUtils.countMatches(value.toString().trim(), delim) + 1;
 						nrow = 1;
 					}
 				}
@@ -252,9 +367,16 @@ public class ReaderTextCSV extends MatrixReader
 				IOUtilFunctions.closeSilently(br);
 			}
 		}
+		return new long[] {nrow, ncol};
+	}
+	
+	private static MatrixBlock computeCSVSize( List<Path> files, JobConf job, FileSystem fs, boolean hasHeader, String delim, boolean fill, double fillValue) 
+		throws IOException, DMLRuntimeException 
+	{
+		long[] dims = computeCSVDims(files, fs, hasHeader, delim);
 		
 		// allocate target matrix block based on given size; 
-		return createOutputMatrixBlock(nrow, ncol, 
-			nrow, ncol, (long)nrow*ncol, true, false);
+		return createOutputMatrixBlock(dims[0], dims[1], 
+			(int)dims[0], (int)dims[1], dims[0]*dims[1], true, false);
 	}
 }
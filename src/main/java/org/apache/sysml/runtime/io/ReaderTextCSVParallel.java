@@ -22,8 +22,11 @@ package org.apache.sysml.runtime.io;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.apache.commons.lang.StringUtils;
 import org.apache.hadoop.fs.FileSystem;
@@ -42,21 +45,33 @@ import org.apache.sysml.hops.OptimizerUtils;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.matrix.data.DenseBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlockMCSR;
+import org.apache.sysml.runtime.matrix.data.SparseRow;
+import org.apache.sysml.runtime.matrix.data.SparseRowVector;
 import org.apache.sysml.runtime.util.CommonThreadPool;
+import org.apache.sysml.runtime.util.FastByteTokenizer;
+import org.apache.sysml.runtime.util.UtilFunctions;
 
 /**
- * Parallel version of ReaderTextCSV.java. To summarize, we do two passes in
- * order to compute row offsets and the actual read. We accordingly create count
- * and read tasks and use fixed-size thread pools to execute these tasks. If the
- * target matrix is dense, the inserts are done lock-free. In contrast to
- * textcell parallel read, we also do lock-free inserts. If the matrix is
- * sparse, because splits contain row partitioned lines and hence there is no
- * danger of lost updates. Note, there is also no sorting of sparse rows
- * required because data comes in sorted order per row.
+ * Parallel version of ReaderTextCSV.java. By default, we do a single pass,
+ * where each split is parsed into its own row chunk (dense rows or sparse rows,
+ * chosen adaptively per split) via a byte-level tokenizer and number parser,
+ * followed by a parallel concatenation of the chunks into the output block 
+ * (memcpy of dense rows and reuse of sparse row objects). Alternatively 
+ * (SINGLE_PASS_READ=false), we do two passes in order to compute row offsets 
+ * and the actual read. We accordingly create count and read tasks and use 
+ * fixed-size thread pools to execute these tasks. If the target matrix is 
+ * dense, the inserts are done lock-free. In contrast to textcell parallel 
+ * read, we also do lock-free inserts. If the matrix is sparse, because splits 
+ * contain row partitioned lines and hence there is no danger of lost updates. 
+ * Note, there is also no sorting of sparse rows required because data comes 
+ * in sorted order per row.
  * 
  */
 public class ReaderTextCSVParallel extends MatrixReader 
 {
+	public static boolean SINGLE_PASS_READ = true;
+	
 	private FileFormatPropertiesCSV _props = null;
 	private int _numThreads = 1;
 
@@ -86,6 +101,10 @@ public class ReaderTextCSVParallel extends MatrixReader
 
 		// check existence and non-empty file
 		checkValidInputFile(fs, path);
+		
+		// single read pass (parse splits into row chunks, concatenate)
+		if( SINGLE_PASS_READ )
+			return readCSVMatrixFromHDFSSinglePass(splits, informat, job, rlen, clen, estnnz);
 
 		// allocate output matrix block
 		// First Read Pass (count rows/cols, determine offsets, allocate matrix block)
@@ -160,6 +179,85 @@ public class ReaderTextCSVParallel extends MatrixReader
 		}
 	}
 
+	private MatrixBlock readCSVMatrixFromHDFSSinglePass(InputSplit[] splits, TextInputFormat informat, 
+			JobConf job, long rlen, long clen, long estnnz) 
+		throws IOException, DMLRuntimeException 
+	{
+		// count no of entities in the first (potentially header) row
+		int ncol = countNumColumns(splits[0], informat, job, _props.getDelim());
+		
+		// parse splits into row-partitioned chunks
+		List<CSVChunk> chunks = null;
+		try {
+			ExecutorService pool = CommonThreadPool.get(_numThreads);
+			ArrayList<CSVReadChunkTask> tasks = new ArrayList<>();
+			for( int i=0; i<splits.length; i++ )
+				tasks.add(new CSVReadChunkTask(splits[i], informat, job, ncol, 
+					i==0 && _props.hasHeader(), _props.getDelim(), _props.isFill(), _props.getFillValue()));
+			chunks = new ArrayList<>();
+			for( Future<CSVChunk> task : pool.invokeAll(tasks) )
+				chunks.add(task.get());
+			pool.shutdown();
+		}
+		catch(Exception ex) {
+			throw new IOException("Failed parallel read of text csv input.", ex);
+		}
+		
+		// compute row offsets and check dimensions
+		int nrow = 0; 
+		long nnz = 0;
+		int[] offsets = new int[chunks.size()];
+		for( int i=0; i<chunks.size(); i++ ) {
+			offsets[i] = nrow;
+			nrow += chunks.get(i).getNumRows();
+			nnz += chunks.get(i).getNonZeros();
+		}
+		if( (rlen != -1 && nrow != rlen) || (clen != -1 && ncol != clen) ) {
+			String msg = "Read matrix dimensions differ from meta data: ["+nrow+"x"+ncol+"] vs. ["+rlen+"x"+clen+"].";
+			if( rlen < nrow || clen < ncol )
+				throw new DMLRuntimeException(msg);
+			LOG.warn(msg); //padding
+		}
+		int nrow2 = (int) Math.max(rlen, nrow);
+		int ncol2 = (int) Math.max(clen, ncol);
+		if( !OptimizerUtils.isValidCPDimensions(nrow2, ncol2) )
+			throw new DMLRuntimeException("Matrix dimensions too large for CP runtime: "+nrow2+" x "+ncol2);
+		
+		// concatenate chunks into output block (lock-free, disjoint rows)
+		boolean sparse = MatrixBlock.evalSparseFormatInMemory(nrow2, ncol2, nnz);
+		MatrixBlock ret = new MatrixBlock(nrow2, ncol2, sparse, nnz);
+		SparseRow[] rows = sparse ? new SparseRow[nrow2] : null;
+		if( !sparse )
+			ret.allocateDenseBlock();
+		try {
+			ExecutorService pool = CommonThreadPool.get(_numThreads);
+			ArrayList<Callable<Object>> tasks = new ArrayList<>();
+			for( int i=0; i<chunks.size(); i++ ) {
+				CSVChunk chunk = chunks.get(i);
+				int rl = offsets[i];
+				tasks.add(() -> {
+					if( sparse )
+						chunk.copyTo(rows, rl);
+					else
+						chunk.copyTo(ret.getDenseBlock(), rl);
+					return null;
+				});
+			}
+			for( Future<Object> task : pool.invokeAll(tasks) )
+				task.get();
+			pool.shutdown();
+		}
+		catch(Exception ex) {
+			throw new IOException("Failed parallel read of text csv input.", ex);
+		}
+		if( sparse )
+			ret.setSparseBlock(new SparseBlockMCSR(rows, false));
+		ret.setNonZeros(nnz);
+		ret.examSparsity();
+		
+		return ret;
+	}
+
 	private MatrixBlock computeCSVSizeAndCreateOutputMatrixBlock(InputSplit[] splits, Path path,
 			JobConf job, boolean hasHeader, String delim, long rlen, long clen, long estnnz)
 		throws IOException, DMLRuntimeException 
@@ -172,19 +270,7 @@ public class ReaderTextCSVParallel extends MatrixReader
 		informat.configure(job);
 
 		// count no of entities in the first non-header row
-		LongWritable key = new LongWritable();
-		Text oneLine = new Text();
-		RecordReader<LongWritable, Text> reader = informat
-				.getRecordReader(splits[0], job, Reporter.NULL);
-		try {
-			if (reader.next(key, oneLine)) {
-				String cellStr = oneLine.toString().trim();
-				ncol = StringUtils.countMatches(cellStr, delim) + 1;
-			}
-		} 
-		finally {
-			IOUtilFunctions.closeSilently(reader);
-		}
+		ncol = countNumColumns(splits[0], informat, job, delim);
 
 		// count rows in parallel per split
 		try 
@@ -234,6 +320,25 @@ public class ReaderTextCSVParallel extends MatrixReader
 		return createOutputMatrixBlock(nrow, ncol, nrow, ncol, estnnz2, true, true);
 	}
 
+	private static int countNumColumns(InputSplit split, TextInputFormat informat, JobConf job, String delim) 
+		throws IOException
+	{
+		LongWritable key = new LongWritable();
+		Text oneLine = new Text();
+		RecordReader<LongWritable, Text> reader = informat
+				.getRecordReader(split, job, Reporter.NULL);
+		try {
+			if (reader.next(key, oneLine)) {
+				String cellStr = oneLine.toString().trim();
+				return StringUtils.countMatches(cellStr, delim) + 1;
+			}
+		} 
+		finally {
+			IOUtilFunctions.closeSilently(reader);
+		}
+		return 0;
+	}
+
 	private static class SplitOffsetInfos {
 		// offset & length info per split
 		private int[] offsetPerSplit = null;
@@ -399,25 +504,24 @@ public class ReaderTextCSVParallel extends MatrixReader
 
 				boolean noFillEmpty = false;
 				row = _splitoffsets.getOffsetPerSplit(_splitCount);
+				FastByteTokenizer st = new FastByteTokenizer(_delim, true, false);
 
 				try {
 					if (_sparse) // SPARSE<-value
 					{
 						while (reader.next(key, value)) // foreach line
 						{
-							String cellStr = value.toString().trim();
-							String[] parts = IOUtilFunctions.split(cellStr, _delim);
+							st.reset(value);
 							col = 0;
 
-							for (String part : parts) // foreach cell
+							while( st.hasMoreTokens() ) // foreach cell
 							{
-								part = part.trim();
-								if (part.isEmpty()) {
+								if( st.next().isBlankToken() ) {
 									noFillEmpty |= !_fill;
 									cellValue = _fillValue;
 								} 
 								else {
-									cellValue = IOUtilFunctions.parseDoubleParallel(part);
+									cellValue = st.getDouble();
 								}
 
 								if( cellValue != 0 ) {
@@ -428,8 +532,7 @@ public class ReaderTextCSVParallel extends MatrixReader
 							}
 
 							// sanity checks (number of columns, fill values)
-							IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(cellStr, _fill, noFillEmpty);
-							IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(_split.toString(), cellStr, parts, _clen);
+							checkLine(st, noFillEmpty, col);
 							
 							row++;
 						}
@@ -438,17 +541,15 @@ public class ReaderTextCSVParallel extends MatrixReader
 					{
 						DenseBlock a = _dest.getDenseBlock();
 						while (reader.next(key, value)) { // foreach line
-							String cellStr = value.toString().trim();
-							String[] parts = IOUtilFunctions.split(cellStr, _delim);
+							st.reset(value);
 							col = 0;
-							for (String part : parts) { // foreach cell
-								part = part.trim();
-								if (part.isEmpty()) {
+							while( st.hasMoreTokens() ) { // foreach cell
+								if( st.next().isBlankToken() ) {
 									noFillEmpty |= !_fill;
 									cellValue = _fillValue;
 								} 
 								else {
-									cellValue = IOUtilFunctions.parseDoubleParallel(part);
+									cellValue = st.getDouble();
 								}
 								if( cellValue != 0 ) {
 									a.set(row, col, cellValue);
@@ -458,8 +559,7 @@ public class ReaderTextCSVParallel extends MatrixReader
 							}
 
 							// sanity checks (number of columns, fill values)
-							IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(cellStr, _fill, noFillEmpty);
-							IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(_split.toString(), cellStr, parts, _clen);
+							checkLine(st, noFillEmpty, col);
 							
 							row++;
 						}
@@ -499,5 +599,190 @@ public class ReaderTextCSVParallel extends MatrixReader
 			
 			return null;
 		}
+		
+		private void checkLine(FastByteTokenizer st, boolean noFillEmpty, int ncol) throws IOException {
+			if( noFillEmpty )
+				IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(st.toString(), _fill, noFillEmpty);
+			if( ncol != _clen )
+				IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(_split.toString(), st.toString(), ncol, _clen);
+		}
+	}
+	
+	/**
+	 * Row chunk of a parsed split, which starts with dense rows and
+	 * switches to sparse rows if the first rows are sparse.
+	 */
+	private static class CSVChunk 
+	{
+		private static final int SPARSITY_CHECK_ROWS = 1024;
+		
+		private final int _ncol;
+		private int _nrow = 0;
+		private long _nnz = 0;
+		private double[] _dense = null;
+		private SparseRow[] _sparse = null;
+		
+		public CSVChunk(int ncol) {
+			_ncol = ncol;
+			_dense = new double[(int)Math.min((long)ncol * 16, Math.max(ncol, 1 << 20))];
+		}
+		
+		public int getNumRows() {
+			return _nrow;
+		}
+		
+		public long getNonZeros() {
+			return _nnz;
+		}
+		
+		public void appendRow(double[] row, int rnnz) {
+			if( _dense != null ) {
+				if( (long)(_nrow+1) * _ncol > _dense.length ) {
+					long newlen = Math.max((long)_dense.length * 2, (long)(_nrow+1) * _ncol);
+					if( newlen > Integer.MAX_VALUE-8 )
+						toSparse(); //too large for a dense chunk
+					else
+						_dense = Arrays.copyOf(_dense, (int)newlen);
+				}
+				if( _dense != null )
+					System.arraycopy(row, 0, _dense, _nrow * _ncol, _ncol);
+			}
+			if( _sparse != null ) {
+				if( _nrow == _sparse.length )
+					_sparse = Arrays.copyOf(_sparse, _nrow * 2);
+				_sparse[_nrow] = createSparseRow(row, 0, rnnz);
+			}
+			_nrow++;
+			_nnz += rnnz;
+			
+			//adaptive switch to sparse rows for sparse inputs
+			if( _nrow == SPARSITY_CHECK_ROWS && _dense != null
+				&& _nnz < MatrixBlock.SPARSITY_TURN_POINT * _nrow * _ncol )
+				toSparse();
+		}
+		
+		public void copyTo(DenseBlock a, int rl) {
+			for( int i=0; i<_nrow; i++ ) {
+				double[] avals = a.values(rl+i);
+				int apos = a.pos(rl+i);
+				if( _dense != null )
+					System.arraycopy(_dense, i*_ncol, avals, apos, _ncol);
+				else if( _sparse[i] != null ) {
+					SparseRow row = _sparse[i];
+					int[] aix = row.indexes();
+					double[] vals = row.values();
+					for( int k=0; k<row.size(); k++ )
+						avals[apos+aix[k]] = vals[k];
+				}
+			}
+			_dense = null; //release chunk
+			_sparse = null;
+		}
+		
+		public void copyTo(SparseRow[] rows, int rl) {
+			for( int i=0; i<_nrow; i++ ) {
+				if( _sparse != null )
+					rows[rl+i] = _sparse[i]; //reuse row objects
+				else
+					rows[rl+i] = createSparseRow(_dense, i*_ncol, 
+						UtilFunctions.computeNnz(_dense, i*_ncol, _ncol));
+			}
+			_dense = null; //release chunk
+			_sparse = null;
+		}
+		
+		private void toSparse() {
+			_sparse = new SparseRow[Math.max(_nrow, 16)];
+			for( int i=0; i<_nrow; i++ )
+				_sparse[i] = createSparseRow(_dense, i*_ncol,
+					UtilFunctions.computeNnz(_dense, i*_ncol, _ncol));
+			_dense = null;
+		}
+		
+		private SparseRow createSparseRow(double[] vals, int pos, int rnnz) {
+			if( rnnz == 0 )
+				return null;
+			SparseRowVector ret = new SparseRowVector(rnnz, _ncol);
+			for( int j=0; j<_ncol; j++ )
+				if( vals[pos+j] != 0 )
+					ret.append(j, vals[pos+j]);
+			return ret;
+		}
+	}
+	
+	/**
+	 * Parses a split into a row chunk via a byte-level tokenizer
+	 * and number parser, i.e., without strings per line or cell.
+	 */
+	private static class CSVReadChunkTask implements Callable<CSVChunk> 
+	{
+		private final InputSplit _split;
+		private final TextInputFormat _informat;
+		private final JobConf _job;
+		private final int _ncol;
+		private final boolean _hasHeader;
+		private final String _delim;
+		private final boolean _fill;
+		private final double _fillValue;
+		
+		public CSVReadChunkTask(InputSplit split, TextInputFormat informat, JobConf job, 
+			int ncol, boolean hasHeader, String delim, boolean fill, double fillValue)
+		{
+			_split = split;
+			_informat = informat;
+			_job = job;
+			_ncol = ncol;
+			_hasHeader = hasHeader;
+			_delim = delim;
+			_fill = fill;
+			_fillValue = fillValue;
+		}
+		
+		@Override
+		public CSVChunk call() throws Exception {
+			CSVChunk chunk = new CSVChunk(_ncol);
+			RecordReader<LongWritable, Text> reader = _informat.getRecordReader(_split, _job, Reporter.NULL);
+			LongWritable key = new LongWritable();
+			Text value = new Text();
+			double[] row = new double[_ncol];
+			FastByteTokenizer st = new FastByteTokenizer(_delim, true, false);
+			try {
+				// skip the header line
+				if( _hasHeader )
+					reader.next(key, value);
+				while( reader.next(key, value) ) // foreach line
+					chunk.appendRow(row, parseLine(st.reset(value), row));
+			}
+			finally {
+				IOUtilFunctions.closeSilently(reader);
+			}
+			return chunk;
+		}
+		
+		private int parseLine(FastByteTokenizer st, double[] row) throws IOException {
+			int col = 0, lnnz = 0;
+			while( st.hasMoreTokens() ) {
+				if( col >= _ncol )
+					throw createNumColumnsException(st, st.countTokens()+col);
+				double cellValue = 0;
+				if( st.next().isBlankToken() ) {
+					if( !_fill )
+						IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(st.toString(), _fill, true);
+					cellValue = _fillValue;
+				}
+				else
+					cellValue = st.getDouble();
+				row[col++] = cellValue;
+				lnnz += (cellValue != 0) ? 1 : 0;
+			}
+			if( col != _ncol )
+				throw createNumColumnsException(st, col);
+			return lnnz;
+		}
+		
+		private IOException createNumColumnsException(FastByteTokenizer st, int ncol) {
+			return new IOException("Invalid number of columns (" + ncol + ", expected=" + _ncol + ") "
+				+ "found in delimited file (" + _split.toString() + ") for line: " + st.toString());
+		}
 	}
 }
@@ -19,10 +19,8 @@
 
 package org.apache.sysml.runtime.io;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
@@ -34,6 +32,7 @@ import org.apache.hadoop.mapred.JobConf;
 import org.apache.hadoop.mapred.RecordReader;
 import org.apache.hadoop.mapred.Reporter;
 import org.apache.hadoop.mapred.TextInputFormat;
+import org.apache.hadoop.util.LineReader;
 
 import org.apache.sysml.conf.ConfigurationManager;
 import org.apache.sysml.runtime.DMLRuntimeException;
@@ -41,7 +40,7 @@ import org.apache.sysml.runtime.matrix.data.DenseBlock;
 import org.apache.sysml.runtime.matrix.data.IJV;
 import org.apache.sysml.runtime.matrix.data.InputInfo;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
-import org.apache.sysml.runtime.util.FastStringTokenizer;
+import org.apache.sysml.runtime.util.FastByteTokenizer;
 import org.apache.sysml.runtime.util.MapReduceTool;
 
 public class ReaderTextCell extends MatrixReader
@@ -128,14 +127,14 @@ public class ReaderTextCell extends MatrixReader
 		
 		try
 		{
-			FastStringTokenizer st = new FastStringTokenizer(' ');
+			FastByteTokenizer st = new FastByteTokenizer(' ');
 			
 			for(InputSplit split: splits) {
 				RecordReader<LongWritable,Text> reader = informat.getRecordReader(split, job, Reporter.NULL);
 				try {
 					if( sparse ) { //SPARSE<-value
 						while( reader.next(key, value) ) {
-							cell = parseCell(value.toString(), st, cell, _mmProps);
+							cell = parseCell(value, st, cell, _mmProps);
 							appendCell(cell, dest, _mmProps);
 						}
 						dest.sortSparseRows();
@@ -143,7 +142,7 @@ public class ReaderTextCell extends MatrixReader
 					else { //DENSE<-value
 						DenseBlock a = dest.getDenseBlock();
 						while( reader.next(key, value) ) {
-							cell = parseCell(value.toString(), st, cell, _mmProps);
+							cell = parseCell(value, st, cell, _mmProps);
 							nnz += appendCell(cell, a, _mmProps);
 						}
 					}
@@ -166,8 +165,8 @@ public class ReaderTextCell extends MatrixReader
 		}
 	}
 	
-	protected static IJV parseCell(String line, FastStringTokenizer st, IJV cell, FileFormatPropertiesMM mmProps) {
-		st.reset( line.toString() ); //reinit tokenizer
+	protected static IJV parseCell(Text line, FastByteTokenizer st, IJV cell, FileFormatPropertiesMM mmProps) {
+		st.reset( line ); //reinit tokenizer
 		int row = st.nextInt() - 1;
 		int col = st.nextInt() - 1;
 		double value = (mmProps == null) ? st.nextDouble() : 
@@ -175,6 +174,10 @@ public class ReaderTextCell extends MatrixReader
 		return cell.set(row, col, value);
 	}
 	
+	protected static boolean isComment(Text line) {
+		return line.getLength() > 0 && line.getBytes()[0] == '%';
+	}
+	
 	protected static int appendCell(IJV cell, MatrixBlock dest, FileFormatPropertiesMM mmProps) {
 		if( cell.getV() == 0 ) return 0;
 		dest.appendValue(cell.getI(), cell.getJ(), cell.getV());
@@ -208,30 +211,30 @@ public class ReaderTextCell extends MatrixReader
 	private static void readRawTextCellMatrixFromInputStream( InputStream is, MatrixBlock dest, long rlen, long clen, int brlen, int bclen, boolean matrixMarket )
 			throws IOException
 	{
-		BufferedReader br = new BufferedReader(new InputStreamReader( is ));
+		LineReader br = new LineReader( is );
 		FileFormatPropertiesMM mmProps = null;
 		
 		boolean sparse = dest.isInSparseFormat();
-		String value = null;
+		Text value = new Text();
 		IJV cell = new IJV();
 		long nnz = 0;
 		
 		// Read the header lines, if reading from a matrixMarket file
 		if ( matrixMarket ) {
-			value = br.readLine(); // header line
-			if ( value==null || !value.startsWith("%%") ) {
-				throw new IOException("Error while reading file in MatrixMarket format. Expecting a header line, but encountered, \"" + value +"\".");
+			String header = (br.readLine(value) > 0) ? value.toString() : null; // header line
+			if ( header==null || !header.startsWith("%%") ) {
+				throw new IOException("Error while reading file in MatrixMarket format. Expecting a header line, but encountered, \"" + header +"\".");
 			}
-			mmProps = FileFormatPropertiesMM.parse(value);
+			mmProps = FileFormatPropertiesMM.parse(header);
 			
 			// skip until end-of-comments
-			while( (value = br.readLine())!=null && value.charAt(0) == '%' ) {
+			while( br.readLine(value) > 0 && isComment(value) ) {
 				//do nothing just skip comments
 			}
 			
 			// the first line after comments is the one w/ matrix dimensions
 			// validate (rlen clen nnz)
-			String[] fields = value.trim().split("\\s+"); 
+			String[] fields = value.toString().trim().split("\\s+"); 
 			long mm_rlen = Long.parseLong(fields[0]);
 			long mm_clen = Long.parseLong(fields[1]);
 			if ( rlen != mm_rlen || clen != mm_clen ) {
@@ -241,19 +244,19 @@ public class ReaderTextCell extends MatrixReader
 		
 		try
 		{
-			FastStringTokenizer st = new FastStringTokenizer(' ');
+			FastByteTokenizer st = new FastByteTokenizer(' ');
 			
 			if( sparse ) { //SPARSE<-value
-				while( (value=br.readLine())!=null ) {
-					cell = parseCell(value.toString(), st, cell, mmProps);
+				while( br.readLine(value) > 0 ) {
+					cell = parseCell(value, st, cell, mmProps);
 					appendCell(cell, dest, mmProps);
 				}
 				dest.sortSparseRows();
 			} 
 			else { //DENSE<-value
 				DenseBlock a = dest.getDenseBlock();
-				while( (value=br.readLine())!=null ) {
-					cell = parseCell(value.toString(), st, cell, mmProps);
+				while( br.readLine(value) > 0 ) {
+					cell = parseCell(value, st, cell, mmProps);
 					nnz += appendCell(cell, a, mmProps);
 				}
 				dest.setNonZeros(nnz);
@@ -43,7 +43,7 @@ import org.apache.sysml.runtime.matrix.data.InputInfo;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.SparseBlock;
 import org.apache.sysml.runtime.util.CommonThreadPool;
-import org.apache.sysml.runtime.util.FastStringTokenizer;
+import org.apache.sysml.runtime.util.FastByteTokenizer;
 import org.apache.sysml.runtime.util.MapReduceTool;
 import org.apache.sysml.runtime.util.UtilFunctions;
 
@@ -170,7 +170,7 @@ public class ReaderTextCellParallel extends ReaderTextCell
 			Text value = new Text();
 			IJV cell = new IJV();
 			
-			FastStringTokenizer st = new FastStringTokenizer(' ');
+			FastByteTokenizer st = new FastByteTokenizer(' ');
 			RecordReader<LongWritable,Text> reader = _informat.getRecordReader(_split, _job, Reporter.NULL);
 			
 			try
@@ -179,14 +179,14 @@ public class ReaderTextCellParallel extends ReaderTextCell
 				if ( _matrixMarket ) {
 					// skip until end-of-comments (%% or %)
 					boolean foundComment = false;
-					while( reader.next(key, value) && value.toString().charAt(0) == '%'  ) {
+					while( reader.next(key, value) && isComment(value) ) {
 						//do nothing just skip comments
 						foundComment = true;
 					}
 					
 					//process current value (otherwise ignore following meta data)
 					if( !foundComment ) {
-						cell = parseCell(value.toString(), st, cell, _mmProps);
+						cell = parseCell(value, st, cell, _mmProps);
 						synchronized( _dest ){ //sparse requires lock
 							lnnz += appendCell(cell, _dest, _mmProps);
 						}
@@ -196,7 +196,7 @@ public class ReaderTextCellParallel extends ReaderTextCell
 				if( _sparse ) { //SPARSE<-value
 					CellBuffer buff = new CellBuffer();
 					while( reader.next(key, value) ) {
-						cell = parseCell(value.toString(), st, cell, _mmProps);
+						cell = parseCell(value, st, cell, _mmProps);
 						buff.addCell(cell.getI(), cell.getJ(), cell.getV());
 						if( _mmProps != null && _mmProps.isSymmetric() && !cell.onDiag() )
 							buff.addCell(cell.getJ(), cell.getI(), cell.getV());
@@ -215,7 +215,7 @@ public class ReaderTextCellParallel extends ReaderTextCell
 				else { //DENSE<-value
 					DenseBlock a = _dest.getDenseBlock();
 					while( reader.next(key, value) ) {
-						cell = parseCell(value.toString(), st, cell, _mmProps);
+						cell = parseCell(value, st, cell, _mmProps);
 						lnnz += appendCell(cell, a, _mmProps);
 					}
 				}
@@ -255,15 +255,15 @@ public class ReaderTextCellParallel extends ReaderTextCell
 		public Void call() throws Exception {
 			LongWritable key = new LongWritable();
 			Text value = new Text();
-			FastStringTokenizer st = new FastStringTokenizer(' ');
+			FastByteTokenizer st = new FastByteTokenizer(' ');
 			
 			RecordReader<LongWritable,Text> reader = _informat.getRecordReader(_split, _job, Reporter.NULL);
 			try {
 				//counting without locking as conflicts unlikely
 				while( reader.next(key, value) ) {
-					if( value.toString().charAt(0) == '%' )
+					if( isComment(value) )
 						continue;
-					st.reset( value.toString() );
+					st.reset( value );
 					_rNnz[(int)st.nextLong()-1] ++;
 					if( _isSymmetric )
 						_rNnz[(int)st.nextLong()-1] ++;
@@ -0,0 +1,383 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.LocalFileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.CompilerConfig.ConfigType;
+import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.matrix.data.DenseBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.util.CommonThreadPool;
+import org.apache.sysml.runtime.util.MapReduceTool;
+
+/**
+ * Writer for the local binary block format, i.e., a single file on the
+ * local file system that consists of a header, an index of all non-empty
+ * blocks, and the raw block payloads. In contrast to sequence files, this
+ * format allows writing and reading blocks via memory-mapped regions
+ * (FileChannel.map) without per-block object serialization. The payloads
+ * are mapped once per file (in regions of up to 2GB) and sliced into the
+ * individual blocks. Dense blocks are stored as row-major little-endian
+ * doubles, sparse blocks as per-row counts, column indexes, and values.
+ *
+ * This format is only used for binary block files in the local scratch
+ * space that are exclusively consumed by the local runtime (e.g., parfor
+ * inputs and result files), all user-facing writes remain in the sequence
+ * file format. Buffer pool evictions use their own local file format.
+ */
+public class WriterBinaryBlockLocal extends MatrixWriter
+{
+	//file header: magic, version, rlen, clen, brlen, bclen, nnz, numBlocks
+	public static final int MAGIC = 0x53594D4C; //'SYML'
+	public static final int VERSION = 1;
+	public static final int HEADER_SIZE = 48;
+	//index entry: rowIx, colIx, offset, rows, cols, nnz, type
+	public static final int INDEX_ENTRY_SIZE = 40;
+	public static final int BLOCK_DENSE = 1;
+	public static final int BLOCK_SPARSE = 2;
+	public static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+	@Override
+	public void writeMatrixToHDFS(MatrixBlock src, String fname, long rlen, long clen, int brlen, int bclen, long nnz, boolean diag)
+		throws IOException, DMLRuntimeException
+	{
+		//bound check for src block
+		if( src.getNumRows() > rlen || src.getNumColumns() > clen ) {
+			throw new IOException("Matrix block [1:"+src.getNumRows()+",1:"+src.getNumColumns()+"] " +
+				"out of overall matrix range [1:"+rlen+",1:"+clen+"].");
+		}
+
+		//if the file already exists, remove it (e.g., sequence file directory)
+		MapReduceTool.deleteFileIfExistOnHDFS( fname );
+		File file = getLocalFile(fname);
+
+		//create index of non-empty blocks incl payload offsets
+		//(note: no special handling of diag because empty blocks are never written)
+		ArrayList<BlockEntry> index = createBlockIndex(src, brlen, bclen);
+		long offset = align(HEADER_SIZE + (long)index.size() * INDEX_ENTRY_SIZE);
+		for( BlockEntry e : index ) {
+			e.offset = offset;
+			offset = align(offset + e.size);
+		}
+
+		try( RandomAccessFile raf = new RandomAccessFile(file, "rw") ) {
+			raf.setLength(offset);
+			FileChannel channel = raf.getChannel();
+
+			//write header and block index
+			writeHeader(channel, rlen, clen, brlen, bclen,
+				src.getNonZeros() >= 0 ? src.getNonZeros() : src.recomputeNonZeros(), index);
+			
+			//map block payloads once (sliced per block)
+			long[] offsets = new long[index.size()];
+			long[] sizes = new long[index.size()];
+			for( int i=0; i<index.size(); i++ ) {
+				offsets[i] = index.get(i).offset;
+				sizes[i] = index.get(i).size;
+			}
+			MappedRegions regions = new MappedRegions(channel, MapMode.READ_WRITE, offsets, sizes);
+
+			//write block payloads sequential/parallel over block rows
+			int numThreads = ConfigurationManager.getCompilerConfigFlag(ConfigType.PARALLEL_CP_WRITE_BINARYFORMATS) ?
+				OptimizerUtils.getParallelBinaryWriteParallelism() : 1;
+			numThreads = Math.min(numThreads, (int)Math.ceil((double)src.getNumRows()/brlen));
+			if( numThreads <= 1 ) {
+				writeBlocks(regions, src, index, 0, index.size());
+			}
+			else {
+				ExecutorService pool = CommonThreadPool.get(numThreads);
+				ArrayList<WriteBlocksTask> tasks = new ArrayList<>();
+				int blklen = (int)Math.ceil((double)src.getNumRows() / brlen / numThreads) * brlen;
+				for( int i=0, pos=0; i<numThreads && i*blklen<src.getNumRows(); i++ ) {
+					int ru = Math.min((i+1)*blklen, src.getNumRows());
+					int pos2 = pos;
+					while( pos2 < index.size() && index.get(pos2).rl < ru )
+						pos2++;
+					tasks.add(new WriteBlocksTask(regions, src, index, pos, pos2));
+					pos = pos2;
+				}
+				List<Future<Object>> rt = pool.invokeAll(tasks);
+				pool.shutdown();
+				for( Future<Object> task : rt )
+					task.get();
+			}
+		}
+		catch(IOException ex) {
+			throw ex;
+		}
+		catch(Exception ex) {
+			throw new IOException("Failed write of local binary block file: "+fname, ex);
+		}
+	}
+
+	@Override
+	public void writeEmptyMatrixToHDFS(String fname, long rlen, long clen, int brlen, int bclen)
+		throws IOException, DMLRuntimeException
+	{
+		MapReduceTool.deleteFileIfExistOnHDFS( fname );
+		File file = getLocalFile(fname);
+		try( RandomAccessFile raf = new RandomAccessFile(file, "rw") ) {
+			raf.setLength(HEADER_SIZE);
+			writeHeader(raf.getChannel(), rlen, clen, brlen, bclen, 0, new ArrayList<BlockEntry>());
+		}
+	}
+
+	protected static File getLocalFile(String fname) throws IOException {
+		Path path = new Path(fname);
+		FileSystem fs = IOUtilFunctions.getFileSystem(path);
+		if( !(fs instanceof LocalFileSystem) )
+			throw new IOException("Local binary block format only supported on the local file system: "+fname);
+		File file = ((LocalFileSystem)fs).pathToFile(path);
+		if( file.getParentFile() != null )
+			file.getParentFile().mkdirs();
+		return file;
+	}
+
+	private static ArrayList<BlockEntry> createBlockIndex(MatrixBlock src, int brlen, int bclen) {
+		ArrayList<BlockEntry> ret = new ArrayList<>();
+		if( src.isEmptyBlock(false) )
+			return ret;
+		int rlen = src.getNumRows();
+		int clen = src.getNumColumns();
+		boolean sparse = src.isInSparseFormat();
+		SparseBlock a = src.getSparseBlock();
+		for( int bi=0; bi<rlen; bi+=brlen ) {
+			int ru = Math.min(bi+brlen, rlen);
+			for( int bj=0; bj<clen; bj+=bclen ) {
+				int cu = Math.min(bj+bclen, clen);
+				long lnnz = sparse ? countNonZeros(a, bi, ru, bj, cu) : -1;
+				if( lnnz == 0 ) //skip empty blocks
+					continue;
+				ret.add(new BlockEntry(bi, ru, bj, cu, lnnz, sparse));
+			}
+		}
+		return ret;
+	}
+
+	private static long countNonZeros(SparseBlock a, int rl, int ru, int cl, int cu) {
+		long nnz = 0;
+		for( int i=rl; i<ru; i++ ) {
+			int apos = a.isEmpty(i) ? -1 : a.posFIndexGTE(i, cl);
+			if( apos < 0 )
+				continue;
+			int alen = a.pos(i) + a.size(i);
+			int[] aix = a.indexes(i);
+			for( int k=apos; k<alen && aix[k]<cu; k++ )
+				nnz++;
+		}
+		return nnz;
+	}
+
+	private static void writeHeader(FileChannel channel, long rlen, long clen, int brlen, int bclen, long nnz, ArrayList<BlockEntry> index)
+		throws IOException
+	{
+		long size = HEADER_SIZE + (long)index.size() * INDEX_ENTRY_SIZE;
+		if( size > Integer.MAX_VALUE )
+			throw new IOException("Block index exceeds size limit: "+size);
+		ByteBuffer buff = ByteBuffer.allocate((int)size).order(BYTE_ORDER);
+		buff.putInt(MAGIC).putInt(VERSION);
+		buff.putLong(rlen).putLong(clen);
+		buff.putInt(brlen).putInt(bclen);
+		buff.putLong(nnz).putInt(index.size());
+		buff.position(HEADER_SIZE);
+		for( BlockEntry e : index ) {
+			buff.putInt(e.rl/brlen+1).putInt(e.cl/bclen+1).putLong(e.offset);
+			buff.putInt(e.ru-e.rl).putInt(e.cu-e.cl).putLong(e.nnz);
+			buff.putInt(e.sparse ? BLOCK_SPARSE : BLOCK_DENSE).putInt(0);
+		}
+		
+		//positional write of the entire header (no mapping)
+		buff.flip();
+		long pos = 0;
+		while( buff.hasRemaining() )
+			pos += channel.write(buff, pos);
+	}
+
+	private static void writeBlocks(MappedRegions regions, MatrixBlock src, ArrayList<BlockEntry> index, int pl, int pu) {
+		for( int i=pl; i<pu; i++ ) {
+			BlockEntry e = index.get(i);
+			ByteBuffer buff = regions.slice(e.offset, e.size);
+			if( e.sparse )
+				writeSparseBlock(buff, src.getSparseBlock(), e);
+			else
+				writeDenseBlock(buff, src.getDenseBlock(), e);
+		}
+	}
+
+	private static void writeDenseBlock(ByteBuffer buff, DenseBlock a, BlockEntry e) {
+		//bulk copy of row segments (memcpy for native byte order)
+		DoubleBuffer dbuff = buff.asDoubleBuffer();
+		int len = e.cu - e.cl;
+		for( int i=e.rl; i<e.ru; i++ )
+			dbuff.put(a.values(i), a.pos(i, e.cl), len);
+	}
+
+	private static void writeSparseBlock(ByteBuffer buff, SparseBlock a, BlockEntry e) {
+		//layout: int[rows] row counts, int[nnz] column indexes, double[nnz] values
+		int nnz = (int) e.nnz;
+		IntBuffer cnts = buff.asIntBuffer();
+		buff.position((e.ru-e.rl) * 4);
+		IntBuffer cix = buff.asIntBuffer();
+		buff.position(sparseValueOffset(e.ru-e.rl, nnz));
+		DoubleBuffer vals = buff.asDoubleBuffer();
+		for( int i=e.rl; i<e.ru; i++ ) {
+			int apos = a.isEmpty(i) ? -1 : a.posFIndexGTE(i, e.cl);
+			if( apos < 0 ) {
+				cnts.put(0);
+				continue;
+			}
+			int alen = a.pos(i) + a.size(i);
+			int[] aix = a.indexes(i);
+			double[] avals = a.values(i);
+			int aend = apos;
+			while( aend < alen && aix[aend] < e.cu ) {
+				cix.put(aix[aend] - e.cl);
+				aend++;
+			}
+			vals.put(avals, apos, aend-apos);
+			cnts.put(aend-apos);
+		}
+	}
+
+	protected static int sparseValueOffset(int rows, int nnz) {
+		return (int) align(((long)rows + nnz) * 4);
+	}
+
+	protected static long align(long pos) {
+		return (pos + 7) & ~7L; //8-byte alignment
+	}
+
+	/**
+	 * Memory-mapped regions over the block payloads of a local binary block
+	 * file. Each region covers a range of consecutive blocks (split at block
+	 * boundaries due to the 2GB limit of a single mapping), which bounds the
+	 * number of mappings per file independent of the number of blocks.
+	 * Slices of blocks can be obtained and used concurrently.
+	 */
+	protected static class MappedRegions
+	{
+		private static final long MAX_REGION_SIZE = Integer.MAX_VALUE;
+		
+		private final long[] _starts;
+		private final ByteBuffer[] _regions;
+		
+		public MappedRegions(FileChannel channel, MapMode mode, long[] offsets, long[] sizes)
+			throws IOException
+		{
+			//determine region boundaries over blocks in offset order
+			ArrayList<Long> starts = new ArrayList<>();
+			ArrayList<Long> ends = new ArrayList<>();
+			for( int i=0; i<offsets.length; i++ ) {
+				long end = offsets[i] + sizes[i];
+				if( i > 0 && offsets[i] < offsets[i-1] + sizes[i-1] )
+					throw new IOException("Invalid local binary block index (unordered or overlapping blocks).");
+				if( starts.isEmpty() || end - starts.get(starts.size()-1) > MAX_REGION_SIZE ) {
+					starts.add(offsets[i]);
+					ends.add(end);
+				}
+				else
+					ends.set(ends.size()-1, end);
+			}
+			
+			//map regions once
+			_starts = new long[starts.size()];
+			_regions = new ByteBuffer[starts.size()];
+			for( int i=0; i<_starts.length; i++ ) {
+				_starts[i] = starts.get(i);
+				_regions[i] = channel.map(mode, _starts[i], ends.get(i) - _starts[i]);
+			}
+		}
+		
+		public ByteBuffer slice(long offset, long size) {
+			int ix = Arrays.binarySearch(_starts, offset);
+			ix = (ix >= 0) ? ix : -ix - 2;
+			ByteBuffer buff = _regions[ix].duplicate();
+			int pos = (int)(offset - _starts[ix]);
+			buff.limit(pos + (int)size).position(pos);
+			return buff.slice().order(BYTE_ORDER);
+		}
+	}
+
+	private static class BlockEntry
+	{
+		private final int rl, ru, cl, cu;
+		private final long nnz;
+		private final boolean sparse;
+		private final long size;
+		private long offset = -1;
+
+		public BlockEntry(int rl, int ru, int cl, int cu, long nnz, boolean sparse) {
+			this.rl = rl;
+			this.ru = ru;
+			this.cl = cl;
+			this.cu = cu;
+			this.nnz = nnz;
+			this.sparse = sparse;
+			this.size = sparse ?
+				sparseValueOffset(ru-rl, (int)nnz) + nnz * 8 :
+				(long)(ru-rl) * (cu-cl) * 8;
+			if( size > Integer.MAX_VALUE )
+				throw new DMLRuntimeException("Block size exceeds memory-mapped region limit: "+size);
+		}
+	}
+
+	private static class WriteBlocksTask implements Callable<Object>
+	{
+		private final MappedRegions _regions;
+		private final MatrixBlock _src;
+		private final ArrayList<BlockEntry> _index;
+		private final int _pl, _pu;
+
+		protected WriteBlocksTask(MappedRegions regions, MatrixBlock src, ArrayList<BlockEntry> index, int pl, int pu) {
+			_regions = regions;
+			_src = src;
+			_index = index;
+			_pl = pl;
+			_pu = pu;
+		}
+
+		@Override
+		public Object call() throws Exception {
+			writeBlocks(_regions, _src, _index, _pl, _pu);
+			return null;
+		}
+	}
+}
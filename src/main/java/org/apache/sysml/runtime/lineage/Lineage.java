@@ -0,0 +1,314 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.lineage;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map.Entry;
+
+import org.apache.sysml.hops.DataGenOp;
+import org.apache.sysml.hops.Hop.DataGenMethod;
+import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
+import org.apache.sysml.runtime.instructions.Instruction;
+import org.apache.sysml.runtime.instructions.InstructionUtils;
+import org.apache.sysml.runtime.instructions.cp.CPInstruction;
+import org.apache.sysml.runtime.instructions.cp.CPInstruction.CPType;
+import org.apache.sysml.runtime.instructions.cp.CPOperand;
+import org.apache.sysml.runtime.instructions.cp.ComputationCPInstruction;
+import org.apache.sysml.runtime.instructions.cp.Data;
+import org.apache.sysml.runtime.instructions.cp.DataGenCPInstruction;
+import org.apache.sysml.runtime.instructions.cp.MultiReturnParameterizedBuiltinCPInstruction;
+import org.apache.sysml.runtime.instructions.cp.ScalarObject;
+import org.apache.sysml.runtime.instructions.cp.VariableCPInstruction;
+import org.apache.sysml.runtime.util.UtilFunctions;
+
+/**
+ * Instruction-level lineage trace of an execution context, which maps live
+ * variables to the lineage items that describe how they were computed.
+ *
+ * Lineage items of outputs are derived from the instruction string, where
+ * variable operands are replaced by their lineage, scalar variables by
+ * literals of their values, and trailing thread counts are dropped. Only
+ * instruction types with self-describing operands are traced; all other
+ * outputs (and inputs bound by other means) obtain unique leaves, which
+ * disables reuse of dependent operations. Each entry also keeps the bound
+ * data object, which detects variables that were rebound by untraced
+ * instructions.
+ *
+ */
+public class Lineage
+{
+	//instruction types whose inputs are fully described by typed operands
+	private static final EnumSet<CPType> TRACED_TYPES = EnumSet.of(
+		CPType.AggregateUnary, CPType.AggregateBinary, CPType.AggregateTernary,
+		CPType.Unary, CPType.Binary, CPType.Ternary, CPType.Builtin, CPType.BuiltinNary,
+		CPType.Reorg, CPType.Append, CPType.Rand, CPType.StringInit, CPType.MatrixIndexing,
+		CPType.MMTSJ, CPType.MMChain, CPType.MatrixReshape, CPType.MultiReturnParameterizedBuiltin);
+
+	private final HashMap<String, LineageEntry> _map;
+
+	public Lineage() {
+		_map = new HashMap<>();
+	}
+
+	public Lineage(Lineage that) {
+		_map = new HashMap<>(that._map);
+	}
+
+	/**
+	 * Obtains the lineage of a bound variable. Scalars are represented by
+	 * literals of their values, while variables without (valid) lineage
+	 * obtain a new unique leaf.
+	 *
+	 * @param varname variable name
+	 * @param ec execution context
+	 * @return lineage item
+	 */
+	public LineageItem get(String varname, ExecutionContext ec) {
+		Data dat = ec.getVariable(varname);
+		if( dat instanceof ScalarObject )
+			return createLiteral((ScalarObject)dat);
+		LineageEntry e = _map.get(varname);
+		if( e != null && e.data == dat )
+			return e.item;
+		LineageItem li = LineageItem.createUniqueLeaf(varname);
+		if( dat != null )
+			_map.put(varname, new LineageEntry(li, dat));
+		return li;
+	}
+
+	public LineageItem get(CPOperand op, ExecutionContext ec) {
+		return op.isLiteral() ?
+			new LineageItem(LineageItem.LITERAL_OPCODE, op.getName()+Instruction.VALUETYPE_PREFIX+op.getValueType()) :
+			get(op.getName(), ec);
+	}
+
+	public void set(String varname, LineageItem li, ExecutionContext ec) {
+		set(varname, li, ec.getVariable(varname));
+	}
+
+	public void set(String varname, LineageItem li, Data dat) {
+		if( li == null || dat == null || dat instanceof ScalarObject )
+			_map.remove(varname);
+		else
+			_map.put(varname, new LineageEntry(li, dat));
+	}
+
+	public void remove(String varname) {
+		_map.remove(varname);
+	}
+
+	public int size() {
+		return _map.size();
+	}
+
+	/**
+	 * Executes the given instruction, which includes the reuse of cached outputs
+	 * for deterministic operations, and maintains the lineage of its outputs.
+	 *
+	 * @param inst instruction
+	 * @param ec execution context
+	 */
+	public void processInstruction(Instruction inst, ExecutionContext ec) {
+		if( inst instanceof VariableCPInstruction
+			&& !((VariableCPInstruction)inst).isVariableCastInstruction() ) {
+			processVariableInstruction((VariableCPInstruction)inst, ec);
+			return;
+		}
+
+		String[] outputs = getOutputNames(inst);
+		if( outputs == null ) {
+			//untraced instruction (outputs get unique leaves on first use)
+			inst.processInstruction(ec);
+			return;
+		}
+
+		//obtain output lineage before execution (inputs might be overwritten)
+		LineageItem[] items = getLineageItems(inst, outputs, ec);
+		LineageCache.processInstruction(inst, outputs, items, ec);
+		for( int i=0; i<outputs.length; i++ )
+			set(outputs[i], items[i], ec);
+	}
+
+	private void processVariableInstruction(VariableCPInstruction inst, ExecutionContext ec) {
+		String opcode = inst.getOpcode();
+		switch( opcode ) {
+			case "createvar": {
+				inst.processInstruction(ec);
+				String varname = inst.getInput1().getName();
+				if( varname.startsWith(org.apache.sysml.lops.Data.PREAD_PREFIX) ) {
+					//persistent reads are unique leaves because files might be
+					//overwritten (by this or other scripts) between reads
+					set(varname, LineageItem.createUniqueLeaf(
+						LineageItem.READ_OPCODE, inst.getInput2().getName()), ec);
+				}
+				else
+					remove(varname);
+				break;
+			}
+			case "cpvar":
+			case "mvvar": {
+				String src = inst.getInput1().getName();
+				String dest = inst.getInput2().getName();
+				LineageItem li = (inst.getInput3() == null && ec.containsVariable(src)) ?
+					get(src, ec) : null;
+				inst.processInstruction(ec);
+				if( inst.getInput3() == null ) {
+					set(dest, li, ec);
+					if( opcode.equals("mvvar") )
+						remove(src);
+				}
+				break;
+			}
+			case "rmvar":
+				inst.processInstruction(ec);
+				for( CPOperand input : inst.getInputs() )
+					remove(input.getName());
+				break;
+			case "rmfilevar":
+				inst.processInstruction(ec);
+				remove(inst.getInput1().getName());
+				break;
+			default:
+				inst.processInstruction(ec);
+		}
+	}
+
+	private static String[] getOutputNames(Instruction inst) {
+		if( inst instanceof VariableCPInstruction ) //casts
+			return new String[]{((VariableCPInstruction)inst).getOutputVariableName()};
+		if( !(inst instanceof ComputationCPInstruction)
+			|| !TRACED_TYPES.contains(((CPInstruction)inst).getCPInstructionType())
+			|| inst.getOpcode().equals("eval") )
+			return null;
+		if( inst instanceof MultiReturnParameterizedBuiltinCPInstruction ) {
+			MultiReturnParameterizedBuiltinCPInstruction minst = (MultiReturnParameterizedBuiltinCPInstruction) inst;
+			String[] ret = new String[minst.getNumOutputs()];
+			for( int i=0; i<ret.length; i++ )
+				ret[i] = minst.getOutput(i).getName();
+			return ret;
+		}
+		return new String[]{((ComputationCPInstruction)inst).output.getName()};
+	}
+
+	private LineageItem[] getLineageItems(Instruction inst, String[] outputs, ExecutionContext ec) {
+		LineageItem[] ret = new LineageItem[outputs.length];
+
+		//non-deterministic data generation (unique outputs)
+		if( isNonDeterministic(inst) ) {
+			for( int i=0; i<outputs.length; i++ )
+				ret[i] = LineageItem.createUniqueLeaf(outputs[i]);
+			return ret;
+		}
+
+		//determine positions of outputs (last occurrence)
+		String[] parts = InstructionUtils.getInstructionPartsWithValueType(inst.toString());
+		int[] opos = new int[outputs.length];
+		int maxpos = 0;
+		for( int i=0; i<outputs.length; i++ ) {
+			for( int j=1; j<parts.length; j++ )
+				if( getOperandName(parts[j]).equals(outputs[i]) )
+					opos[i] = j;
+			if( opos[i] == 0 ) { //robustness unknown formats
+				for( int k=0; k<outputs.length; k++ )
+					ret[k] = LineageItem.createUniqueLeaf(outputs[k]);
+				return ret;
+			}
+			maxpos = Math.max(maxpos, opos[i]);
+		}
+
+		//construct data (non-operand parameters) and input lineage
+		StringBuilder sb = new StringBuilder();
+		ArrayList<LineageItem> inputs = new ArrayList<>();
+		for( int j=1; j<parts.length; j++ ) {
+			if( contains(opos, j) )
+				continue;
+			String part = parts[j];
+			if( part.contains(Instruction.VALUETYPE_PREFIX) )
+				inputs.add(getInput(new CPOperand(part), ec));
+			else if( j < maxpos || !UtilFunctions.isIntegerNumber(part) ) {
+				//non-operand parameters, except trailing thread counts
+				if( sb.length() > 0 )
+					sb.append(Instruction.OPERAND_DELIM);
+				sb.append(part);
+			}
+		}
+
+		//create output lineage items (w/ output index for multi-return)
+		String data = sb.toString();
+		LineageItem[] in = inputs.toArray(new LineageItem[0]);
+		for( int i=0; i<outputs.length; i++ )
+			ret[i] = new LineageItem(inst.getOpcode(), (outputs.length > 1) ?
+				data+Instruction.OPERAND_DELIM+i : data, in);
+		return ret;
+	}
+
+	private LineageItem getInput(CPOperand op, ExecutionContext ec) {
+		if( op.isLiteral() || ec.containsVariable(op.getName()) )
+			return get(op, ec);
+		//operands not bound in the symbol table
+		return LineageItem.createUniqueLeaf(op.getName());
+	}
+
+	private static boolean isNonDeterministic(Instruction inst) {
+		if( inst instanceof DataGenCPInstruction ) {
+			DataGenCPInstruction dinst = (DataGenCPInstruction) inst;
+			return dinst.getDataGenMethod() != DataGenMethod.SEQ
+				&& dinst.getSeed() == DataGenOp.UNSPECIFIED_SEED;
+		}
+		return false;
+	}
+
+	private static LineageItem createLiteral(ScalarObject so) {
+		return new LineageItem(LineageItem.LITERAL_OPCODE,
+			so.getStringValue()+Instruction.VALUETYPE_PREFIX+so.getValueType());
+	}
+
+	private static String getOperandName(String part) {
+		int pos = part.indexOf(Instruction.VALUETYPE_PREFIX);
+		return (pos >= 0) ? part.substring(0, pos) : part;
+	}
+
+	private static boolean contains(int[] positions, int pos) {
+		for( int p : positions )
+			if( p == pos )
+				return true;
+		return false;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		for( Entry<String, LineageEntry> e : _map.entrySet() )
+			sb.append(e.getKey()).append(": ").append(e.getValue().item).append("\n");
+		return sb.toString();
+	}
+
+	private static class LineageEntry {
+		private final LineageItem item;
+		private final Data data;
+
+		public LineageEntry(LineageItem li, Data dat) {
+			item = li;
+			data = dat;
+		}
+	}
+}
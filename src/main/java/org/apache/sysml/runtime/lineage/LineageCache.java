@@ -0,0 +1,436 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.lineage;
+
+import java.io.IOException;
+import java.util.HashMap;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.controlprogram.caching.CacheBlock;
+import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysml.runtime.controlprogram.caching.FrameObject;
+import org.apache.sysml.runtime.controlprogram.caching.LazyWriteBuffer;
+import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
+import org.apache.sysml.runtime.controlprogram.parfor.util.IDSequence;
+import org.apache.sysml.runtime.instructions.Instruction;
+import org.apache.sysml.runtime.instructions.cp.Data;
+import org.apache.sysml.runtime.instructions.cp.ScalarObject;
+import org.apache.sysml.runtime.instructions.cp.StringObject;
+import org.apache.sysml.runtime.lineage.LineageCacheConfig.ReuseCacheType;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+
+/**
+ * Bounded, process-wide cache of intermediates (matrix and frame blocks,
+ * and scalars) keyed by their lineage, which allows to skip the
+ * recomputation of deterministic operations.
+ *
+ * On a miss, the first requesting thread reserves a placeholder, while
+ * concurrent requests (e.g., from parfor workers) wait for its value.
+ * If the cache exceeds its budget, entries with the lowest compute time
+ * per byte, weighted by hits and recency, are evicted first. Evicted
+ * blocks whose compute time exceeds the estimated write and read time are
+ * spilled to the buffer pool's write buffer and restored on the next hit.
+ *
+ * Cached matrix and frame blocks are private to the cache and must never
+ * be modified in place: outputs are copied on put and on full reuse, because
+ * variables might be updated in place (e.g., left indexing in loops or parfor
+ * result variables), while blocks obtained via {@link #get(LineageItem)} are
+ * read-only.
+ *
+ */
+public class LineageCache
+{
+	private static final Log LOG = LogFactory.getLog(LineageCache.class.getName());
+
+	private static final HashMap<LineageItem, Entry> _cache = new HashMap<>();
+	private static final IDSequence _spillSeq = new IDSequence();
+	private static long _size = 0;  //in-memory size of cached values
+	private static long _clock = 0; //logical time of accesses
+
+	/**
+	 * Executes the given instruction, unless all outputs can be obtained via
+	 * full or partial reuse, and caches the outputs of reusable operations.
+	 * On reuse, the given lineage items are replaced by the cached keys.
+	 *
+	 * @param inst instruction
+	 * @param outputs output variable names
+	 * @param items lineage items of outputs
+	 * @param ec execution context
+	 */
+	public static void processInstruction(Instruction inst, String[] outputs, LineageItem[] items, ExecutionContext ec) {
+		ReuseCacheType type = LineageCacheConfig.getCacheType();
+		if( !type.isReuse() || !LineageCacheConfig.isReusable(inst) ) {
+			inst.processInstruction(ec);
+			return;
+		}
+
+		//probe cache for full reuse (w/ placeholder for single outputs)
+		boolean[] reserved = new boolean[1];
+		if( type.isFullReuse() ) {
+			Object[] vals = new Object[items.length];
+			boolean hit = true;
+			for( int i=0; i<items.length && hit; i++ )
+				hit = (vals[i] = reuse(items, i, items.length==1, reserved)) != null;
+			if( hit ) {
+				for( int i=0; i<items.length; i++ )
+					setOutput(ec, outputs[i], copy(vals[i]));
+				if( ConfigurationManager.isStatistics() )
+					LineageCacheStatistics.incrementMemHits();
+				return;
+			}
+		}
+
+		//compute outputs via partial reuse or instruction execution
+		try {
+			long t0 = System.nanoTime();
+			MatrixBlock out = (type.isPartialReuse() && LineageCacheConfig.isPartialReusable(inst)) ?
+				LineagePartialReuse.reuse(inst, items[0], ec) : null;
+			if( out != null )
+				ec.setMatrixOutput(outputs[0], out);
+			else
+				inst.processInstruction(ec);
+			long t1 = System.nanoTime();
+			if( ConfigurationManager.isStatistics() ) {
+				if( out != null )
+					LineageCacheStatistics.incrementPartialHits();
+				else
+					LineageCacheStatistics.incrementMisses();
+			}
+
+			//put outputs into cache (even share of compute time)
+			for( int i=0; i<items.length; i++ )
+				put(items[i], getOutput(ec, outputs[i]), (t1-t0)/items.length);
+		}
+		finally {
+			//release placeholder on errors or non-cacheable outputs
+			if( reserved[0] )
+				abort(items[0]);
+		}
+	}
+
+	public static boolean probe(LineageItem key) {
+		synchronized( _cache ) {
+			Entry e = _cache.get(key);
+			return e != null && !e.isPending();
+		}
+	}
+
+	/**
+	 * Obtains the value of a cached (or spilled) intermediate without
+	 * waiting for pending computations, e.g., for partial reuse.
+	 * The returned matrix or frame block is shared with the cache
+	 * and hence, must not be modified.
+	 *
+	 * @param key lineage item
+	 * @return cached value or null
+	 */
+	public static Object get(LineageItem key) {
+		synchronized( _cache ) {
+			Entry e = _cache.get(key);
+			return (e != null && !e.isPending()) ? access(e) : null;
+		}
+	}
+
+	public static int getNumEntries() {
+		synchronized( _cache ) {
+			return _cache.size();
+		}
+	}
+
+	public static long getSize() {
+		synchronized( _cache ) {
+			return _size;
+		}
+	}
+
+	public static void resetCache() {
+		synchronized( _cache ) {
+			if( CacheableData.isCachingActive() )
+				for( Entry e : _cache.values() )
+					if( e.isSpilled() )
+						LazyWriteBuffer.deleteBlock(e._spillFile);
+			_cache.clear();
+			_size = 0;
+			_clock = 0;
+		}
+	}
+
+	private static Object reuse(LineageItem[] items, int i, boolean reserve, boolean[] reserved) {
+		Entry e = null;
+		synchronized( _cache ) {
+			e = _cache.get(items[i]);
+			if( e == null ) {
+				if( reserve )
+					_cache.put(items[i], new Entry(items[i]));
+				reserved[0] = reserve;
+				return null;
+			}
+		}
+
+		//wait for concurrent computation of the same intermediate
+		e.waitForValue();
+
+		synchronized( _cache ) {
+			if( e.isPending() || _cache.get(items[i]) != e )
+				return null; //aborted or evicted
+			items[i] = e._key;
+			if( ConfigurationManager.isStatistics() )
+				LineageCacheStatistics.incrementSavedComputeTime(e._computeTime);
+			return access(e);
+		}
+	}
+
+	private static void put(LineageItem key, Object value, long computeTime) {
+		long limit = LineageCacheConfig.getCacheLimit();
+		long size = (value != null) ? getSize(value) : -1;
+		if( value == null || size > limit ) {
+			if( LOG.isTraceEnabled() )
+				LOG.trace("Skipped lineage cache put of " + key + " (size="+size+").");
+			return; //placeholders removed on abort
+		}
+		
+		//copy outside the cache lock (output variable might be updated in place)
+		Object cvalue = copy(value);
+		synchronized( _cache ) {
+			Entry e = _cache.get(key);
+			if( e == null )
+				_cache.put(key, e = new Entry(key));
+			else if( !e.isPending() )
+				return; //concurrently computed
+			makeSpace(size, limit);
+			_size += size;
+			e.setValue(cvalue, size, computeTime, ++_clock);
+			if( ConfigurationManager.isStatistics() )
+				LineageCacheStatistics.incrementWrites();
+		}
+	}
+
+	private static void abort(LineageItem key) {
+		synchronized( _cache ) {
+			Entry e = _cache.get(key);
+			if( e != null && e.isPending() ) {
+				_cache.remove(key);
+				e.setRemoved();
+			}
+		}
+	}
+
+	//note: all methods below require the cache lock
+
+	private static Object access(Entry e) {
+		if( e.isSpilled() ) {
+			//restore spilled block into memory
+			try {
+				CacheBlock cb = LazyWriteBuffer.readBlock(e._spillFile, e._matrix);
+				LazyWriteBuffer.deleteBlock(e._spillFile);
+				makeSpace(e._size, LineageCacheConfig.getCacheLimit());
+				_size += e._size;
+				e.setRestored(cb);
+				if( ConfigurationManager.isStatistics() )
+					LineageCacheStatistics.incrementFSHits();
+			}
+			catch(IOException ex) {
+				throw new DMLRuntimeException("Failed to restore spilled lineage cache entry.", ex);
+			}
+		}
+		e._hits++;
+		e._lastAccess = ++_clock;
+		return e._value;
+	}
+
+	private static void makeSpace(long size, long limit) {
+		while( _size + size > limit ) {
+			//determine entry with lowest score
+			Entry victim = null;
+			double minScore = Double.MAX_VALUE;
+			for( Entry e : _cache.values() ) {
+				if( !e.isCached() )
+					continue;
+				double score = e.getScore(_clock, _cache.size());
+				if( score < minScore ) {
+					minScore = score;
+					victim = e;
+				}
+			}
+			if( victim == null )
+				break;
+			evict(victim);
+		}
+	}
+
+	private static void evict(Entry e) {
+		_size -= e._size;
+		if( e._value instanceof CacheBlock && CacheableData.isCachingActive() && e.isSpillBeneficial() ) {
+			String fname = getSpillFileName();
+			try {
+				LazyWriteBuffer.writeBlock(fname, (CacheBlock)e._value);
+				e.setSpilled(fname);
+				if( ConfigurationManager.isStatistics() )
+					LineageCacheStatistics.incrementSpills();
+				return;
+			}
+			catch(IOException ex) {
+				throw new DMLRuntimeException("Failed to spill lineage cache entry.", ex);
+			}
+		}
+		_cache.remove(e._key);
+		if( ConfigurationManager.isStatistics() )
+			LineageCacheStatistics.incrementEvictions();
+	}
+
+	private static String getSpillFileName() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(CacheableData.cacheEvictionLocalFilePath);
+		sb.append(CacheableData.cacheEvictionLocalFilePrefix);
+		sb.append("lin");
+		sb.append(String.format("%09d", _spillSeq.getNextID()));
+		sb.append(CacheableData.CACHING_EVICTION_FILEEXTENSION);
+		return sb.toString();
+	}
+
+	private static Object copy(Object value) {
+		//deep copy of blocks, scalars are immutable
+		if( value instanceof MatrixBlock )
+			return new MatrixBlock((MatrixBlock)value);
+		else if( value instanceof FrameBlock )
+			return new FrameBlock((FrameBlock)value);
+		return value;
+	}
+
+	private static Object getOutput(ExecutionContext ec, String varname) {
+		Data dat = ec.getVariable(varname);
+		if( dat instanceof MatrixObject ) {
+			MatrixObject mo = (MatrixObject) dat;
+			MatrixBlock mb = mo.acquireRead();
+			mo.release();
+			return mb;
+		}
+		else if( dat instanceof FrameObject ) {
+			FrameObject fo = (FrameObject) dat;
+			FrameBlock fb = fo.acquireRead();
+			fo.release();
+			return fb;
+		}
+		return (dat instanceof ScalarObject) ? dat : null;
+	}
+
+	private static void setOutput(ExecutionContext ec, String varname, Object value) {
+		if( value instanceof MatrixBlock )
+			ec.setMatrixOutput(varname, (MatrixBlock)value);
+		else if( value instanceof FrameBlock )
+			ec.setFrameOutput(varname, (FrameBlock)value);
+		else
+			ec.setScalarOutput(varname, (ScalarObject)value);
+	}
+
+	private static long getSize(Object value) {
+		if( value instanceof CacheBlock )
+			return ((CacheBlock)value).getInMemorySize();
+		return (value instanceof StringObject) ?
+			64 + 2 * ((StringObject)value).getStringValue().length() : 64;
+	}
+
+	private static class Entry
+	{
+		private enum Status {
+			PENDING, CACHED, SPILLED, REMOVED
+		}
+
+		private final LineageItem _key;
+		private volatile Status _status = Status.PENDING;
+		private Object _value = null; //matrix/frame block or scalar
+		private boolean _matrix = false;
+		private long _size = 0;
+		private long _computeTime = 0; //in nano sec
+		private long _lastAccess = 0;
+		private long _hits = 0;
+		private String _spillFile = null;
+
+		public Entry(LineageItem key) {
+			_key = key;
+		}
+
+		public boolean isPending() {
+			return _status == Status.PENDING;
+		}
+
+		public boolean isCached() {
+			return _status == Status.CACHED;
+		}
+
+		public boolean isSpilled() {
+			return _status == Status.SPILLED;
+		}
+
+		public synchronized void setValue(Object value, long size, long computeTime, long clock) {
+			_value = value;
+			_matrix = value instanceof MatrixBlock;
+			_size = size;
+			_computeTime = computeTime;
+			_lastAccess = clock;
+			_status = Status.CACHED;
+			notifyAll();
+		}
+
+		public synchronized void setRemoved() {
+			_status = Status.REMOVED;
+			notifyAll();
+		}
+
+		public void setSpilled(String fname) {
+			_value = null;
+			_spillFile = fname;
+			_status = Status.SPILLED;
+		}
+
+		public void setRestored(CacheBlock cb) {
+			_value = cb;
+			_spillFile = null;
+			_status = Status.CACHED;
+		}
+
+		public synchronized void waitForValue() {
+			try {
+				while( _status == Status.PENDING )
+					wait();
+			}
+			catch(InterruptedException ex) {
+				throw new DMLRuntimeException(ex);
+			}
+		}
+
+		public double getScore(long clock, int numEntries) {
+			//compute time per byte, weighted by hits and decayed by age
+			double age = (double)(clock - _lastAccess) / numEntries;
+			return (double)_computeTime / _size * (1 + _hits) / (1 + age);
+		}
+
+		public boolean isSpillBeneficial() {
+			double mb = (double)_size / 1024 / 1024;
+			double ioTime = mb / LineageCacheConfig.FSWRITE_MBS + mb / LineageCacheConfig.FSREAD_MBS;
+			return _computeTime / 1e9 > ioTime;
+		}
+	}
+}
@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.lineage;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.apache.sysml.lops.Append;
+import org.apache.sysml.lops.RightIndex;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
+import org.apache.sysml.runtime.instructions.Instruction;
+import org.apache.sysml.runtime.instructions.cp.ScalarAppendCPInstruction;
+
+/**
+ * Configuration of lineage tracing and the lineage-based reuse cache
+ * (see DMLConfig sysml.lineage and sysml.lineage.cacheSize).
+ *
+ */
+public class LineageCacheConfig
+{
+	public enum ReuseCacheType {
+		NONE,    //no lineage tracing
+		TRACE,   //lineage tracing w/o reuse
+		FULL,    //reuse of entire intermediates
+		PARTIAL, //reuse via compensation plans over cached intermediates
+		HYBRID;  //full and partial reuse
+
+		public boolean isTracing() {
+			return this != NONE;
+		}
+
+		public boolean isFullReuse() {
+			return this == FULL || this == HYBRID;
+		}
+
+		public boolean isPartialReuse() {
+			return this == PARTIAL || this == HYBRID;
+		}
+
+		public boolean isReuse() {
+			return isFullReuse() || isPartialReuse();
+		}
+	}
+
+	//deterministic and compute-intensive operations whose outputs are cached
+	//(excluded: cheap cell-wise ops, in-place left indexing, and data generation)
+	private static final HashSet<String> REUSE_OPCODES = new HashSet<>(Arrays.asList(
+		"tsmm", "ba+*", "mmchain", "r'", "solve", "inverse", "cholesky",
+		Append.OPCODE, RightIndex.OPCODE, "transformencode",
+		"uak+", "uark+", "uack+", "uasqk+", "uarsqk+", "uacsqk+",
+		"uamean", "uarmean", "uacmean", "uavar", "uarvar", "uacvar",
+		"uamax", "uarmax", "uacmax", "uamin", "uarmin", "uacmin"));
+
+	//operations with compensation plans for partial reuse
+	private static final HashSet<String> PARTIAL_OPCODES = new HashSet<>(Arrays.asList("tsmm"));
+
+	//local write and read bandwidth in MB/s for spill decisions
+	//(consistent with the defaults of the static cost model)
+	protected static final double FSWRITE_MBS = 150;
+	protected static final double FSREAD_MBS = 200;
+
+	private static ReuseCacheType _cacheType = ReuseCacheType.NONE;
+	private static long _cacheLimit = 0; //in bytes
+
+	public static void setConfig(String type, double cacheSize) {
+		try {
+			_cacheType = ReuseCacheType.valueOf(type.trim().toUpperCase());
+		}
+		catch(IllegalArgumentException ex) {
+			throw new DMLRuntimeException("Invalid lineage reuse type: " + type);
+		}
+		if( cacheSize < 0 || cacheSize > 1 )
+			throw new DMLRuntimeException("Invalid lineage cache size: " + cacheSize);
+		_cacheLimit = (long)(cacheSize * InfrastructureAnalyzer.getLocalMaxMemory());
+	}
+
+	public static void setCacheType(ReuseCacheType type) {
+		_cacheType = type;
+	}
+
+	public static ReuseCacheType getCacheType() {
+		return _cacheType;
+	}
+
+	public static boolean isTracing() {
+		return _cacheType.isTracing();
+	}
+
+	public static long getCacheLimit() {
+		return _cacheLimit;
+	}
+
+	public static boolean isReusable(Instruction inst) {
+		return REUSE_OPCODES.contains(inst.getOpcode())
+			&& !(inst instanceof ScalarAppendCPInstruction);
+	}
+
+	public static boolean isPartialReusable(Instruction inst) {
+		return PARTIAL_OPCODES.contains(inst.getOpcode());
+	}
+}
@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.lineage;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This singleton provides basic statistics of the lineage cache, i.e.,
+ * hits (mem, fs, partial), misses, writes, evictions, spills, and the
+ * saved compute time of reused intermediates.
+ *
+ */
+public class LineageCacheStatistics
+{
+	private static final LongAdder _numHitsMem      = new LongAdder();
+	private static final LongAdder _numHitsFS       = new LongAdder();
+	private static final LongAdder _numHitsPartial  = new LongAdder();
+	private static final LongAdder _numMisses       = new LongAdder();
+	private static final LongAdder _numWrites       = new LongAdder();
+	private static final LongAdder _numEvictions    = new LongAdder();
+	private static final LongAdder _numSpills       = new LongAdder();
+	private static final LongAdder _ctimeSaved      = new LongAdder(); //in nano sec
+
+	public static void reset() {
+		_numHitsMem.reset();
+		_numHitsFS.reset();
+		_numHitsPartial.reset();
+		_numMisses.reset();
+		_numWrites.reset();
+		_numEvictions.reset();
+		_numSpills.reset();
+		_ctimeSaved.reset();
+	}
+
+	public static void incrementMemHits() {
+		_numHitsMem.increment();
+	}
+
+	public static long getMemHits() {
+		return _numHitsMem.longValue();
+	}
+
+	public static void incrementFSHits() {
+		_numHitsFS.increment();
+	}
+
+	public static long getFSHits() {
+		return _numHitsFS.longValue();
+	}
+
+	public static void incrementPartialHits() {
+		_numHitsPartial.increment();
+	}
+
+	public static long getPartialHits() {
+		return _numHitsPartial.longValue();
+	}
+
+	public static void incrementMisses() {
+		_numMisses.increment();
+	}
+
+	public static long getMisses() {
+		return _numMisses.longValue();
+	}
+
+	public static void incrementWrites() {
+		_numWrites.increment();
+	}
+
+	public static long getWrites() {
+		return _numWrites.longValue();
+	}
+
+	public static void incrementEvictions() {
+		_numEvictions.increment();
+	}
+
+	public static long getEvictions() {
+		return _numEvictions.longValue();
+	}
+
+	public static void incrementSpills() {
+		_numSpills.increment();
+	}
+
+	public static long getSpills() {
+		return _numSpills.longValue();
+	}
+
+	public static void incrementSavedComputeTime(long delta) {
+		_ctimeSaved.add(delta);
+	}
+
+	public static long getSavedComputeTime() {
+		return _ctimeSaved.longValue();
+	}
+
+	public static String displayHits() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(_numHitsMem.longValue());
+		sb.append("/");
+		sb.append(_numHitsFS.longValue());
+		sb.append("/");
+		sb.append(_numHitsPartial.longValue());
+		sb.append("/");
+		sb.append(_numMisses.longValue());
+		return sb.toString();
+	}
+
+	public static String displayWrites() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(_numWrites.longValue());
+		sb.append("/");
+		sb.append(_numEvictions.longValue());
+		sb.append("/");
+		sb.append(_numSpills.longValue());
+		return sb.toString();
+	}
+
+	public static String displaySavedTime() {
+		return String.format("%.3f", ((double)_ctimeSaved.longValue())/1000000000);
+	}
+}
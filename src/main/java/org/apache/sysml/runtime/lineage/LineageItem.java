@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.lineage;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+
+import org.apache.sysml.runtime.controlprogram.parfor.util.IDSequence;
+
+/**
+ * Immutable node of a lineage DAG, which describes how an intermediate
+ * was computed, i.e., by an opcode, non-operand instruction parameters
+ * (data), and the lineage items of its inputs. Leaf items represent
+ * literals, persistent reads, or data of unknown origin. Lineage items
+ * are compared by value (i.e., the entire DAG) and thus can be used as
+ * keys of the lineage cache; the hash code is computed once on
+ * construction from the hashes of the inputs.
+ *
+ */
+public class LineageItem
+{
+	public static final String LITERAL_OPCODE = "lit";
+	public static final String READ_OPCODE = "read";
+	public static final String UNKNOWN_OPCODE = "var";
+
+	private static final IDSequence _idSeq = new IDSequence();
+	private static final LineageItem[] EMPTY = new LineageItem[0];
+
+	private final long _id;
+	private final String _opcode;
+	private final String _data;
+	private final LineageItem[] _inputs;
+	private final int _hash;
+
+	public LineageItem(String opcode, String data) {
+		this(opcode, data, EMPTY);
+	}
+
+	public LineageItem(String opcode, String data, LineageItem[] inputs) {
+		_id = _idSeq.getNextID();
+		_opcode = opcode;
+		_data = data;
+		_inputs = inputs;
+		_hash = computeHash();
+	}
+
+	/**
+	 * Creates a leaf item that is only equal to itself, which is used for
+	 * data of unknown origin and outputs of non-deterministic operations.
+	 *
+	 * @param descr description (e.g., variable name) for debugging
+	 * @return unique lineage item
+	 */
+	public static LineageItem createUniqueLeaf(String descr) {
+		return createUniqueLeaf(UNKNOWN_OPCODE, descr);
+	}
+
+	public static LineageItem createUniqueLeaf(String opcode, String descr) {
+		return new LineageItem(opcode, descr+"#"+_idSeq.getNextID());
+	}
+
+	public long getId() {
+		return _id;
+	}
+
+	public String getOpcode() {
+		return _opcode;
+	}
+
+	public String getData() {
+		return _data;
+	}
+
+	public LineageItem[] getInputs() {
+		return _inputs;
+	}
+
+	public boolean isLeaf() {
+		return _inputs.length == 0;
+	}
+
+	@Override
+	public int hashCode() {
+		return _hash;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if( this == o )
+			return true;
+		if( !(o instanceof LineageItem) )
+			return false;
+		return equalsDAG(this, (LineageItem)o);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("(").append(_id).append(") ");
+		sb.append(_opcode).append(" ").append(_data);
+		for( LineageItem in : _inputs )
+			sb.append(" (").append(in._id).append(")");
+		return sb.toString();
+	}
+
+	private int computeHash() {
+		int h = 31 * _opcode.hashCode() + _data.hashCode();
+		for( LineageItem in : _inputs )
+			h = 31 * h + in._hash;
+		return h;
+	}
+
+	/**
+	 * Non-recursive comparison of two lineage DAGs, which avoids stack overflows
+	 * for long lineage chains (e.g., of iterative algorithms) and redundant
+	 * comparisons of shared sub-DAGs.
+	 *
+	 * @param a lineage item
+	 * @param b lineage item
+	 * @return true if both DAGs are equal
+	 */
+	private static boolean equalsDAG(LineageItem a, LineageItem b) {
+		IdentityHashMap<LineageItem, LineageItem> memo = new IdentityHashMap<>();
+		Deque<LineageItem> stack = new ArrayDeque<>();
+		stack.push(a);
+		stack.push(b);
+		while( !stack.isEmpty() ) {
+			LineageItem y = stack.pop();
+			LineageItem x = stack.pop();
+			if( x == y || memo.get(x) == y )
+				continue;
+			if( x._hash != y._hash || x._inputs.length != y._inputs.length
+				|| !x._opcode.equals(y._opcode) || !x._data.equals(y._data) )
+				return false;
+			memo.put(x, y);
+			for( int i=0; i<x._inputs.length; i++ ) {
+				stack.push(x._inputs[i]);
+				stack.push(y._inputs[i]);
+			}
+		}
+		return true;
+	}
+}
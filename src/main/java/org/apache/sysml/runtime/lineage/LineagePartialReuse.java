@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.lineage;
+
+import org.apache.sysml.lops.Append;
+import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
+import org.apache.sysml.runtime.functionobjects.Plus;
+import org.apache.sysml.runtime.instructions.Instruction;
+import org.apache.sysml.runtime.instructions.InstructionUtils;
+import org.apache.sysml.runtime.instructions.cp.MMTSJCPInstruction;
+import org.apache.sysml.runtime.matrix.data.LibMatrixReorg;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
+
+/**
+ * Partial reuse of cached intermediates via compensation plans, which
+ * compute the output of an operation from a cached intermediate of a
+ * related operation and a small delta. Currently, this covers tsmm over
+ * appended inputs, where the tsmm of the first input is cached:
+ *
+ * <ul>
+ *   <li>t(cbind(X,dX)) %*% cbind(X,dX) = [t(X)%*%X, t(X)%*%dX; t(dX)%*%X, t(dX)%*%dX]</li>
+ *   <li>t(rbind(X,dX)) %*% rbind(X,dX) = t(X)%*%X + t(dX)%*%dX</li>
+ * </ul>
+ * and, symmetrically, right tsmm (i.e., X %*% t(X)) with swapped roles
+ * of cbind and rbind.
+ *
+ */
+public class LineagePartialReuse
+{
+	/**
+	 * Computes the output of the given instruction via partial reuse.
+	 *
+	 * @param inst instruction
+	 * @param item lineage item of the output
+	 * @param ec execution context
+	 * @return output block, or null if no partial reuse applies
+	 */
+	public static MatrixBlock reuse(Instruction inst, LineageItem item, ExecutionContext ec) {
+		if( !(inst instanceof MMTSJCPInstruction) )
+			return null;
+		MMTSJCPInstruction tinst = (MMTSJCPInstruction) inst;
+
+		//probe for tsmm over the first input of an append
+		LineageItem in = item.getInputs()[0];
+		if( !in.getOpcode().equals(Append.OPCODE) || in.getInputs().length != 3
+			|| !in.getInputs()[2].getOpcode().equals(LineageItem.LITERAL_OPCODE) )
+			return null;
+		LineageItem key = new LineageItem(item.getOpcode(), item.getData(),
+			new LineageItem[]{in.getInputs()[0]});
+		Object cached = LineageCache.get(key);
+		if( !(cached instanceof MatrixBlock) )
+			return null;
+
+		MatrixBlock tsmmX = (MatrixBlock) cached;
+		boolean cbind = Boolean.parseBoolean(in.getData());
+		boolean left = tinst.getMMTSJType().isLeft();
+		int offset = (int) getLiteralValue(in.getInputs()[2]);
+		String varname = tinst.input1.getName();
+		MatrixBlock Z = ec.getMatrixInput(varname, inst.getExtendedOpcode());
+		try {
+			//check dimensions of cached intermediate and delta
+			int m = left ? Z.getNumColumns() : Z.getNumRows();
+			int len = cbind ? Z.getNumColumns() : Z.getNumRows();
+			if( offset <= 0 || offset >= len )
+				return null;
+			boolean assemble = (cbind == left);
+			if( tsmmX.getNumRows() != (assemble ? offset : m) )
+				return null;
+
+			//split input into X and dX
+			int rlen = Z.getNumRows(), clen = Z.getNumColumns();
+			MatrixBlock X = cbind ? Z.slice(0, rlen-1, 0, offset-1, new MatrixBlock()) :
+				Z.slice(0, offset-1, 0, clen-1, new MatrixBlock());
+			MatrixBlock dX = cbind ? Z.slice(0, rlen-1, offset, clen-1, new MatrixBlock()) :
+				Z.slice(offset, rlen-1, 0, clen-1, new MatrixBlock());
+			int k = tinst.getNumThreads();
+			MatrixBlock tsmmDX = dX.transposeSelfMatrixMultOperations(new MatrixBlock(), tinst.getMMTSJType(), k);
+
+			//sum of tsmm over row (left) or column (right) partitions
+			if( !assemble ) {
+				BinaryOperator plus = new BinaryOperator(Plus.getPlusFnObject());
+				return (MatrixBlock) tsmmX.binaryOperations(plus, tsmmDX, new MatrixBlock());
+			}
+
+			//assemble blocks of tsmm over column (left) or row (right) partitions
+			MatrixBlock m1 = left ? transpose(X, k) : X;
+			MatrixBlock m2 = left ? dX : transpose(dX, k);
+			MatrixBlock cross = m1.aggregateBinaryOperations(m1, m2,
+				new MatrixBlock(), InstructionUtils.getMatMultOperator(k));
+			MatrixBlock crossT = transpose(cross, k);
+			MatrixBlock ret = new MatrixBlock(m, m, false);
+			ret.allocateDenseBlock();
+			ret.copy(0, offset-1, 0, offset-1, tsmmX, false);
+			ret.copy(0, offset-1, offset, m-1, cross, false);
+			ret.copy(offset, m-1, 0, offset-1, crossT, false);
+			ret.copy(offset, m-1, offset, m-1, tsmmDX, false);
+			ret.recomputeNonZeros();
+			ret.examSparsity();
+			return ret;
+		}
+		finally {
+			ec.releaseMatrixInput(varname, inst.getExtendedOpcode());
+		}
+	}
+
+	private static MatrixBlock transpose(MatrixBlock in, int k) {
+		return LibMatrixReorg.transpose(in, new MatrixBlock(
+			in.getNumColumns(), in.getNumRows(), in.isInSparseFormat()), k);
+	}
+
+	private static double getLiteralValue(LineageItem li) {
+		String data = li.getData();
+		int pos = data.indexOf(Instruction.VALUETYPE_PREFIX);
+		try {
+			return Double.parseDouble((pos >= 0) ? data.substring(0, pos) : data);
+		}
+		catch(NumberFormatException ex) {
+			return -1;
+		}
+	}
+}
@@ -40,7 +40,7 @@ import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.controlprogram.caching.CacheBlock;
 import org.apache.sysml.runtime.io.IOUtilFunctions;
-import org.apache.sysml.runtime.transform.encode.EncoderRecode;
+import org.apache.sysml.runtime.transform.meta.RecodeMap;
 import org.apache.sysml.runtime.util.IndexRange;
 import org.apache.sysml.runtime.util.UtilFunctions;
 
@@ -54,6 +54,13 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 	//internal configuration
 	private static final boolean REUSE_RECODE_MAPS = true;
 	
+	//compact columns on read, i.e., dictionary-encoded strings, 
+	//bitset booleans and int32 integers where applicable
+	public static boolean COMPACT_COLUMNS = true;
+	
+	//maximum ratio of distinct values to rows for dictionary encoding
+	private static final double DICT_MAX_DISTINCT_RATIO = 0.5;
+	
 	/** The number of rows of the FrameBlock */
 	private int _numRows = -1;
 	
@@ -315,6 +322,71 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 			|| _colnames[i].equals("C"+(i+1));
 	}
 
+	/**
+	 * Converts the column data into compact representations where applicable:
+	 * string columns with few distinct values into dictionary-encoded columns
+	 * (int codes and unique values), boolean columns into bitsets, and integer
+	 * columns with values in the int32 range into int arrays. The schema and
+	 * the values returned by get are unchanged.
+	 * 
+	 * @return this frame block
+	 */
+	public FrameBlock compactColumns() {
+		if( _coldata == null )
+			return this;
+		for( int j=0; j<_coldata.length; j++ ) {
+			Array arr = null;
+			if( _coldata[j] instanceof StringArray )
+				arr = DictStringArray.create((StringArray)_coldata[j],
+					(int)Math.max(DICT_MAX_DISTINCT_RATIO * _numRows, 1));
+			else if( _coldata[j] instanceof BooleanArray )
+				arr = new BitSetArray((BooleanArray)_coldata[j]);
+			else if( _coldata[j] instanceof LongArray )
+				arr = IntegerArray.create((LongArray)_coldata[j]);
+			if( arr != null )
+				_coldata[j] = arr;
+		}
+		return this;
+	}
+	
+	/**
+	 * Indicates if the given column is dictionary-encoded, in which case
+	 * consumers such as transform encoders can directly operate on the
+	 * codes and distinct values.
+	 * 
+	 * @param c column index, 0-based
+	 * @return true if dictionary-encoded string column
+	 */
+	public boolean isDictionaryEncoded(int c) {
+		return _coldata != null && _coldata[c] instanceof DictStringArray;
+	}
+	
+	/**
+	 * Returns the codes of a dictionary-encoded column, where code 0 
+	 * represents null and codes 1..n refer to the dictionary values.
+	 * 
+	 * @param c column index, 0-based
+	 * @return array of codes (at least of length number of rows)
+	 */
+	public int[] getDictionaryCodes(int c) {
+		return ((DictStringArray)_coldata[c])._codes;
+	}
+	
+	/**
+	 * Returns the distinct values of a dictionary-encoded column, where
+	 * code i refers to the value at position i-1.
+	 * 
+	 * @param c column index, 0-based
+	 * @return array of distinct values (at least of length dictionary size)
+	 */
+	public String[] getDictionary(int c) {
+		return ((DictStringArray)_coldata[c])._dict;
+	}
+	
+	public int getDictionarySize(int c) {
+		return ((DictStringArray)_coldata[c])._ndict;
+	}
+	
 	public void recomputeColumnCardinality() {
 		for( int j=0; j<getNumColumns(); j++ ) {
 			int card = 0;
@@ -487,6 +559,9 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 	}
 
 	public Object getColumnData(int c) {
+		//note: compact columns are materialized in place into default
+		//arrays, so writes through the returned array remain visible
+		_coldata[c] = _coldata[c].toDefaultArray();
 		switch(_schema[c]) {
 			case STRING:  return ((StringArray)_coldata[c])._data; 
 			case BOOLEAN: return ((BooleanArray)_coldata[c])._data;
@@ -625,7 +700,7 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 		out.writeBoolean(isDefaultMeta);
 		//write columns (value type, data)
 		for( int j=0; j<getNumColumns(); j++ ) {
-			out.writeByte(_schema[j].ordinal());
+			out.writeByte(_schema[j].ordinal() | (_coldata[j].getArrayType() << 4));
 			if( !isDefaultMeta ) {
 				out.writeUTF(getColumnName(j));
 				out.writeLong(_colmeta[j].getNumDistinct());
@@ -653,15 +728,19 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 				_coldata : new Array[numCols];
 		//read columns (value type, meta, data)
 		for( int j=0; j<numCols; j++ ) {
-			ValueType vt = ValueType.values()[in.readByte()];
+			byte type = in.readByte(); //value type and array type
+			ValueType vt = ValueType.values()[type & 0x0F];
 			String name = isDefaultMeta ? createColName(j) : in.readUTF();
 			long ndistinct = isDefaultMeta ? 0 : in.readLong();
 			String mvvalue = isDefaultMeta ? null : in.readUTF();
 			Array arr = null;
 			switch( vt ) {
-				case STRING:  arr = new StringArray(new String[_numRows]); break;
-				case BOOLEAN: arr = new BooleanArray(new boolean[_numRows]); break;
-				case INT:     arr = new LongArray(new long[_numRows]); break;
+				case STRING:  arr = ((type >>> 4) == DictStringArray.TYPE) ? 
+					new DictStringArray(_numRows) : new StringArray(new String[_numRows]); break;
+				case BOOLEAN: arr = ((type >>> 4) == BitSetArray.TYPE) ? 
+					new BitSetArray(_numRows) : new BooleanArray(new boolean[_numRows]); break;
+				case INT:     arr = ((type >>> 4) == IntegerArray.TYPE) ? 
+					new IntegerArray(new int[_numRows]) : new LongArray(new long[_numRows]); break;
 				case DOUBLE:  arr = new DoubleArray(new double[_numRows]); break;
 				default: throw new IOException("Unsupported value type: "+vt);
 			}
@@ -713,17 +792,12 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 		//data array (overhead and entries)
 		size += 8 + 32 + clen * (16+4+8+32);
 		for( int j=0; j<clen; j++ ) {
-			switch( _schema[j] ) {
-				case BOOLEAN: size += _numRows; break;
-				case INT:
-				case DOUBLE: size += 8*_numRows; break;
-				case STRING: 
-					StringArray arr = (StringArray)_coldata[j];
-					for( int i=0; i<_numRows; i++ )
-						size += getInMemoryStringSize(arr.get(i));
-					break;
-				default: //not applicable	
-			}
+			if( _coldata != null && _coldata[j] != null )
+				size += _coldata[j].getInMemorySize();
+			else if( _schema[j] == ValueType.BOOLEAN )
+				size += _numRows;
+			else if( _schema[j] != ValueType.STRING )
+				size += 8*_numRows;
 		}
 		
 		return size;
@@ -744,17 +818,7 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 				size += 8;
 				size += IOUtilFunctions.getUTFSize(_colmeta[j].getMvValue());
 			}
-			switch( _schema[j] ) {
-				case BOOLEAN: size += _numRows; break;
-				case INT:
-				case DOUBLE: size += 8*_numRows; break;
-				case STRING: 
-					StringArray arr = (StringArray)_coldata[j];
-					for( int i=0; i<_numRows; i++ )
-						size += IOUtilFunctions.getUTFSize(arr.get(i));
-					break;
-				default: //not applicable	
-			}
+			size += _coldata[j].getExactSerializedSize();
 		}
 		
 		return size;
@@ -769,9 +833,10 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 	public boolean isShallowSerialize(boolean inclConvert) {
 		//shallow serialize if non-string schema because a frame block
 		//is always dense but strings have large array overhead per cell
+		//(except for dictionary-encoded columns with few distinct values)
 		boolean ret = true;
 		for( int j=0; j<_schema.length && ret; j++ )
-			ret &= (_schema[j] != ValueType.STRING);
+			ret &= (_schema[j] != ValueType.STRING || isDictionaryEncoded(j));
 		return ret;
 	}
 	
@@ -1057,24 +1122,16 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 	 * @param col	is the column # from frame data which contains Recode map generated earlier.
 	 * @return map of token and code for every element in the input column of a frame containing Recode map
 	 */
-	public HashMap<String,Long> getRecodeMap(int col) {
+	public RecodeMap getRecodeMap(int col) {
 		//probe cache for existing map
 		if( REUSE_RECODE_MAPS ) {
-			SoftReference<HashMap<String,Long>> tmp = _coldata[col]._rcdMapCache;
-			HashMap<String,Long> map = (tmp!=null) ? tmp.get() : null;
+			SoftReference<RecodeMap> tmp = _coldata[col]._rcdMapCache;
+			RecodeMap map = (tmp!=null) ? tmp.get() : null;
 			if( map != null ) return map;
 		}
 		
 		//construct recode map
-		HashMap<String,Long> map = new HashMap<>();
-		Array ldata = _coldata[col]; 
-		for( int i=0; i<getNumRows(); i++ ) {
-			Object val = ldata.get(i);
-			if( val != null ) {
-				String[] tmp = EncoderRecode.splitRecodeMapEntry(val.toString());
-				map.put(tmp[0], Long.parseLong(tmp[1]));
-			}
-		}
+		RecodeMap map = RecodeMap.fromMetaData(this, col);
 		
 		//put created map into cache
 		if( REUSE_RECODE_MAPS )
@@ -1280,7 +1337,7 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 	 * in order to avoid unnecessary dependencies.
 	 */
 	private abstract static class Array<T> implements Writable {
-		protected SoftReference<HashMap<String,Long>> _rcdMapCache = null;
+		protected SoftReference<RecodeMap> _rcdMapCache = null;
 		
 		protected int _size = 0;
 		protected int newSize() {
@@ -1297,6 +1354,35 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 		public abstract Array clone();
 		public abstract Array slice(int rl, int ru);
 		public abstract void reset(int size); 
+		public abstract long getInMemorySize();
+		public abstract long getExactSerializedSize();
+		
+		/**
+		 * Returns the array type, which is serialized along with the
+		 * value type (0 for the default array of a value type).
+		 * 
+		 * @return array type
+		 */
+		public int getArrayType() {
+			return 0;
+		}
+		
+		/**
+		 * Returns the default array representation of the given value type,
+		 * which materializes compact arrays.
+		 * 
+		 * @return default array
+		 */
+		public Array toDefaultArray() {
+			return this;
+		}
+		
+		//generic set via boxed values (e.g., for default and compact
+		//arrays of the same value type)
+		protected void setGeneric(int rl, int ru, Array value, int rlSrc) {
+			for( int i=rl; i<=ru; i++ )
+				set(i, (T)value.get(i-rl+rlSrc));
+		}
 	}
 
 	private static class StringArray extends Array<String> {
@@ -1320,14 +1406,18 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 		}
 		@Override
 		public void set(int rl, int ru, Array value, int rlSrc) {
-			System.arraycopy(((StringArray)value)._data, rlSrc, _data, rl, ru-rl+1);
+			if( value instanceof StringArray )
+				System.arraycopy(((StringArray)value)._data, rlSrc, _data, rl, ru-rl+1);
+			else
+				setGeneric(rl, ru, value, rlSrc);
 		}
 		@Override
 		public void setNz(int rl, int ru, Array value) {
-			String[] data2 = ((StringArray)value)._data;
-			for( int i=rl; i<ru+1; i++ )
-				if( data2[i]!=null )
-					_data[i] = data2[i];
+			for( int i=rl; i<ru+1; i++ ) {
+				Object tmp = value.get(i);
+				if( tmp!=null )
+					_data[i] = (String)tmp;
+			}
 		}
 		@Override
 		public void append(String value) {
@@ -1360,6 +1450,20 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 				_data = new String[size];
 			_size = size;
 		}
+		@Override
+		public long getInMemorySize() {
+			long size = 0;
+			for( int i=0; i<_size; i++ )
+				size += getInMemoryStringSize(_data[i]);
+			return size;
+		}
+		@Override
+		public long getExactSerializedSize() {
+			long size = 0;
+			for( int i=0; i<_size; i++ )
+				size += IOUtilFunctions.getUTFSize(_data[i]);
+			return size;
+		}
 	}
 
 	private static class BooleanArray extends Array<Boolean> {
@@ -1383,14 +1487,16 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 		}
 		@Override
 		public void set(int rl, int ru, Array value, int rlSrc) {
-			System.arraycopy(((BooleanArray)value)._data, rlSrc, _data, rl, ru-rl+1);
+			if( value instanceof BooleanArray )
+				System.arraycopy(((BooleanArray)value)._data, rlSrc, _data, rl, ru-rl+1);
+			else
+				setGeneric(rl, ru, value, rlSrc);
 		}
 		@Override
 		public void setNz(int rl, int ru, Array value) {
-			boolean[] data2 = ((BooleanArray)value)._data;
 			for( int i=rl; i<ru+1; i++ )
-				if( data2[i] )
-					_data[i] = data2[i];
+				if( (Boolean)value.get(i) )
+					_data[i] = true;
 		}
 		@Override
 		public void append(String value) {
@@ -1425,6 +1531,14 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 				_data = new boolean[size];
 			_size = size;
 		}
+		@Override
+		public long getInMemorySize() {
+			return _size;
+		}
+		@Override
+		public long getExactSerializedSize() {
+			return _size;
+		}
 	}
 
 	private static class LongArray extends Array<Long> {
@@ -1448,14 +1562,18 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 		}
 		@Override
 		public void set(int rl, int ru, Array value, int rlSrc) {
-			System.arraycopy(((LongArray)value)._data, rlSrc, _data, rl, ru-rl+1);
+			if( value instanceof LongArray )
+				System.arraycopy(((LongArray)value)._data, rlSrc, _data, rl, ru-rl+1);
+			else
+				setGeneric(rl, ru, value, rlSrc);
 		}
 		@Override
 		public void setNz(int rl, int ru, Array value) {
-			long[] data2 = ((LongArray)value)._data;
-			for( int i=rl; i<ru+1; i++ )
-				if( data2[i]!=0 )
-					_data[i] = data2[i];
+			for( int i=rl; i<ru+1; i++ ) {
+				long tmp = (Long)value.get(i);
+				if( tmp!=0 )
+					_data[i] = tmp;
+			}
 		}
 		@Override
 		public void append(String value) {
@@ -1490,6 +1608,14 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 				_data = new long[size];
 			_size = size;
 		}
+		@Override
+		public long getInMemorySize() {
+			return 8L*_size;
+		}
+		@Override
+		public long getExactSerializedSize() {
+			return 8L*_size;
+		}
 	}
 
 	private static class DoubleArray extends Array<Double> {
@@ -1555,6 +1681,466 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 				_data = new double[size];
 			_size = size;
 		}
+		@Override
+		public long getInMemorySize() {
+			return 8L*_size;
+		}
+		@Override
+		public long getExactSerializedSize() {
+			return 8L*_size;
+		}
+	}
+	
+	/**
+	 * Dictionary-encoded string array of int codes and distinct values, 
+	 * where code 0 represents null and codes 1..n refer to the distinct
+	 * values in order of insertion. Lookups of values use an open-addressing 
+	 * hash table (linear probing) of codes. Since the dictionary is shared by
+	 * all rows, encoding is synchronized to allow concurrent writes of
+	 * disjoint rows (e.g., in multi-threaded frame readers).
+	 */
+	private static class DictStringArray extends Array<String> {
+		private static final int TYPE = 1;
+		
+		private int[] _codes = null;
+		private String[] _dict = null;
+		private int _ndict = 0;
+		private int[] _table = null;
+		
+		public DictStringArray(int size) {
+			this(new int[size], new String[8], 0);
+		}
+		
+		private DictStringArray(int[] codes, String[] dict, int ndict) {
+			_codes = codes;
+			_size = codes.length;
+			_dict = dict;
+			_ndict = ndict;
+			rehash(Math.max(16, Integer.highestOneBit(Math.max(ndict,1))*4));
+		}
+		
+		/**
+		 * Creates a dictionary-encoded array from the given string array,
+		 * unless the number of distinct values exceeds the given maximum.
+		 * 
+		 * @param src string array
+		 * @param maxDistinct maximum number of distinct values
+		 * @return dictionary-encoded array, or null if too many distinct values
+		 */
+		public static DictStringArray create(StringArray src, int maxDistinct) {
+			DictStringArray ret = new DictStringArray(src._size);
+			for( int i=0; i<src._size; i++ ) {
+				ret._codes[i] = ret.encode(src._data[i]);
+				if( ret._ndict > maxDistinct )
+					return null;
+			}
+			return ret;
+		}
+		
+		@Override
+		public String get(int index) {
+			int code = _codes[index];
+			return (code != 0) ? _dict[code-1] : null;
+		}
+		@Override
+		public void set(int index, String value) {
+			_codes[index] = encode(value);
+		}
+		@Override
+		public void set(int rl, int ru, Array value) {
+			set(rl, ru, value, 0);
+		}
+		@Override
+		public void set(int rl, int ru, Array value, int rlSrc) {
+			if( value instanceof DictStringArray ) {
+				//remap codes, w/ one lookup per distinct value
+				DictStringArray src = (DictStringArray) value;
+				int[] remap = new int[src._ndict+1];
+				for( int i=rl; i<=ru; i++ ) {
+					int code = src._codes[i-rl+rlSrc];
+					if( code != 0 && remap[code] == 0 )
+						remap[code] = encode(src._dict[code-1]);
+					_codes[i] = remap[code];
+				}
+			}
+			else
+				setGeneric(rl, ru, value, rlSrc);
+		}
+		@Override
+		public void setNz(int rl, int ru, Array value) {
+			for( int i=rl; i<ru+1; i++ ) {
+				Object tmp = value.get(i);
+				if( tmp!=null )
+					_codes[i] = encode((String)tmp);
+			}
+		}
+		@Override
+		public void append(String value) {
+			if( _codes.length <= _size )
+				_codes = Arrays.copyOf(_codes, newSize());
+			_codes[_size++] = encode(value);
+		}
+		@Override
+		public void write(DataOutput out) throws IOException {
+			out.writeInt(_ndict);
+			for( int i=0; i<_ndict; i++ )
+				out.writeUTF(_dict[i]);
+			//codes w/ minimal width of byte, char, or int
+			if( _ndict < 256 )
+				for( int i=0; i<_size; i++ )
+					out.writeByte(_codes[i]);
+			else if( _ndict < 65536 )
+				for( int i=0; i<_size; i++ )
+					out.writeChar(_codes[i]);
+			else
+				for( int i=0; i<_size; i++ )
+					out.writeInt(_codes[i]);
+		}
+		@Override
+		public void readFields(DataInput in) throws IOException {
+			_size = _codes.length;
+			_ndict = in.readInt();
+			_dict = new String[Math.max(_ndict, 8)];
+			for( int i=0; i<_ndict; i++ )
+				_dict[i] = in.readUTF();
+			rehash(Math.max(16, Integer.highestOneBit(Math.max(_ndict,1))*4));
+			if( _ndict < 256 )
+				for( int i=0; i<_size; i++ )
+					_codes[i] = in.readUnsignedByte();
+			else if( _ndict < 65536 )
+				for( int i=0; i<_size; i++ )
+					_codes[i] = in.readChar();
+			else
+				for( int i=0; i<_size; i++ )
+					_codes[i] = in.readInt();
+		}
+		@Override
+		public Array clone() {
+			return new DictStringArray(Arrays.copyOf(_codes, _size), _dict.clone(), _ndict);
+		}
+		@Override
+		public Array slice(int rl, int ru) {
+			return new DictStringArray(Arrays.copyOfRange(_codes,rl,ru+1), _dict.clone(), _ndict);
+		}
+		@Override
+		public void reset(int size) {
+			if( _codes.length < size )
+				_codes = new int[size];
+			_size = size;
+		}
+		@Override
+		public long getInMemorySize() {
+			long size = 4L*_size + 32 + 4L*_table.length + 32 + 8L*_dict.length;
+			for( int i=0; i<_ndict; i++ )
+				size += getInMemoryStringSize(_dict[i]);
+			return size;
+		}
+		@Override
+		public long getExactSerializedSize() {
+			long size = 4;
+			for( int i=0; i<_ndict; i++ )
+				size += IOUtilFunctions.getUTFSize(_dict[i]);
+			return size + (long)_size * ((_ndict < 256) ? 1 : (_ndict < 65536) ? 2 : 4);
+		}
+		@Override
+		public int getArrayType() {
+			return TYPE;
+		}
+		@Override
+		public Array toDefaultArray() {
+			String[] data = new String[_size];
+			for( int i=0; i<_size; i++ )
+				data[i] = get(i);
+			return new StringArray(data);
+		}
+		
+		private synchronized int encode(String value) {
+			if( value == null )
+				return 0;
+			int mask = _table.length - 1;
+			int ix = hash(value) & mask;
+			for( ; _table[ix] != 0; ix = (ix + 1) & mask )
+				if( _dict[_table[ix]-1].equals(value) )
+					return _table[ix];
+			//append new distinct value
+			if( _ndict == _dict.length )
+				_dict = Arrays.copyOf(_dict, _ndict*2);
+			_dict[_ndict++] = value;
+			_table[ix] = _ndict;
+			if( _ndict > _table.length * 3 / 4 )
+				rehash(_table.length * 2);
+			return _ndict;
+		}
+		
+		private void rehash(int tableSize) {
+			_table = new int[tableSize];
+			int mask = tableSize - 1;
+			for( int code=1; code<=_ndict; code++ ) {
+				int ix = hash(_dict[code-1]) & mask;
+				while( _table[ix] != 0 )
+					ix = (ix + 1) & mask;
+				_table[ix] = code;
+			}
+		}
+		
+		private static int hash(String value) {
+			int h = value.hashCode();
+			return h ^ (h >>> 16);
+		}
+	}
+	
+	/**
+	 * Boolean array backed by a bitset of 64-bit words. Since disjoint rows
+	 * might share a word, updates are synchronized to allow concurrent
+	 * writes of disjoint rows.
+	 */
+	private static class BitSetArray extends Array<Boolean> {
+		private static final int TYPE = 2;
+		
+		private long[] _data = null;
+		
+		public BitSetArray(int size) {
+			_data = new long[(size + 63) >>> 6];
+			_size = size;
+		}
+		public BitSetArray(BooleanArray src) {
+			this(src._size);
+			for( int i=0; i<_size; i++ )
+				if( src._data[i] )
+					_data[i >>> 6] |= 1L << i;
+		}
+		@Override
+		public Boolean get(int index) {
+			return (_data[index >>> 6] & (1L << index)) != 0;
+		}
+		@Override
+		public synchronized void set(int index, Boolean value) {
+			if( value!=null && value )
+				_data[index >>> 6] |= 1L << index;
+			else
+				_data[index >>> 6] &= ~(1L << index);
+		}
+		@Override
+		public void set(int rl, int ru, Array value) {
+			set(rl, ru, value, 0);
+		}
+		@Override
+		public void set(int rl, int ru, Array value, int rlSrc) {
+			setGeneric(rl, ru, value, rlSrc);
+		}
+		@Override
+		public synchronized void setNz(int rl, int ru, Array value) {
+			for( int i=rl; i<ru+1; i++ )
+				if( (Boolean)value.get(i) )
+					_data[i >>> 6] |= 1L << i;
+		}
+		@Override
+		public void append(String value) {
+			append(Boolean.parseBoolean(value));
+		}
+		@Override
+		public void append(Boolean value) {
+			if( (_data.length << 6) <= _size )
+				_data = Arrays.copyOf(_data, (newSize() + 63) >>> 6);
+			set(_size++, value);
+		}
+		@Override
+		public void write(DataOutput out) throws IOException {
+			for( int i=0; i<(_size + 63) >>> 6; i++ )
+				out.writeLong(_data[i]);
+		}
+		@Override
+		public void readFields(DataInput in) throws IOException {
+			for( int i=0; i<(_size + 63) >>> 6; i++ )
+				_data[i] = in.readLong();
+		}
+		@Override
+		public Array clone() {
+			BitSetArray ret = new BitSetArray(_size);
+			System.arraycopy(_data, 0, ret._data, 0, ret._data.length);
+			return ret;
+		}
+		@Override
+		public Array slice(int rl, int ru) {
+			BitSetArray ret = new BitSetArray(ru-rl+1);
+			ret.setGeneric(0, ru-rl, this, rl);
+			return ret;
+		}
+		@Override
+		public void reset(int size) {
+			if( (_data.length << 6) < size )
+				_data = new long[(size + 63) >>> 6];
+			_size = size;
+		}
+		@Override
+		public long getInMemorySize() {
+			return 8L * _data.length;
+		}
+		@Override
+		public long getExactSerializedSize() {
+			return 8L * ((_size + 63) >>> 6);
+		}
+		@Override
+		public int getArrayType() {
+			return TYPE;
+		}
+		@Override
+		public Array toDefaultArray() {
+			boolean[] data = new boolean[_size];
+			for( int i=0; i<_size; i++ )
+				data[i] = get(i);
+			return new BooleanArray(data);
+		}
+	}
+	
+	/**
+	 * Integer array of int32 values for columns of value type INT, 
+	 * which are internally widened to int64 on setting values outside 
+	 * of the int32 range.
+	 */
+	private static class IntegerArray extends Array<Long> {
+		private static final int TYPE = 3;
+		
+		private int[] _data = null;
+		private long[] _wide = null;
+		
+		public IntegerArray(int[] data) {
+			_data = data;
+			_size = _data.length;
+		}
+		
+		/**
+		 * Creates an int32 array from the given long array, unless
+		 * any value is outside of the int32 range.
+		 * 
+		 * @param src long array
+		 * @return int array, or null if values outside int32 range
+		 */
+		public static IntegerArray create(LongArray src) {
+			int[] data = new int[src._size];
+			for( int i=0; i<src._size; i++ ) {
+				long tmp = src._data[i];
+				if( tmp != (int)tmp )
+					return null;
+				data[i] = (int)tmp;
+			}
+			return new IntegerArray(data);
+		}
+		
+		@Override
+		public Long get(int index) {
+			return (_wide != null) ? _wide[index] : (long)_data[index];
+		}
+		@Override
+		public void set(int index, Long value) {
+			setLong(index, (value!=null) ? value : 0L);
+		}
+		@Override
+		public void set(int rl, int ru, Array value) {
+			set(rl, ru, value, 0);
+		}
+		@Override
+		public synchronized void set(int rl, int ru, Array value, int rlSrc) {
+			if( value instanceof IntegerArray && _wide == null 
+				&& ((IntegerArray)value)._wide == null )
+				System.arraycopy(((IntegerArray)value)._data, rlSrc, _data, rl, ru-rl+1);
+			else
+				setGeneric(rl, ru, value, rlSrc);
+		}
+		@Override
+		public void setNz(int rl, int ru, Array value) {
+			for( int i=rl; i<ru+1; i++ ) {
+				long tmp = (Long)value.get(i);
+				if( tmp!=0 )
+					setLong(i, tmp);
+			}
+		}
+		@Override
+		public void append(String value) {
+			append((value!=null)?Long.parseLong(value):null);
+		}
+		@Override
+		public void append(Long value) {
+			int len = (_wide != null) ? _wide.length : _data.length;
+			if( len <= _size ) {
+				if( _wide != null )
+					_wide = Arrays.copyOf(_wide, newSize());
+				else
+					_data = Arrays.copyOf(_data, newSize());
+			}
+			set(_size++, value);
+		}
+		@Override
+		public void write(DataOutput out) throws IOException {
+			for( int i=0; i<_size; i++ ) {
+				if( _wide != null )
+					out.writeLong(_wide[i]);
+				else
+					out.writeInt(_data[i]);
+			}
+		}
+		@Override
+		public void readFields(DataInput in) throws IOException {
+			_size = _data.length;
+			for( int i=0; i<_size; i++ )
+				_data[i] = in.readInt();
+		}
+		@Override
+		public Array clone() {
+			return (_wide != null) ? new LongArray(Arrays.copyOf(_wide, _size)) :
+				new IntegerArray(Arrays.copyOf(_data, _size));
+		}
+		@Override
+		public Array slice(int rl, int ru) {
+			return (_wide != null) ? new LongArray(Arrays.copyOfRange(_wide,rl,ru+1)) :
+				new IntegerArray(Arrays.copyOfRange(_data,rl,ru+1));
+		}
+		@Override
+		public void reset(int size) {
+			if( _wide != null ) {
+				_data = new int[size];
+				_wide = null;
+			}
+			else if( _data.length < size )
+				_data = new int[size];
+			_size = size;
+		}
+		@Override
+		public long getInMemorySize() {
+			return (_wide != null) ? 8L*_size : 4L*_size;
+		}
+		@Override
+		public long getExactSerializedSize() {
+			return (_wide != null) ? 8L*_size : 4L*_size;
+		}
+		@Override
+		public int getArrayType() {
+			//widened arrays are serialized as default long arrays
+			return (_wide != null) ? 0 : TYPE;
+		}
+		@Override
+		public Array toDefaultArray() {
+			long[] data = new long[_size];
+			for( int i=0; i<_size; i++ )
+				data[i] = get(i);
+			return new LongArray(data);
+		}
+		
+		private synchronized void setLong(int index, long value) {
+			//note: synchronized because widening replaces the array,
+			//which would lose concurrent writes of disjoint rows
+			if( _wide == null && value != (int)value ) {
+				//widen to int64 values
+				_wide = new long[_data.length];
+				for( int i=0; i<_data.length; i++ )
+					_wide[i] = _data[i];
+				_data = null;
+			}
+			if( _wide != null )
+				_wide[index] = value;
+			else
+				_data[index] = (int)value;
+		}
 	}
 
 	public static class ColumnMetadata implements Serializable {
@@ -36,6 +36,9 @@ import org.apache.sysml.runtime.util.DataConverter;
  * 
  * This library currently supports following operations:
  * matrix inverse, matrix decompositions (QR, LU, Eigen), solve 
+ * 
+ * Cholesky, LU, inverse and solve of square matrices are computed with
+ * blocked, multi-threaded (or native) factorizations of LibMatrixLinAlg.
  */
 public class LibCommonsMath 
 {	
@@ -56,6 +59,16 @@ public class LibCommonsMath
 	}
 		
 	public static MatrixBlock unaryOperations(MatrixBlock inj, String opcode) {
+		return unaryOperations(inj, opcode, 1);
+	}
+	
+	public static MatrixBlock unaryOperations(MatrixBlock inj, String opcode, int k) {
+		if( LibMatrixLinAlg.isSupported(inj) ) {
+			if(opcode.equals("inverse"))
+				return LibMatrixLinAlg.inverse(inj, k);
+			else if (opcode.equals("cholesky"))
+				return LibMatrixLinAlg.cholesky(inj, k);
+		}
 		Array2DRowRealMatrix matrixInput = DataConverter.convertToArray2DRowRealMatrix(inj);
 		if(opcode.equals("inverse"))
 			return computeMatrixInverse(matrixInput);
@@ -65,7 +78,13 @@ public class LibCommonsMath
 	}
 	
 	public static MatrixBlock[] multiReturnOperations(MatrixBlock in, String opcode) {
-		if(opcode.equals("qr"))
+		return multiReturnOperations(in, opcode, 1);
+	}
+	
+	public static MatrixBlock[] multiReturnOperations(MatrixBlock in, String opcode, int k) {
+		if(opcode.equals("lu") && LibMatrixLinAlg.isSupported(in))
+			return LibMatrixLinAlg.lu(in, k);
+		else if(opcode.equals("qr"))
 			return computeQR(in);
 		else if (opcode.equals("lu"))
 			return computeLU(in);
@@ -77,9 +96,15 @@ public class LibCommonsMath
 	}
 	
 	public static MatrixBlock matrixMatrixOperations(MatrixBlock in1, MatrixBlock in2, String opcode) {
+		return matrixMatrixOperations(in1, in2, opcode, 1);
+	}
+	
+	public static MatrixBlock matrixMatrixOperations(MatrixBlock in1, MatrixBlock in2, String opcode, int k) {
 		if(opcode.equals("solve")) {
 			if (in1.getNumRows() != in1.getNumColumns())
 				throw new DMLRuntimeException("The A matrix, in solve(A,b) should have squared dimensions.");
+			if( LibMatrixLinAlg.isSupported(in1) && (long)in2.getNumRows()*in2.getNumColumns() < Integer.MAX_VALUE )
+				return LibMatrixLinAlg.solve(in1, in2, k);
 			return computeSolve(in1, in2);
 		}
 		return null;
@@ -19,7 +19,11 @@
 
 package org.apache.sysml.runtime.matrix.data;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.functionobjects.Builtin;
@@ -40,7 +44,9 @@ import org.apache.sysml.runtime.functionobjects.Power2;
 import org.apache.sysml.runtime.functionobjects.ValueFunction;
 import org.apache.sysml.runtime.functionobjects.Builtin.BuiltinCode;
 import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysml.runtime.matrix.operators.Operator;
 import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysml.runtime.util.CommonThreadPool;
 import org.apache.sysml.runtime.util.DataConverter;
 import org.apache.sysml.runtime.util.SortUtils;
 import org.apache.sysml.runtime.util.UtilFunctions;
@@ -54,6 +60,7 @@ import org.apache.sysml.runtime.util.UtilFunctions;
  */
 public class LibMatrixBincell 
 {
+	private static final long PAR_NUMCELL_THRESHOLD = 1024*1024; //Min 1M elements
 
 	public enum BinaryAccessType {
 		MATRIX_MATRIX,
@@ -79,6 +86,19 @@ public class LibMatrixBincell
 	 * @param op scalar operator
 	 */
 	public static void bincellOp(MatrixBlock m1, MatrixBlock ret, ScalarOperator op) {
+		bincellOp(m1, ret, op, 1);
+	}
+	
+	/**
+	 * Multi-threaded matrix-scalar, scalar-matrix binary operations,
+	 * partitioned into disjoint row ranges of the input and output.
+	 * 
+	 * @param m1 input matrix
+	 * @param ret result matrix
+	 * @param op scalar operator
+	 * @param k maximum parallelism
+	 */
+	public static void bincellOp(MatrixBlock m1, MatrixBlock ret, ScalarOperator op, int k) {
 		//check internal assumptions 
 		if(   (op.sparseSafe && m1.isInSparseFormat()!=ret.isInSparseFormat())
 			||(!op.sparseSafe && ret.isInSparseFormat()) ) {
@@ -87,9 +107,9 @@ public class LibMatrixBincell
 		
 		//execute binary cell operations
 		if(op.sparseSafe)
-			safeBinaryScalar(m1, ret, op);
+			safeBinaryScalar(m1, ret, op, k);
 		else
-			unsafeBinaryScalar(m1, ret, op);
+			unsafeBinaryScalar(m1, ret, op, k);
 		
 		//ensure empty results sparse representation 
 		//(no additional memory requirements)
@@ -106,11 +126,25 @@ public class LibMatrixBincell
 	 * @param op binary operator
 	 */
 	public static void bincellOp(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op) {
+		bincellOp(m1, m2, ret, op, 1);
+	}
+	
+	/**
+	 * Multi-threaded matrix-matrix binary operations, MM, MV. Outer
+	 * vector-vector operations are always executed single-threaded.
+	 * 
+	 * @param m1 input matrix 1
+	 * @param m2 input matrix 2
+	 * @param ret result matrix
+	 * @param op binary operator
+	 * @param k maximum parallelism
+	 */
+	public static void bincellOp(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op, int k) {
 		//execute binary cell operations
 		if(op.sparseSafe || isSparseSafeDivide(op, m2))
-			safeBinary(m1, m2, ret, op);
+			safeBinary(m1, m2, ret, op, k);
 		else
-			unsafeBinary(m1, m2, ret, op);
+			unsafeBinary(m1, m2, ret, op, k);
 		
 		//ensure empty results sparse representation 
 		//(no additional memory requirements)
@@ -186,7 +220,7 @@ public class LibMatrixBincell
 	// private sparse-safe/sparse-unsafe implementations
 	///////////////////////////////////
 
-	private static void safeBinary(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op) {
+	private static void safeBinary(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op, int k) {
 		boolean skipEmpty = (op.fn instanceof Multiply 
 			|| isSparseSafeDivide(op, m2) );
 		boolean copyLeftRightEmpty = (op.fn instanceof Plus || op.fn instanceof Minus 
@@ -205,164 +239,159 @@ public class LibMatrixBincell
 			|| atype == BinaryAccessType.MATRIX_ROW_VECTOR)  
 		{
 			//note: m2 vector and hence always dense
-			if( !m1.sparse && !m2.sparse && !ret.sparse ) //DENSE all
-				safeBinaryMVDense(m1, m2, ret, op);
-			else if( m1.sparse ) //SPARSE m1
-				safeBinaryMVSparse(m1, m2, ret, op);
-			else if( !m1.sparse && !m2.sparse && ret.sparse && op.fn instanceof Multiply
+			if( !m1.sparse && !m2.sparse && ret.sparse && op.fn instanceof Multiply
 				&& atype == BinaryAccessType.MATRIX_COL_VECTOR
-				&& (long)m1.rlen * m2.clen < Integer.MAX_VALUE )
+				&& (long)m1.rlen * m2.clen < Integer.MAX_VALUE ) {
+				//single-pass construction of a CSR output
 				safeBinaryMVDenseSparseMult(m1, m2, ret, op);
-			else //generic combinations
-				safeBinaryMVGeneric(m1, m2, ret, op);
-		}	
+				return;
+			}
+		}
 		else if( atype == BinaryAccessType.OUTER_VECTOR_VECTOR ) //VECTOR - VECTOR
 		{
 			safeBinaryVVGeneric(m1, m2, ret, op);
+			return;
 		}
 		else //MATRIX - MATRIX
 		{
 			if( copyLeftRightEmpty && m2.isEmpty() ) {
 				//ret remains unchanged so a shallow copy is sufficient
 				ret.copyShallow(m1);
+				return;
 			}
 			else if( copyRightLeftEmpty && m1.isEmpty() ) {
 				//ret remains unchanged so a shallow copy is sufficient
 				ret.copyShallow(m2);
-			}
-			else if(m1.sparse && m2.sparse) {
-				safeBinaryMMSparseSparse(m1, m2, ret, op);
-			}
-			else if( !ret.sparse && (m1.sparse || m2.sparse) &&
-				(op.fn instanceof Plus || op.fn instanceof Minus ||
-				op.fn instanceof PlusMultiply || op.fn instanceof MinusMultiply ||
-				(op.fn instanceof Multiply && !m2.sparse ))) {
-				safeBinaryMMSparseDenseDense(m1, m2, ret, op);
-			}
-			else if( !ret.sparse && !m1.sparse && !m2.sparse 
-				&& m1.denseBlock!=null && m2.denseBlock!=null ) {
-				safeBinaryMMDenseDenseDense(m1, m2, ret, op);
-			}
-			else if( skipEmpty && (m1.sparse || m2.sparse) ) {
-				safeBinaryMMSparseDenseSkip(m1, m2, ret, op);
-			}
-			else { //generic case
-				safeBinaryMMGeneric(m1, m2, ret, op);
+				return;
 			}
 		}
+		
+		//allocate once in order to prevent repeated reallocation
+		//and concurrent allocation in multi-threaded execution
+		allocateOutput(ret);
+		
+		//compute row partitions, incl nnz maintenance
+		ret.nonZeros = executeBincell(m1, m2, ret, op, true, k);
+	}
+	
+	private static long safeBinaryMV(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op, int rl, int ru) {
+		if( !m1.sparse && !m2.sparse && !ret.sparse ) //DENSE all
+			return safeBinaryMVDense(m1, m2, ret, op, rl, ru);
+		else if( m1.sparse ) //SPARSE m1
+			return safeBinaryMVSparse(m1, m2, ret, op, rl, ru);
+		else //generic combinations
+			return safeBinaryMVGeneric(m1, m2, ret, op, rl, ru);
+	}
+	
+	private static long safeBinaryMM(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op, int rl, int ru) {
+		boolean skipEmpty = (op.fn instanceof Multiply 
+			|| isSparseSafeDivide(op, m2) );
+		
+		if(m1.sparse && m2.sparse)
+			return safeBinaryMMSparseSparse(m1, m2, ret, op, rl, ru);
+		else if( !ret.sparse && (m1.sparse || m2.sparse) &&
+			(op.fn instanceof Plus || op.fn instanceof Minus ||
+			op.fn instanceof PlusMultiply || op.fn instanceof MinusMultiply ||
+			(op.fn instanceof Multiply && !m2.sparse )))
+			return safeBinaryMMSparseDenseDense(m1, m2, ret, op, rl, ru);
+		else if( !ret.sparse && !m1.sparse && !m2.sparse 
+			&& m1.denseBlock!=null && m2.denseBlock!=null )
+			return safeBinaryMMDenseDenseDense(m1, m2, ret, op, rl, ru);
+		else if( skipEmpty && (m1.sparse || m2.sparse) )
+			return safeBinaryMMSparseDenseSkip(m1, m2, ret, op, rl, ru);
+		else //generic case
+			return safeBinaryMMGeneric(m1, m2, ret, op, rl, ru);
 	}
 
-	private static void safeBinaryMVDense(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op) {
+	private static long safeBinaryMVDense(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op, int rl, int ru) {
 		boolean isMultiply = (op.fn instanceof Multiply);
 		boolean skipEmpty = (isMultiply);
 		BinaryAccessType atype = getBinaryAccessType(m1, m2);
-		int rlen = m1.rlen;
 		int clen = m1.clen;
 		
-		//early abort on skip and empy
-		if( skipEmpty && (m1.isEmptyBlock(false) || m2.isEmptyBlock(false) ) )
-			return; // skip entire empty block
-		
-		ret.allocateDenseBlock();
 		DenseBlock da = m1.getDenseBlock();
 		DenseBlock dc = ret.getDenseBlock();
+		double[] b = m2.getDenseBlockValues(); // always single block
 		long nnz = 0;
 		
 		if( atype == BinaryAccessType.MATRIX_COL_VECTOR )
 		{
-			double[] b = m2.getDenseBlockValues(); // always single block
-			
-			for( int bi=0; bi<dc.numBlocks(); bi++ ) {
-				double[] a = da.valuesAt(bi);
-				double[] c = dc.valuesAt(bi);
-				int len = dc.blockSize(bi);
-				int off = bi * dc.blockSize();
-				for( int i=0, ix=0; i<len; i++, ix+=clen )
-				{
-					//replicate vector value
-					double v2 = (b==null) ? 0 : b[off+i];
-					if( skipEmpty && v2 == 0 ) //skip empty rows
-						continue;
-						
-					if( isMultiply && v2 == 1 ) { //ROW COPY
-						//a guaranteed to be non-null (see early abort)
-						System.arraycopy(a, ix, c, ix, clen);
-						nnz += m1.recomputeNonZeros(i, i, 0, clen-1);
-					}
-					else { //GENERAL CASE
-						if( a != null )
-							for( int j=0; j<clen; j++ ) {
-								c[ix+j] = op.fn.execute( a[ix+j], v2 );	
-								nnz += (c[ix+j] != 0) ? 1 : 0;
-							}
-						else {
-							double val = op.fn.execute( 0, v2 );
-							Arrays.fill(c, ix, ix+clen, val);
-							nnz += (val != 0) ? clen : 0;
-						}
+			for( int i=rl; i<ru; i++ )
+			{
+				//replicate vector value
+				double v2 = (b==null) ? 0 : b[i];
+				if( skipEmpty && v2 == 0 ) //skip empty rows
+					continue;
+				
+				double[] c = dc.values(i);
+				int cix = dc.pos(i);
+				if( isMultiply && v2 == 1 ) { //ROW COPY
+					//a guaranteed to be non-null (see early abort)
+					System.arraycopy(da.values(i), da.pos(i), c, cix, clen);
+					nnz += m1.recomputeNonZeros(i, i, 0, clen-1);
+				}
+				else if( da != null ) { //GENERAL CASE
+					double[] a = da.values(i);
+					int aix = da.pos(i);
+					for( int j=0; j<clen; j++ ) {
+						c[cix+j] = op.fn.execute( a[aix+j], v2 );
+						nnz += (c[cix+j] != 0) ? 1 : 0;
 					}
 				}
+				else {
+					double val = op.fn.execute( 0, v2 );
+					Arrays.fill(c, cix, cix+clen, val);
+					nnz += (val != 0) ? clen : 0;
+				}
 			}
 		}
 		else if( atype == BinaryAccessType.MATRIX_ROW_VECTOR )
 		{
-			double[] b = m2.getDenseBlockValues(); // always single block
-			
 			if( da==null && b==null ) { //both empty
 				double v = op.fn.execute( 0, 0 );
-				dc.set(v);
-				nnz += (v != 0) ? (long)rlen*clen : 0;
+				dc.set(rl, ru, 0, clen, v);
+				nnz += (v != 0) ? (long)(ru-rl)*clen : 0;
 			}
 			else if( da==null ) //left empty
 			{
 				//compute first row
-				double[] c = dc.valuesAt(0);
+				double[] c = new double[clen];
 				for( int j=0; j<clen; j++ ) {
 					c[j] = op.fn.execute( 0, b[j] );
-					nnz += (c[j] != 0) ? rlen : 0;
+					nnz += (c[j] != 0) ? (ru-rl) : 0;
 				}
-				//copy first to all other rows
-				for( int i=1; i<rlen; i++ )
+				//copy first to all rows
+				for( int i=rl; i<ru; i++ )
 					dc.set(i, c);
 			}
 			else //default case (incl right empty) 
 			{
-				for( int bi=0; bi<dc.numBlocks(); bi++ ) {
-					double[] a = da.valuesAt(bi);
-					double[] c = dc.valuesAt(bi);
-					int len = dc.blockSize(bi);
-					for( int i=0, ix=0; i<len; i++, ix+=clen )
-						for( int j=0; j<clen; j++ ) {
-							c[ix+j] = op.fn.execute( a[ix+j], ((b!=null) ? b[j] : 0) );	
-							nnz += (c[ix+j] != 0) ? 1 : 0;
-						}
+				for( int i=rl; i<ru; i++ ) {
+					double[] a = da.values(i);
+					double[] c = dc.values(i);
+					int aix = da.pos(i), cix = dc.pos(i);
+					for( int j=0; j<clen; j++ ) {
+						c[cix+j] = op.fn.execute( a[aix+j], ((b!=null) ? b[j] : 0) );
+						nnz += (c[cix+j] != 0) ? 1 : 0;
+					}
 				}
 			}
 		}
 		
-		ret.nonZeros = nnz;
+		return nnz;
 	}
 
-	private static void safeBinaryMVSparse(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op) {
+	private static long safeBinaryMVSparse(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op, int rl, int ru) {
 		boolean isMultiply = (op.fn instanceof Multiply);
 		boolean skipEmpty = (isMultiply);
 		
-		int rlen = m1.rlen;
 		int clen = m1.clen;
 		SparseBlock a = m1.sparseBlock;
 		BinaryAccessType atype = getBinaryAccessType(m1, m2);
 		
-		//early abort on skip and empty
-		if( skipEmpty && (m1.isEmptyBlock(false) || m2.isEmptyBlock(false) ) )
-			return; // skip entire empty block
-		
-		//allocate once in order to prevent repeated reallocation
-		if( ret.sparse )
-			ret.allocateSparseRowsBlock();
-		
 		if( atype == BinaryAccessType.MATRIX_COL_VECTOR )
 		{
-			for( int i=0; i<rlen; i++ )
+			for( int i=rl; i<ru; i++ )
 			{
 				double v2 = m2.quickGetValue(i, 0);
 				
@@ -410,7 +439,7 @@ public class LibMatrixBincell
 		}
 		else if( atype == BinaryAccessType.MATRIX_ROW_VECTOR )
 		{
-			for( int i=0; i<rlen; i++ )
+			for( int i=rl; i<ru; i++ )
 			{
 				if( skipEmpty && (a==null || a.isEmpty(i)) )
 					continue; //skip empty rows
@@ -447,7 +476,8 @@ public class LibMatrixBincell
 			}
 		}
 		
-		//no need to recomputeNonZeros since maintained in append value
+		//note: nnz maintained in append value but not thread-safe
+		return ret.recomputeNonZeros(rl, ru-1);
 	}
 
 	private static void safeBinaryMVDenseSparseMult(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op) {
@@ -490,24 +520,15 @@ public class LibMatrixBincell
 		}
 	}
 	
-	private static void safeBinaryMVGeneric(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op) {
+	private static long safeBinaryMVGeneric(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op, int rl, int ru) {
 		boolean isMultiply = (op.fn instanceof Multiply);
 		boolean skipEmpty = (isMultiply);
-		int rlen = m1.rlen;
 		int clen = m1.clen;
 		BinaryAccessType atype = getBinaryAccessType(m1, m2);
 		
-		//early abort on skip and empty
-		if( skipEmpty && (m1.isEmptyBlock(false) || m2.isEmptyBlock(false) ) )
-			return; // skip entire empty block
-		
-		//allocate once in order to prevent repeated reallocation 
-		if( ret.sparse )
-			ret.allocateSparseRowsBlock();
-		
 		if( atype == BinaryAccessType.MATRIX_COL_VECTOR )
 		{
-			for( int i=0; i<rlen; i++ )
+			for( int i=rl; i<ru; i++ )
 			{
 				//replicate vector value
 				double v2 = m2.quickGetValue(i, 0);
@@ -541,20 +562,19 @@ public class LibMatrixBincell
 				//note: sparse block guaranteed to be allocated (otherwise early about)
 				SparseBlock b = m2.sparseBlock;
 				SparseBlock c = ret.sparseBlock;
-				if( b.isEmpty(0) ) return; 
+				if( b.isEmpty(0) ) return 0; 
 				int blen = b.size(0); //always pos 0
 				int[] bix = b.indexes(0);
 				double[] bvals = b.values(0);
-				for( int i=0; i<rlen; i++ ) {
+				for( int i=rl; i<ru; i++ ) {
 					c.allocate(i, blen);
 					for( int j=0; j<blen; j++ )
 						c.append(i, bix[j], m1.quickGetValue(i, bix[j]) * bvals[j]);
 				}
-				ret.setNonZeros(c.size());
 			}
 			else //GENERAL CASE
 			{
-				for( int i=0; i<rlen; i++ )
+				for( int i=rl; i<ru; i++ )
 					for( int j=0; j<clen; j++ ) {
 						double v1 = m1.quickGetValue(i, j);
 						double v2 = m2.quickGetValue(0, j); //replicated vector value
@@ -564,7 +584,8 @@ public class LibMatrixBincell
 			}
 		}
 		
-		//no need to recomputeNonZeros since maintained in append value
+		//note: nnz maintained in append value but not thread-safe
+		return ret.recomputeNonZeros(rl, ru-1);
 	}
 	
 	private static void safeBinaryVVGeneric(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op) {
@@ -593,11 +614,7 @@ public class LibMatrixBincell
 		//no need to recomputeNonZeros since maintained in append value
 	}
 	
-	private static void safeBinaryMMSparseSparse(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op) {
-		final int rlen = m1.rlen;
-		if(ret.sparse)
-			ret.allocateSparseRowsBlock();
-		
+	private static long safeBinaryMMSparseSparse(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op, int rl, int ru) {
 		//both sparse blocks existing
 		if(m1.sparseBlock!=null && m2.sparseBlock!=null)
 		{
@@ -607,7 +624,7 @@ public class LibMatrixBincell
 			if( ret.sparse && lsblock.isAligned(rsblock) )
 			{
 				SparseBlock c = ret.sparseBlock;
-				for(int r=0; r<rlen; r++) 
+				for(int r=rl; r<ru; r++) 
 					if( !lsblock.isEmpty(r) ) {
 						int alen = lsblock.size(r);
 						int apos = lsblock.pos(r);
@@ -619,12 +636,11 @@ public class LibMatrixBincell
 							double tmp = op.fn.execute(avals[j], bvals[j]);
 							c.append(r, aix[j], tmp);
 						}
-						ret.nonZeros += c.size(r);
 					}
 			}
 			else //general case
 			{
-				for(int r=0; r<rlen; r++) {
+				for(int r=rl; r<ru; r++) {
 					if( !lsblock.isEmpty(r) && !rsblock.isEmpty(r) ) {
 						mergeForSparseBinary(op, lsblock.values(r), lsblock.indexes(r), lsblock.pos(r), lsblock.size(r),
 							rsblock.values(r), rsblock.indexes(r), rsblock.pos(r), rsblock.size(r), r, ret);
@@ -645,7 +661,7 @@ public class LibMatrixBincell
 		else if( m2.sparseBlock!=null )
 		{
 			SparseBlock rsblock = m2.sparseBlock;
-			for(int r=0; r<Math.min(rlen, rsblock.numRows()); r++) {
+			for(int r=rl; r<Math.min(ru, rsblock.numRows()); r++) {
 				if( rsblock.isEmpty(r) ) continue;
 				appendRightForSparseBinary(op, rsblock.values(r), rsblock.indexes(r), 
 					rsblock.pos(r), rsblock.size(r), 0, r, ret);
@@ -655,17 +671,19 @@ public class LibMatrixBincell
 		else
 		{
 			SparseBlock lsblock = m1.sparseBlock;
-			for(int r=0; r<rlen; r++) {
+			for(int r=rl; r<ru; r++) {
 				if( lsblock.isEmpty(r) ) continue;
 				appendLeftForSparseBinary(op, lsblock.values(r), lsblock.indexes(r), 
 					lsblock.pos(r), lsblock.size(r), 0, r, ret);
 			}
 		}
+		
+		//note: nnz maintained in append value but not thread-safe
+		return ret.recomputeNonZeros(rl, ru-1);
 	}
 	
-	private static void safeBinaryMMSparseDenseDense(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op) {
+	private static long safeBinaryMMSparseDenseDense(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op, int rl, int ru) {
 		//specific case in order to prevent binary search on sparse inputs (see quickget and quickset)
-		ret.allocateDenseBlock();
 		final int n = ret.clen;
 		DenseBlock dc = ret.getDenseBlock();
 		
@@ -674,28 +692,27 @@ public class LibMatrixBincell
 		if( m1.sparse && m1.sparseBlock != null ) //SPARSE left
 		{
 			SparseBlock a = m1.sparseBlock;
-			for( int bi=0; bi<dc.numBlocks(); bi++ ) {
-				double[] c = dc.valuesAt(bi);
-				int blen = dc.blockSize(bi);
-				int off = bi * dc.blockSize();
-				for( int i=0, ix=0; i<blen; i++, ix+=n ) {
-					int ai = off + i;
-					if( a.isEmpty(ai) ) continue;
-					int apos = a.pos(ai);
-					int alen = a.size(ai);
-					int[] aix = a.indexes(ai);
-					double[] avals = a.values(ai);
-					for(int k = apos; k < apos+alen; k++) 
-						c[ix+aix[k]] = avals[k];
-				}
+			for( int i=rl; i<ru; i++ ) {
+				if( a.isEmpty(i) ) continue;
+				double[] c = dc.values(i);
+				int cix = dc.pos(i);
+				int apos = a.pos(i);
+				int alen = a.size(i);
+				int[] aix = a.indexes(i);
+				double[] avals = a.values(i);
+				for(int k = apos; k < apos+alen; k++) 
+					c[cix+aix[k]] = avals[k];
 			}
 		}
 		else if( !m1.sparse ) //DENSE left
 		{
-			if( !m1.isEmptyBlock(false) ) 
-				dc.set(m1.getDenseBlock());
+			if( !m1.isEmptyBlock(false) ) {
+				DenseBlock da = m1.getDenseBlock();
+				for( int i=rl; i<ru; i++ )
+					System.arraycopy(da.values(i), da.pos(i), dc.values(i), dc.pos(i), n);
+			}
 			else
-				dc.set(0);
+				dc.set(rl, ru, 0, n, 0);
 		}
 		
 		//2) process right input: op.fn (+,-,*), * only if dense
@@ -703,80 +720,89 @@ public class LibMatrixBincell
 		if( m2.sparse && m2.sparseBlock!=null ) //SPARSE right
 		{
 			SparseBlock a = m2.sparseBlock;
-			for( int bi=0; bi<dc.numBlocks(); bi++ ) {
-				double[] c = dc.valuesAt(bi);
-				int blen = dc.blockSize(bi);
-				int off = bi * dc.blockSize();
-				for( int i=0, ix=0; i<blen; i++, ix+=n ) {
-					int ai = off + i;
-					if( !a.isEmpty(ai) ) {
-						int apos = a.pos(ai);
-						int alen = a.size(ai);
-						int[] aix = a.indexes(ai);
-						double[] avals = a.values(ai);
-						for(int k = apos; k < apos+alen; k++) 
-							c[ix+aix[k]] = op.fn.execute(c[ix+aix[k]], avals[k]);
-					}
-					//exploit temporal locality of rows
-					lnnz += ret.recomputeNonZeros(ai, ai, 0, n-1);
+			for( int i=rl; i<ru; i++ ) {
+				double[] c = dc.values(i);
+				int cix = dc.pos(i);
+				if( !a.isEmpty(i) ) {
+					int apos = a.pos(i);
+					int alen = a.size(i);
+					int[] aix = a.indexes(i);
+					double[] avals = a.values(i);
+					for(int k = apos; k < apos+alen; k++) 
+						c[cix+aix[k]] = op.fn.execute(c[cix+aix[k]], avals[k]);
 				}
+				//exploit temporal locality of rows
+				lnnz += UtilFunctions.countNonZeros(c, cix, n);
 			}
 		}
 		else if( !m2.sparse ) //DENSE right
 		{
 			if( !m2.isEmptyBlock(false) ) {
-				for( int bi=0; bi<dc.numBlocks(); bi++ ) {
-					double[] a = m2.getDenseBlock().valuesAt(bi);
-					double[] c = dc.valuesAt(bi);
-					int len = dc.size(bi);
-					for( int i=0; i<len; i++ ) {
-						c[i] = op.fn.execute(c[i], a[i]);
-						lnnz += (c[i]!=0) ? 1 : 0;
+				DenseBlock db = m2.getDenseBlock();
+				for( int i=rl; i<ru; i++ ) {
+					double[] b = db.values(i);
+					double[] c = dc.values(i);
+					int bix = db.pos(i), cix = dc.pos(i);
+					for( int j=0; j<n; j++ ) {
+						c[cix+j] = op.fn.execute(c[cix+j], b[bix+j]);
+						lnnz += (c[cix+j]!=0) ? 1 : 0;
 					}
 				}
 			}
 			else if(op.fn instanceof Multiply)
-				ret.denseBlock.set(0);
+				dc.set(rl, ru, 0, n, 0);
 			else
-				lnnz = m1.nonZeros;
+				lnnz = m1.recomputeNonZeros(rl, ru-1);
 		}
 		
-		//3) recompute nnz
-		ret.setNonZeros(lnnz);
+		//3) return nnz of row range
+		return lnnz;
 	}
 	
-	private static void safeBinaryMMDenseDenseDense(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op) {
-		ret.allocateDenseBlock();
+	private static long safeBinaryMMDenseDenseDense(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op, int rl, int ru) {
 		DenseBlock da = m1.getDenseBlock();
 		DenseBlock db = m2.getDenseBlock();
 		DenseBlock dc = ret.getDenseBlock();
 		ValueFunction fn = op.fn;
+		int clen = m1.clen;
 		
 		//compute dense-dense binary, maintain nnz on-the-fly
 		long lnnz = 0;
-		for( int bi=0; bi<da.numBlocks(); bi++ ) {
-			double[] a = da.valuesAt(bi);
-			double[] b = db.valuesAt(bi);
-			double[] c = dc.valuesAt(bi);
-			int len = da.size(bi);
+		if( da.isContiguous(rl, ru-1) && db.isContiguous(rl, ru-1) && dc.isContiguous(rl, ru-1) ) {
+			double[] a = da.values(rl);
+			double[] b = db.values(rl);
+			double[] c = dc.values(rl);
+			int aix = da.pos(rl), bix = db.pos(rl), cix = dc.pos(rl);
+			int len = (ru-rl) * clen;
 			for( int i=0; i<len; i++ ) {
-				c[i] = fn.execute(a[i], b[i]);
-				lnnz += (c[i]!=0)? 1 : 0;
+				c[cix+i] = fn.execute(a[aix+i], b[bix+i]);
+				lnnz += (c[cix+i]!=0)? 1 : 0;
 			}
 		}
-		ret.setNonZeros(lnnz);
+		else {
+			for( int i=rl; i<ru; i++ ) {
+				double[] a = da.values(i);
+				double[] b = db.values(i);
+				double[] c = dc.values(i);
+				int aix = da.pos(i), bix = db.pos(i), cix = dc.pos(i);
+				for( int j=0; j<clen; j++ ) {
+					c[cix+j] = fn.execute(a[aix+j], b[bix+j]);
+					lnnz += (c[cix+j]!=0)? 1 : 0;
+				}
+			}
+		}
+		return lnnz;
 	}
 	
-	private static void safeBinaryMMSparseDenseSkip(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op) {
+	private static long safeBinaryMMSparseDenseSkip(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op, int rl, int ru) {
 		SparseBlock a = m1.sparse ? m1.sparseBlock : m2.sparseBlock;
 		if( a == null )
-			return;
+			return 0;
 		
-		//prepare second input and allocate output
+		//prepare second input (output allocated by caller)
 		MatrixBlock b = m1.sparse ? m2 : m1;
-		ret.allocateBlock();
 		
-		for( int i=0; i<a.numRows(); i++ ) {
+		for( int i=rl; i<Math.min(ru, a.numRows()); i++ ) {
 			if( a.isEmpty(i) ) continue;
 			int apos = a.pos(i);
 			int alen = a.size(i);
@@ -791,12 +817,14 @@ public class LibMatrixBincell
 				ret.appendValue(i, aix[k], val);
 			}
 		}
+		
+		//note: nnz maintained in append value but not thread-safe
+		return ret.recomputeNonZeros(rl, ru-1);
 	}
 	
-	private static void safeBinaryMMGeneric(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op) {
-		int rlen = m1.rlen;
+	private static long safeBinaryMMGeneric(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op, int rl, int ru) {
 		int clen = m2.clen;
-		for(int r=0; r<rlen; r++)
+		for(int r=rl; r<ru; r++)
 			for(int c=0; c<clen; c++) {
 				double in1 = m1.quickGetValue(r, c);
 				double in2 = m2.quickGetValue(r, c);
@@ -804,6 +832,9 @@ public class LibMatrixBincell
 				double val = op.fn.execute(in1, in2);
 				ret.appendValue(r, c, val);
 			}
+		
+		//note: nnz maintained in append value but not thread-safe
+		return ret.recomputeNonZeros(rl, ru-1);
 	}
 	
 	/**
@@ -864,14 +895,47 @@ public class LibMatrixBincell
 		ret.examSparsity();
 	}
 
-	private static void unsafeBinary(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op) {
+	private static void unsafeBinary(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op, int k) {
 		int rlen = m1.rlen;
+		BinaryAccessType atype = getBinaryAccessType(m1, m2);
+		
+		if( atype == BinaryAccessType.OUTER_VECTOR_VECTOR ) //VECTOR - VECTOR
+		{
+			int clen2 = m2.clen; 
+			
+			if(LibMatrixOuterAgg.isCompareOperator(op) 
+				&& m2.getNumColumns()>16 && SortUtils.isSorted(m2)) {
+				performBinOuterOperation(m1, m2, ret, op);
+			} 
+			else {
+				for(int r=0; r<rlen; r++) {
+					double v1 = m1.quickGetValue(r, 0);
+					for(int c=0; c<clen2; c++) {
+						double v2 = m2.quickGetValue(0, c);
+						double v = op.fn.execute( v1, v2 );
+						ret.appendValue(r, c, v);
+					}
+				}
+			}
+		}
+		else //MATRIX - MATRIX, MATRIX - VECTOR
+		{
+			//allocate once in order to prevent repeated reallocation
+			//and concurrent allocation in multi-threaded execution
+			allocateOutput(ret);
+			
+			//compute row partitions, incl nnz maintenance
+			ret.nonZeros = executeBincell(m1, m2, ret, op, false, k);
+		}
+	}
+	
+	private static long unsafeBinaryMM(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op, int rl, int ru) {
 		int clen = m1.clen;
 		BinaryAccessType atype = getBinaryAccessType(m1, m2);
 		
 		if( atype == BinaryAccessType.MATRIX_COL_VECTOR ) //MATRIX - COL_VECTOR
 		{
-			for(int r=0; r<rlen; r++) {
+			for(int r=rl; r<ru; r++) {
 				double v2 = m2.quickGetValue(r, 0);
 				for(int c=0; c<clen; c++) {
 					double v1 = m1.quickGetValue(r, c);
@@ -882,7 +946,7 @@ public class LibMatrixBincell
 		}
 		else if( atype == BinaryAccessType.MATRIX_ROW_VECTOR ) //MATRIX - ROW_VECTOR
 		{
-			for(int r=0; r<rlen; r++)
+			for(int r=rl; r<ru; r++)
 				for(int c=0; c<clen; c++) {
 					double v1 = m1.quickGetValue(r, c);
 					double v2 = m2.quickGetValue(0, c);
@@ -890,46 +954,26 @@ public class LibMatrixBincell
 					ret.appendValue(r, c, v);
 				}
 		}
-		else if( atype == BinaryAccessType.OUTER_VECTOR_VECTOR ) //VECTOR - VECTOR
-		{
-			int clen2 = m2.clen; 
-			
-			if(LibMatrixOuterAgg.isCompareOperator(op) 
-				&& m2.getNumColumns()>16 && SortUtils.isSorted(m2)) {
-				performBinOuterOperation(m1, m2, ret, op);
-			} 
-			else {
-				for(int r=0; r<rlen; r++) {
-					double v1 = m1.quickGetValue(r, 0);
-					for(int c=0; c<clen2; c++) {
-						double v2 = m2.quickGetValue(0, c);
-						double v = op.fn.execute( v1, v2 );
-						ret.appendValue(r, c, v);
-					}
-				}
-			}
-		}
 		else // MATRIX - MATRIX
 		{
 			//dense non-empty vectors (always single block)
 			if( m1.clen==1 && !m1.sparse && !m1.isEmptyBlock(false)
-				&& !m2.sparse && !m2.isEmptyBlock(false)  )
+				&& !m2.sparse && !m2.isEmptyBlock(false) && !ret.sparse )
 			{
-				ret.allocateDenseBlock();
 				double[] a = m1.getDenseBlockValues();
 				double[] b = m2.getDenseBlockValues();
 				double[] c = ret.getDenseBlockValues();
-				int lnnz = 0;
-				for( int i=0; i<rlen; i++ ) {
+				long lnnz = 0;
+				for( int i=rl; i<ru; i++ ) {
 					c[i] = op.fn.execute( a[i], b[i] );
 					lnnz += (c[i] != 0) ? 1 : 0;
 				}
-				ret.nonZeros = lnnz;
+				return lnnz;
 			}
 			//general case
 			else 
 			{
-				for(int r=0; r<rlen; r++)
+				for(int r=rl; r<ru; r++)
 					for(int c=0; c<clen; c++) {
 						double v1 = m1.quickGetValue(r, c);
 						double v2 = m2.quickGetValue(r, c);
@@ -938,9 +982,12 @@ public class LibMatrixBincell
 					}
 			}
 		}
+		
+		//note: nnz maintained in append value but not thread-safe
+		return ret.recomputeNonZeros(rl, ru-1);
 	}
 
-	private static void safeBinaryScalar(MatrixBlock m1, MatrixBlock ret, ScalarOperator op) {
+	private static void safeBinaryScalar(MatrixBlock m1, MatrixBlock ret, ScalarOperator op, int k) {
 		//early abort possible since sparsesafe
 		if( m1.isEmptyBlock(false) ) {
 			return;
@@ -950,56 +997,56 @@ public class LibMatrixBincell
 		if( m1.sparse != ret.sparse )
 			throw new DMLRuntimeException("Unsupported safe binary scalar operations over different input/output representation: "+m1.sparse+" "+ret.sparse);
 		
+		//allocate sparse row structure or dense block (incl clear nnz)
+		allocateOutput(ret);
+		
+		//compute row partitions, incl nnz maintenance
+		ret.nonZeros = executeBincell(m1, null, ret, op, true, k);
+	}
+	
+	private static long safeBinaryScalarSparse(MatrixBlock m1, MatrixBlock ret, ScalarOperator op, int rl, int ru) {
 		boolean copyOnes = (op.fn instanceof NotEquals && op.getConstant()==0);
 		boolean allocExact = (op.fn instanceof Multiply || op.fn instanceof Multiply2 
 			|| op.fn instanceof Power2 || Builtin.isBuiltinCode(op.fn, BuiltinCode.MAX)
 			|| Builtin.isBuiltinCode(op.fn, BuiltinCode.MIN));
 		
-		if( m1.sparse ) //SPARSE <- SPARSE
-		{
-			//allocate sparse row structure
-			ret.allocateSparseRowsBlock();
-			SparseBlock a = m1.sparseBlock;
-			SparseBlock c = ret.sparseBlock;
-			int rlen = Math.min(m1.rlen, a.numRows());
+		SparseBlock a = m1.sparseBlock;
+		SparseBlock c = ret.sparseBlock;
+		int rlen = Math.min(ru, a.numRows());
+		
+		long nnz = 0;
+		for(int r=rl; r<rlen; r++) {
+			if( a.isEmpty(r) ) continue;
 			
-			long nnz = 0;
-			for(int r=0; r<rlen; r++) {
-				if( a.isEmpty(r) ) continue;
+			int apos = a.pos(r);
+			int alen = a.size(r);
+			int[] aix = a.indexes(r);
+			double[] avals = a.values(r);
+			
+			if( copyOnes ) { //SPECIAL CASE: e.g., (X != 0) 
+				//create sparse row without repeated resizing
+				SparseRowVector crow = new SparseRowVector(alen);
+				crow.setSize(alen);
 				
-				int apos = a.pos(r);
-				int alen = a.size(r);
-				int[] aix = a.indexes(r);
-				double[] avals = a.values(r);
+				//memcopy/memset of indexes/values (sparseblock guarantees absence of 0s) 
+				System.arraycopy(aix, apos, crow.indexes(), 0, alen);
+				Arrays.fill(crow.values(), 0, alen, 1);
+				c.set(r, crow, false);
+				nnz += alen;
+			}
+			else { //GENERAL CASE
+				//create sparse row without repeated resizing for specific ops
+				if( allocExact )
+					c.allocate(r, alen);
 				
-				if( copyOnes ) { //SPECIAL CASE: e.g., (X != 0) 
-					//create sparse row without repeated resizing
-					SparseRowVector crow = new SparseRowVector(alen);
-					crow.setSize(alen);
-					
-					//memcopy/memset of indexes/values (sparseblock guarantees absence of 0s) 
-					System.arraycopy(aix, apos, crow.indexes(), 0, alen);
-					Arrays.fill(crow.values(), 0, alen, 1);
-					c.set(r, crow, false);
-					nnz += alen;
-				}
-				else { //GENERAL CASE
-					//create sparse row without repeated resizing for specific ops
-					if( allocExact )
-						c.allocate(r, alen);
-					
-					for(int j=apos; j<apos+alen; j++) {
-						double val = op.executeScalar(avals[j]);
-						c.append(r, aix[j], val);
-						nnz += (val != 0) ? 1 : 0; 
-					}
+				for(int j=apos; j<apos+alen; j++) {
+					double val = op.executeScalar(avals[j]);
+					c.append(r, aix[j], val);
+					nnz += (val != 0) ? 1 : 0; 
 				}
 			}
-			ret.nonZeros = nnz;
-		}
-		else { //DENSE <- DENSE
-			denseBinaryScalar(m1, ret, op);
 		}
+		return nnz;
 	}
 	
 	/**
@@ -1008,8 +1055,9 @@ public class LibMatrixBincell
 	 * @param m1 input matrix
 	 * @param ret result matrix
 	 * @param op scalar operator
+	 * @param k maximum parallelism
 	 */
-	private static void unsafeBinaryScalar(MatrixBlock m1, MatrixBlock ret, ScalarOperator op) {
+	private static void unsafeBinaryScalar(MatrixBlock m1, MatrixBlock ret, ScalarOperator op, int k) {
 		//early abort possible since sparsesafe
 		if( m1.isEmptyBlock(false) ) {
 			//compute 0 op constant once and set into dense output
@@ -1023,66 +1071,111 @@ public class LibMatrixBincell
 		if( ret.sparse )
 			throw new DMLRuntimeException("Unsupported unsafe binary scalar operations over sparse output representation.");
 		
-		if( m1.sparse ) //SPARSE MATRIX
-		{
-			ret.allocateDenseBlock();
-			
-			SparseBlock a = m1.sparseBlock;
-			DenseBlock dc = ret.getDenseBlock();
-			int m = m1.rlen;
-			int n = m1.clen;
-			
-			//init dense result with unsafe 0-value
-			double val0 = op.executeScalar(0);
-			boolean lsparseSafe = (val0 == 0);
-			if( !lsparseSafe )
-				dc.set(val0);
-			
-			//compute non-zero input values
-			long nnz = lsparseSafe ? 0 : m * n;
-			for(int bi=0; bi<dc.numBlocks(); bi++) {
-				int blen = dc.blockSize(bi);
-				double[] c = dc.valuesAt(bi);
-				for(int i=bi*dc.blockSize(), cix=i*n; i<blen && i<m; i++, cix+=n) {
-					if( a.isEmpty(i) ) continue;
-					int apos = a.pos(i);
-					int alen = a.size(i);
-					int[] aix = a.indexes(i);
-					double[] avals = a.values(i);
-					for(int j=apos; j<apos+alen; j++) {
-						double val = op.executeScalar(avals[j]);
-						c[ cix+aix[j] ] = val;
-						nnz += lsparseSafe ? (val!=0 ? 1 : 0) :
-							(val==0 ? -1 : 0);
-					}
-				}
+		//allocate dense block (if necessary), incl clear nnz
+		ret.allocateDenseBlock();
+		
+		//compute row partitions, incl nnz maintenance
+		ret.nonZeros = executeBincell(m1, null, ret, op, false, k);
+	}
+	
+	private static long unsafeBinaryScalarSparse(MatrixBlock m1, MatrixBlock ret, ScalarOperator op, int rl, int ru) {
+		SparseBlock a = m1.sparseBlock;
+		DenseBlock dc = ret.getDenseBlock();
+		int n = m1.clen;
+		
+		//init dense result with unsafe 0-value
+		double val0 = op.executeScalar(0);
+		boolean lsparseSafe = (val0 == 0);
+		if( !lsparseSafe )
+			dc.set(rl, ru, 0, n, val0);
+		
+		//compute non-zero input values
+		long nnz = lsparseSafe ? 0 : (long)(ru-rl) * n;
+		for(int i=rl; i<ru; i++) {
+			if( a.isEmpty(i) ) continue;
+			int apos = a.pos(i);
+			int alen = a.size(i);
+			int[] aix = a.indexes(i);
+			double[] avals = a.values(i);
+			double[] c = dc.values(i);
+			int cix = dc.pos(i);
+			for(int j=apos; j<apos+alen; j++) {
+				double val = op.executeScalar(avals[j]);
+				c[ cix+aix[j] ] = val;
+				nnz += lsparseSafe ? (val!=0 ? 1 : 0) :
+					(val==0 ? -1 : 0);
 			}
-			ret.nonZeros = nnz;
-		}
-		else { //DENSE MATRIX
-			denseBinaryScalar(m1, ret, op);
 		}
+		return nnz;
 	}
 
-	private static void denseBinaryScalar(MatrixBlock m1, MatrixBlock ret, ScalarOperator op) {
-		//allocate dense block (if necessary), incl clear nnz
-		ret.allocateDenseBlock(true);
-		
+	private static long denseBinaryScalar(MatrixBlock m1, MatrixBlock ret, ScalarOperator op, int rl, int ru) {
 		DenseBlock da = m1.getDenseBlock();
 		DenseBlock dc = ret.getDenseBlock();
+		int clen = m1.clen;
 		
 		//compute scalar operation, incl nnz maintenance
 		long nnz = 0;
-		for( int bi=0; bi<da.numBlocks(); bi++) {
-			double[] a = da.valuesAt(bi);
-			double[] c = dc.valuesAt(bi);
-			int limit = da.size(bi);
-			for( int i=0; i<limit; i++ ) {
-				c[i] = op.executeScalar( a[i] );
-				nnz += (c[i] != 0) ? 1 : 0;
+		if( da.isContiguous(rl, ru-1) && dc.isContiguous(rl, ru-1) ) {
+			double[] a = da.values(rl);
+			double[] c = dc.values(rl);
+			int aix = da.pos(rl), cix = dc.pos(rl);
+			int len = (ru-rl) * clen;
+			for( int i=0; i<len; i++ ) {
+				c[cix+i] = op.executeScalar( a[aix+i] );
+				nnz += (c[cix+i] != 0) ? 1 : 0;
 			}
 		}
-		ret.nonZeros = nnz;
+		else {
+			for( int i=rl; i<ru; i++ ) {
+				double[] a = da.values(i);
+				double[] c = dc.values(i);
+				int aix = da.pos(i), cix = dc.pos(i);
+				for( int j=0; j<clen; j++ ) {
+					c[cix+j] = op.executeScalar( a[aix+j] );
+					nnz += (c[cix+j] != 0) ? 1 : 0;
+				}
+			}
+		}
+		return nnz;
+	}
+	
+	private static void allocateOutput(MatrixBlock ret) {
+		//allocate output (incl clear nnz) before partitioned execution,
+		//and thus also before checking the output for thread-safety
+		if( ret.sparse )
+			ret.allocateSparseRowsBlock();
+		else
+			ret.allocateDenseBlock();
+	}
+	
+	private static long executeBincell(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, Operator op, boolean safe, int k) {
+		//sequential execution for small inputs or non-thread-safe outputs
+		if( !satisfiesMultiThreadingConstraints(m1, m2, ret, k) )
+			return new BincellTask(m1, m2, ret, op, safe, 0, m1.rlen).call();
+		
+		//multi-threaded execution over disjoint row partitions
+		try {
+			ExecutorService pool = CommonThreadPool.get(k);
+			ArrayList<BincellTask> tasks = new ArrayList<>();
+			ArrayList<Integer> blklens = UtilFunctions.getBalancedBlockSizesDefault(m1.rlen, k, false);
+			for( int i=0, lb=0; i<blklens.size(); lb+=blklens.get(i), i++ )
+				tasks.add(new BincellTask(m1, m2, ret, op, safe, lb, lb+blklens.get(i)));
+			long nnz = 0;
+			for( Future<Long> task : pool.invokeAll(tasks) )
+				nnz += task.get();
+			pool.shutdown();
+			return nnz;
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+	
+	private static boolean satisfiesMultiThreadingConstraints(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, int k) {
+		//work is proportional to the input nnz for sparse outputs, and to the number of cells otherwise
+		long work = ret.sparse ? m1.nonZeros + ((m2 != null) ? m2.nonZeros : 0) : (long)m1.rlen * m1.clen;
+		return k > 1 && m1.rlen > 1 && work >= PAR_NUMCELL_THRESHOLD && ret.isThreadSafe();
 	}
 
 	private static void safeBinaryInPlace(MatrixBlock m1ret, MatrixBlock m2, BinaryOperator op) {
@@ -1353,4 +1446,45 @@ public class LibMatrixBincell
 		if( zero )
 			c.compact(r);
 	}
+	
+	private static class BincellTask implements Callable<Long>
+	{
+		private final MatrixBlock _m1;
+		private final MatrixBlock _m2;
+		private final MatrixBlock _ret;
+		private final Operator _op;
+		private final boolean _safe;
+		private final int _rl;
+		private final int _ru;
+
+		protected BincellTask(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, Operator op, boolean safe, int rl, int ru) {
+			_m1 = m1;
+			_m2 = m2;
+			_ret = ret;
+			_op = op;
+			_safe = safe;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Long call() {
+			//matrix-scalar operations
+			if( _m2 == null ) {
+				ScalarOperator sop = (ScalarOperator) _op;
+				if( !_m1.sparse )
+					return denseBinaryScalar(_m1, _ret, sop, _rl, _ru);
+				return _safe ? safeBinaryScalarSparse(_m1, _ret, sop, _rl, _ru) :
+					unsafeBinaryScalarSparse(_m1, _ret, sop, _rl, _ru);
+			}
+			
+			//matrix-matrix, matrix-vector operations
+			BinaryOperator bop = (BinaryOperator) _op;
+			if( !_safe )
+				return unsafeBinaryMM(_m1, _m2, _ret, bop, _rl, _ru);
+			return (getBinaryAccessType(_m1, _m2) == BinaryAccessType.MATRIX_MATRIX) ?
+				safeBinaryMM(_m1, _m2, _ret, bop, _rl, _ru) :
+				safeBinaryMV(_m1, _m2, _ret, bop, _rl, _ru);
+		}
+	}
 }
@@ -0,0 +1,478 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.matrix.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.util.CommonThreadPool;
+
+/**
+ * Library for blocked, multi-threaded factorizations of dense square matrices,
+ * i.e., Cholesky and LU decomposition with partial pivoting, as well as the
+ * derived linear system solve and matrix inverse. All kernels operate in-place
+ * on a single row-major dense copy of the input, and use right-looking blocked
+ * algorithms with multi-threaded panel solves and trailing matrix updates.
+ * If the native library is loaded and supports LAPACK, the factorizations
+ * are delegated to dpotrf and dgetrf, respectively.
+ */
+public class LibMatrixLinAlg
+{
+	//block size of blocked factorizations (panel width)
+	private static final int BLOCKSIZE = 128;
+	//column block size of trailing updates (cache blocking)
+	private static final int BLOCKSIZE_COLS = 1024;
+	//min number of cells of the trailing matrix for multi-threading
+	private static final long PAR_NUMCELL_THRESHOLD = 64 * 1024;
+	//relative symmetry and absolute positivity thresholds (consistent w/ commons-math)
+	private static final double REL_SYMMETRY_THRESHOLD = 1e-14;
+	private static final double ABS_POSITIVITY_THRESHOLD = 1e-10;
+
+	private LibMatrixLinAlg() {
+		//prevent instantiation via private constructor
+	}
+
+	/**
+	 * Indicates if the given matrix is supported by the blocked factorizations,
+	 * i.e., if it is a square matrix whose dense copy fits into a single array.
+	 *
+	 * @param in input matrix
+	 * @return true if supported
+	 */
+	public static boolean isSupported(MatrixBlock in) {
+		return in.getNumRows() == in.getNumColumns()
+			&& (long)in.getNumRows() * in.getNumColumns() < Integer.MAX_VALUE;
+	}
+
+	/**
+	 * Computes the Cholesky decomposition A = L t(L) of the given symmetric
+	 * positive definite matrix.
+	 *
+	 * @param in input matrix A
+	 * @param k number of threads
+	 * @return lower triangular matrix L
+	 */
+	public static MatrixBlock cholesky(MatrixBlock in, int k) {
+		final int n = in.getNumRows();
+		MatrixBlock ret = copyToDense(in);
+		double[] a = ret.getDenseBlockValues();
+		checkSymmetric(a, n);
+
+		//native or blocked java factorization
+		int info = LibMatrixNative.cholesky(a, n, k);
+		if( info > 0 )
+			throw new DMLRuntimeException("Input to cholesky() must be positive definite.");
+		else if( info < 0 )
+			choleskyBlocked(a, n, k);
+
+		//clear upper triangle (unmodified input)
+		for( int i=0, ix=0; i<n; i++, ix+=n )
+			Arrays.fill(a, ix+i+1, ix+n, 0);
+		ret.recomputeNonZeros();
+		ret.examSparsity();
+		return ret;
+	}
+
+	/**
+	 * Computes the LU decomposition with partial pivoting PA = LU
+	 * of the given square matrix.
+	 *
+	 * @param in input matrix A
+	 * @param k number of threads
+	 * @return array of permutation matrix P, unit lower triangular
+	 *   matrix L and upper triangular matrix U
+	 */
+	public static MatrixBlock[] lu(MatrixBlock in, int k) {
+		final int n = in.getNumRows();
+		MatrixBlock tmp = copyToDense(in);
+		double[] a = tmp.getDenseBlockValues();
+		int[] perm = factorizeLU(a, n, k);
+
+		//split factorization into P, L, and U
+		MatrixBlock P = new MatrixBlock(n, n, true);
+		MatrixBlock L = new MatrixBlock(n, n, false);
+		MatrixBlock U = new MatrixBlock(n, n, false);
+		L.allocateDenseBlock();
+		U.allocateDenseBlock();
+		double[] lvals = L.getDenseBlockValues();
+		double[] uvals = U.getDenseBlockValues();
+		for( int i=0, ix=0; i<n; i++, ix+=n ) {
+			P.appendValue(i, perm[i], 1);
+			System.arraycopy(a, ix, lvals, ix, i);
+			lvals[ix+i] = 1;
+			System.arraycopy(a, ix+i, uvals, ix+i, n-i);
+		}
+		L.recomputeNonZeros();
+		L.examSparsity();
+		U.recomputeNonZeros();
+		U.examSparsity();
+		return new MatrixBlock[] { P, L, U };
+	}
+
+	/**
+	 * Solves the linear system A X = B for a square, non-singular matrix A
+	 * via LU decomposition with partial pivoting.
+	 *
+	 * @param in1 square matrix A
+	 * @param in2 right-hand side B
+	 * @param k number of threads
+	 * @return solution X
+	 */
+	public static MatrixBlock solve(MatrixBlock in1, MatrixBlock in2, int k) {
+		final int n = in1.getNumRows();
+		if( in2.getNumRows() != n )
+			throw new DMLRuntimeException("Dimension mismatch in solve(A,b): "
+				+ n + "x" + n + " vs " + in2.getNumRows() + "x" + in2.getNumColumns() + ".");
+		MatrixBlock tmp = copyToDense(in1);
+		double[] a = tmp.getDenseBlockValues();
+		int[] perm = factorizeLU(a, n, k);
+		checkNonSingular(a, n, "solve");
+
+		//permute right-hand side into output and solve in-place
+		final int m = in2.getNumColumns();
+		MatrixBlock B = copyToDense(in2);
+		MatrixBlock ret = new MatrixBlock(n, m, false);
+		ret.allocateDenseBlock();
+		double[] b = B.getDenseBlockValues();
+		double[] x = ret.getDenseBlockValues();
+		for( int i=0; i<n; i++ )
+			System.arraycopy(b, perm[i]*m, x, i*m, m);
+		solveLU(a, x, n, m, k);
+
+		ret.recomputeNonZeros();
+		ret.examSparsity();
+		return ret;
+	}
+
+	/**
+	 * Computes the inverse of a square, non-singular matrix via
+	 * LU decomposition with partial pivoting.
+	 *
+	 * @param in square matrix A
+	 * @param k number of threads
+	 * @return inverse matrix
+	 */
+	public static MatrixBlock inverse(MatrixBlock in, int k) {
+		final int n = in.getNumRows();
+		MatrixBlock tmp = copyToDense(in);
+		double[] a = tmp.getDenseBlockValues();
+		int[] perm = factorizeLU(a, n, k);
+		checkNonSingular(a, n, "inv");
+
+		//solve for permuted identity matrix
+		MatrixBlock ret = new MatrixBlock(n, n, false);
+		ret.allocateDenseBlock();
+		double[] x = ret.getDenseBlockValues();
+		for( int i=0; i<n; i++ )
+			x[i*n+perm[i]] = 1;
+		solveLU(a, x, n, n, k);
+
+		ret.recomputeNonZeros();
+		ret.examSparsity();
+		return ret;
+	}
+
+	private static int[] factorizeLU(double[] a, int n, int k) {
+		int[] perm = new int[n];
+		if( !LibMatrixNative.lu(a, perm, n, k) )
+			luBlocked(a, perm, n, k);
+		return perm;
+	}
+
+	private static void choleskyBlocked(double[] a, int n, int k) {
+		ExecutorService pool = getThreadPool((long)n * n, k);
+		try {
+			for( int bl=0; bl<n; bl+=BLOCKSIZE ) {
+				final int bl2 = bl, bu = Math.min(bl+BLOCKSIZE, n);
+
+				//factorize diagonal block (unblocked)
+				choleskyDiag(a, n, bl, bu);
+				if( bu == n ) break;
+
+				//triangular solve of panel below the diagonal block
+				executeRowRanges(pool, k, bu, n,
+					(rl, ru) -> choleskyPanel(a, n, bl2, bu, rl, ru));
+
+				//symmetric rank-k update of lower trailing matrix
+				executeRowRanges(pool, k, bu, n,
+					(rl, ru) -> choleskyUpdate(a, n, bl2, bu, rl, ru));
+			}
+		}
+		finally {
+			if( pool != null )
+				pool.shutdown();
+		}
+	}
+
+	private static void choleskyDiag(double[] a, int n, int bl, int bu) {
+		for( int j=bl, jx=bl*n; j<bu; j++, jx+=n ) {
+			double d = a[jx+j] - LibMatrixMult.dotProduct(a, a, jx+bl, jx+bl, j-bl);
+			if( d <= ABS_POSITIVITY_THRESHOLD )
+				throw new DMLRuntimeException("Input to cholesky() must be positive definite.");
+			double ljj = a[jx+j] = Math.sqrt(d);
+			for( int i=j+1, ix=(j+1)*n; i<bu; i++, ix+=n )
+				a[ix+j] = (a[ix+j] - LibMatrixMult.dotProduct(a, a, ix+bl, jx+bl, j-bl)) / ljj;
+		}
+	}
+
+	private static void choleskyPanel(double[] a, int n, int bl, int bu, int rl, int ru) {
+		for( int i=rl, ix=rl*n; i<ru; i++, ix+=n )
+			for( int j=bl, jx=bl*n; j<bu; j++, jx+=n )
+				a[ix+j] = (a[ix+j] - LibMatrixMult.dotProduct(a, a, ix+bl, jx+bl, j-bl)) / a[jx+j];
+	}
+
+	private static void choleskyUpdate(double[] a, int n, int bl, int bu, int rl, int ru) {
+		final int len = bu - bl;
+		for( int i=rl, ix=rl*n; i<ru; i++, ix+=n )
+			for( int j=bu, jx=bu*n; j<=i; j++, jx+=n )
+				a[ix+j] -= LibMatrixMult.dotProduct(a, a, ix+bl, jx+bl, len);
+	}
+
+	private static void luBlocked(double[] a, int[] perm, int n, int k) {
+		for( int i=0; i<n; i++ )
+			perm[i] = i;
+
+		ExecutorService pool = getThreadPool((long)n * n, k);
+		try {
+			for( int bl=0; bl<n; bl+=BLOCKSIZE ) {
+				final int bl2 = bl, bu = Math.min(bl+BLOCKSIZE, n);
+
+				//factorize panel with partial pivoting (unblocked)
+				luPanel(a, perm, n, bl, bu);
+				if( bu == n ) break;
+
+				//triangular solve of block row right to the diagonal block
+				executeRowRanges(pool, k, bu, n,
+					(cl, cu) -> luBlockRow(a, n, bl2, bu, cl, cu));
+
+				//rank-k update of trailing matrix
+				executeRowRanges(pool, k, bu, n,
+					(rl, ru) -> luUpdate(a, n, bl2, bu, rl, ru));
+			}
+		}
+		finally {
+			if( pool != null )
+				pool.shutdown();
+		}
+	}
+
+	private static void luPanel(double[] a, int[] perm, int n, int bl, int bu) {
+		for( int j=bl, jx=bl*n; j<bu; j++, jx+=n ) {
+			//find pivot (max absolute value in column)
+			int p = j;
+			double max = Math.abs(a[jx+j]);
+			for( int i=j+1, ix=(j+1)*n; i<n; i++, ix+=n )
+				if( Math.abs(a[ix+j]) > max ) {
+					max = Math.abs(a[ix+j]);
+					p = i;
+				}
+
+			//interchange entire rows (incl L and trailing matrix)
+			if( p != j ) {
+				swapRows(a, n, j, p);
+				int tmp = perm[j]; perm[j] = perm[p]; perm[p] = tmp;
+			}
+
+			//compute multipliers and update remaining panel columns
+			//(zero pivots indicate singular matrices, and all remaining
+			//column entries are zero, i.e., there is nothing to eliminate)
+			double pivot = a[jx+j];
+			if( pivot == 0 )
+				continue;
+			for( int i=j+1, ix=(j+1)*n; i<n; i++, ix+=n ) {
+				double lij = a[ix+j] /= pivot;
+				if( lij != 0 )
+					LibMatrixMult.vectMultiplyAdd(-lij, a, a, jx+j+1, ix+j+1, bu-j-1);
+			}
+		}
+	}
+
+	private static void luBlockRow(double[] a, int n, int bl, int bu, int cl, int cu) {
+		//forward substitution with unit lower triangular diagonal block
+		for( int i=bl+1, ix=(bl+1)*n; i<bu; i++, ix+=n )
+			for( int p=bl, px=bl*n; p<i; p++, px+=n ) {
+				double lip = a[ix+p];
+				if( lip != 0 )
+					LibMatrixMult.vectMultiplyAdd(-lip, a, a, px+cl, ix+cl, cu-cl);
+			}
+	}
+
+	private static void luUpdate(double[] a, int n, int bl, int bu, int rl, int ru) {
+		//cache-conscious update in column blocks of the block row
+		for( int cl=bu; cl<n; cl+=BLOCKSIZE_COLS ) {
+			int len = Math.min(cl+BLOCKSIZE_COLS, n) - cl;
+			for( int i=rl, ix=rl*n; i<ru; i++, ix+=n )
+				for( int p=bl, px=bl*n; p<bu; p++, px+=n ) {
+					double lip = a[ix+p];
+					if( lip != 0 )
+						LibMatrixMult.vectMultiplyAdd(-lip, a, a, px+cl, ix+cl, len);
+				}
+		}
+	}
+
+	private static void solveLU(double[] a, double[] x, int n, int m, int k) {
+		if( m == 1 ) {
+			//forward and backward substitution via dot products
+			for( int i=0, ix=0; i<n; i++, ix+=n )
+				x[i] -= LibMatrixMult.dotProduct(a, x, ix, 0, i);
+			for( int i=n-1, ix=(n-1)*n; i>=0; i--, ix-=n )
+				x[i] = (x[i] - LibMatrixMult.dotProduct(a, x, ix+i+1, i+1, n-i-1)) / a[ix+i];
+			return;
+		}
+
+		//multi-threaded substitution over column ranges of the right-hand side
+		ExecutorService pool = getThreadPool((long)n * m, k);
+		try {
+			executeRowRanges(pool, k, 0, m, (cl, cu) -> solveLU(a, x, n, m, cl, cu));
+		}
+		finally {
+			if( pool != null )
+				pool.shutdown();
+		}
+	}
+
+	private static void solveLU(double[] a, double[] x, int n, int m, int cl, int cu) {
+		final int len = cu - cl;
+		//forward substitution with unit lower triangular L
+		for( int i=0, ix=0; i<n; i++, ix+=n )
+			for( int p=0; p<i; p++ ) {
+				double lip = a[ix+p];
+				if( lip != 0 )
+					LibMatrixMult.vectMultiplyAdd(-lip, x, x, p*m+cl, i*m+cl, len);
+			}
+		//backward substitution with upper triangular U
+		for( int i=n-1, ix=(n-1)*n; i>=0; i--, ix-=n ) {
+			for( int p=i+1; p<n; p++ ) {
+				double uip = a[ix+p];
+				if( uip != 0 )
+					LibMatrixMult.vectMultiplyAdd(-uip, x, x, p*m+cl, i*m+cl, len);
+			}
+			double uii = a[ix+i];
+			for( int j=i*m+cl; j<i*m+cu; j++ )
+				x[j] /= uii;
+		}
+	}
+
+	private static MatrixBlock copyToDense(MatrixBlock in) {
+		final int m = in.getNumRows();
+		final int n = in.getNumColumns();
+		MatrixBlock ret = new MatrixBlock(m, n, false);
+		ret.allocateDenseBlock();
+		if( in.isEmptyBlock(false) )
+			return ret;
+		double[] c = ret.getDenseBlockValues();
+		if( in.isInSparseFormat() ) {
+			SparseBlock sblock = in.getSparseBlock();
+			for( int i=0; i<m; i++ ) {
+				if( sblock.isEmpty(i) ) continue;
+				int apos = sblock.pos(i);
+				int alen = sblock.size(i);
+				int[] aix = sblock.indexes(i);
+				double[] avals = sblock.values(i);
+				for( int j=apos; j<apos+alen; j++ )
+					c[i*n+aix[j]] = avals[j];
+			}
+		}
+		else {
+			DenseBlock a = in.getDenseBlock();
+			for( int i=0; i<m; i++ )
+				System.arraycopy(a.values(i), a.pos(i), c, i*n, n);
+		}
+		ret.setNonZeros(in.getNonZeros());
+		return ret;
+	}
+
+	private static void checkSymmetric(double[] a, int n) {
+		for( int i=0, ix=0; i<n; i++, ix+=n )
+			for( int j=i+1; j<n; j++ ) {
+				double aij = a[ix+j], aji = a[j*n+i];
+				if( Math.abs(aij - aji) > REL_SYMMETRY_THRESHOLD * Math.max(Math.abs(aij), Math.abs(aji)) )
+					throw new DMLRuntimeException("Input to cholesky() must be symmetric.");
+			}
+	}
+
+	private static void checkNonSingular(double[] a, int n, String opname) {
+		for( int i=0; i<n; i++ )
+			if( a[i*n+i] == 0 )
+				throw new DMLRuntimeException("Input to "+opname+"() must be a non-singular matrix.");
+	}
+
+	private static void swapRows(double[] a, int n, int r1, int r2) {
+		for( int j=0, r1x=r1*n, r2x=r2*n; j<n; j++ ) {
+			double tmp = a[r1x+j];
+			a[r1x+j] = a[r2x+j];
+			a[r2x+j] = tmp;
+		}
+	}
+
+	private static ExecutorService getThreadPool(long cells, int k) {
+		return (k > 1 && cells >= PAR_NUMCELL_THRESHOLD) ?
+			CommonThreadPool.get(k) : null;
+	}
+
+	private static void executeRowRanges(ExecutorService pool, int k, int rl, int ru, RangeKernel kernel) {
+		//sequential execution for small or single-threaded operations
+		if( pool == null || (long)(ru-rl) * (ru-rl) < PAR_NUMCELL_THRESHOLD ) {
+			kernel.execute(rl, ru);
+			return;
+		}
+
+		//multi-threaded execution over k*4 ranges (for load balance of triangular updates)
+		try {
+			ArrayList<RangeTask> tasks = new ArrayList<>();
+			int numTasks = Math.min(4 * k, ru - rl);
+			int blklen = (int)Math.ceil((double)(ru-rl) / numTasks);
+			for( int i=rl; i<ru; i+=blklen )
+				tasks.add(new RangeTask(kernel, i, Math.min(i+blklen, ru)));
+			for( Future<Object> task : pool.invokeAll(tasks) )
+				task.get();
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+
+	private interface RangeKernel {
+		public void execute(int rl, int ru);
+	}
+
+	private static class RangeTask implements Callable<Object>
+	{
+		private final RangeKernel _kernel;
+		private final int _rl;
+		private final int _ru;
+
+		protected RangeTask(RangeKernel kernel, int rl, int ru) {
+			_kernel = kernel;
+			_rl = rl;
+			_ru = ru;
+		}
+
+		@Override
+		public Object call() {
+			_kernel.execute(_rl, _ru);
+			return null;
+		}
+	}
+}
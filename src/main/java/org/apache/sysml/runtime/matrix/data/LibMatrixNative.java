@@ -36,6 +36,9 @@ public class LibMatrixNative
 {
 	private static final Log LOG = LogFactory.getLog(LibMatrixNative.class.getName());
 	
+	//flag if native factorizations are available (false for libraries w/o lapack)
+	private static volatile boolean _nativeFactorization = true;
+	
 	// ThreadLocal reuse of direct buffers for inputs/outputs (extended on demand).
 	//   note: since we anyway have to convert from double to float, we use
 	//   preallocated direct buffers (with thread-local reuse and resizing on demand)
@@ -144,6 +147,76 @@ public class LibMatrixNative
 			LibMatrixMult.matrixMultTransposeSelf(m1, ret, leftTrans);
 	}
 	
+	/**
+	 * Computes the in-place Cholesky factorization (lower triangle) of the given
+	 * dense row-major matrix via LAPACK, if supported by the native library.
+	 * 
+	 * @param a dense row-major matrix
+	 * @param n number of rows and columns
+	 * @param k number of threads
+	 * @return LAPACK info code (&gt; 0 if not positive definite), or -1 if not supported or failed
+	 */
+	public static int cholesky(double[] a, int n, int k) {
+		if( !isNativeFactorizationSupported() )
+			return -1;
+		try {
+			int info = NativeHelper.dpotrf(a, n, k <= 0 ? NativeHelper.getMaxNumThreads() : k);
+			if( info < 0 )
+				Statistics.incrementNativeFailuresCounter();
+			return info;
+		}
+		catch(UnsatisfiedLinkError ex) {
+			disableNativeFactorization();
+			return -1;
+		}
+	}
+	
+	/**
+	 * Computes the in-place LU factorization with partial pivoting of the given
+	 * dense row-major matrix via LAPACK, if supported by the native library.
+	 * 
+	 * @param a dense row-major matrix
+	 * @param perm output row permutation, i.e., row i of PA is row perm[i] of A
+	 * @param n number of rows and columns
+	 * @param k number of threads
+	 * @return true if successfully computed
+	 */
+	public static boolean lu(double[] a, int[] perm, int n, int k) {
+		if( !isNativeFactorizationSupported() )
+			return false;
+		try {
+			int[] ipiv = new int[n];
+			if( NativeHelper.dgetrf(a, ipiv, n, k <= 0 ? NativeHelper.getMaxNumThreads() : k) < 0 ) {
+				Statistics.incrementNativeFailuresCounter();
+				return false;
+			}
+			//convert sequential row interchanges into permutation
+			for( int i=0; i<n; i++ )
+				perm[i] = i;
+			for( int i=0; i<n; i++ ) {
+				int p = ipiv[i] - 1, tmp = perm[i];
+				perm[i] = perm[p];
+				perm[p] = tmp;
+			}
+			return true;
+		}
+		catch(UnsatisfiedLinkError ex) {
+			disableNativeFactorization();
+			return false;
+		}
+	}
+	
+	private static boolean isNativeFactorizationSupported() {
+		return NativeHelper.isNativeLibraryLoaded() && _nativeFactorization;
+	}
+	
+	private static void disableNativeFactorization() {
+		//native library build w/o lapack support, fallback to java
+		if( _nativeFactorization )
+			LOG.warn("Native library does not support factorizations - falling back to java operators.");
+		_nativeFactorization = false;
+	}
+	
 	/**
 	 * This method performs convolution (i.e. cross-correlation) operation on input
 	 * 
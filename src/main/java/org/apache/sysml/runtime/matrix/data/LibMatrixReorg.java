@@ -66,6 +66,9 @@ public class LibMatrixReorg
 	//minimum number of elements for multi-threaded execution
 	public static final long PAR_NUMCELL_THRESHOLD = 1024*1024; //1M
 	
+	//minimum number of rows for multi-threaded sort
+	public static final int PAR_SORT_NUMROWS_THRESHOLD = 64*1024; //64K
+	
 	//allow shallow dense/sparse copy for unchanged data (which is 
 	//safe due to copy-on-write and safe update-in-place handling)
 	public static final boolean SHALLOW_COPY_REORG = true;
@@ -110,7 +113,7 @@ public class LibMatrixReorg
 				return diag(in, out);
 			case SORT:
 				SortIndex ix = (SortIndex) op.fn;
-				return sort(in, out, ix.getCols(), ix.getDecreasing(), ix.getIndexReturn());
+				return sort(in, out, ix.getCols(), ix.getDecreasing(), ix.getIndexReturn(), op.getNumThreads());
 			default:
 				throw new DMLRuntimeException("Unsupported reorg operator: "+op.fn);
 		}
@@ -302,12 +305,33 @@ public class LibMatrixReorg
 	}
 
 	public static MatrixBlock sort(MatrixBlock in, MatrixBlock out, int[] by, boolean desc, boolean ixret) {
+		return sort(in, out, by, desc, ixret, 1);
+	}
+	
+	/**
+	 * Stable sort of the rows of the given input by one or multiple columns
+	 * (order), returning either the sorted data or the sorted row indexes.
+	 * For k &gt; 1 and sufficiently large inputs, row partitions are sorted in
+	 * parallel and subsequently merged in parallel rounds of pairwise merges,
+	 * with ties on all by-columns broken by the row index. Hence, the result
+	 * is identical to the single-threaded stable sort.
+	 * 
+	 * @param in input matrix
+	 * @param out output matrix
+	 * @param by one-based indexes of the columns to sort by
+	 * @param desc sort in descending order
+	 * @param ixret return the sorted row indexes instead of the data
+	 * @param k maximum parallelism
+	 * @return output matrix
+	 */
+	public static MatrixBlock sort(MatrixBlock in, MatrixBlock out, int[] by, boolean desc, boolean ixret, int k) {
 		//meta data gathering and preparation
 		boolean sparse = in.isInSparseFormat();
 		int rlen = in.rlen;
 		int clen = in.clen;
 		out.sparse = (in.sparse && !ixret);
 		out.nonZeros = ixret ? rlen : in.nonZeros;
+		boolean par = (k > 1 && rlen >= PAR_SORT_NUMROWS_THRESHOLD);
 		
 		//step 1: error handling
 		if( !isValidSortByList(by, clen) )
@@ -323,7 +347,10 @@ public class LibMatrixReorg
 			if( !sparse && clen == 1 ) { //DENSE COLUMN VECTOR
 				//in-place quicksort, unstable (no indexes needed)
 				out.copy( in ); //dense (always single block)
-				Arrays.sort(out.getDenseBlockValues());
+				if( par )
+					Arrays.parallelSort(out.getDenseBlockValues());
+				else
+					Arrays.sort(out.getDenseBlockValues());
 				if( desc )
 					sortReverseDense(out);
 				return out;
@@ -341,56 +368,35 @@ public class LibMatrixReorg
 		}
 		
 		//step 3: index vector sorting
-		
-		//create index vector and extract values
 		int[] vix = new int[rlen];
 		double[] values = new double[rlen];
-		for( int i=0; i<rlen; i++ ) {
-			vix[i] = i;
-			values[i] = in.quickGetValue(i, by[0]-1);
-		}
-		
-		//sort index vector on extracted data (unstable)
-		SortUtils.sortByValue(0, rlen, values, vix);
-		
-		//sort by secondary columns if required (in-place)
-		if( by.length > 1 )
-			sortBySecondary(0, rlen, values, vix, in, by, 1);
-		
-		//flip order if descending requested (note that this needs to happen
-		//before we ensure stable outputs, hence we also flip values)
-		if(desc) {
-			sortReverseDense(vix);
-			sortReverseDense(values);
-		}
-		
-		//final pass to ensure stable output
-		sortIndexesStable(0, rlen, values, vix, in, by, 1);
+		if( !par )
+			sortIndexes(in, by, desc, vix, values, 0, rlen);
+		else
+			vix = sortIndexesParallel(in, by, desc, vix, values, k);
 
 		//step 4: create output matrix (guaranteed non-empty, see step 2)
-		if( !ixret ) {
-			//copy input data in sorted order into result
-			if( !sparse ) { //DENSE
-				out.allocateDenseBlock(false);
-				DenseBlock a = in.getDenseBlock();
-				DenseBlock c = out.getDenseBlock();
-				for( int i=0; i<rlen; i++ )
-					System.arraycopy(a.values(vix[i]), a.pos(vix[i]), c.values(i), c.pos(i), clen);
-			}
-			else { //SPARSE
-				out.allocateSparseRowsBlock(false);
-				for( int i=0; i<rlen; i++ )
-					if( !in.sparseBlock.isEmpty(vix[i]) )
-						out.sparseBlock.set(i, in.sparseBlock.get(vix[i]),
-							!SHALLOW_COPY_REORG); //row remains unchanged
-			}
+		if( ixret || !sparse )
+			out.allocateDenseBlock(false);
+		else
+			out.allocateSparseRowsBlock(false);
+		if( !par || !out.isThreadSafe() ) {
+			copySortedRows(in, out, vix, ixret, 0, rlen);
 		}
 		else {
-			//copy sorted index vector into result
-			out.allocateDenseBlock(false);
-			DenseBlock c = out.getDenseBlock();
-			for( int i=0; i<rlen; i++ )
-				c.set(i, 0, vix[i]+1);
+			try {
+				ExecutorService pool = CommonThreadPool.get(k);
+				ArrayList<SortCopyTask> tasks = new ArrayList<>();
+				ArrayList<Integer> blklens = UtilFunctions.getBalancedBlockSizesDefault(rlen, k, false);
+				for( int i=0, lb=0; i<blklens.size(); lb+=blklens.get(i), i++ )
+					tasks.add(new SortCopyTask(in, out, vix, ixret, lb, lb+blklens.get(i)));
+				for( Future<Object> task : pool.invokeAll(tasks) )
+					task.get();
+				pool.shutdown();
+			}
+			catch(Exception ex) {
+				throw new DMLRuntimeException(ex);
+			}
 		}
 		
 		return out;
@@ -2093,21 +2099,146 @@ public class LibMatrixReorg
 		}
 	}
 
-	private static void sortReverseDense( int[] a ) {
-		int rlen = a.length;
-		for( int i=0; i<rlen/2; i++ ) {
+	private static void sortReverseDense( int[] a, int rl, int ru ) {
+		for( int i=rl, j=ru-1; i<j; i++, j-- ) {
 			int tmp = a[i];
-			a[i] = a[rlen - i -1];
-			a[rlen - i - 1] = tmp;
+			a[i] = a[j];
+			a[j] = tmp;
 		}
 	}
 
-	private static void sortReverseDense( double[] a ) {
-		int rlen = a.length;
-		for( int i=0; i<rlen/2; i++ ) {
+	private static void sortReverseDense( double[] a, int rl, int ru ) {
+		for( int i=rl, j=ru-1; i<j; i++, j-- ) {
 			double tmp = a[i];
-			a[i] = a[rlen - i -1];
-			a[rlen - i - 1] = tmp;
+			a[i] = a[j];
+			a[j] = tmp;
+		}
+	}
+	
+	private static void sortIndexes(MatrixBlock in, int[] by, boolean desc, int[] vix, double[] values, int rl, int ru) {
+		//create index vector and extract values
+		for( int i=rl; i<ru; i++ ) {
+			vix[i] = i;
+			values[i] = in.quickGetValue(i, by[0]-1);
+		}
+		
+		//sort index vector on extracted data (unstable)
+		SortUtils.sortByValue(rl, ru, values, vix);
+		
+		//sort by secondary columns if required (in-place)
+		if( by.length > 1 )
+			sortBySecondary(rl, ru, values, vix, in, by, 1);
+		
+		//flip order if descending requested (note that this needs to happen
+		//before we ensure stable outputs, hence we also flip values)
+		if(desc) {
+			sortReverseDense(vix, rl, ru);
+			sortReverseDense(values, rl, ru);
+		}
+		
+		//final pass to ensure stable output
+		sortIndexesStable(rl, ru, values, vix, in, by, 1);
+	}
+	
+	private static int[] sortIndexesParallel(MatrixBlock in, int[] by, boolean desc, int[] vix, double[] values, int k) {
+		int rlen = in.rlen;
+		try {
+			ExecutorService pool = CommonThreadPool.get(k);
+			
+			//sort row partitions independently (incl stable output)
+			ArrayList<Integer> blklens = UtilFunctions.getBalancedBlockSizesDefault(rlen, k, true);
+			int[] bounds = new int[blklens.size()+1];
+			for( int i=0; i<blklens.size(); i++ )
+				bounds[i+1] = bounds[i] + blklens.get(i);
+			ArrayList<SortTask> tasks = new ArrayList<>();
+			for( int i=0; i<bounds.length-1; i++ )
+				tasks.add(new SortTask(in, by, desc, vix, values, bounds[i], bounds[i+1]));
+			for( Future<Object> task : pool.invokeAll(tasks) )
+				task.get();
+			
+			//rounds of pairwise merges of sorted runs (via buffers)
+			int[] vix2 = new int[rlen];
+			double[] values2 = new double[rlen];
+			while( bounds.length > 2 ) {
+				int nruns = bounds.length-1;
+				int[] bounds2 = new int[(nruns+1)/2+1];
+				ArrayList<MergeTask> mtasks = new ArrayList<>();
+				for( int i=0; i<nruns; i+=2 ) {
+					//odd last run is merged with an empty run (i.e., copied)
+					int ru = (i+1 < nruns) ? bounds[i+2] : bounds[i+1];
+					mtasks.add(new MergeTask(in, by, desc, vix, values,
+						vix2, values2, bounds[i], bounds[i+1], ru));
+					bounds2[i/2+1] = ru;
+				}
+				for( Future<Object> task : pool.invokeAll(mtasks) )
+					task.get();
+				//swap input and output buffers
+				int[] tmp1 = vix; vix = vix2; vix2 = tmp1;
+				double[] tmp2 = values; values = values2; values2 = tmp2;
+				bounds = bounds2;
+			}
+			pool.shutdown();
+			return vix;
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+	
+	private static void mergeSortedRuns(MatrixBlock in, int[] by, boolean desc, int[] vix, double[] values,
+		int[] vix2, double[] values2, int rl, int mid, int ru)
+	{
+		int i = rl, j = mid, pos = rl;
+		while( i < mid && j < ru ) {
+			if( compareRows(in, by, desc, values[i], vix[i], values[j], vix[j]) <= 0 ) {
+				vix2[pos] = vix[i]; values2[pos++] = values[i++];
+			}
+			else {
+				vix2[pos] = vix[j]; values2[pos++] = values[j++];
+			}
+		}
+		//copy remaining tail of either run
+		System.arraycopy(vix, i, vix2, pos, mid-i);
+		System.arraycopy(values, i, values2, pos, mid-i);
+		pos += mid-i;
+		System.arraycopy(vix, j, vix2, pos, ru-j);
+		System.arraycopy(values, j, values2, pos, ru-j);
+	}
+	
+	private static int compareRows(MatrixBlock in, int[] by, boolean desc, double v1, int ix1, double v2, int ix2) {
+		//compare by columns in order (-0 and 0 equal, consistent w/ single-threaded sort)
+		int cmp = (v1 < v2) ? -1 : (v1 > v2) ? 1 : 0;
+		for( int j=1; j<by.length && cmp==0; j++ ) {
+			double a = in.quickGetValue(ix1, by[j]-1);
+			double b = in.quickGetValue(ix2, by[j]-1);
+			cmp = (a < b) ? -1 : (a > b) ? 1 : 0;
+		}
+		//break ties by row index (stable output in either direction)
+		return (cmp != 0) ? (desc ? -cmp : cmp) : Integer.compare(ix1, ix2);
+	}
+	
+	private static void copySortedRows(MatrixBlock in, MatrixBlock out, int[] vix, boolean ixret, int rl, int ru) {
+		int clen = in.clen;
+		if( !ixret ) {
+			//copy input data in sorted order into result
+			if( !in.isInSparseFormat() ) { //DENSE
+				DenseBlock a = in.getDenseBlock();
+				DenseBlock c = out.getDenseBlock();
+				for( int i=rl; i<ru; i++ )
+					System.arraycopy(a.values(vix[i]), a.pos(vix[i]), c.values(i), c.pos(i), clen);
+			}
+			else { //SPARSE
+				for( int i=rl; i<ru; i++ )
+					if( !in.sparseBlock.isEmpty(vix[i]) )
+						out.sparseBlock.set(i, in.sparseBlock.get(vix[i]),
+							!SHALLOW_COPY_REORG); //row remains unchanged
+			}
+		}
+		else {
+			//copy sorted index vector into result
+			DenseBlock c = out.getDenseBlock();
+			for( int i=rl; i<ru; i++ )
+				c.set(i, 0, vix[i]+1);
 		}
 	}
 	
@@ -2337,4 +2468,91 @@ public class LibMatrixReorg
 			return rexpandColumns(_in, _out, _max, _cast, _ignore, _rl, _ru);
 		}
 	}
+	
+	private static class SortTask implements Callable<Object>
+	{
+		private final MatrixBlock _in;
+		private final int[] _by;
+		private final boolean _desc;
+		private final int[] _vix;
+		private final double[] _values;
+		private final int _rl;
+		private final int _ru;
+
+		protected SortTask(MatrixBlock in, int[] by, boolean desc, int[] vix, double[] values, int rl, int ru) {
+			_in = in;
+			_by = by;
+			_desc = desc;
+			_vix = vix;
+			_values = values;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Object call() {
+			sortIndexes(_in, _by, _desc, _vix, _values, _rl, _ru);
+			//re-extract values of first column, as the stable pass
+			//overwrites runs of equal values with subsequent columns
+			for( int i=_rl; i<_ru; i++ )
+				_values[i] = _in.quickGetValue(_vix[i], _by[0]-1);
+			return null;
+		}
+	}
+	
+	private static class MergeTask implements Callable<Object>
+	{
+		private final MatrixBlock _in;
+		private final int[] _by;
+		private final boolean _desc;
+		private final int[] _vix, _vix2;
+		private final double[] _values, _values2;
+		private final int _rl, _mid, _ru;
+
+		protected MergeTask(MatrixBlock in, int[] by, boolean desc, int[] vix, double[] values,
+			int[] vix2, double[] values2, int rl, int mid, int ru)
+		{
+			_in = in;
+			_by = by;
+			_desc = desc;
+			_vix = vix;
+			_values = values;
+			_vix2 = vix2;
+			_values2 = values2;
+			_rl = rl;
+			_mid = mid;
+			_ru = ru;
+		}
+		
+		@Override
+		public Object call() {
+			mergeSortedRuns(_in, _by, _desc, _vix, _values, _vix2, _values2, _rl, _mid, _ru);
+			return null;
+		}
+	}
+	
+	private static class SortCopyTask implements Callable<Object>
+	{
+		private final MatrixBlock _in;
+		private final MatrixBlock _out;
+		private final int[] _vix;
+		private final boolean _ixret;
+		private final int _rl;
+		private final int _ru;
+
+		protected SortCopyTask(MatrixBlock in, MatrixBlock out, int[] vix, boolean ixret, int rl, int ru) {
+			_in = in;
+			_out = out;
+			_vix = vix;
+			_ixret = ixret;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Object call() {
+			copySortedRows(_in, _out, _vix, _ixret, _rl, _ru);
+			return null;
+		}
+	}
 }
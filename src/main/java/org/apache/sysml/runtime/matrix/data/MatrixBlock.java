@@ -2632,7 +2632,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			ret.reset(rlen, clen, sp, this.nonZeros);
 		
 		//core scalar operations
-		LibMatrixBincell.bincellOp(this, ret, op);
+		LibMatrixBincell.bincellOp(this, ret, op, op.getNumThreads());
 		
 		return ret;
 	}
@@ -2813,7 +2813,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			ret.reset(rows, cols, resultSparse.sparse, resultSparse.estimatedNonZeros);
 		
 		//core binary cell operation
-		LibMatrixBincell.bincellOp( this, that, ret, op );
+		LibMatrixBincell.bincellOp( this, that, ret, op, op.getNumThreads() );
 		
 		return ret;
 	}
@@ -20,12 +20,20 @@
 package org.apache.sysml.runtime.transform.encode;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.matrix.data.DenseBlock;
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.CommonThreadPool;
 import org.apache.sysml.runtime.util.UtilFunctions;
 import org.apache.wink.json4j.JSONArray;
 
@@ -39,6 +47,9 @@ public abstract class Encoder implements Serializable
 	private static final long serialVersionUID = 2299156350718979064L;
 	protected static final Log LOG = LogFactory.getLog(Encoder.class.getName());
 	
+	//minimum number of rows for multi-threaded build and apply
+	protected static final int PAR_NUMROWS_THRESHOLD = 4096;
+	
 	protected int _clen = -1; 
 	protected int[] _colList = null;
 	
@@ -122,6 +133,133 @@ public abstract class Encoder implements Serializable
 	 */
 	public abstract MatrixBlock apply(FrameBlock in, MatrixBlock out);
 
+	/**
+	 * Block encode: build and apply (transform encode) with up to k threads.
+	 * By default, this falls back to the single-threaded encode.
+	 * 
+	 * @param in input frame block
+	 * @param out output matrix block
+	 * @param k degree of parallelism
+	 * @return output matrix block
+	 */
+	public MatrixBlock encode(FrameBlock in, MatrixBlock out, int k) {
+		return encode(in, out);
+	}
+	
+	/**
+	 * Build the transform meta data for the given block input with up to
+	 * k threads. By default, this falls back to the single-threaded build.
+	 * 
+	 * @param in input frame block
+	 * @param k degree of parallelism
+	 */
+	public void build(FrameBlock in, int k) {
+		build(in);
+	}
+	
+	/**
+	 * Encode input data blockwise according to existing transform meta
+	 * data (transform apply) with up to k threads. By default, this falls
+	 * back to the single-threaded apply.
+	 * 
+	 * @param in input frame block
+	 * @param out output matrix block
+	 * @param k degree of parallelism
+	 * @return output matrix block
+	 */
+	public MatrixBlock apply(FrameBlock in, MatrixBlock out, int k) {
+		return apply(in, out);
+	}
+	
+	/**
+	 * Encode the rows [rl, ru) of the input according to existing transform
+	 * meta data into the given dense output, without maintaining the number
+	 * of non-zeros. Encoders that support row-partitioned apply override this
+	 * method, which allows concurrent calls for disjoint row ranges.
+	 * 
+	 * @param in input frame block
+	 * @param out preallocated dense output block
+	 * @param rl row lower bound (inclusive)
+	 * @param ru row upper bound (exclusive)
+	 */
+	protected void applyRows(FrameBlock in, DenseBlock out, int rl, int ru) {
+		throw new DMLRuntimeException("Row-partitioned apply not supported by "
+			+ getClass().getSimpleName() + ".");
+	}
+	
+	/**
+	 * Multi-threaded apply over disjoint row partitions, which write directly
+	 * into the preallocated dense output. Small inputs and sparse outputs
+	 * fall back to the single-threaded apply.
+	 * 
+	 * @param in input frame block
+	 * @param out output matrix block
+	 * @param k degree of parallelism
+	 * @return output matrix block
+	 */
+	protected MatrixBlock applyRowPartitioned(FrameBlock in, MatrixBlock out, int k) {
+		final int nrow = in.getNumRows();
+		if( !isParallel(nrow, k) || out.isInSparseFormat() )
+			return apply(in, out);
+		
+		//preallocate dense output and apply row partitions
+		out.allocateDenseBlock();
+		DenseBlock a = out.getDenseBlock();
+		ArrayList<Callable<Long>> tasks = new ArrayList<>();
+		for( int[] rix : getRowPartitions(nrow, k) )
+			tasks.add(() -> {
+				applyRows(in, a, rix[0], rix[1]);
+				return out.recomputeNonZeros(rix[0], rix[1]-1);
+			});
+		long nnz = 0;
+		for( Long tmp : execute(tasks, k) )
+			nnz += tmp;
+		out.setNonZeros(nnz);
+		return out;
+	}
+	
+	protected static boolean isParallel(int nrow, int k) {
+		return k > 1 && nrow >= PAR_NUMROWS_THRESHOLD;
+	}
+	
+	/**
+	 * Obtain balanced row partitions [rl, ru) for the given number of rows.
+	 * 
+	 * @param nrow number of rows
+	 * @param k degree of parallelism
+	 * @return list of row partitions
+	 */
+	protected static List<int[]> getRowPartitions(int nrow, int k) {
+		List<int[]> ret = new ArrayList<>();
+		List<Integer> blklens = UtilFunctions.getBalancedBlockSizesDefault(nrow, k, false);
+		for( int i=0, lb=0; i<blklens.size(); lb+=blklens.get(i), i++ )
+			ret.add(new int[]{lb, lb+blklens.get(i)});
+		return ret;
+	}
+	
+	/**
+	 * Executes the given tasks with up to k threads and returns their
+	 * results in the order of the given tasks.
+	 * 
+	 * @param tasks list of tasks
+	 * @param k degree of parallelism
+	 * @param <T> result type
+	 * @return list of task results
+	 */
+	protected static <T> List<T> execute(List<? extends Callable<T>> tasks, int k) {
+		try {
+			ExecutorService pool = CommonThreadPool.get(k);
+			List<T> ret = new ArrayList<>();
+			for( Future<T> rt : pool.invokeAll(tasks) )
+				ret.add(rt.get());
+			pool.shutdown();
+			return ret;
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+
 	/**
 	 * Construct a frame block out of the transform meta data.
 	 * 
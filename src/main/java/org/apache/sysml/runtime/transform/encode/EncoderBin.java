@@ -20,17 +20,21 @@
 package org.apache.sysml.runtime.transform.encode;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Callable;
 
 import org.apache.commons.lang.ArrayUtils;
 import org.apache.wink.json4j.JSONArray;
 import org.apache.wink.json4j.JSONException;
 import org.apache.wink.json4j.JSONObject;
 import org.apache.sysml.lops.Lop;
+import org.apache.sysml.runtime.matrix.data.DenseBlock;
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.transform.TfUtils;
+import org.apache.sysml.runtime.transform.meta.QuantileSketch;
 import org.apache.sysml.runtime.transform.meta.TfMetaUtils;
 import org.apache.sysml.runtime.util.UtilFunctions;
 
@@ -41,8 +45,21 @@ public class EncoderBin extends Encoder
 	public static final String MIN_PREFIX = "min";
 	public static final String MAX_PREFIX = "max";
 	public static final String NBINS_PREFIX = "nbins";
+	
+	public enum BinMethod {
+		EQUI_WIDTH,
+		EQUI_HEIGHT;
+		@Override
+		public String toString() {
+			return name().replace('_', '-').toLowerCase();
+		}
+	}
 
 	private int[] _numBins = null;
+	private BinMethod[] _methods = null;
+	
+	//partial quantile sketches for distributed build
+	private QuantileSketch[] _sketchesPart = null;
 	
 	//frame transform-apply attributes
 	//TODO binMins is redundant and could be removed
@@ -64,12 +81,15 @@ public class EncoderBin extends Encoder
 		boolean ids = parsedSpec.containsKey("ids") && parsedSpec.getBoolean("ids");
 		JSONArray group = (JSONArray) parsedSpec.get(TfUtils.TXMETHOD_BIN);
 		_numBins = new int[collist.size()];
+		_methods = new BinMethod[collist.size()];
 		for(int i=0; i < _numBins.length; i++) {
 			JSONObject colspec = (JSONObject) group.get(i);
 			int pos = collist.indexOf(ids ? colspec.getInt("id") :
 				ArrayUtils.indexOf(colnames, colspec.get("name"))+1);
 			_numBins[pos] = colspec.containsKey("numbins") ?
 				colspec.getInt("numbins"): 1;
+			_methods[pos] = colspec.containsKey("method") ? BinMethod.valueOf(
+				colspec.getString("method").toUpperCase().replace('-', '_')) : BinMethod.EQUI_WIDTH;
 		}
 	}
 	
@@ -79,6 +99,10 @@ public class EncoderBin extends Encoder
 		return apply(in, out);
 	}
 
+	public BinMethod getMethod(int colID) {
+		return _methods[ArrayUtils.indexOf(_colList, colID)];
+	}
+	
 	@Override
 	public void build(FrameBlock in) {
 		if ( !isApplicable() )
@@ -87,23 +111,124 @@ public class EncoderBin extends Encoder
 		_binMins = new double[_colList.length][];
 		_binMaxs = new double[_colList.length][];
 		
-		// derive bin boundaries from min/max per column
-		for(int j=0; j <_colList.length; j++) {
-			double min = Double.POSITIVE_INFINITY;
-			double max = Double.NEGATIVE_INFINITY;
-			int colID = _colList[j];
-			for( int i=0; i<in.getNumRows(); i++ ) {
-				double inVal = UtilFunctions.objectToDouble(
-					in.getSchema()[colID-1], in.get(i, colID-1));
-				min = Math.min(min, inVal);
-				max = Math.max(max, inVal);
-			}
-			_binMins[j] = new double[_numBins[j]];
-			_binMaxs[j] = new double[_numBins[j]];
-			for(int i=0; i<_numBins[j]; i++) {
-				_binMins[j][i] = min + i*(max-min)/_numBins[j];
-				_binMaxs[j][i] = min + (i+1)*(max-min)/_numBins[j];
-			}
+		// derive bin boundaries from min/max or quantiles per column
+		for(int j=0; j <_colList.length; j++)
+			setBinBoundaries(j, computeSketch(in, j, 0, in.getNumRows()));
+	}
+	
+	@Override
+	public void build(FrameBlock in, int k) {
+		if ( !isApplicable() )
+			return;
+		if( !isParallel(in.getNumRows(), k) ) {
+			build(in);
+			return;
+		}
+		
+		// compute partial sketches per column and row partition
+		List<int[]> parts = getRowPartitions(in.getNumRows(), k);
+		ArrayList<Callable<QuantileSketch>> tasks = new ArrayList<>();
+		for( int j=0; j<_colList.length; j++ ) {
+			int pos = j;
+			for( int[] rix : parts )
+				tasks.add(() -> computeSketch(in, pos, rix[0], rix[1]));
+		}
+		List<QuantileSketch> partials = execute(tasks, k);
+		
+		// merge partial sketches and derive bin boundaries
+		_binMins = new double[_colList.length][];
+		_binMaxs = new double[_colList.length][];
+		for( int j=0; j<_colList.length; j++ ) {
+			List<QuantileSketch> cpartials = partials.subList(j*parts.size(), (j+1)*parts.size());
+			for( int p=1; p<cpartials.size(); p++ )
+				cpartials.get(0).merge(cpartials.get(p));
+			setBinBoundaries(j, cpartials.get(0));
+		}
+	}
+	
+	/**
+	 * Updates the partial quantile sketches (e.g., of a distributed
+	 * partition) with the given frame block.
+	 * 
+	 * @param in input frame block
+	 */
+	public void buildPartial(FrameBlock in) {
+		if ( !isApplicable() )
+			return;
+		if( _sketchesPart == null ) {
+			_sketchesPart = new QuantileSketch[_colList.length];
+			for( int j=0; j<_colList.length; j++ )
+				_sketchesPart[j] = createSketch(j);
+		}
+		for( int j=0; j<_colList.length; j++ )
+			updateSketch(_sketchesPart[j], in, _colList[j], 0, in.getNumRows());
+	}
+	
+	public QuantileSketch[] getPartialSketches() {
+		return _sketchesPart;
+	}
+	
+	public void resetPartialSketches() {
+		_sketchesPart = null;
+	}
+	
+	/**
+	 * Computes the bin boundaries of the given column from a merged
+	 * sketch of all rows (e.g., of a distributed build), in the form 
+	 * of bin mins and bin maxs.
+	 * 
+	 * @param colID column ID, 1-based
+	 * @param sketch quantile sketch of the column
+	 * @return array of bin mins and bin maxs
+	 */
+	public double[][] computeBinBoundaries(int colID, QuantileSketch sketch) {
+		int j = ArrayUtils.indexOf(_colList, colID);
+		if( _binMins == null ) {
+			_binMins = new double[_colList.length][];
+			_binMaxs = new double[_colList.length][];
+		}
+		setBinBoundaries(j, sketch);
+		return new double[][]{_binMins[j], _binMaxs[j]};
+	}
+	
+	private QuantileSketch createSketch(int j) {
+		//equi-width bins only require min and max
+		return new QuantileSketch((_methods[j] == BinMethod.EQUI_HEIGHT) ?
+			QuantileSketch.DEFAULT_K : 0);
+	}
+	
+	private QuantileSketch computeSketch(FrameBlock in, int j, int rl, int ru) {
+		return updateSketch(createSketch(j), in, _colList[j], rl, ru);
+	}
+	
+	private static QuantileSketch updateSketch(QuantileSketch sketch, FrameBlock in, int colID, int rl, int ru) {
+		for( int i=rl; i<ru; i++ )
+			sketch.update(UtilFunctions.objectToDouble(
+				in.getSchema()[colID-1], in.get(i, colID-1)));
+		return sketch;
+	}
+	
+	private void setBinBoundaries(int j, QuantileSketch sketch) {
+		//equi-width bins from uniform quantiles of min/max sketches,
+		//equi-height bins from approximate quantiles
+		double[] phis = new double[_numBins[j]+1];
+		for( int i=0; i<=_numBins[j]; i++ )
+			phis[i] = (double) i / _numBins[j];
+		double[] q = sketch.getQuantiles(phis);
+		if( _methods[j] == BinMethod.EQUI_WIDTH ) {
+			setBinBoundaries(j, q[0], q[_numBins[j]]);
+			return;
+		}
+		_binMins[j] = Arrays.copyOfRange(q, 0, _numBins[j]);
+		_binMaxs[j] = Arrays.copyOfRange(q, 1, _numBins[j]+1);
+	}
+	
+	private void setBinBoundaries(int j, double min, double max) {
+		_binMins[j] = new double[_numBins[j]];
+		_binMaxs[j] = new double[_numBins[j]];
+		for(int i=0; i<_numBins[j]; i++) {
+			_binMins[j][i] = min + i*(max-min)/_numBins[j];
+			_binMaxs[j][i] = min + (i+1)*(max-min)/_numBins[j];
 		}
 	}
 	
@@ -122,6 +247,25 @@ public class EncoderBin extends Encoder
 		return out;
 	}
 
+	@Override
+	public MatrixBlock apply(FrameBlock in, MatrixBlock out, int k) {
+		return applyRowPartitioned(in, out, k);
+	}
+	
+	@Override
+	protected void applyRows(FrameBlock in, DenseBlock out, int rl, int ru) {
+		for(int j=0; j<_colList.length; j++) {
+			int colID = _colList[j];
+			for( int i=rl; i<ru; i++ ) {
+				double inVal = UtilFunctions.objectToDouble(
+						in.getSchema()[colID-1], in.get(i, colID-1));
+				int ix = Arrays.binarySearch(_binMaxs[j], inVal);
+				int binID = ((ix < 0) ? Math.abs(ix+1) : ix) + 1;
+				out.set(i, colID-1, binID);
+			}
+		}
+	}
+
 	@Override
 	public FrameBlock getMetaData(FrameBlock meta) {
 		//allocate frame if necessary
@@ -134,13 +278,8 @@ public class EncoderBin extends Encoder
 		for( int j=0; j<_colList.length; j++ ) {
 			int colID = _colList[j]; //1-based
 			meta.getColumnMetadata(colID-1).setNumDistinct(_numBins[j]);
-			for( int i=0; i<_binMaxs[j].length; i++ ) {
-				StringBuilder sb = new StringBuilder(16);
-				sb.append(_binMins[j][i]);
-				sb.append(Lop.DATATYPE_PREFIX);
-				sb.append(_binMaxs[j][i]);
-				meta.set(i, colID-1, sb.toString());
-			}
+			for( int i=0; i<_binMaxs[j].length; i++ )
+				meta.set(i, colID-1, constructBinMapEntry(_binMins[j][i], _binMaxs[j][i]));
 		}
 		return meta;
 	}
@@ -164,4 +303,18 @@ public class EncoderBin extends Encoder
 			}
 		}
 	}
+	
+	/**
+	 * Returns the bin map entry which consists of concatenation of
+	 * bin min, delimiter, and bin max.
+	 * 
+	 * @param min lower bin boundary
+	 * @param max upper bin boundary
+	 * @return the concatenation of min and max with delimiter in between
+	 */
+	public static String constructBinMapEntry(double min, double max) {
+		StringBuilder sb = new StringBuilder(32);
+		return sb.append(min).append(Lop.DATATYPE_PREFIX)
+			.append(max).toString();
+	}
 }
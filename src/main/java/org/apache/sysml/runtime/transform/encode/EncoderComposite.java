@@ -58,10 +58,15 @@ public class EncoderComposite extends Encoder
 	
 	@Override
 	public MatrixBlock encode(FrameBlock in, MatrixBlock out) {
+		return encode(in, out, 1);
+	}
+	
+	@Override
+	public MatrixBlock encode(FrameBlock in, MatrixBlock out, int k) {
 		try {
 			//build meta data first (for all encoders)
 			for( Encoder encoder : _encoders )
-				encoder.build(in);
+				encoder.build(in, k);
 			
 			//propagate meta data 
 			_meta = new FrameBlock(in.getNumColumns(), ValueType.STRING);
@@ -72,7 +77,7 @@ public class EncoderComposite extends Encoder
 			
 			//apply meta data
 			for( Encoder encoder : _encoders )
-				out = encoder.apply(in, out);
+				out = encoder.apply(in, out, k);
 		}
 		catch(Exception ex) {
 			LOG.error("Failed transform-encode frame with \n" + this);
@@ -84,15 +89,25 @@ public class EncoderComposite extends Encoder
 
 	@Override
 	public void build(FrameBlock in) {
+		build(in, 1);
+	}
+	
+	@Override
+	public void build(FrameBlock in, int k) {
 		for( Encoder encoder : _encoders )
-			encoder.build(in);
+			encoder.build(in, k);
 	}
 	
 	@Override 
 	public MatrixBlock apply(FrameBlock in, MatrixBlock out) {
+		return apply(in, out, 1);
+	}
+	
+	@Override 
+	public MatrixBlock apply(FrameBlock in, MatrixBlock out, int k) {
 		try {
 			for( Encoder encoder : _encoders )
-				out = encoder.apply(in, out);
+				out = encoder.apply(in, out, k);
 		}
 		catch(Exception ex) {
 			LOG.error("Failed to transform-apply frame with \n" + this);
@@ -19,8 +19,13 @@
 
 package org.apache.sysml.runtime.transform.encode;
 
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+
+import org.apache.sysml.runtime.matrix.data.DenseBlock;
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
 import org.apache.sysml.runtime.transform.TfUtils;
 import org.apache.sysml.runtime.transform.meta.TfMetaUtils;
 import org.apache.wink.json4j.JSONException;
@@ -84,6 +89,60 @@ public class EncoderDummycode extends Encoder
 		return ret;
 	}
 
+	@Override
+	public MatrixBlock apply(FrameBlock in, MatrixBlock out, int k) {
+		if( !isParallel(out.getNumRows(), k) )
+			return apply(in, out);
+		
+		//preallocate output in dense or sparse representation
+		final boolean sparse = MatrixBlock.evalSparseFormatInMemory(
+			out.getNumRows(), getNumCols(), out.getNonZeros());
+		MatrixBlock ret = new MatrixBlock(out.getNumRows(), getNumCols(), sparse);
+		ret.allocateBlock();
+		
+		//write dummy coded or unchanged values of disjoint row partitions
+		ArrayList<Callable<Long>> tasks = new ArrayList<>();
+		for( int[] rix : getRowPartitions(out.getNumRows(), k) )
+			tasks.add(() -> {
+				applyRows(out, ret, rix[0], rix[1]);
+				return ret.recomputeNonZeros(rix[0], rix[1]-1);
+			});
+		long nnz = 0;
+		for( Long tmp : execute(tasks, k) )
+			nnz += tmp;
+		ret.setNonZeros(nnz);
+		return ret;
+	}
+	
+	private void applyRows(MatrixBlock in, MatrixBlock out, int rl, int ru) {
+		final int clen = in.getNumColumns();
+		SparseBlock sblock = out.getSparseBlock();
+		DenseBlock dblock = out.getDenseBlock();
+		for( int i=rl; i<ru; i++ ) {
+			if( sblock != null )
+				sblock.allocate(i, clen);
+			for(int colID=1, idx=0, ncolID=1; colID <= clen; colID++) {
+				double val = in.quickGetValue(i, colID-1);
+				int pos = ncolID-1;
+				if( idx < _colList.length && colID==_colList[idx] ) {
+					pos += (int)val-1;
+					val = 1;
+					ncolID += _domainSizes[idx];
+					idx ++;
+				}
+				else {
+					ncolID ++;
+				}
+				if( val == 0 )
+					continue;
+				if( sblock != null )
+					sblock.append(i, pos, val);
+				else
+					dblock.set(i, pos, val);
+			}
+		}
+	}
+
 	@Override
 	public FrameBlock getMetaData(FrameBlock out) {
 		return out;
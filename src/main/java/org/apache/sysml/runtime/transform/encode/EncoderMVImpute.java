@@ -20,10 +20,12 @@
 package org.apache.sysml.runtime.transform.encode;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map.Entry;
+import java.util.concurrent.Callable;
 
 import org.apache.wink.json4j.JSONArray;
 import org.apache.wink.json4j.JSONException;
@@ -32,6 +34,7 @@ import org.apache.sysml.runtime.functionobjects.CM;
 import org.apache.sysml.runtime.functionobjects.Mean;
 import org.apache.sysml.runtime.instructions.cp.CM_COV_Object;
 import org.apache.sysml.runtime.instructions.cp.KahanObject;
+import org.apache.sysml.runtime.matrix.data.DenseBlock;
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.operators.CMOperator.AggregateOperationTypes;
@@ -315,20 +318,9 @@ public class EncoderMVImpute extends Encoder
 					//compute global column mode (categorical), i.e., most frequent category
 					HashMap<String,Long> hist = _hist.containsKey(colID) ? 
 							_hist.get(colID) : new HashMap<>();
-					for( int i=0; i<in.getNumRows(); i++ ) {
-						String key = String.valueOf(in.get(i, colID-1));
-						if( key != null && !key.isEmpty() ) {
-							Long val = hist.get(key);
-							hist.put(key, (val!=null) ? val+1 : 1);
-						}	
-					}
+					addToHistogram(hist, in, colID, 0, in.getNumRows());
 					_hist.put(colID, hist);
-					long max = Long.MIN_VALUE; 
-					for( Entry<String, Long> e : hist.entrySet() ) 
-						if( e.getValue() > max  ) {
-							_replacementList[j] = e.getKey();
-							max = e.getValue();
-						}
+					setMode(j, hist);
 				}
 			}
 		}
@@ -337,6 +329,86 @@ public class EncoderMVImpute extends Encoder
 		}
 	}
 	
+	@Override
+	public void build(FrameBlock in, int k) {
+		if( !isParallel(in.getNumRows(), k) ) {
+			build(in);
+			return;
+		}
+		
+		//compute partial means and histograms per column and row partition
+		List<int[]> parts = getRowPartitions(in.getNumRows(), k);
+		ArrayList<Callable<Object>> tasks = new ArrayList<>();
+		for( int j=0; j<_colList.length; j++ ) {
+			int colID = _colList[j];
+			MVMethod method = _mvMethodList[j];
+			for( int[] rix : parts )
+				tasks.add(() -> {
+					if( method == MVMethod.GLOBAL_MEAN ) {
+						KahanObject mean = new KahanObject(0, 0);
+						for( int i=rix[0]; i<rix[1]; i++ )
+							_meanFn.execute2(mean, UtilFunctions.objectToDouble(
+								in.getSchema()[colID-1], in.get(i, colID-1)), i-rix[0]+1);
+						return mean;
+					}
+					else if( method == MVMethod.GLOBAL_MODE ) {
+						HashMap<String,Long> hist = new HashMap<>();
+						addToHistogram(hist, in, colID, rix[0], rix[1]);
+						return hist;
+					}
+					return null;
+				});
+		}
+		List<Object> partials = execute(tasks, k);
+		
+		//merge partial means and histograms in row order
+		for( int j=0; j<_colList.length; j++ ) {
+			int colID = _colList[j];
+			if( _mvMethodList[j] == MVMethod.GLOBAL_MEAN ) {
+				for( int p=0; p<parts.size(); p++ ) {
+					KahanObject mean = (KahanObject) partials.get(j*parts.size()+p);
+					long len = parts.get(p)[1] - parts.get(p)[0];
+					_countList[j] += len;
+					_meanList[j]._sum += (mean._sum - _meanList[j]._sum) * len / _countList[j];
+				}
+				_replacementList[j] = String.valueOf(_meanList[j]._sum);
+			}
+			else if( _mvMethodList[j] == MVMethod.GLOBAL_MODE ) {
+				HashMap<String,Long> hist = _hist.containsKey(colID) ? 
+						_hist.get(colID) : new HashMap<>();
+				for( int p=0; p<parts.size(); p++ ) {
+					@SuppressWarnings("unchecked")
+					HashMap<String,Long> phist = (HashMap<String,Long>) partials.get(j*parts.size()+p);
+					for( Entry<String, Long> e : phist.entrySet() ) {
+						Long val = hist.get(e.getKey());
+						hist.put(e.getKey(), (val!=null) ? val+e.getValue() : e.getValue());
+					}
+				}
+				_hist.put(colID, hist);
+				setMode(j, hist);
+			}
+		}
+	}
+	
+	private static void addToHistogram(HashMap<String,Long> hist, FrameBlock in, int colID, int rl, int ru) {
+		for( int i=rl; i<ru; i++ ) {
+			String key = String.valueOf(in.get(i, colID-1));
+			if( key != null && !key.isEmpty() ) {
+				Long val = hist.get(key);
+				hist.put(key, (val!=null) ? val+1 : 1);
+			}	
+		}
+	}
+	
+	private void setMode(int j, HashMap<String,Long> hist) {
+		long max = Long.MIN_VALUE; 
+		for( Entry<String, Long> e : hist.entrySet() ) 
+			if( e.getValue() > max  ) {
+				_replacementList[j] = e.getKey();
+				max = e.getValue();
+			}
+	}
+	
 	@Override
 	public MatrixBlock apply(FrameBlock in, MatrixBlock out) {
 		for(int i=0; i<in.getNumRows(); i++) {
@@ -349,6 +421,22 @@ public class EncoderMVImpute extends Encoder
 		return out;
 	}
 	
+	@Override
+	public MatrixBlock apply(FrameBlock in, MatrixBlock out, int k) {
+		return applyRowPartitioned(in, out, k);
+	}
+	
+	@Override
+	protected void applyRows(FrameBlock in, DenseBlock out, int rl, int ru) {
+		for(int i=rl; i<ru; i++) {
+			for(int j=0; j<_colList.length; j++) {
+				int colID = _colList[j];
+				if( Double.isNaN(out.get(i, colID-1)) )
+					out.set(i, colID-1, Double.parseDouble(_replacementList[j]));
+			}
+		}
+	}
+	
 	@Override
 	public FrameBlock getMetaData(FrameBlock out) {
 		for( int j=0; j<_colList.length; j++ ) {
@@ -366,10 +454,10 @@ public class EncoderMVImpute extends Encoder
 			int colID = _colList[j];	
 			String mvVal = UtilFunctions.unquote(meta.getColumnMetadata(colID-1).getMvValue()); 
 			if( _rcList.contains(colID) ) {
-				Long mvVal2 = meta.getRecodeMap(colID-1).get(mvVal);
-				if( mvVal2 == null)
+				int mvVal2 = meta.getRecodeMap(colID-1).get(mvVal);
+				if( mvVal2 < 0 )
 					throw new RuntimeException("Missing recode value for impute value '"+mvVal+"' (colID="+colID+").");
-				_replacementList[j] = mvVal2.toString();
+				_replacementList[j] = String.valueOf(mvVal2);
 			}
 			else {
 				_replacementList[j] = mvVal;
@@ -19,8 +19,13 @@
 
 package org.apache.sysml.runtime.transform.encode;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
 import org.apache.wink.json4j.JSONException;
 import org.apache.wink.json4j.JSONObject;
+import org.apache.sysml.runtime.matrix.data.DenseBlock;
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.transform.TfUtils;
@@ -104,6 +109,67 @@ public class EncoderOmit extends Encoder
 		return ret; 
 	}
 
+	@Override
+	public MatrixBlock apply(FrameBlock in, MatrixBlock out, int k) {
+		if( !isParallel(out.getNumRows(), k) )
+			return apply(in, out);
+		
+		//determine valid rows and output offsets per row partition
+		List<int[]> parts = getRowPartitions(out.getNumRows(), k);
+		ArrayList<Callable<Integer>> tasks = new ArrayList<>();
+		for( int[] rix : parts )
+			tasks.add(() -> {
+				int numRows = 0;
+				for( int i=rix[0]; i<rix[1]; i++ )
+					numRows += isValid(out, i) ? 1 : 0;
+				return numRows;
+			});
+		List<Integer> counts = execute(tasks, k);
+		int[] offsets = new int[parts.size()+1];
+		for( int p=0; p<parts.size(); p++ )
+			offsets[p+1] = offsets[p] + counts.get(p);
+		
+		//copy over valid rows of disjoint partitions into the preallocated output
+		MatrixBlock ret = new MatrixBlock(offsets[parts.size()], out.getNumColumns(), false);
+		ret.allocateDenseBlock();
+		DenseBlock c = ret.getDenseBlock();
+		ArrayList<Callable<Long>> ctasks = new ArrayList<>();
+		for( int p=0; p<parts.size(); p++ ) {
+			int[] rix = parts.get(p);
+			int off = offsets[p];
+			ctasks.add(() -> {
+				long nnz = 0;
+				for( int i=rix[0], pos=off; i<rix[1]; i++ ) {
+					if( !isValid(out, i) )
+						continue;
+					for( int j=0; j<out.getNumColumns(); j++ ) {
+						double val = out.quickGetValue(i, j);
+						c.set(pos, j, val);
+						nnz += (val != 0) ? 1 : 0;
+					}
+					pos++;
+				}
+				return nnz;
+			});
+		}
+		long nnz = 0;
+		for( Long tmp : execute(ctasks, k) )
+			nnz += tmp;
+		ret.setNonZeros(nnz);
+		
+		//keep info an remove rows
+		_rmRows = out.getNumRows() - ret.getNumRows();
+		
+		return ret;
+	}
+	
+	private boolean isValid(MatrixBlock out, int i) {
+		for(int j=0; j<_colList.length; j++)
+			if( Double.isNaN(out.quickGetValue(i, _colList[j]-1)) )
+				return false;
+		return true;
+	}
+
 	@Override
 	public FrameBlock getMetaData(FrameBlock out) {
 		//do nothing
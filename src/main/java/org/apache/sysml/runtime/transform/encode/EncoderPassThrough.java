@@ -21,6 +21,7 @@ package org.apache.sysml.runtime.transform.encode;
 
 
 import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.matrix.data.DenseBlock;
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.util.UtilFunctions;
@@ -65,6 +66,25 @@ public class EncoderPassThrough extends Encoder
 		return out;
 	}
 
+	@Override
+	public MatrixBlock apply(FrameBlock in, MatrixBlock out, int k) {
+		return applyRowPartitioned(in, out, k);
+	}
+	
+	@Override
+	protected void applyRows(FrameBlock in, DenseBlock out, int rl, int ru) {
+		for( int j=0; j<_colList.length; j++ ) {
+			int col = _colList[j]-1;
+			ValueType vt = in.getSchema()[col];
+			for( int i=rl; i<ru; i++ ) {
+				Object val = in.get(i, col);
+				out.set(i, col, (val==null||(vt==ValueType.STRING 
+						&& val.toString().isEmpty())) ? Double.NaN : 
+						UtilFunctions.objectToDouble(vt, val));
+			}
+		}
+	}
+
 	@Override
 	public FrameBlock getMetaData(FrameBlock meta) {
 		//do nothing
@@ -19,15 +19,19 @@
 
 package org.apache.sysml.runtime.transform.encode;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
-import java.util.Map.Entry;
+import java.util.List;
+import java.util.concurrent.Callable;
 
 import org.apache.sysml.lops.Lop;
+import org.apache.sysml.runtime.matrix.data.DenseBlock;
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.transform.TfUtils;
+import org.apache.sysml.runtime.transform.meta.RecodeMap;
 import org.apache.sysml.runtime.transform.meta.TfMetaUtils;
 import org.apache.wink.json4j.JSONException;
 import org.apache.wink.json4j.JSONObject;
@@ -37,7 +41,7 @@ public class EncoderRecode extends Encoder
 	private static final long serialVersionUID = 8213163881283341874L;
 	
 	//recode maps and custom map for partial recode maps 
-	private HashMap<Integer, HashMap<String, Long>> _rcdMaps  = new HashMap<>();
+	private HashMap<Integer, RecodeMap> _rcdMaps  = new HashMap<>();
 	private HashMap<Integer, HashSet<Object>> _rcdMapsPart = null;
 	
 	public EncoderRecode(JSONObject parsedSpec, String[] colnames, int clen)
@@ -50,7 +54,7 @@ public class EncoderRecode extends Encoder
 		}
 	}
 	
-	public HashMap<Integer, HashMap<String,Long>> getCPRecodeMaps() { 
+	public HashMap<Integer, RecodeMap> getCPRecodeMaps() { 
 		return _rcdMaps; 
 	}
 	
@@ -61,8 +65,7 @@ public class EncoderRecode extends Encoder
 	private long lookupRCDMap(int colID, String key) {
 		if( !_rcdMaps.containsKey(colID) )
 			return -1; //empty recode map
-		Long tmp = _rcdMaps.get(colID).get(key);
-		return (tmp!=null) ? tmp : -1;
+		return _rcdMaps.get(colID).get(key);
 	}
 	
 	@Override
@@ -82,23 +85,73 @@ public class EncoderRecode extends Encoder
 		if( !isApplicable() )
 			return;
 
+		//build column maps of dictionary-encoded columns from codes
+		for( int j=0; j<_colList.length; j++ ) {
+			int colID = _colList[j]; //1-based
+			if( !in.isDictionaryEncoded(colID-1) )
+				continue;
+			if( !_rcdMaps.containsKey(colID) ) 
+				_rcdMaps.put(colID, new RecodeMap());
+			for( String key : getDistinctDictionaryValues(in, colID, 0, in.getNumRows()) )
+				_rcdMaps.get(colID).add(key);
+		}
+		
 		Iterator<String[]> iter = in.getStringRowIterator(_colList);
 		while( iter.hasNext() ) {
 			String[] row = iter.next(); 
 			for( int j=0; j<_colList.length; j++ ) {
 				int colID = _colList[j]; //1-based
+				if( in.isDictionaryEncoded(colID-1) )
+					continue;
 				//allocate column map if necessary
 				if( !_rcdMaps.containsKey(colID) ) 
-					_rcdMaps.put(colID, new HashMap<String,Long>());
+					_rcdMaps.put(colID, new RecodeMap());
 				//probe and build column map
-				HashMap<String,Long> map = _rcdMaps.get(colID);
+				RecodeMap map = _rcdMaps.get(colID);
 				String key = row[j];
-				if( key!=null && !key.isEmpty() && !map.containsKey(key) )
-					map.put(key, Long.valueOf(map.size()+1));
+				if( key!=null && !key.isEmpty() )
+					map.add(key);
 			}
 		}
 	}
 
+	@Override
+	public void build(FrameBlock in, int k) {
+		if( !isApplicable() )
+			return;
+		if( !isParallel(in.getNumRows(), k) ) {
+			build(in);
+			return;
+		}
+		
+		//collect distinct tokens per column and row partition in order of
+		//first appearance (column-parallel and row-partitioned)
+		List<int[]> parts = getRowPartitions(in.getNumRows(), k);
+		ArrayList<Callable<List<String>>> tasks = new ArrayList<>();
+		for( int j=0; j<_colList.length; j++ )
+			for( int[] rix : parts )
+				tasks.add(new RecodePartialTask(in, _colList[j], rix[0], rix[1]));
+		List<List<String>> partials = execute(tasks, k);
+		
+		//merge partial tokens in row order per column, which assigns
+		//the same codes as the sequential build
+		ArrayList<Callable<Object>> mtasks = new ArrayList<>();
+		for( int j=0; j<_colList.length; j++ ) {
+			int colID = _colList[j]; //1-based
+			if( !_rcdMaps.containsKey(colID) ) 
+				_rcdMaps.put(colID, new RecodeMap());
+			RecodeMap map = _rcdMaps.get(colID);
+			List<List<String>> cpartials = partials.subList(j*parts.size(), (j+1)*parts.size());
+			mtasks.add(() -> {
+				for( List<String> tokens : cpartials )
+					for( String key : tokens )
+						map.add(key);
+				return null;
+			});
+		}
+		execute(mtasks, k);
+	}
+
 	public void buildPartial(FrameBlock in) {
 		if( !isApplicable() )
 			return;		
@@ -129,6 +182,16 @@ public class EncoderRecode extends Encoder
 		//apply recode maps column wise
 		for( int j=0; j<_colList.length; j++ ) {
 			int colID = _colList[j];
+			if( in.isDictionaryEncoded(colID-1) ) {
+				//remap dictionary codes w/o string lookups per row
+				int[] codes = in.getDictionaryCodes(colID-1);
+				int[] remap = getDictionaryRemap(in, colID);
+				for( int i=0; i<in.getNumRows(); i++ ) {
+					int code = remap[codes[i]];
+					out.quickSetValue(i, colID-1, (code >= 0) ? code : Double.NaN);
+				}
+				continue;
+			}
 			for( int i=0; i<in.getNumRows(); i++ ) {
 				Object okey = in.get(i, colID-1);
 				String key = (okey!=null) ? okey.toString() : null;
@@ -141,6 +204,33 @@ public class EncoderRecode extends Encoder
 		return out;
 	}
 
+	@Override
+	public MatrixBlock apply(FrameBlock in, MatrixBlock out, int k) {
+		return applyRowPartitioned(in, out, k);
+	}
+	
+	@Override
+	protected void applyRows(FrameBlock in, DenseBlock out, int rl, int ru) {
+		for( int j=0; j<_colList.length; j++ ) {
+			int colID = _colList[j];
+			RecodeMap map = _rcdMaps.get(colID);
+			if( in.isDictionaryEncoded(colID-1) ) {
+				int[] codes = in.getDictionaryCodes(colID-1);
+				int[] remap = getDictionaryRemap(in, colID);
+				for( int i=rl; i<ru; i++ ) {
+					int code = remap[codes[i]];
+					out.set(i, colID-1, (code >= 0) ? code : Double.NaN);
+				}
+				continue;
+			}
+			for( int i=rl; i<ru; i++ ) {
+				Object okey = in.get(i, colID-1);
+				int code = (okey!=null && map!=null) ? map.get(okey.toString()) : -1;
+				out.set(i, colID-1, (code >= 0) ? code : Double.NaN);
+			}
+		}
+	}
+
 	@Override
 	public FrameBlock getMetaData(FrameBlock meta) {
 		if( !isApplicable() )
@@ -156,17 +246,9 @@ public class EncoderRecode extends Encoder
 		meta.ensureAllocatedColumns(maxDistinct);
 		
 		//create compact meta data representation
-		StringBuilder sb = new StringBuilder(); //for reuse
 		for( int j=0; j<_colList.length; j++ ) {
 			int colID = _colList[j]; //1-based
-			int rowID = 0;
-			if( _rcdMaps.containsKey(_colList[j]) )
-				for( Entry<String, Long> e : _rcdMaps.get(colID).entrySet() ) {
-					meta.set(rowID++, colID-1, 
-						constructRecodeMapEntry(e.getKey(), e.getValue(), sb)); 
-				}
-			meta.getColumnMetadata(colID-1).setNumDistinct(
-					_rcdMaps.get(colID).size());
+			_rcdMaps.get(colID).toMetaData(meta, colID-1);
 		}
 		
 		return meta;
@@ -190,6 +272,81 @@ public class EncoderRecode extends Encoder
 		}
 	}
 	
+	/**
+	 * Obtains the distinct non-empty values of a dictionary-encoded column
+	 * in the given row range, in order of first appearance.
+	 * 
+	 * @param in input frame block
+	 * @param colID column ID, 1-based
+	 * @param rl row lower bound, inclusive
+	 * @param ru row upper bound, exclusive
+	 * @return list of distinct values
+	 */
+	private static List<String> getDistinctDictionaryValues(FrameBlock in, int colID, int rl, int ru) {
+		int[] codes = in.getDictionaryCodes(colID-1);
+		String[] dict = in.getDictionary(colID-1);
+		boolean[] seen = new boolean[in.getDictionarySize(colID-1)+1];
+		seen[0] = true; //null
+		List<String> ret = new ArrayList<>();
+		for( int i=rl; i<ru; i++ ) {
+			int code = codes[i];
+			if( !seen[code] ) {
+				seen[code] = true;
+				if( !dict[code-1].isEmpty() )
+					ret.add(dict[code-1]);
+			}
+		}
+		return ret;
+	}
+	
+	/**
+	 * Creates a mapping from dictionary codes of the given column to
+	 * recode map codes, where -1 indicates null or unknown values.
+	 * 
+	 * @param in input frame block
+	 * @param colID column ID, 1-based
+	 * @return array of recode codes per dictionary code
+	 */
+	private int[] getDictionaryRemap(FrameBlock in, int colID) {
+		RecodeMap map = _rcdMaps.get(colID);
+		String[] dict = in.getDictionary(colID-1);
+		int[] remap = new int[in.getDictionarySize(colID-1)+1];
+		remap[0] = -1;
+		for( int i=1; i<remap.length; i++ )
+			remap[i] = (map != null) ? map.get(dict[i-1]) : -1;
+		return remap;
+	}
+	
+	private static class RecodePartialTask implements Callable<List<String>>
+	{
+		private final FrameBlock _in;
+		private final int _colID;
+		private final int _rl;
+		private final int _ru;
+		
+		protected RecodePartialTask(FrameBlock in, int colID, int rl, int ru) {
+			_in = in;
+			_colID = colID;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public List<String> call() {
+			if( _in.isDictionaryEncoded(_colID-1) )
+				return getDistinctDictionaryValues(_in, _colID, _rl, _ru);
+			HashSet<String> distinct = new HashSet<>();
+			List<String> ret = new ArrayList<>();
+			for( int i=_rl; i<_ru; i++ ) {
+				Object okey = _in.get(i, _colID-1);
+				String key = (okey!=null) ? okey.toString() : null;
+				if( key!=null && !key.isEmpty() && distinct.add(key) )
+					ret.add(key);
+			}
+			return ret;
+		}
+	}
+	
 	/**
 	 * Returns the Recode map entry which consists of concatenation of code, delimiter and token. 
 	 * 
@@ -199,11 +356,6 @@ public class EncoderRecode extends Encoder
 	 */
 	public static String constructRecodeMapEntry(String token, Long code) {
 		StringBuilder sb = new StringBuilder(token.length()+16);
-		return constructRecodeMapEntry(token, code, sb);
-	}
-	
-	private static String constructRecodeMapEntry(String token, Long code, StringBuilder sb) {
-		sb.setLength(0); //reset reused string builder
 		return sb.append(token).append(Lop.DATATYPE_PREFIX)
 			.append(code.longValue()).toString();
 	}
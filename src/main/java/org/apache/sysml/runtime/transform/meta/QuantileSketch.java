@@ -0,0 +1,242 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.transform.meta;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+import org.apache.sysml.runtime.util.SortUtils;
+
+/**
+ * Mergeable streaming quantile sketch in the style of KLL (Karnin, Lang,
+ * Liberty, FOCS 2016), used to derive approximate equi-height bin boundaries
+ * in a single pass over the data. Items are kept in a hierarchy of compactors,
+ * where level h holds items of weight 2^h and the capacity decreases 
+ * geometrically (by 2/3) towards lower levels. A full compactor is sorted
+ * and every other item is promoted to the next level. Partial sketches of
+ * row partitions or distributed blocks can be merged, and inputs with at 
+ * most k items are represented exactly. Additionally, the sketch maintains
+ * the exact count, min, and max of all non-NaN inputs.
+ * 
+ */
+public class QuantileSketch implements Serializable
+{
+	private static final long serialVersionUID = 5370414733626473412L;
+	
+	public static final int DEFAULT_K = 256;
+	private static final int MIN_CAPACITY = 2;
+	private static final double CAPACITY_DECAY = 2d/3;
+	
+	private final int _k;
+	private long _count = 0;
+	private double _min = Double.POSITIVE_INFINITY;
+	private double _max = Double.NEGATIVE_INFINITY;
+	
+	//compactors, where level h holds items of weight 2^h
+	private double[][] _levels = null;
+	private int[] _sizes = null;
+	private int _numLevels = 0;
+	private boolean _offset = false; //alternating compaction offset
+	
+	/**
+	 * Creates a quantile sketch of the given accuracy parameter k, where
+	 * the rank error decreases with increasing k. For k &lt;= 0, only 
+	 * count, min, and max are maintained.
+	 * 
+	 * @param k accuracy parameter (size of top-level compactor)
+	 */
+	public QuantileSketch(int k) {
+		_k = k;
+		if( _k > 0 ) {
+			_levels = new double[4][];
+			_sizes = new int[4];
+			addLevel();
+		}
+	}
+	
+	public long getCount() {
+		return _count;
+	}
+	
+	public double getMin() {
+		return _min;
+	}
+	
+	public double getMax() {
+		return _max;
+	}
+	
+	/**
+	 * Adds the given value to the sketch, where NaNs are ignored.
+	 * 
+	 * @param value input value
+	 */
+	public void update(double value) {
+		if( Double.isNaN(value) )
+			return;
+		_count++;
+		_min = Math.min(_min, value);
+		_max = Math.max(_max, value);
+		if( _k <= 0 )
+			return;
+		append(0, value);
+		if( _sizes[0] >= getCapacity(0) )
+			compress();
+	}
+	
+	/**
+	 * Merges the given sketch into this sketch.
+	 * 
+	 * @param that sketch of equal accuracy parameter
+	 * @return this sketch
+	 */
+	public QuantileSketch merge(QuantileSketch that) {
+		_count += that._count;
+		_min = Math.min(_min, that._min);
+		_max = Math.max(_max, that._max);
+		if( _k <= 0 || that._k <= 0 )
+			return this;
+		while( _numLevels < that._numLevels )
+			addLevel();
+		for( int h=0; h<that._numLevels; h++ )
+			for( int i=0; i<that._sizes[h]; i++ )
+				append(h, that._levels[h][i]);
+		compress();
+		return this;
+	}
+	
+	/**
+	 * Obtains the approximate quantile of the given fraction, where 0 and 1
+	 * return the exact min and max, respectively.
+	 * 
+	 * @param phi fraction in [0,1]
+	 * @return quantile, or NaN if the sketch is empty
+	 */
+	public double getQuantile(double phi) {
+		return getQuantiles(new double[]{phi})[0];
+	}
+	
+	/**
+	 * Obtains the approximate quantiles of the given sorted fractions,
+	 * where 0 and 1 return the exact min and max, respectively. For
+	 * min/max-only sketches, the quantiles assume a uniform distribution.
+	 * 
+	 * @param phis sorted fractions in [0,1]
+	 * @return quantiles (NaN if the sketch is empty)
+	 */
+	public double[] getQuantiles(double[] phis) {
+		double[] ret = new double[phis.length];
+		if( _count == 0 ) {
+			Arrays.fill(ret, Double.NaN);
+			return ret;
+		}
+		
+		//min/max-only sketch: quantiles of uniform distribution
+		if( _k <= 0 ) {
+			for( int i=0; i<phis.length; i++ )
+				ret[i] = _min + Math.min(Math.max(phis[i], 0), 1) * (_max - _min);
+			return ret;
+		}
+		
+		//collect and sort items of all levels (w/ levels as weights 2^h)
+		int len = 0;
+		for( int h=0; h<_numLevels; h++ )
+			len += _sizes[h];
+		double[] vals = new double[len];
+		int[] lvls = new int[len];
+		for( int h=0, pos=0; h<_numLevels; pos+=_sizes[h], h++ ) {
+			System.arraycopy(_levels[h], 0, vals, pos, _sizes[h]);
+			Arrays.fill(lvls, pos, pos+_sizes[h], h);
+		}
+		SortUtils.sortByValue(0, len, vals, lvls);
+		
+		//scan cumulative weights for all fractions
+		double cum = 0;
+		for( int i=0, pos=0; i<phis.length; i++ ) {
+			if( phis[i] <= 0 )
+				ret[i] = _min;
+			else if( phis[i] >= 1 )
+				ret[i] = _max;
+			else {
+				double target = phis[i] * _count;
+				while( pos < len-1 && cum + (1L << lvls[pos]) < target )
+					cum += 1L << lvls[pos++];
+				ret[i] = vals[pos];
+			}
+		}
+		return ret;
+	}
+	
+	/**
+	 * Obtains the in-memory size of this sketch in bytes.
+	 * 
+	 * @return in-memory size in bytes
+	 */
+	public long getInMemorySize() {
+		long size = 16 + 4 + 3*8 + 2*8 + 4 + 1;
+		for( int h=0; h<_numLevels; h++ )
+			size += 16 + 8L * _levels[h].length;
+		return size;
+	}
+	
+	private int getCapacity(int h) {
+		int depth = _numLevels - h - 1;
+		return Math.max(MIN_CAPACITY, 
+			(int)Math.ceil(_k * Math.pow(CAPACITY_DECAY, depth)));
+	}
+	
+	private void addLevel() {
+		if( _numLevels == _levels.length ) {
+			_levels = Arrays.copyOf(_levels, _numLevels*2);
+			_sizes = Arrays.copyOf(_sizes, _numLevels*2);
+		}
+		_levels[_numLevels++] = new double[Math.max(MIN_CAPACITY, _k)+1];
+	}
+	
+	private void append(int h, double value) {
+		if( _sizes[h] == _levels[h].length )
+			_levels[h] = Arrays.copyOf(_levels[h], _levels[h].length*2);
+		_levels[h][_sizes[h]++] = value;
+	}
+	
+	private void compress() {
+		for( int h=0; h<_numLevels; h++ ) {
+			while( _sizes[h] >= getCapacity(h) ) {
+				if( h+1 == _numLevels )
+					addLevel();
+				compact(h);
+			}
+		}
+	}
+	
+	private void compact(int h) {
+		double[] items = _levels[h];
+		int size = _sizes[h];
+		Arrays.sort(items, 0, size);
+		//keep the largest item if odd size, promote every other item
+		int len = size - (size & 1);
+		int offset = (_offset = !_offset) ? 1 : 0;
+		for( int i=offset; i<len; i+=2 )
+			append(h+1, items[i]);
+		if( (size & 1) == 1 )
+			items[0] = items[size-1];
+		_sizes[h] = size & 1;
+	}
+}
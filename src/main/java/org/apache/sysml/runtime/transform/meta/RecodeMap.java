@@ -0,0 +1,285 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.transform.meta;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.apache.sysml.lops.Lop;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.transform.encode.EncoderRecode;
+
+/**
+ * Compact string-int dictionary for recode maps. All tokens are stored
+ * UTF-8 encoded in a single byte arena (in insertion order), and lookups
+ * probe an open-addressing hash table (linear probing) of entry positions.
+ * In contrast to a HashMap&lt;String,Long&gt;, this representation avoids
+ * per-entry objects (strings, boxed codes, and hash entries), which matters
+ * for recode maps with millions of distinct tokens.
+ *
+ */
+public class RecodeMap implements Serializable
+{
+	private static final long serialVersionUID = -4215694553426446342L;
+
+	private static final int INIT_CAPACITY = 16;
+	private static final float LOAD_FACTOR = 0.75f;
+
+	private byte[] _arena = null;  //utf-8 encoded tokens
+	private int _arenaLen = 0;
+	private int[] _offsets = null; //token start positions (size+1)
+	private int[] _codes = null;   //codes per entry
+	private int[] _hashes = null;  //token hashes per entry
+	private int[] _table = null;   //entry positions+1 (0 for empty slots)
+	private int _size = 0;
+
+	public RecodeMap() {
+		this(INIT_CAPACITY);
+	}
+
+	public RecodeMap(int expectedSize) {
+		int cap = Math.max(INIT_CAPACITY, expectedSize);
+		_arena = new byte[cap * 8];
+		_offsets = new int[cap + 1];
+		_codes = new int[cap];
+		_hashes = new int[cap];
+		_table = new int[getTableSize(cap)];
+	}
+
+	public int size() {
+		return _size;
+	}
+
+	/**
+	 * Obtain the code of the given token.
+	 *
+	 * @param token token
+	 * @return code, or -1 if the token does not exist
+	 */
+	public int get(String token) {
+		if( token == null )
+			return -1;
+		int pos = probe(token, hash(token));
+		return (pos >= 0) ? _codes[pos] : -1;
+	}
+
+	public boolean containsKey(String token) {
+		return get(token) >= 0;
+	}
+
+	/**
+	 * Adds the given token with the next code (size+1) if it does
+	 * not exist yet, i.e., codes are assigned in order of first appearance.
+	 *
+	 * @param token token
+	 * @return code of the new or existing token
+	 */
+	public int add(String token) {
+		int h = hash(token);
+		int pos = probe(token, h);
+		if( pos >= 0 )
+			return _codes[pos];
+		insert(token, h, _size+1);
+		return _size;
+	}
+
+	/**
+	 * Adds the given token with the given code, or replaces the
+	 * code of an existing token.
+	 *
+	 * @param token token
+	 * @param code code
+	 */
+	public void put(String token, int code) {
+		int h = hash(token);
+		int pos = probe(token, h);
+		if( pos >= 0 )
+			_codes[pos] = code;
+		else
+			insert(token, h, code);
+	}
+
+	/**
+	 * Obtain the token of the entry at the given position,
+	 * where entries are kept in insertion order.
+	 *
+	 * @param pos entry position in [0, size)
+	 * @return token
+	 */
+	public String getToken(int pos) {
+		return new String(_arena, _offsets[pos],
+			_offsets[pos+1]-_offsets[pos], StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Obtain the code of the entry at the given position,
+	 * where entries are kept in insertion order.
+	 *
+	 * @param pos entry position in [0, size)
+	 * @return code
+	 */
+	public int getCode(int pos) {
+		return _codes[pos];
+	}
+
+	/**
+	 * Obtain the in-memory size of this dictionary in bytes.
+	 *
+	 * @return in-memory size in bytes
+	 */
+	public long getInMemorySize() {
+		//object header, 6 references, 2 ints, and 5 arrays w/ headers
+		long size = 16 + 6*8 + 2*4 + 5*16;
+		size += _arena.length;
+		size += 4L * (_offsets.length + _codes.length + _hashes.length + _table.length);
+		return size;
+	}
+
+	/**
+	 * Writes the entries of this dictionary in insertion order into the
+	 * given column of the meta data frame, where each entry is represented
+	 * as concatenation of token, delimiter, and code. The frame is expected
+	 * to be allocated with at least size rows.
+	 *
+	 * @param meta meta data frame
+	 * @param col column index (0-based)
+	 * @return meta data frame
+	 */
+	public FrameBlock toMetaData(FrameBlock meta, int col) {
+		StringBuilder sb = new StringBuilder(); //for reuse
+		for( int i=0; i<_size; i++ ) {
+			sb.setLength(0);
+			meta.set(i, col, sb.append(getToken(i))
+				.append(Lop.DATATYPE_PREFIX).append(_codes[i]).toString());
+		}
+		meta.getColumnMetadata(col).setNumDistinct(_size);
+		return meta;
+	}
+
+	/**
+	 * Reads a dictionary from the given column of the meta data frame,
+	 * which holds entries of concatenated token, delimiter, and code.
+	 *
+	 * @param meta meta data frame
+	 * @param col column index (0-based)
+	 * @return recode map
+	 */
+	public static RecodeMap fromMetaData(FrameBlock meta, int col) {
+		RecodeMap map = new RecodeMap();
+		for( int i=0; i<meta.getNumRows(); i++ ) {
+			Object val = meta.get(i, col);
+			if( val != null ) {
+				String[] tmp = EncoderRecode.splitRecodeMapEntry(val.toString());
+				map.put(tmp[0], Integer.parseInt(tmp[1]));
+			}
+		}
+		return map;
+	}
+
+	private void insert(String token, int h, int code) {
+		byte[] bytes = token.getBytes(StandardCharsets.UTF_8);
+		if( _size == _codes.length ) {
+			int cap = _codes.length * 2;
+			_offsets = Arrays.copyOf(_offsets, cap + 1);
+			_codes = Arrays.copyOf(_codes, cap);
+			_hashes = Arrays.copyOf(_hashes, cap);
+		}
+		if( (long)_arenaLen + bytes.length > _arena.length ) {
+			long cap = Math.max((long)_arena.length * 2, (long)_arenaLen + bytes.length);
+			if( cap > Integer.MAX_VALUE - 8 )
+				throw new DMLRuntimeException("Recode map exceeds maximum arena size: "+cap);
+			_arena = Arrays.copyOf(_arena, (int)cap);
+		}
+
+		//append token to arena and entry arrays
+		System.arraycopy(bytes, 0, _arena, _arenaLen, bytes.length);
+		_arenaLen += bytes.length;
+		_offsets[_size+1] = _arenaLen;
+		_codes[_size] = code;
+		_hashes[_size] = h;
+		_size++;
+
+		//insert entry into hash table, and resize if necessary
+		if( _size > _table.length * LOAD_FACTOR )
+			rehash(_table.length * 2);
+		else
+			insertTable(_table, _size-1);
+	}
+
+	private int probe(String token, int h) {
+		int mask = _table.length - 1;
+		for( int ix = h & mask; _table[ix] != 0; ix = (ix + 1) & mask ) {
+			int pos = _table[ix] - 1;
+			if( _hashes[pos] == h && equalsToken(pos, token) )
+				return pos;
+		}
+		return -1;
+	}
+
+	private void rehash(int tableSize) {
+		int[] table = new int[tableSize];
+		for( int pos=0; pos<_size; pos++ )
+			insertTable(table, pos);
+		_table = table;
+	}
+
+	private void insertTable(int[] table, int pos) {
+		int mask = table.length - 1;
+		int ix = _hashes[pos] & mask;
+		while( table[ix] != 0 )
+			ix = (ix + 1) & mask;
+		table[ix] = pos + 1;
+	}
+
+	private boolean equalsToken(int pos, String token) {
+		int off = _offsets[pos];
+		int len = _offsets[pos+1] - off;
+		int n = token.length();
+		if( len < n ) //utf-8 length >= number of chars
+			return false;
+		for( int i=0; i<n; i++ ) {
+			char c = token.charAt(i);
+			if( c >= 0x80 ) { //non-ascii: compare utf-8 encoding
+				byte[] bytes = token.getBytes(StandardCharsets.UTF_8);
+				if( bytes.length != len )
+					return false;
+				for( int j=0; j<len; j++ )
+					if( _arena[off+j] != bytes[j] )
+						return false;
+				return true;
+			}
+			if( _arena[off+i] != (byte)c )
+				return false;
+		}
+		return len == n;
+	}
+
+	private static int hash(String token) {
+		int h = token.hashCode();
+		return h ^ (h >>> 16);
+	}
+
+	private static int getTableSize(int cap) {
+		int size = Integer.highestOneBit((int)(cap / LOAD_FACTOR));
+		return (size < cap / LOAD_FACTOR) ? size * 2 : size;
+	}
+}
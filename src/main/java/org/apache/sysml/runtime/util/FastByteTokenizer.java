@@ -0,0 +1,321 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.util;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.NoSuchElementException;
+
+import org.apache.hadoop.io.Text;
+import org.apache.sysml.parser.Expression.ValueType;
+
+/**
+ * Byte-level counterpart of FastStringTokenizer, which tokenizes lines
+ * directly on the raw (UTF-8) bytes of Text records and parses numbers via
+ * FastNumberParser, i.e., without materializing strings per line or cell.
+ * The tokenizer is reset per line and supports two modes: (1) text cell
+ * mode, where consecutive delimiters are skipped (as in FastStringTokenizer),
+ * and (2) csv mode, where all tokens including empty tokens are preserved
+ * (as in IOUtilFunctions.split, but an empty line is a single empty token)
+ * and quoted tokens can optionally be handled according to
+ * IOUtilFunctions.splitCSV. Lines (and in csv mode also tokens)
+ * are trimmed, which is consistent with the existing string-based readers.
+ *
+ */
+public class FastByteTokenizer implements Serializable
+{
+	private static final long serialVersionUID = -2309412465743258215L;
+	private static final byte QUOTE = '"';
+
+	private final byte[] _del;
+	private final boolean _preserveEmpty;
+	private final boolean _quotes;
+
+	private byte[] _buf = null;
+	private int _beg = 0;  //line begin
+	private int _end = 0;  //line end (exclusive)
+	private int _pos = 0;  //begin of remaining line
+	private int _tbeg = 0; //current token begin
+	private int _tend = 0; //current token end (exclusive)
+
+	/**
+	 * Creates a tokenizer in text cell mode, i.e., consecutive
+	 * delimiters are skipped.
+	 *
+	 * @param delimiter the delimiter to use
+	 */
+	public FastByteTokenizer(char delimiter) {
+		this(String.valueOf(delimiter), false, false);
+	}
+
+	/**
+	 * Creates a tokenizer for the given, potentially multi-character,
+	 * delimiter.
+	 *
+	 * @param delimiter the delimiter to use
+	 * @param preserveEmpty if true, all tokens including empty tokens are returned
+	 * @param quotes if true, delimiters within quoted tokens are ignored
+	 */
+	public FastByteTokenizer(String delimiter, boolean preserveEmpty, boolean quotes) {
+		_del = delimiter.getBytes(StandardCharsets.UTF_8);
+		_preserveEmpty = preserveEmpty;
+		_quotes = quotes;
+	}
+
+	public FastByteTokenizer reset(Text value) {
+		return reset(value.getBytes(), 0, value.getLength());
+	}
+
+	public FastByteTokenizer reset(byte[] buf, int off, int len) {
+		_buf = buf;
+		_beg = off;
+		_end = off + len;
+		while( _beg < _end && FastNumberParser.isWhitespace(buf[_beg]) ) _beg++;
+		while( _end > _beg && FastNumberParser.isWhitespace(buf[_end-1]) ) _end--;
+		_pos = _beg;
+		_tbeg = _tend = _beg;
+		return this;
+	}
+
+	/**
+	 * Indicates if the current line is empty or only consists of whitespace.
+	 *
+	 * @return true if the trimmed line is empty
+	 */
+	public boolean isEmptyLine() {
+		return _beg >= _end;
+	}
+
+	/**
+	 * Indicates if the current line starts with the given prefix.
+	 *
+	 * @param prefix prefix
+	 * @return true if the trimmed line starts with the prefix
+	 */
+	public boolean startsWith(String prefix) {
+		int n = prefix.length();
+		if( _end - _beg < n ) //utf-8 length >= number of chars
+			return false;
+		for( int i=0; i<n; i++ ) {
+			char c = prefix.charAt(i);
+			if( c >= 0x80 ) { //non-ascii: compare utf-8 encoding
+				byte[] bytes = prefix.getBytes(StandardCharsets.UTF_8);
+				if( _end - _beg < bytes.length )
+					return false;
+				for( int j=i; j<bytes.length; j++ )
+					if( _buf[_beg+j] != bytes[j] )
+						return false;
+				return true;
+			}
+			if( _buf[_beg+i] != (byte) c )
+				return false;
+		}
+		return true;
+	}
+
+	public boolean hasMoreTokens() {
+		if( _preserveEmpty )
+			return _pos <= _end;
+		return skipDelimiters(_pos) < _end;
+	}
+
+	/**
+	 * Advances to the next token, which is then accessible via
+	 * getToken and the typed getters without further advancing.
+	 *
+	 * @return this tokenizer
+	 */
+	public FastByteTokenizer next() {
+		if( _preserveEmpty ) {
+			if( _pos > _end )
+				throw new NoSuchElementException();
+			_tbeg = _pos;
+			_tend = (_quotes && _pos < _end && _buf[_pos] == QUOTE) ?
+				indexOfQuotedEnd(_pos) : indexOfDelimiter(_pos);
+			_pos = _tend + _del.length;
+			//trim token (consistent w/ trimmed parts in csv readers)
+			while( _tbeg < _tend && FastNumberParser.isWhitespace(_buf[_tbeg]) ) _tbeg++;
+			while( _tend > _tbeg && FastNumberParser.isWhitespace(_buf[_tend-1]) ) _tend--;
+		}
+		else {
+			_tbeg = skipDelimiters(_pos);
+			if( _tbeg >= _end )
+				throw new NoSuchElementException();
+			_tend = indexOfDelimiter(_tbeg);
+			_pos = _tend;
+		}
+		return this;
+	}
+
+	/**
+	 * Skips the given number of tokens.
+	 *
+	 * @param n number of tokens
+	 */
+	public void skip(int n) {
+		for( int i=0; i<n; i++ )
+			next();
+	}
+
+	/**
+	 * Counts the remaining tokens, without advancing the tokenizer.
+	 *
+	 * @return number of remaining tokens
+	 */
+	public int countTokens() {
+		int pos = _pos, tbeg = _tbeg, tend = _tend;
+		int count = 0;
+		for( ; hasMoreTokens(); count++ )
+			next();
+		_pos = pos; _tbeg = tbeg; _tend = tend;
+		return count;
+	}
+
+	public int getTokenBegin() {
+		return _tbeg;
+	}
+
+	public int getTokenLength() {
+		return _tend - _tbeg;
+	}
+
+	/**
+	 * Indicates if the current token is empty or only consists of whitespace.
+	 *
+	 * @return true if the trimmed token is empty
+	 */
+	public boolean isBlankToken() {
+		for( int i=_tbeg; i<_tend; i++ )
+			if( !FastNumberParser.isWhitespace(_buf[i]) )
+				return false;
+		return true;
+	}
+
+	public String getToken() {
+		return new String(_buf, _tbeg, _tend-_tbeg, StandardCharsets.UTF_8);
+	}
+
+	public int getInt() {
+		return FastNumberParser.parseInt(_buf, _tbeg, _tend-_tbeg);
+	}
+
+	public long getLong() {
+		return FastNumberParser.parseLong(_buf, _tbeg, _tend-_tbeg);
+	}
+
+	public double getDouble() {
+		return FastNumberParser.parseDouble(_buf, _tbeg, _tend-_tbeg);
+	}
+
+	/**
+	 * Obtains the current token as object of the given value type,
+	 * consistent with UtilFunctions.stringToObject.
+	 *
+	 * @param vt value type
+	 * @return token object
+	 */
+	public Object getObject(ValueType vt) {
+		switch( vt ) {
+			case STRING:  return getToken();
+			case BOOLEAN: return getBoolean();
+			case INT:     return getLong();
+			case DOUBLE:  return getDouble();
+			default: throw new RuntimeException("Unsupported value type: "+vt);
+		}
+	}
+
+	public boolean getBoolean() {
+		//equivalent to Boolean.parseBoolean
+		if( _tend - _tbeg != 4 )
+			return false;
+		return (_buf[_tbeg] | 0x20) == 't' && (_buf[_tbeg+1] | 0x20) == 'r'
+			&& (_buf[_tbeg+2] | 0x20) == 'u' && (_buf[_tbeg+3] | 0x20) == 'e';
+	}
+
+	public String nextToken() {
+		return next().getToken();
+	}
+
+	public int nextInt() {
+		return next().getInt();
+	}
+
+	public long nextLong() {
+		return next().getLong();
+	}
+
+	public double nextDouble() {
+		return next().getDouble();
+	}
+
+	/**
+	 * Returns the trimmed line, e.g., for error messages.
+	 */
+	@Override
+	public String toString() {
+		return (_buf != null) ?
+			new String(_buf, _beg, _end-_beg, StandardCharsets.UTF_8) : "";
+	}
+
+	private int skipDelimiters(int pos) {
+		while( pos < _end && isDelimiter(pos) )
+			pos += _del.length;
+		return pos;
+	}
+
+	private int indexOfDelimiter(int pos) {
+		byte first = _del[0];
+		for( int i=pos; i<=_end-_del.length; i++ )
+			if( _buf[i] == first && isDelimiter(i) )
+				return i;
+		return _end;
+	}
+
+	private int indexOfQuotedEnd(int pos) {
+		//see IOUtilFunctions.splitCSV for the handling of special cases
+		int to = indexOfQuote(pos+1);
+		if( to < 0 )
+			return indexOfDelimiter(pos);
+		// handle escaped inner quotes, e.g. "aa""a"
+		while( to >= 0 && to+1 < _end && _buf[to+1] == QUOTE )
+			to = indexOfQuote(to+2);
+		to = (to >= 0) ? to + 1 : _end;
+		// handle remaining non-quoted characters "aa"a
+		if( to < _end-1 && !isDelimiter(to) )
+			to = indexOfDelimiter(to+1);
+		return to;
+	}
+
+	private int indexOfQuote(int pos) {
+		for( int i=pos; i<_end; i++ )
+			if( _buf[i] == QUOTE )
+				return i;
+		return -1;
+	}
+
+	private boolean isDelimiter(int pos) {
+		if( pos + _del.length > _end )
+			return false;
+		for( int k=0; k<_del.length; k++ )
+			if( _buf[pos+k] != _del[k] )
+				return false;
+		return true;
+	}
+}
@@ -0,0 +1,307 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.util;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Allocation-free parser of decimal numbers from raw (ASCII/UTF-8) bytes,
+ * which avoids the materialization of strings per cell when reading text
+ * formats. Numbers with at most 18 significant digits are accumulated into
+ * a long mantissa w, and the value w * 10^q is computed as follows:
+ * (1) if w &lt;= 2^53 and |q| &lt;= 22, by a single correctly-rounded
+ * multiplication or division (Clinger's fast path), and (2) otherwise via
+ * the Eisel-Lemire algorithm, which multiplies w with a 64-bit truncated
+ * power of five and derives the correctly rounded double from the high bits
+ * of the 128-bit product. For ambiguous products (i.e., close to a rounding
+ * boundary), out-of-range exponents, subnormal results, and all inputs
+ * that are not plain decimal numbers (e.g., NaN, Infinity, or hex floats),
+ * the parser falls back to Double.parseDouble, which keeps the semantics
+ * unchanged. Integers are parsed via a similar fast path with fallback to
+ * Long.parseLong and Integer.parseInt, respectively.
+ */
+public class FastNumberParser
+{
+	private static final long MAX_FAST_MANTISSA = 1L << 53;
+	private static final int MAX_MANTISSA_DIGITS = 18;
+	private static final int MAX_EXPONENT = 100000;
+
+	private static final double[] POW10 = new double[] {
+		1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+		1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+	//range of decimal exponents supported by the Eisel-Lemire algorithm
+	private static final int MIN_POW5 = -342;
+	private static final int MAX_POW5 = 308;
+
+	//high 64 bits of the normalized (and truncated) 128-bit powers of five
+	private static final long[] POW5_HIGH = createPowersOfFive();
+
+	/**
+	 * Parses a double from the given byte range, where leading and trailing
+	 * whitespace is ignored.
+	 *
+	 * @param buf byte buffer
+	 * @param off offset of first byte
+	 * @param len number of bytes
+	 * @return parsed double value
+	 * @throws NumberFormatException if the byte range is not a valid number
+	 */
+	public static double parseDouble(byte[] buf, int off, int len) {
+		int end = off + len;
+		int i = off;
+		while( i < end && isWhitespace(buf[i]) ) i++;
+		while( end > i && isWhitespace(buf[end-1]) ) end--;
+
+		//parse sign
+		boolean neg = false;
+		if( i < end && (buf[i] == '-' || buf[i] == '+') )
+			neg = (buf[i++] == '-');
+
+		//parse integer and fraction digits into mantissa
+		long mant = 0;
+		int ndigits = 0;
+		int exp10 = 0;
+		boolean digits = false;
+		boolean truncated = false;
+		for( ; i < end; i++ ) {
+			int d = buf[i] - '0';
+			if( d < 0 || d > 9 )
+				break;
+			digits = true;
+			if( ndigits < MAX_MANTISSA_DIGITS ) {
+				mant = mant * 10 + d;
+				ndigits += (mant != 0) ? 1 : 0;
+			}
+			else {
+				exp10++;
+				truncated |= (d != 0);
+			}
+		}
+		if( i < end && buf[i] == '.' ) {
+			for( i++; i < end; i++ ) {
+				int d = buf[i] - '0';
+				if( d < 0 || d > 9 )
+					break;
+				digits = true;
+				if( ndigits < MAX_MANTISSA_DIGITS ) {
+					mant = mant * 10 + d;
+					ndigits += (mant != 0) ? 1 : 0;
+					exp10--;
+				}
+				else
+					truncated |= (d != 0);
+			}
+		}
+		if( !digits )
+			return parseDoubleSlow(buf, off, len);
+
+		//parse exponent
+		if( i < end && (buf[i] == 'e' || buf[i] == 'E') ) {
+			i++;
+			boolean eneg = false;
+			if( i < end && (buf[i] == '-' || buf[i] == '+') )
+				eneg = (buf[i++] == '-');
+			if( i >= end )
+				return parseDoubleSlow(buf, off, len);
+			int exp = 0;
+			for( ; i < end; i++ ) {
+				int d = buf[i] - '0';
+				if( d < 0 || d > 9 )
+					break;
+				exp = Math.min(exp * 10 + d, MAX_EXPONENT);
+			}
+			exp10 += eneg ? -exp : exp;
+		}
+
+		//fallback for unsupported suffixes (e.g., 'd' or 'f')
+		if( i != end )
+			return parseDoubleSlow(buf, off, len);
+
+		if( mant == 0 )
+			return neg ? -0d : 0d;
+
+		//fast path w/ exactly represented mantissa and power of ten
+		if( !truncated && mant <= MAX_FAST_MANTISSA && exp10 >= -22 && exp10 <= 22 ) {
+			double val = (exp10 < 0) ? mant / POW10[-exp10] : mant * POW10[exp10];
+			return neg ? -val : val;
+		}
+
+		//eisel-lemire w/ 64-bit powers of five, where truncated mantissas
+		//are only accepted if the lower and upper bound round to the same value
+		long bits = computeDoubleBits(mant, exp10);
+		if( bits >= 0 && (!truncated || bits == computeDoubleBits(mant+1, exp10)) ) {
+			double val = Double.longBitsToDouble(bits);
+			return neg ? -val : val;
+		}
+
+		return parseDoubleSlow(buf, off, len);
+	}
+
+	/**
+	 * Parses a long from the given byte range, where leading and trailing
+	 * whitespace is ignored.
+	 *
+	 * @param buf byte buffer
+	 * @param off offset of first byte
+	 * @param len number of bytes
+	 * @return parsed long value
+	 * @throws NumberFormatException if the byte range is not a valid long
+	 */
+	public static long parseLong(byte[] buf, int off, int len) {
+		int end = off + len;
+		int i = off;
+		while( i < end && isWhitespace(buf[i]) ) i++;
+		while( end > i && isWhitespace(buf[end-1]) ) end--;
+
+		//parse sign and up to 18 digits w/o overflow
+		boolean neg = false;
+		if( i < end && (buf[i] == '-' || buf[i] == '+') )
+			neg = (buf[i++] == '-');
+		if( i >= end || end - i > MAX_MANTISSA_DIGITS )
+			return parseLongSlow(buf, off, len);
+		long ret = 0;
+		for( ; i < end; i++ ) {
+			int d = buf[i] - '0';
+			if( d < 0 || d > 9 )
+				return parseLongSlow(buf, off, len);
+			ret = ret * 10 + d;
+		}
+		return neg ? -ret : ret;
+	}
+
+	/**
+	 * Parses an int from the given byte range, where leading and trailing
+	 * whitespace is ignored.
+	 *
+	 * @param buf byte buffer
+	 * @param off offset of first byte
+	 * @param len number of bytes
+	 * @return parsed int value
+	 * @throws NumberFormatException if the byte range is not a valid int
+	 */
+	public static int parseInt(byte[] buf, int off, int len) {
+		long ret = parseLong(buf, off, len);
+		if( ret < Integer.MIN_VALUE || ret > Integer.MAX_VALUE )
+			return Integer.parseInt(new String(buf, off, len, StandardCharsets.UTF_8).trim());
+		return (int) ret;
+	}
+
+	/**
+	 * Indicates if the given byte is whitespace according to String.trim,
+	 * where non-ASCII bytes (negative as signed byte) are no whitespace.
+	 *
+	 * @param b byte
+	 * @return true if whitespace
+	 */
+	public static boolean isWhitespace(byte b) {
+		return (b & 0xFF) <= ' ';
+	}
+
+	/**
+	 * Computes the bits of the correctly rounded double of w * 10^q via
+	 * the Eisel-Lemire algorithm (Lemire, "Number Parsing at a Gigabyte
+	 * per Second", Software: Practice and Experience, 2021).
+	 *
+	 * @param w positive decimal mantissa
+	 * @param q decimal exponent
+	 * @return bits of the positive double, or -1 if the result cannot
+	 *   be determined without fallback
+	 */
+	private static long computeDoubleBits(long w, int q) {
+		if( q < MIN_POW5 || q > MAX_POW5 )
+			return -1;
+
+		//multiply normalized mantissa w/ the power of five
+		int lz = Long.numberOfLeadingZeros(w);
+		long ws = w << lz;
+		long pow5 = POW5_HIGH[q - MIN_POW5];
+		long upper = multiplyHighUnsigned(ws, pow5);
+		long lower = ws * pow5;
+
+		//bail out if truncated bits of the power of five might carry
+		//into the bits that determine the rounding of the result
+		if( (upper & 0x1FF) == 0x1FF && Long.compareUnsigned(lower + ws, lower) < 0 )
+			return -1;
+
+		//extract 54-bit mantissa (w/ one extra bit for rounding)
+		long upperbit = upper >>> 63;
+		long mantissa = upper >>> (upperbit + 9);
+		lz += (int)(1 ^ upperbit);
+
+		//bail out on exact halfway cases (round-to-even)
+		if( lower == 0 && (upper & 0x1FF) == 0 && (mantissa & 3) == 1 )
+			return -1;
+
+		//round to nearest, and handle mantissa overflow
+		mantissa += mantissa & 1;
+		mantissa >>>= 1;
+		if( mantissa >= (1L << 53) ) {
+			mantissa = 1L << 52;
+			lz--;
+		}
+		mantissa &= ~(1L << 52);
+
+		//compute biased binary exponent, w/ fallback for subnormal or infinite
+		long exponent = (((152170L + 65536L) * q) >> 16) + 1024 + 63 - lz;
+		if( exponent < 1 || exponent > 2046 )
+			return -1;
+		return mantissa | (exponent << 52);
+	}
+
+	private static long multiplyHighUnsigned(long x, long y) {
+		long x0 = x & 0xFFFFFFFFL, x1 = x >>> 32;
+		long y0 = y & 0xFFFFFFFFL, y1 = y >>> 32;
+		long p11 = x1 * y1, p01 = x0 * y1;
+		long p10 = x1 * y0, p00 = x0 * y0;
+		long middle = p10 + (p00 >>> 32) + (p01 & 0xFFFFFFFFL);
+		return p11 + (middle >>> 32) + (p01 >>> 32);
+	}
+
+	private static long[] createPowersOfFive() {
+		//128-bit powers of five w/ leading one bit, where negative powers
+		//are computed as rounded-up reciprocals (as in the reference tables)
+		long[] ret = new long[MAX_POW5 - MIN_POW5 + 1];
+		for( int q = MIN_POW5; q <= MAX_POW5; q++ ) {
+			BigInteger p5 = BigInteger.valueOf(5).pow(Math.abs(q));
+			BigInteger v;
+			if( q < 0 ) {
+				int z = p5.bitLength();
+				int b = (q >= -27) ? z + 127 : 2 * z + 128;
+				v = BigInteger.ONE.shiftLeft(b).divide(p5).add(BigInteger.ONE);
+			}
+			else
+				v = p5;
+			v = (v.bitLength() > 128) ? v.shiftRight(v.bitLength() - 128) :
+				v.shiftLeft(128 - v.bitLength());
+			ret[q - MIN_POW5] = v.shiftRight(64).longValue();
+		}
+		return ret;
+	}
+
+	private static double parseDoubleSlow(byte[] buf, int off, int len) {
+		return Double.parseDouble(new String(buf, off, len, StandardCharsets.UTF_8));
+	}
+
+	private static long parseLongSlow(byte[] buf, int off, int len) {
+		return Long.parseLong(new String(buf, off, len, StandardCharsets.UTF_8).trim());
+	}
+}
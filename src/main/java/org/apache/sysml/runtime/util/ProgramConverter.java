@@ -90,6 +90,7 @@ import org.apache.sysml.runtime.instructions.cp.VariableCPInstruction;
 import org.apache.sysml.runtime.instructions.gpu.GPUInstruction;
 import org.apache.sysml.runtime.instructions.mr.MRInstruction;
 import org.apache.sysml.runtime.instructions.spark.SPInstruction;
+import org.apache.sysml.runtime.lineage.Lineage;
 import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
 import org.apache.sysml.runtime.matrix.MetaDataFormat;
 import org.apache.sysml.runtime.matrix.data.InputInfo;
@@ -204,6 +205,10 @@ public class ProgramConverter
 			}
 		}
 		
+		//copy lineage of shared variables (per-worker lineage maintenance)
+		if( ec.getLineage() != null )
+			cpec.setLineage(new Lineage(ec.getLineage()));
+		
 		return cpec;
 	}
 	
@@ -325,6 +325,12 @@ public class NativeHelper {
 	public static native boolean smmdd(FloatBuffer m1, FloatBuffer m2, FloatBuffer ret, int m1rlen, int m1clen, int m2clen, int numThreads);
 	//transpose-self matrix multiply
 	public static native boolean tsmm(double[] m1, double[] ret, int m1rlen, int m1clen, boolean leftTrans, int numThreads);
+	
+	// LAPACK factorizations (in-place, row-major), returning the LAPACK info code or -1 on failures
+	//cholesky factorization (lower)
+	public static native int dpotrf(double[] a, int n, int numThreads);
+	//lu factorization with partial pivoting (1-based row interchanges)
+	public static native int dgetrf(double[] a, int[] ipiv, int n, int numThreads);
 
 	// ----------------------------------------------------------------------------------------------------------------
 	// LibMatrixDNN operations:
@@ -29,12 +29,14 @@ import java.util.List;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.DoubleAdder;
 import java.util.concurrent.atomic.LongAdder;
 
 import org.apache.sysml.conf.ConfigurationManager;
 import org.apache.sysml.conf.DMLConfig;
 import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.runtime.codegen.CodegenUtils;
 import org.apache.sysml.runtime.controlprogram.caching.CacheStatistics;
 import org.apache.sysml.runtime.controlprogram.context.SparkExecutionContext;
 import org.apache.sysml.runtime.instructions.Instruction;
@@ -42,6 +44,8 @@ import org.apache.sysml.runtime.instructions.InstructionUtils;
 import org.apache.sysml.runtime.instructions.MRJobInstruction;
 import org.apache.sysml.runtime.instructions.cp.FunctionCallCPInstruction;
 import org.apache.sysml.runtime.instructions.spark.SPInstruction;
+import org.apache.sysml.runtime.lineage.LineageCacheConfig;
+import org.apache.sysml.runtime.lineage.LineageCacheStatistics;
 import org.apache.sysml.runtime.matrix.data.LibMatrixDNN;
 
 /**
@@ -103,6 +107,8 @@ public class Statistics
 	private static final LongAdder codegenOpCacheTotal = new LongAdder(); //count
 	private static final LongAdder codegenPlanCacheHits = new LongAdder(); //count
 	private static final LongAdder codegenPlanCacheTotal = new LongAdder(); //count
+	private static final LongAdder codegenClassCacheHits = new LongAdder(); //count
+	private static final LongAdder codegenClassCacheTotal = new LongAdder(); //count
 	
 	//Function recompile stats 
 	private static final LongAdder funRecompileTime = new LongAdder(); //in nano sec
@@ -126,12 +132,18 @@ public class Statistics
 	private static final LongAdder psModelBroadcastTime = new LongAdder();
 	private static final LongAdder psBatchIndexTime = new LongAdder();
 	private static final LongAdder psRpcRequestTime = new LongAdder();
+	private static final LongAdder psShardAccrueTime = new LongAdder(); //in nano
+	private static final LongAdder psShardWaitTime = new LongAdder(); //in nano
+	private static final LongAdder psShardContention = new LongAdder(); //count
+	private static final AtomicLong psShardContentionMax = new AtomicLong(); //count
 
 	//PARFOR optimization stats (low frequency updates)
 	private static long parforOptTime = 0; //in milli sec
 	private static long parforOptCount = 0; //count
 	private static long parforInitTime = 0; //in milli sec
 	private static long parforMergeTime = 0; //in milli sec
+	private static long parforIdleTime = 0; //in milli sec
+	private static long parforMemDPCount = 0; //count
 
 	private static final LongAdder lTotalUIPVar = new LongAdder();
 	private static final LongAdder lTotalLix = new LongAdder();
@@ -326,6 +338,14 @@ public class Statistics
 		codegenPlanCacheTotal.increment();
 	}
 	
+	public static void incrementCodegenClassCacheHits() {
+		codegenClassCacheHits.increment();
+	}
+	
+	public static void incrementCodegenClassCacheTotal() {
+		codegenClassCacheTotal.increment();
+	}
+	
 	public static long getCodegenDAGCompile() {
 		return codegenHopCompile.longValue();
 	}
@@ -374,6 +394,14 @@ public class Statistics
 	public static long getCodegenPlanCacheTotal() {
 		return codegenPlanCacheTotal.longValue();
 	}
+	
+	public static long getCodegenClassCacheHits() {
+		return codegenClassCacheHits.longValue();
+	}
+	
+	public static long getCodegenClassCacheTotal() {
+		return codegenClassCacheTotal.longValue();
+	}
 
 	public static void incrementFunRecompileTime( long delta ) {
 		funRecompileTime.add(delta);
@@ -398,6 +426,14 @@ public class Statistics
 	public static synchronized void incrementParForMergeTime( long time ) {
 		parforMergeTime += time;
 	}
+	
+	public static synchronized void incrementParForIdleTime( long time ) {
+		parforIdleTime += time;
+	}
+	
+	public static synchronized void incrementParForMemDPCount() {
+		parforMemDPCount ++;
+	}
 
 	public static void startCompileTimer() {
 		if( ConfigurationManager.isStatistics() )
@@ -460,17 +496,27 @@ public class Statistics
 		codegenOpCacheTotal.reset();
 		codegenPlanCacheHits.reset();
 		codegenPlanCacheTotal.reset();
+		codegenClassCacheHits.reset();
+		codegenClassCacheTotal.reset();
 		
 		parforOptCount = 0;
 		parforOptTime = 0;
 		parforInitTime = 0;
 		parforMergeTime = 0;
+		parforIdleTime = 0;
+		parforMemDPCount = 0;
+		
+		psShardAccrueTime.reset();
+		psShardWaitTime.reset();
+		psShardContention.reset();
+		psShardContentionMax.set(0);
 		
 		lTotalLix.reset();
 		lTotalLixUIP.reset();
 		lTotalUIPVar.reset();
 		
 		CacheStatistics.reset();
+		LineageCacheStatistics.reset();
 		
 		resetJITCompileTime();
 		resetJVMgcTime();
@@ -573,6 +619,21 @@ public class Statistics
 		psRpcRequestTime.add(t);
 	}
 
+	public static void accPSShardAccrueTime(long t) {
+		psShardAccrueTime.add(t);
+	}
+
+	public static void accPSShardWaitTime(long t) {
+		psShardWaitTime.add(t);
+	}
+
+	public static void accPSShardContention(long[] contention) {
+		for( long c : contention ) {
+			psShardContention.add(c);
+			psShardContentionMax.accumulateAndGet(c, Math::max);
+		}
+	}
+
 	public static String getCPHeavyHitterCode( Instruction inst )
 	{
 		String opcode = null;
@@ -898,6 +959,14 @@ public class Statistics
 	public static long getParforMergeTime(){
 		return parforMergeTime;
 	}
+	
+	public static long getParforIdleTime() {
+		return parforIdleTime;
+	}
+	
+	public static long getParforMemDPCount() {
+		return parforMemDPCount;
+	}
 
 	public static long getNumPinnedObjects() { return maxNumPinnedObjects; }
 
@@ -973,7 +1042,14 @@ public class Statistics
 
 			sb.append("Cache hits (Mem, WB, FS, HDFS):\t" + CacheStatistics.displayHits() + ".\n");
 			sb.append("Cache writes (WB, FS, HDFS):\t" + CacheStatistics.displayWrites() + ".\n");
+			sb.append("Cache evictions (async, sync, WM):\t" + CacheStatistics.displayEvictions() + ".\n");
+			sb.append("Cache WB restores (pending, put):\t" + CacheStatistics.displayRestores() + ".\n");
 			sb.append("Cache times (ACQr/m, RLS, EXP):\t" + CacheStatistics.displayTime() + " sec.\n");
+			if( LineageCacheConfig.getCacheType().isReuse() ) {
+				sb.append("LinCache hits (Mem/FS/Part/Miss):\t" + LineageCacheStatistics.displayHits() + ".\n");
+				sb.append("LinCache writes (put/evict/spill):\t" + LineageCacheStatistics.displayWrites() + ".\n");
+				sb.append("LinCache saved compute time:\t" + LineageCacheStatistics.displaySavedTime() + " sec.\n");
+			}
 			if (ConfigurationManager.isJMLCMemStatistics())
 				sb.append("Max size of live objects:\t" + byteCountToDisplaySize(getSizeofPinnedObjects()) + " ("  + getNumPinnedObjects() + " total objects)" + "\n");
 			sb.append("HOP DAGs recompiled (PRED, SB):\t" + getHopRecompiledPredDAGs() + "/" + getHopRecompiledSBDAGs() + ".\n");
@@ -991,6 +1067,8 @@ public class Statistics
 						String.format("%.3f", (double)getCodegenClassCompileTime()/1000000000)  + " sec.\n");
 				sb.append("Codegen enum plan cache hits:\t" + getCodegenPlanCacheHits() + "/" + getCodegenPlanCacheTotal() + ".\n");
 				sb.append("Codegen op plan cache hits:\t" + getCodegenOpCacheHits() + "/" + getCodegenOpCacheTotal() + ".\n");
+				if( CodegenUtils.getClassCache() != null )
+					sb.append("Codegen class cache hits:\t" + getCodegenClassCacheHits() + "/" + getCodegenClassCacheTotal() + ".\n");
 			}
 			if( OptimizerUtils.isSparkExecutionMode() ){
 				String lazy = SparkExecutionContext.isLazySparkContextCreation() ? "(lazy)" : "(eager)";
@@ -1014,12 +1092,20 @@ public class Statistics
 				sb.append(String.format("Paramserv model broadcast time:\t%.3f secs.\n", psModelBroadcastTime.doubleValue() / 1000));
 				sb.append(String.format("Paramserv batch slice time:\t%.3f secs.\n", psBatchIndexTime.doubleValue() / 1000));
 				sb.append(String.format("Paramserv RPC request time:\t%.3f secs.\n", psRpcRequestTime.doubleValue() / 1000));
+				if( psShardAccrueTime.longValue() > 0 ) {
+					sb.append(String.format("Paramserv shard accrue/wait time:\t%.3f/%.3f secs.\n",
+						psShardAccrueTime.doubleValue() * 1e-9, psShardWaitTime.doubleValue() * 1e-9));
+					sb.append(String.format("Paramserv shard contention (total,max):\t%d/%d.\n",
+						psShardContention.longValue(), psShardContentionMax.longValue()));
+				}
 			}
 			if( parforOptCount>0 ){
 				sb.append("ParFor loops optimized:\t\t" + getParforOptCount() + ".\n");
 				sb.append("ParFor optimize time:\t\t" + String.format("%.3f", ((double)getParforOptTime())/1000) + " sec.\n");
 				sb.append("ParFor initialize time:\t\t" + String.format("%.3f", ((double)getParforInitTime())/1000) + " sec.\n");
 				sb.append("ParFor result merge time:\t" + String.format("%.3f", ((double)getParforMergeTime())/1000) + " sec.\n");
+				sb.append("ParFor worker idle time:\t" + String.format("%.3f", ((double)getParforIdleTime())/1000) + " sec.\n");
+				sb.append("ParFor in-memory partitions:\t" + getParforMemDPCount() + ".\n");
 				sb.append("ParFor total update in-place:\t" + lTotalUIPVar + "/" + lTotalLixUIP + "/" + lTotalLix + "\n");
 			}
 
@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.binary.matrix;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.HashMap;
+
+import org.junit.Test;
+import org.apache.sysml.api.DMLScript.RUNTIME_PLATFORM;
+import org.apache.sysml.runtime.instructions.InstructionUtils;
+import org.apache.sysml.runtime.instructions.spark.data.CompressedPartitionedBlock;
+import org.apache.sysml.runtime.instructions.spark.data.PartitionedBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * Tests the compressed partitioned broadcast representation, covering the
+ * serialization round trip with lazy per-block decompression, partitions,
+ * and mapmm over compressed broadcasts in spark.
+ */
+public class CompressedBroadcastTest extends AutomatedTestBase
+{
+	private final static String TEST_NAME = "CompressedBroadcast";
+	private final static String TEST_DIR = "functions/binary/matrix/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + CompressedBroadcastTest.class.getSimpleName() + "/";
+	private final static String TEST_CONF = "SystemML-config-compressbroadcast.xml";
+
+	private final static int rows = 2345;
+	private final static int cols = 2100;
+	private final static int blen = 1000;
+	private final static double eps = Math.pow(10, -8);
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "R" }));
+	}
+
+	@Test
+	public void testCompressibleDenseRoundTrip() throws Exception {
+		runRoundTripTest(1.0, 3);
+	}
+
+	@Test
+	public void testCompressibleSparseRoundTrip() throws Exception {
+		runRoundTripTest(0.05, 3);
+	}
+
+	@Test
+	public void testIncompressibleDenseRoundTrip() throws Exception {
+		runRoundTripTest(1.0, -1);
+	}
+
+	@Test
+	public void testMapmmCompressedBroadcastDense() {
+		runMapmmTest(1.0);
+	}
+
+	@Test
+	public void testMapmmCompressedBroadcastSparse() {
+		runMapmmTest(0.05);
+	}
+
+	private void runRoundTripTest(double sparsity, int distinct) throws Exception {
+		//create block of few distinct values (compressible) or random values
+		double[][] A = getRandomMatrix(rows, cols, 0, Math.abs(distinct), sparsity, 7);
+		if( distinct > 0 )
+			for( int i=0; i<rows; i++ )
+				for( int j=0; j<cols; j++ )
+					A[i][j] = Math.ceil(A[i][j]);
+		MatrixBlock mb = DataConverter.convertToMatrixBlock(A);
+		PartitionedBlock<MatrixBlock> pmb = new PartitionedBlock<>(mb, blen, blen);
+		CompressedPartitionedBlock cpmb = new CompressedPartitionedBlock(pmb);
+		if( distinct > 0 )
+			assertTrue(cpmb.getNumCompressedBytes() < pmb.getExactSerializedSize() / 2);
+		else
+			assertTrue(cpmb.getNumCompressedBytes() <= pmb.getExactSerializedSize());
+
+		//serialize and deserialize via java serialization (as broadcasts)
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		try( ObjectOutputStream oos = new ObjectOutputStream(bos) ) {
+			oos.writeObject(cpmb);
+		}
+		//(incl block data headers of object streams per 1KB)
+		assertTrue(bos.size() < 1.01 * cpmb.getExactSerializedSize() + 256);
+		CompressedPartitionedBlock cpmb2 = null;
+		try( ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray())) ) {
+			cpmb2 = (CompressedPartitionedBlock) ois.readObject();
+		}
+
+		//compare all blocks, incl a partition of the compressed blocks
+		PartitionedBlock<MatrixBlock> part = cpmb2.createPartition(2, 3);
+		for( int i=1; i<=pmb.getNumRowBlocks(); i++ )
+			for( int j=1; j<=pmb.getNumColumnBlocks(); j++ ) {
+				compareBlocks(pmb.getBlock(i, j), cpmb2.getBlock(i, j));
+				int ix = (i-1)*pmb.getNumColumnBlocks()+(j-1);
+				if( ix >= 2 && ix < 5 )
+					compareBlocks(pmb.getBlock(i, j), part.getBlock(i, j));
+			}
+	}
+
+	private void compareBlocks(MatrixBlock mb1, MatrixBlock mb2) {
+		assertEquals((long)mb1.getNumRows(), (long)mb2.getNumRows());
+		assertEquals((long)mb1.getNumColumns(), (long)mb2.getNumColumns());
+		assertEquals(mb1.getNonZeros(), mb2.getNonZeros());
+		TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(mb1),
+			DataConverter.convertToDoubleMatrix(mb2), mb1.getNumRows(), mb1.getNumColumns(), 0);
+	}
+
+	private void runMapmmTest(double sparsity) {
+		RUNTIME_PLATFORM platformOld = setRuntimePlatform(RUNTIME_PLATFORM.SPARK);
+		try {
+			TestConfiguration config = getTestConfiguration(TEST_NAME);
+			loadTestConfiguration(config);
+
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + TEST_NAME + ".dml";
+			double[][] X = getRandomMatrix(rows, 100, 0, 1, 1.0, 3);
+			double[][] Y = getRandomMatrix(100, cols, 0, 1, sparsity, 7);
+			writeInputMatrixWithMTD("X", X, true);
+			writeInputMatrixWithMTD("Y", Y, true);
+			programArgs = new String[]{"-stats", "-args", input("X"), input("Y"), output("R") };
+			runTest(true, false, null, -1);
+
+			//compare with matrix multiplication of inputs
+			MatrixBlock R = DataConverter.convertToMatrixBlock(X).aggregateBinaryOperations(
+				DataConverter.convertToMatrixBlock(X), DataConverter.convertToMatrixBlock(Y),
+				new MatrixBlock(), InstructionUtils.getMatMultOperator(1));
+			HashMap<CellIndex, Double> dmlfile = readDMLMatrixFromHDFS("R");
+			HashMap<CellIndex, Double> expected = new HashMap<>();
+			for( int i=0; i<R.getNumRows(); i++ )
+				for( int j=0; j<R.getNumColumns(); j++ )
+					if( R.quickGetValue(i, j) != 0 )
+						expected.put(new CellIndex(i+1, j+1), R.quickGetValue(i, j));
+			TestUtils.compareMatrices(dmlfile, expected, eps, "DML", "Expected");
+			assertTrue(heavyHittersContainsString("sp_mapmm"));
+		}
+		finally {
+			rtplatform = platformOld;
+		}
+	}
+
+	@Override
+	protected File getConfigTemplateFile() {
+		// Instrumentation in this test's output log to show custom configuration file used for template.
+		File f = new File(SCRIPT_DIR + TEST_DIR, TEST_CONF);
+		System.out.println("This test case overrides default configuration with " + f.getPath());
+		return f;
+	}
+}
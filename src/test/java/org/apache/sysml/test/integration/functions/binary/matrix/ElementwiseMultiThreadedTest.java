@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.binary.matrix;
+
+import org.junit.Test;
+
+import org.apache.sysml.runtime.instructions.InstructionUtils;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * Compares multi-threaded against single-threaded cell-wise binary operations
+ * (matrix-matrix, matrix-vector, and matrix-scalar) over inputs that are large
+ * enough to exceed the parallelization thresholds.
+ */
+public class ElementwiseMultiThreadedTest extends AutomatedTestBase
+{
+	private final static int rows1 = 1500;
+	private final static int cols1 = 1000;
+	private final static int rows2 = 3500;
+	private final static int cols2 = 3000;
+	private final static double sparsity1 = 0.7;
+	private final static double sparsity2 = 0.1;
+	private final static int k = 4;
+
+	private enum InputType {
+		MATRIX,
+		COL_VECTOR,
+		ROW_VECTOR,
+		SCALAR,
+	}
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testMultMatrixDense() {
+		runBinaryMultiThreadedTest("*", InputType.MATRIX, false);
+	}
+
+	@Test
+	public void testMultMatrixSparse() {
+		runBinaryMultiThreadedTest("*", InputType.MATRIX, true);
+	}
+
+	@Test
+	public void testPlusMatrixDense() {
+		runBinaryMultiThreadedTest("+", InputType.MATRIX, false);
+	}
+
+	@Test
+	public void testPlusMatrixSparse() {
+		runBinaryMultiThreadedTest("+", InputType.MATRIX, true);
+	}
+
+	@Test
+	public void testGreaterMatrixDense() {
+		runBinaryMultiThreadedTest(">", InputType.MATRIX, false);
+	}
+
+	@Test
+	public void testGreaterMatrixSparse() {
+		runBinaryMultiThreadedTest(">", InputType.MATRIX, true);
+	}
+
+	@Test
+	public void testMultColVectorDense() {
+		runBinaryMultiThreadedTest("*", InputType.COL_VECTOR, false);
+	}
+
+	@Test
+	public void testMultColVectorSparse() {
+		runBinaryMultiThreadedTest("*", InputType.COL_VECTOR, true);
+	}
+
+	@Test
+	public void testPlusRowVectorDense() {
+		runBinaryMultiThreadedTest("+", InputType.ROW_VECTOR, false);
+	}
+
+	@Test
+	public void testPlusRowVectorSparse() {
+		runBinaryMultiThreadedTest("+", InputType.ROW_VECTOR, true);
+	}
+
+	@Test
+	public void testMultScalarDense() {
+		runBinaryMultiThreadedTest("*", InputType.SCALAR, false);
+	}
+
+	@Test
+	public void testMultScalarSparse() {
+		runBinaryMultiThreadedTest("*", InputType.SCALAR, true);
+	}
+
+	@Test
+	public void testMinusScalarDense() {
+		runBinaryMultiThreadedTest("-", InputType.SCALAR, false);
+	}
+
+	@Test
+	public void testMinusScalarSparse() {
+		runBinaryMultiThreadedTest("-", InputType.SCALAR, true);
+	}
+
+	private void runBinaryMultiThreadedTest(String opcode, InputType type, boolean sparse) {
+		//generate inputs
+		int rows = sparse ? rows2 : rows1;
+		int cols = sparse ? cols2 : cols1;
+		double sparsity = sparse ? sparsity2 : sparsity1;
+		MatrixBlock X = MatrixBlock.randOperations(rows, cols, sparsity, -1, 1, "uniform", 7);
+		MatrixBlock Y = null;
+		switch( type ) {
+			case MATRIX:     Y = MatrixBlock.randOperations(rows, cols, sparsity, -1, 1, "uniform", 3); break;
+			case COL_VECTOR: Y = MatrixBlock.randOperations(rows, 1, 0.9, -1, 1, "uniform", 3); break;
+			case ROW_VECTOR: Y = MatrixBlock.randOperations(1, cols, 0.9, -1, 1, "uniform", 3); break;
+			default: //scalar
+		}
+
+		//compute single- and multi-threaded results
+		MatrixBlock ret1 = null, ret2 = null;
+		if( type == InputType.SCALAR ) {
+			ScalarOperator sop = InstructionUtils.parseScalarBinaryOperator(opcode, false, 0.5);
+			ret1 = (MatrixBlock) X.scalarOperations(sop, new MatrixBlock());
+			ret2 = (MatrixBlock) X.scalarOperations(sop.setNumThreads(k), new MatrixBlock());
+		}
+		else {
+			BinaryOperator bop = InstructionUtils.parseBinaryOperator(opcode);
+			ret1 = (MatrixBlock) X.binaryOperations(bop, Y, new MatrixBlock());
+			ret2 = (MatrixBlock) X.binaryOperations(bop.setNumThreads(k), Y, new MatrixBlock());
+		}
+
+		//compare results, incl meta data
+		assertEquals(ret1.getNonZeros(), ret2.getNonZeros());
+		assertEquals(ret1.isInSparseFormat(), ret2.isInSparseFormat());
+		ret2.checkNonZeros();
+		TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(ret1),
+			DataConverter.convertToDoubleMatrix(ret2), rows, cols, 0);
+	}
+}
@@ -0,0 +1,262 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.caching;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysml.runtime.controlprogram.caching.LazyWriteBuffer;
+import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a component test for the buffer pool eviction, covering
+ * synchronous and asynchronous (write-behind) eviction, reads of pending
+ * evictions and restored blocks, deletes of pending evictions, direct writes
+ * concurrent to in-progress evictions of the same file, and failed evictions.
+ */
+public class AsyncEvictionTest extends AutomatedTestBase
+{
+	private final static int numBlocks = 12;
+	private final static int cols = 1000;
+	private final static long bufferSize = 16*1024*1024;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testSyncEvictionRead() {
+		runEvictionTest(false, false, false);
+	}
+
+	@Test
+	public void testAsyncEvictionRead() {
+		runEvictionTest(true, false, false);
+	}
+
+	@Test
+	public void testAsyncEvictionDelete() {
+		runEvictionTest(true, true, false);
+	}
+
+	@Test
+	public void testAsyncEvictionForceRead() {
+		runEvictionTest(true, false, true);
+	}
+
+	@Test
+	public void testAsyncEvictionConcurrentDirectWrite() {
+		runConcurrentWriteTest();
+	}
+	
+	@Test
+	public void testAsyncEvictionFailure() {
+		runFailedEvictionTest();
+	}
+
+	private void runEvictionTest(boolean async, boolean delete, boolean force) {
+		boolean oldAsync = CacheableData.CACHING_ASYNC_EVICTION;
+		try {
+			CacheableData.CACHING_ASYNC_EVICTION = async;
+			CacheableData.initCaching("tmp_eviction_test");
+
+			//write blocks of 1/8 buffer size (exceeds buffer pool)
+			long limit = LazyWriteBuffer.getWriteBufferLimit();
+			int rows = (int)Math.max(limit / 8 / 8 / cols, 1);
+			String[] fnames = new String[numBlocks];
+			for( int i=0; i<numBlocks; i++ ) {
+				fnames[i] = CacheableData.cacheEvictionLocalFilePath + "/eviction_test_" + i;
+				LazyWriteBuffer.writeBlock(fnames[i], new MatrixBlock(rows, cols, (double)i+1));
+				assertTrue(LazyWriteBuffer.getWriteBufferSize() <= limit);
+			}
+
+			if( delete ) {
+				//delete blocks, incl pending evictions
+				for( String fname : fnames )
+					LazyWriteBuffer.deleteBlock(fname);
+				LazyWriteBuffer.forceEviction();
+				assertEquals(0, LazyWriteBuffer.getWriteBufferSize());
+				for( String fname : fnames )
+					assertFalse(new File(fname).exists());
+				return;
+			}
+
+			if( force ) {
+				LazyWriteBuffer.forceEviction();
+				assertEquals(0, LazyWriteBuffer.getWriteBufferSize());
+			}
+
+			//read blocks from buffer, pending evictions, or local FS (twice
+			//in order to cover reads of restored blocks put into the buffer)
+			for( int r=0; r<2; r++ ) {
+				for( int i=0; i<numBlocks; i++ ) {
+					MatrixBlock mb = (MatrixBlock)LazyWriteBuffer.readBlock(fnames[i], true);
+					assertEquals((long)rows * cols, mb.getNonZeros());
+					assertEquals(i+1, mb.quickGetValue(0, 0), 0);
+					assertEquals(i+1, mb.quickGetValue(rows-1, cols-1), 0);
+					assertTrue(LazyWriteBuffer.getWriteBufferSize() <= limit);
+				}
+			}
+			for( String fname : fnames )
+				LazyWriteBuffer.deleteBlock(fname);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			CacheableData.cleanupCacheDir();
+			CacheableData.CACHING_ASYNC_EVICTION = oldAsync;
+		}
+	}
+
+	private void runConcurrentWriteTest() {
+		boolean oldAsync = CacheableData.CACHING_ASYNC_EVICTION;
+		double oldSize = CacheableData.CACHING_BUFFER_SIZE;
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		try {
+			CacheableData.CACHING_ASYNC_EVICTION = true;
+			CacheableData.CACHING_BUFFER_SIZE = (double)bufferSize / InfrastructureAnalyzer.getLocalMaxMemory();
+			CacheableData.initCaching("tmp_eviction_test");
+			long limit = LazyWriteBuffer.getWriteBufferLimit();
+			int rows = (int)Math.max(limit / 8 / 8 / cols, 1);
+			String fname = CacheableData.cacheEvictionLocalFilePath + "/eviction_test_direct";
+			
+			//block the asynchronous eviction of the first block in its write
+			LazyWriteBuffer.setEvictionHook(f -> {
+				if( f.equals(fname) ) {
+					started.countDown();
+					await(release);
+				}
+			});
+			LazyWriteBuffer.writeBlock(fname, new MatrixBlock(rows, cols, 1d));
+			for( int i=0; i<numBlocks && started.getCount() > 0; i++ )
+				LazyWriteBuffer.writeBlock(CacheableData.cacheEvictionLocalFilePath 
+					+ "/eviction_test_" + i, new MatrixBlock(rows, cols, (double)i+2));
+			started.await();
+			
+			//direct write of a new block version that exceeds the buffer,
+			//which has to wait for the in-progress eviction of this file
+			MatrixBlock large = new MatrixBlock(9 * rows, cols, 7d);
+			AtomicReference<Exception> error = new AtomicReference<>();
+			Thread writer = new Thread(() -> {
+				try {
+					LazyWriteBuffer.writeBlock(fname, large);
+				}
+				catch(Exception ex) {
+					error.set(ex);
+				}
+			});
+			writer.start();
+			while( writer.isAlive() && writer.getState() != Thread.State.WAITING )
+				Thread.yield();
+			assertTrue(writer.isAlive());
+			
+			//complete the eviction and the direct write
+			release.countDown();
+			writer.join();
+			if( error.get() != null )
+				throw error.get();
+			LazyWriteBuffer.forceEviction();
+			
+			//read the new block version from local FS
+			MatrixBlock mb = (MatrixBlock)LazyWriteBuffer.readBlock(fname, true);
+			assertEquals(9L * rows * cols, mb.getNonZeros());
+			assertEquals(7, mb.quickGetValue(9*rows-1, cols-1), 0);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			release.countDown();
+			LazyWriteBuffer.setEvictionHook(null);
+			CacheableData.cleanupCacheDir();
+			CacheableData.CACHING_ASYNC_EVICTION = oldAsync;
+			CacheableData.CACHING_BUFFER_SIZE = oldSize;
+		}
+	}
+	
+	private void runFailedEvictionTest() {
+		boolean oldAsync = CacheableData.CACHING_ASYNC_EVICTION;
+		double oldSize = CacheableData.CACHING_BUFFER_SIZE;
+		CountDownLatch next = new CountDownLatch(1);
+		try {
+			CacheableData.CACHING_ASYNC_EVICTION = true;
+			CacheableData.CACHING_BUFFER_SIZE = (double)bufferSize / InfrastructureAnalyzer.getLocalMaxMemory();
+			CacheableData.initCaching("tmp_eviction_test");
+			long limit = LazyWriteBuffer.getWriteBufferLimit();
+			int rows = (int)Math.max(limit / 8 / 8 / cols, 1);
+			String fname = CacheableData.cacheEvictionLocalFilePath + "/eviction_test_failed";
+			
+			//fail the eviction of the first block, and signal the eviction of 
+			//the next block (the single eviction writer preserves queue order)
+			LazyWriteBuffer.setEvictionHook(f -> {
+				if( f.equals(fname) )
+					throw new RuntimeException("injected eviction failure");
+				next.countDown();
+			});
+			LazyWriteBuffer.writeBlock(fname, new MatrixBlock(rows, cols, 1d));
+			for( int i=0; i<numBlocks && next.getCount() > 0; i++ )
+				LazyWriteBuffer.writeBlock(CacheableData.cacheEvictionLocalFilePath 
+					+ "/eviction_test_" + i, new MatrixBlock(rows, cols, (double)i+2));
+			next.await();
+			
+			//the failure surfaces on the next read
+			try {
+				LazyWriteBuffer.readBlock(fname, true);
+				fail("Failed eviction not propagated to read.");
+			}
+			catch(IOException ex) {
+				//expected
+			}
+			
+			//the failed pending entry is still served from memory
+			MatrixBlock mb = (MatrixBlock)LazyWriteBuffer.readBlock(fname, true);
+			assertEquals(1, mb.quickGetValue(rows-1, cols-1), 0);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			LazyWriteBuffer.setEvictionHook(null);
+			CacheableData.cleanupCacheDir();
+			CacheableData.CACHING_ASYNC_EVICTION = oldAsync;
+			CacheableData.CACHING_BUFFER_SIZE = oldSize;
+		}
+	}
+	
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		}
+		catch(InterruptedException ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+}
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.caching;
+
+import org.junit.Test;
+
+import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysml.runtime.controlprogram.caching.LazyWriteBuffer;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a component test for compressed buffer pool entries, covering
+ * the reduced buffer size of compressible blocks, uncompressed entries of
+ * incompressible blocks, as well as restores from buffer and local disk.
+ */
+public class CompressedBufferTest extends AutomatedTestBase
+{
+	private final static int rows = 1234;
+	private final static int cols = 567;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testCompressibleDenseRead() {
+		runCompressedBufferTest(1.0, 3, false);
+	}
+
+	@Test
+	public void testCompressibleSparseRead() {
+		runCompressedBufferTest(0.1, 3, false);
+	}
+
+	@Test
+	public void testIncompressibleDenseRead() {
+		runCompressedBufferTest(1.0, -1, false);
+	}
+
+	@Test
+	public void testCompressibleDenseEviction() {
+		runCompressedBufferTest(1.0, 3, true);
+	}
+
+	@Test
+	public void testCompressibleSparseEviction() {
+		runCompressedBufferTest(0.1, 3, true);
+	}
+
+	private void runCompressedBufferTest(double sparsity, int distinct, boolean force) {
+		boolean oldCompress = CacheableData.CACHING_BUFFER_COMPRESSION;
+		try {
+			CacheableData.CACHING_BUFFER_COMPRESSION = true;
+			CacheableData.initCaching("tmp_compressed_buffer_test");
+
+			//create block of few distinct values (compressible) or random values
+			double[][] A = getRandomMatrix(rows, cols, 0, Math.abs(distinct), sparsity, 7);
+			if( distinct > 0 )
+				for( int i=0; i<rows; i++ )
+					for( int j=0; j<cols; j++ )
+						A[i][j] = Math.ceil(A[i][j]);
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(A);
+			long size = LazyWriteBuffer.getCacheBlockSize(mb);
+
+			//write block into buffer pool, and check compressed size
+			String fname = CacheableData.cacheEvictionLocalFilePath + "/compressed_buffer_test";
+			LazyWriteBuffer.writeBlock(fname, mb);
+			if( distinct > 0 )
+				assertTrue(LazyWriteBuffer.getWriteBufferSize() < size);
+			else
+				assertEquals(size, LazyWriteBuffer.getWriteBufferSize());
+
+			//read block from compressed buffer or local FS
+			if( force )
+				LazyWriteBuffer.forceEviction();
+			MatrixBlock mb2 = (MatrixBlock)LazyWriteBuffer.readBlock(fname, true);
+			assertEquals(mb.getNonZeros(), mb2.getNonZeros());
+			TestUtils.compareMatrices(A, DataConverter.convertToDoubleMatrix(mb2), rows, cols, 0);
+			LazyWriteBuffer.deleteBlock(fname);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			CacheableData.cleanupCacheDir();
+			CacheableData.CACHING_BUFFER_COMPRESSION = oldCompress;
+		}
+	}
+}
@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.caching;
+
+import java.lang.reflect.Method;
+
+import org.junit.Test;
+
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.controlprogram.caching.ByteBuffer;
+import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysml.runtime.controlprogram.caching.LazyWriteBuffer;
+import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.MetaDataFormat;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a component test for off-heap dense buffers, covering the
+ * serialization into and from buffer entries incl the deterministic
+ * release of native memory, as well as the buffer pool integration
+ * (release, read from buffer, and eviction to local disk).
+ */
+public class OffHeapDenseBlockTest extends AutomatedTestBase
+{
+	private final static int rows = 1073;
+	private final static int cols = 537;
+	private final static double sparsity = 0.7;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testOffHeapBufferSerialize() {
+		runOffHeapSerializeTest();
+	}
+
+	@Test
+	public void testOffHeapBufferPoolRead() {
+		runOffHeapBufferPoolTest(false);
+	}
+
+	@Test
+	public void testOffHeapBufferPoolEviction() {
+		runOffHeapBufferPoolTest(true);
+	}
+
+	private void runOffHeapSerializeTest() {
+		long oldThreshold = CacheableData.CACHING_BUFFER_OFFHEAP_THRESHOLD;
+		try {
+			CacheableData.CACHING_BUFFER_OFFHEAP_THRESHOLD = 0;
+			double[][] A = getRandomMatrix(rows, cols, -10, 10, sparsity, 7);
+			MatrixBlock mA = DataConverter.convertToMatrixBlock(A);
+			if( !ByteBuffer.isOffHeapBlock(mA) )
+				return; //not supported by the current JVM
+
+			//copy into off-heap buffer and back into on-heap block
+			long size0 = ByteBuffer.getOffHeapSize();
+			ByteBuffer bbuff = new ByteBuffer(mA.getInMemorySize());
+			bbuff.serializeBlock(mA);
+			assertTrue(bbuff.isOffHeap());
+			assertEquals(size0 + 8L*rows*cols, ByteBuffer.getOffHeapSize());
+			MatrixBlock mA2 = (MatrixBlock) bbuff.deserializeBlock();
+			assertEquals(mA.getNonZeros(), mA2.getNonZeros());
+			TestUtils.compareMatrices(A, DataConverter.convertToDoubleMatrix(mA2), rows, cols, 0);
+
+			//deterministic release of native memory
+			bbuff.freeMemory();
+			assertEquals(size0, ByteBuffer.getOffHeapSize());
+			assertTrue(bbuff.deserializeBlock() == null);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			CacheableData.CACHING_BUFFER_OFFHEAP_THRESHOLD = oldThreshold;
+		}
+	}
+
+	private void runOffHeapBufferPoolTest(boolean force) {
+		long oldThreshold = CacheableData.CACHING_BUFFER_OFFHEAP_THRESHOLD;
+		try {
+			CacheableData.CACHING_BUFFER_OFFHEAP_THRESHOLD = 0;
+			double[][] A = getRandomMatrix(rows, cols, -10, 10, sparsity, 7);
+			MatrixBlock mA = DataConverter.convertToMatrixBlock(A);
+
+			//setup caching and matrix object
+			CacheableData.initCaching("tmp_offheap_test");
+			MatrixCharacteristics mc = new MatrixCharacteristics(rows, cols, -1, -1, -1);
+			MetaDataFormat meta = new MetaDataFormat(mc,
+				OutputInfo.BinaryBlockOutputInfo, InputInfo.BinaryBlockInputInfo);
+			MatrixObject mo = new MatrixObject(ValueType.DOUBLE, "mA", meta);
+			mo.acquireModify(mA);
+			mo.release();
+
+			//evict matrix and clear in-memory reference
+			if( force )
+				LazyWriteBuffer.forceEviction();
+			Method clearmo = CacheableData.class
+				.getDeclaredMethod("clearCache", new Class[]{});
+			clearmo.setAccessible(true); //make method public
+			clearmo.invoke(mo, new Object[]{});
+
+			//read matrix through buffer pool (if forced, this is a read
+			//from disk, otherwise a copy from the off-heap dense block)
+			MatrixBlock mA2 = mo.acquireRead();
+			mo.release();
+			assertEquals(mA.getNonZeros(), mA2.getNonZeros());
+			TestUtils.compareMatrices(A, DataConverter.convertToDoubleMatrix(mA2), rows, cols, 0);
+			mo.clearData();
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			CacheableData.CACHING_BUFFER_OFFHEAP_THRESHOLD = oldThreshold;
+		}
+	}
+}
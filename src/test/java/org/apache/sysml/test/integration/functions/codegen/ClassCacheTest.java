@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.codegen;
+
+import java.io.File;
+import java.util.HashMap;
+
+import org.junit.Test;
+import org.apache.sysml.api.DMLScript.RUNTIME_PLATFORM;
+import org.apache.sysml.runtime.codegen.CodegenClassCache;
+import org.apache.sysml.runtime.codegen.CodegenUtils;
+import org.apache.sysml.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+import org.apache.sysml.utils.Statistics;
+
+/**
+ * Tests the persistent codegen class cache, where the second run of a
+ * script (after cleanup of all in-memory codegen caches, which simulates
+ * a new process) is expected to obtain all classes from the class cache.
+ */
+public class ClassCacheTest extends AutomatedTestBase
+{
+	private static final String TEST_NAME = "ClassCache";
+	private static final String TEST_DIR = "functions/codegen/";
+	private static final String TEST_CLASS_DIR = TEST_DIR + ClassCacheTest.class.getSimpleName() + "/";
+	private static final String CACHE_DIR = "target/testTemp/" + TEST_CLASS_DIR + "classcache"; //see configs
+	private static final String TEST_CONF1 = "SystemML-config-codegen-classcache.xml";  //javac
+	private static final String TEST_CONF2 = "SystemML-config-codegen-classcache2.xml"; //janino
+	private static String TEST_CONF = TEST_CONF1;
+
+	private static final int rows = 1234;
+	private static final int cols = 123;
+	private static final double eps = Math.pow(10, -10);
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "R" }));
+	}
+
+	@Test
+	public void testClassCacheJavac() {
+		runClassCacheTest(TEST_CONF1);
+	}
+
+	@Test
+	public void testClassCacheJanino() {
+		runClassCacheTest(TEST_CONF2);
+	}
+
+	@Test
+	public void testClassCacheEviction() {
+		CodegenClassCache cache = new CodegenClassCache(
+			CACHE_DIR + "_evict", 10 * 1024);
+		cache.clear();
+		String[] keys = new String[20];
+		for( int i=0; i<keys.length; i++ ) {
+			keys[i] = CodegenClassCache.createKey("src" + i);
+			cache.putClassBytes(keys[i], new byte[1024]);
+			assertTrue(cache.getSize() <= 10 * 1024);
+		}
+		//most recently added entry is retained
+		assertTrue(cache.getClassBytes(keys[keys.length-1]) != null);
+		assertTrue(new File(CACHE_DIR + "_evict").listFiles().length <= 10);
+		cache.clear();
+		assertEquals(0, cache.getSize());
+	}
+
+	private void runClassCacheTest(String conf) {
+		RUNTIME_PLATFORM platformOld = rtplatform;
+		rtplatform = RUNTIME_PLATFORM.SINGLE_NODE;
+		try {
+			TEST_CONF = conf;
+			TestConfiguration config = getTestConfiguration(TEST_NAME);
+			loadTestConfiguration(config);
+
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + TEST_NAME + ".dml";
+			double[][] X = getRandomMatrix(rows, cols, 0, 1, 1.0, 7);
+			writeInputMatrixWithMTD("X", X, true);
+
+			//first run: compile and populate class cache
+			programArgs = new String[]{"-stats", "-args", input("X"), output("R") };
+			File dir = new File(CACHE_DIR);
+			new CodegenClassCache(dir.getPath(), Long.MAX_VALUE).clear();
+			runTest(true, false, null, -1);
+			HashMap<CellIndex, Double> R1 = readDMLMatrixFromHDFS("R");
+			long numOps = Statistics.getCodegenClassCacheTotal();
+			assertTrue(heavyHittersContainsSubString("spoof"));
+			assertTrue(numOps >= 2);
+			assertEquals(0, Statistics.getCodegenClassCacheHits());
+			assertEquals(numOps, dir.listFiles((d, n) -> n.endsWith(".class")).length);
+
+			//second run: obtain all classes from class cache
+			runTest(true, false, null, -1);
+			HashMap<CellIndex, Double> R2 = readDMLMatrixFromHDFS("R");
+			assertTrue(heavyHittersContainsSubString("spoof"));
+			assertEquals(numOps, Statistics.getCodegenClassCacheTotal());
+			assertEquals(numOps, Statistics.getCodegenClassCacheHits());
+			assertEquals(0, Statistics.getCodegenClassCompile());
+			TestUtils.compareMatrices(R1, R2, eps, "Stat-DML1", "Stat-DML2");
+		}
+		finally {
+			rtplatform = platformOld;
+			CodegenUtils.setClassCache(null, -1);
+			TEST_CONF = TEST_CONF1;
+		}
+	}
+
+	@Override
+	protected File getConfigTemplateFile() {
+		// Instrumentation in this test's output log to show custom configuration file used for template.
+		File f = new File(SCRIPT_DIR + TEST_DIR, TEST_CONF);
+		System.out.println("This test case overrides default configuration with " + f.getPath());
+		return f;
+	}
+}
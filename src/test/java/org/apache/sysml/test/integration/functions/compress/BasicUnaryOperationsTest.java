@@ -0,0 +1,186 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.compress;
+
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysml.runtime.instructions.InstructionUtils;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysml.runtime.matrix.operators.UnaryOperator;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests cell-wise unary operations on compressed matrix blocks, which
+ * are expected to be applied directly to the compressed column groups.
+ */
+public class BasicUnaryOperationsTest extends AutomatedTestBase
+{
+	private static final int rows = 1321;
+	private static final int cols = 37;
+	private static final double sparsity1 = 0.9;
+	private static final double sparsity2 = 0.1;
+	private static final double sparsity3 = 0.0;
+	
+	public enum SparsityType {
+		DENSE,
+		SPARSE,
+		EMPTY,
+	}
+	
+	public enum ValueType {
+		RAND, //UC
+		CONST, //RLE
+		RAND_ROUND_OLE, //OLE
+		RAND_ROUND_DDC, //RLE
+	}
+	
+	public enum OpType {
+		EXP,  //sparse-unsafe
+		ABS,  //sparse-safe
+		SIGN, //sparse-safe
+	}
+	
+	@Override
+	public void setUp() {
+		
+	}
+	
+	@Test
+	public void testDenseRandDataExp() {
+		runUnaryOperationsTest(SparsityType.DENSE, ValueType.RAND, OpType.EXP);
+	}
+	
+	@Test
+	public void testSparseRandDataExp() {
+		runUnaryOperationsTest(SparsityType.SPARSE, ValueType.RAND, OpType.EXP);
+	}
+	
+	@Test
+	public void testEmptyExp() {
+		runUnaryOperationsTest(SparsityType.EMPTY, ValueType.RAND, OpType.EXP);
+	}
+	
+	@Test
+	public void testDenseRoundRandDataOLEExp() {
+		runUnaryOperationsTest(SparsityType.DENSE, ValueType.RAND_ROUND_OLE, OpType.EXP);
+	}
+	
+	@Test
+	public void testSparseRoundRandDataOLEExp() {
+		runUnaryOperationsTest(SparsityType.SPARSE, ValueType.RAND_ROUND_OLE, OpType.EXP);
+	}
+	
+	@Test
+	public void testDenseRoundRandDataDDCExp() {
+		runUnaryOperationsTest(SparsityType.DENSE, ValueType.RAND_ROUND_DDC, OpType.EXP);
+	}
+	
+	@Test
+	public void testSparseRoundRandDataDDCExp() {
+		runUnaryOperationsTest(SparsityType.SPARSE, ValueType.RAND_ROUND_DDC, OpType.EXP);
+	}
+	
+	@Test
+	public void testSparseConstDataExp() {
+		runUnaryOperationsTest(SparsityType.SPARSE, ValueType.CONST, OpType.EXP);
+	}
+	
+	@Test
+	public void testSparseRoundRandDataOLEAbs() {
+		runUnaryOperationsTest(SparsityType.SPARSE, ValueType.RAND_ROUND_OLE, OpType.ABS);
+	}
+	
+	@Test
+	public void testDenseRoundRandDataDDCAbs() {
+		runUnaryOperationsTest(SparsityType.DENSE, ValueType.RAND_ROUND_DDC, OpType.ABS);
+	}
+	
+	@Test
+	public void testSparseConstDataSign() {
+		runUnaryOperationsTest(SparsityType.SPARSE, ValueType.CONST, OpType.SIGN);
+	}
+	
+	@Test
+	public void testSparseRandDataSign() {
+		runUnaryOperationsTest(SparsityType.SPARSE, ValueType.RAND, OpType.SIGN);
+	}
+	
+	private void runUnaryOperationsTest(SparsityType sptype, ValueType vtype, OpType optype)
+	{
+		if(shouldSkipTest())
+			return;
+		
+		try
+		{
+			//prepare sparsity for input data
+			double sparsity = -1;
+			switch( sptype ){
+				case DENSE: sparsity = sparsity1; break;
+				case SPARSE: sparsity = sparsity2; break;
+				case EMPTY: sparsity = sparsity3; break;
+			}
+			
+			//generate input data
+			double min = (vtype==ValueType.CONST)? 10 : -10;
+			double[][] input = TestUtils.generateTestMatrix(rows, cols, min, 10, sparsity, 7);
+			if( vtype==ValueType.RAND_ROUND_OLE || vtype==ValueType.RAND_ROUND_DDC ) {
+				CompressedMatrixBlock.ALLOW_DDC_ENCODING = (vtype==ValueType.RAND_ROUND_DDC);
+				input = TestUtils.round(input);
+			}
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(input);
+			
+			//compress given matrix block
+			CompressedMatrixBlock cmb = new CompressedMatrixBlock(mb);
+			cmb.compress();
+			
+			//unary operation uncompressed
+			UnaryOperator uop = InstructionUtils.parseUnaryOperator(optype.name().toLowerCase());
+			MatrixBlock ret1 = (MatrixBlock)mb.unaryOperations(uop, new MatrixBlock());
+			
+			//unary operation compressed (w/o decompression)
+			MatrixBlock ret2 = (MatrixBlock)cmb.unaryOperations(uop, new MatrixBlock());
+			if( cmb.isCompressed() )
+				Assert.assertTrue(((CompressedMatrixBlock)ret2).isCompressed());
+			
+			//compare aggregates over compressed column groups (incl zero handling)
+			AggregateUnaryOperator auop = InstructionUtils.parseBasicAggregateUnaryOperator("uamin");
+			MatrixBlock agg1 = (MatrixBlock)ret1.aggregateUnaryOperations(auop, new MatrixBlock(), 1000, 1000, null, true);
+			MatrixBlock agg2 = (MatrixBlock)ret2.aggregateUnaryOperations(auop, new MatrixBlock(), 1000, 1000, null, true);
+			TestUtils.compareScalars(agg1.quickGetValue(0, 0), agg2.quickGetValue(0, 0), 0.0000001);
+			
+			//compare result with input
+			if( ret2 instanceof CompressedMatrixBlock )
+				ret2 = ((CompressedMatrixBlock)ret2).decompress();
+			double[][] d1 = DataConverter.convertToDoubleMatrix(ret1);
+			double[][] d2 = DataConverter.convertToDoubleMatrix(ret2);
+			TestUtils.compareMatrices(d1, d2, rows, cols, 0.0000001);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			CompressedMatrixBlock.ALLOW_DDC_ENCODING = true;
+		}
+	}
+}
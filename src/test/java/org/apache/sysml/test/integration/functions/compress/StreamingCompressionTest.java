@@ -0,0 +1,254 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.compress;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Random;
+
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysml.runtime.compress.StreamingCompressor;
+import org.apache.sysml.runtime.io.FileFormatPropertiesCSV;
+import org.apache.sysml.runtime.io.ReaderBinaryBlock;
+import org.apache.sysml.runtime.io.ReaderTextCSV;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.runtime.util.MapReduceTool;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.functions.compress.BasicCompressionTest.SparsityType;
+import org.apache.sysml.test.integration.functions.compress.BasicCompressionTest.ValueType;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Test;
+
+/**
+ * Tests streaming compression from row chunks and binary block / csv files,
+ * where the decompressed result is expected to match the input.
+ */
+public class StreamingCompressionTest extends AutomatedTestBase
+{
+	private static final String TEST_DIR = "functions/compress/";
+	private static final String TEST_CLASS_DIR = TEST_DIR + StreamingCompressionTest.class.getSimpleName() + "/";
+
+	private static final int rows = 10234;
+	private static final int cols = 20;
+	private static final int chunk = 1000;
+	private static final int blen = 1000;
+	private static final int bclen = 7;
+	private static final double sparsity1 = 0.9;
+	private static final double sparsity2 = 0.1;
+	private static final double sparsity3 = 0.0;
+
+	public enum InputType {
+		CHUNKS,
+		CHUNKS_SHUFFLED,
+		BINARY_BLOCK,
+		CSV,
+	}
+
+	@Override
+	public void setUp() {
+
+	}
+
+	@Test
+	public void testDenseRandDataChunks() {
+		runStreamingCompressionTest(SparsityType.DENSE, ValueType.RAND, InputType.CHUNKS);
+	}
+
+	@Test
+	public void testSparseRandDataChunks() {
+		runStreamingCompressionTest(SparsityType.SPARSE, ValueType.RAND, InputType.CHUNKS);
+	}
+
+	@Test
+	public void testEmptyChunks() {
+		runStreamingCompressionTest(SparsityType.EMPTY, ValueType.RAND, InputType.CHUNKS);
+	}
+
+	@Test
+	public void testDenseRoundRandDataOLEChunks() {
+		runStreamingCompressionTest(SparsityType.DENSE, ValueType.RAND_ROUND_OLE, InputType.CHUNKS);
+	}
+
+	@Test
+	public void testSparseRoundRandDataOLEChunks() {
+		runStreamingCompressionTest(SparsityType.SPARSE, ValueType.RAND_ROUND_OLE, InputType.CHUNKS);
+	}
+
+	@Test
+	public void testDenseRoundRandDataDDCChunks() {
+		runStreamingCompressionTest(SparsityType.DENSE, ValueType.RAND_ROUND_DDC, InputType.CHUNKS);
+	}
+
+	@Test
+	public void testSparseRoundRandDataDDCChunks() {
+		runStreamingCompressionTest(SparsityType.SPARSE, ValueType.RAND_ROUND_DDC, InputType.CHUNKS);
+	}
+
+	@Test
+	public void testDenseConstDataChunks() {
+		runStreamingCompressionTest(SparsityType.DENSE, ValueType.CONST, InputType.CHUNKS);
+	}
+
+	@Test
+	public void testDenseRoundRandDataOLEChunksShuffled() {
+		runStreamingCompressionTest(SparsityType.DENSE, ValueType.RAND_ROUND_OLE, InputType.CHUNKS_SHUFFLED);
+	}
+
+	@Test
+	public void testDenseRoundRandDataDDCChunksShuffled() {
+		runStreamingCompressionTest(SparsityType.DENSE, ValueType.RAND_ROUND_DDC, InputType.CHUNKS_SHUFFLED);
+	}
+
+	@Test
+	public void testSparseRoundRandDataDDCChunksShuffled() {
+		runStreamingCompressionTest(SparsityType.SPARSE, ValueType.RAND_ROUND_DDC, InputType.CHUNKS_SHUFFLED);
+	}
+
+	@Test
+	public void testDenseRoundRandDataDDCBinaryBlock() {
+		runStreamingCompressionTest(SparsityType.DENSE, ValueType.RAND_ROUND_DDC, InputType.BINARY_BLOCK);
+	}
+
+	@Test
+	public void testSparseRoundRandDataOLEBinaryBlock() {
+		runStreamingCompressionTest(SparsityType.SPARSE, ValueType.RAND_ROUND_OLE, InputType.BINARY_BLOCK);
+	}
+
+	@Test
+	public void testDenseRandDataBinaryBlock() {
+		runStreamingCompressionTest(SparsityType.DENSE, ValueType.RAND, InputType.BINARY_BLOCK);
+	}
+
+	@Test
+	public void testDenseRoundRandDataDDCCSV() {
+		runStreamingCompressionTest(SparsityType.DENSE, ValueType.RAND_ROUND_DDC, InputType.CSV);
+	}
+
+	@Test
+	public void testSparseRoundRandDataOLECSV() {
+		runStreamingCompressionTest(SparsityType.SPARSE, ValueType.RAND_ROUND_OLE, InputType.CSV);
+	}
+
+	@Test
+	public void testCSVExtraColumns() {
+		if(shouldSkipTest())
+			return;
+		
+		try {
+			String fname = "target/testTemp/" + TEST_CLASS_DIR + "Y";
+			MapReduceTool.deleteFileIfExistOnHDFS(fname);
+			MapReduceTool.writeStringToHDFS("1,2,3\n4,5,6,7\n8,9,10\n", fname);
+			new ReaderTextCSV(new FileFormatPropertiesCSV())
+				.readCompressedMatrixFromHDFS(fname, 3, 3, 1);
+			fail("Expected IOException for row with extra columns.");
+		}
+		catch(IOException ex) {
+			//expected format error (not an index out of bounds exception)
+			assertTrue(ex.getMessage().contains("columns"));
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+
+	private void runStreamingCompressionTest(SparsityType sptype, ValueType vtype, InputType itype)
+	{
+		if(shouldSkipTest())
+			return;
+
+		try
+		{
+			//prepare sparsity for input data
+			double sparsity = -1;
+			switch( sptype ){
+				case DENSE: sparsity = sparsity1; break;
+				case SPARSE: sparsity = sparsity2; break;
+				case EMPTY: sparsity = sparsity3; break;
+			}
+
+			//generate input data
+			double min = (vtype==ValueType.CONST)? 10 : -10;
+			double[][] input = TestUtils.generateTestMatrix(rows, cols, min, 10, sparsity, 7);
+			if( vtype==ValueType.RAND_ROUND_OLE || vtype==ValueType.RAND_ROUND_DDC ) {
+				CompressedMatrixBlock.ALLOW_DDC_ENCODING = (vtype==ValueType.RAND_ROUND_DDC);
+				input = TestUtils.round(input);
+			}
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(input);
+
+			//streaming compression of row chunks or files
+			MatrixBlock cmb = null;
+			String fname = "target/testTemp/" + TEST_CLASS_DIR + "X";
+			switch( itype ) {
+				case CHUNKS:
+				case CHUNKS_SHUFFLED: {
+					ArrayList<Integer> offsets = new ArrayList<>();
+					for( int rl=0; rl<rows; rl+=chunk )
+						offsets.add(rl);
+					if( itype == InputType.CHUNKS_SHUFFLED )
+						Collections.shuffle(offsets, new Random(7));
+					StreamingCompressor compressor = new StreamingCompressor(rows, cols, 2);
+					for( Integer rl : offsets )
+						compressor.append(mb.slice(rl, Math.min(rl+chunk, rows)-1), rl);
+					cmb = compressor.finish();
+					break;
+				}
+				case BINARY_BLOCK: {
+					MapReduceTool.deleteFileIfExistOnHDFS(fname);
+					DataConverter.writeMatrixToHDFS(mb, fname, OutputInfo.BinaryBlockOutputInfo,
+						new MatrixCharacteristics(rows, cols, blen, bclen));
+					cmb = new ReaderBinaryBlock(false).readCompressedMatrixFromHDFS(fname, rows, cols, blen, bclen, 2);
+					break;
+				}
+				case CSV: {
+					MapReduceTool.deleteFileIfExistOnHDFS(fname);
+					DataConverter.writeMatrixToHDFS(mb, fname, OutputInfo.CSVOutputInfo,
+						new MatrixCharacteristics(rows, cols, blen, blen));
+					cmb = new ReaderTextCSV(new FileFormatPropertiesCSV())
+						.readCompressedMatrixFromHDFS(fname, -1, -1, 2);
+					break;
+				}
+			}
+
+			//check for compression of compressible inputs
+			if( vtype != ValueType.RAND && sptype != SparsityType.EMPTY )
+				assertTrue(cmb instanceof CompressedMatrixBlock);
+
+			//decompress the compressed matrix block
+			MatrixBlock tmp = (cmb instanceof CompressedMatrixBlock) ?
+				((CompressedMatrixBlock)cmb).decompress() : cmb;
+
+			//compare result with input
+			double[][] d1 = DataConverter.convertToDoubleMatrix(mb);
+			double[][] d2 = DataConverter.convertToDoubleMatrix(tmp);
+			TestUtils.compareMatrices(d1, d2, rows, cols, 0);
+			assertEquals(mb.getNonZeros(), cmb.getNonZeros());
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			CompressedMatrixBlock.ALLOW_DDC_ENCODING = true;
+		}
+	}
+}
@@ -0,0 +1,215 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.frame;
+
+import java.util.Random;
+
+import org.apache.sysml.conf.CompilerConfig;
+import org.apache.sysml.conf.CompilerConfig.ConfigType;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.io.FileFormatPropertiesColumnar;
+import org.apache.sysml.runtime.io.FrameColumnarFooter;
+import org.apache.sysml.runtime.io.FrameColumnarFooter.ColumnChunk;
+import org.apache.sysml.runtime.io.FrameColumnarFooter.Encoding;
+import org.apache.sysml.runtime.io.FrameColumnarFooter.RowGroup;
+import org.apache.sysml.runtime.io.FrameReader;
+import org.apache.sysml.runtime.io.FrameReaderColumnar;
+import org.apache.sysml.runtime.io.FrameReaderFactory;
+import org.apache.sysml.runtime.io.FrameWriter;
+import org.apache.sysml.runtime.io.FrameWriterFactory;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.util.MapReduceTool;
+import org.apache.sysml.runtime.util.UtilFunctions;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Test;
+
+/**
+ * Tests the columnar binary frame format, i.e., round trips through the
+ * sequential and parallel readers and writers, column projection, the
+ * per-chunk encodings and statistics, and the detection of columnar
+ * frames by the binary block frame readers.
+ */
+public class FrameColumnarReadWriteTest extends AutomatedTestBase
+{
+	private final static String TEST_DIR = "functions/frame/";
+	private final static String TEST_NAME = "FrameColumnarReadWrite";
+	private final static String TEST_CLASS_DIR = TEST_DIR + FrameColumnarReadWriteTest.class.getSimpleName() + "/";
+
+	private final static int rows = 5791;
+	private final static int rgsize = 1000;
+	private final static ValueType[] schema = new ValueType[]{ValueType.STRING, ValueType.STRING,
+		ValueType.BOOLEAN, ValueType.INT, ValueType.DOUBLE, ValueType.DOUBLE, ValueType.STRING};
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] {"F"}));
+	}
+
+	@Test
+	public void testColumnarSingleThreaded() {
+		runColumnarReadWriteTest(false, false, null, false);
+	}
+
+	@Test
+	public void testColumnarMultiThreaded() {
+		runColumnarReadWriteTest(true, false, null, false);
+	}
+
+	@Test
+	public void testColumnarCompactColumns() {
+		runColumnarReadWriteTest(true, true, null, false);
+	}
+
+	@Test
+	public void testColumnarProjectionSingleThreaded() {
+		runColumnarReadWriteTest(false, false, new int[]{6, 1, 4}, false);
+	}
+
+	@Test
+	public void testColumnarProjectionMultiThreaded() {
+		runColumnarReadWriteTest(true, true, new int[]{3, 0}, false);
+	}
+
+	@Test
+	public void testColumnarBinaryBlockProbe() {
+		runColumnarReadWriteTest(true, false, null, true);
+	}
+
+	private void runColumnarReadWriteTest(boolean parallel, boolean compact, int[] cols, boolean probe)
+	{
+		if(shouldSkipTest())
+			return;
+
+		CompilerConfig cconf = ConfigurationManager.getCompilerConfig();
+		boolean oldParRead = cconf.getBool(ConfigType.PARALLEL_CP_READ_BINARYFORMATS);
+		boolean oldParWrite = cconf.getBool(ConfigType.PARALLEL_CP_WRITE_BINARYFORMATS);
+
+		try
+		{
+			getAndLoadTestConfiguration(TEST_NAME);
+			String fname = output("F");
+			cconf.set(ConfigType.PARALLEL_CP_READ_BINARYFORMATS, parallel);
+			cconf.set(ConfigType.PARALLEL_CP_WRITE_BINARYFORMATS, parallel);
+
+			//write frame in columnar format
+			FrameBlock frame = createFrame(rows, 7);
+			if( compact )
+				frame.compactColumns();
+			FrameWriter writer = FrameWriterFactory.createFrameWriter(
+				OutputInfo.BinaryBlockOutputInfo, new FileFormatPropertiesColumnar(rgsize, null));
+			writer.writeFrameToHDFS(frame, fname, rows, schema.length);
+
+			//check footer, encodings and statistics
+			FrameColumnarFooter[] footers = FrameReaderColumnar.readFooters(fname);
+			long nrow = 0, ngroups = 0;
+			for( FrameColumnarFooter footer : footers ) {
+				nrow += footer.getNumRows();
+				ngroups += footer.getRowGroups().size();
+				for( RowGroup rg : footer.getRowGroups() )
+					checkRowGroup(frame, rg);
+			}
+			assertEquals(rows, nrow);
+			assertEquals((long)Math.ceil((double)rows/rgsize), ngroups);
+
+			//read frame (projection) and compare w/ original
+			FrameReader reader = probe ?
+				FrameReaderFactory.createFrameReader(InputInfo.BinaryBlockInputInfo) :
+				FrameReaderFactory.createFrameReader(InputInfo.BinaryBlockInputInfo, new FileFormatPropertiesColumnar(cols));
+			FrameBlock frame2 = reader.readFrameFromHDFS(fname, schema, rows, schema.length);
+			if( cols == null ) {
+				cols = new int[schema.length];
+				for( int j=0; j<schema.length; j++ )
+					cols[j] = j;
+			}
+			assertEquals(rows, (long)frame2.getNumRows());
+			assertEquals(cols.length, (long)frame2.getNumColumns());
+			for( int k=0; k<cols.length; k++ ) {
+				assertEquals(schema[cols[k]], frame2.getSchema()[k]);
+				assertEquals(frame.getColumnName(cols[k]), frame2.getColumnName(k));
+				for( int i=0; i<rows; i++ ) {
+					Object val1 = frame.get(i, cols[k]);
+					Object val2 = frame2.get(i, k);
+					if( UtilFunctions.compareTo(schema[cols[k]], val1, val2) != 0 )
+						fail("Wrong value at ("+i+","+cols[k]+"): "+val2+" (expected: "+val1+")");
+				}
+			}
+			MapReduceTool.deleteFileIfExistOnHDFS(fname);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			cconf.set(ConfigType.PARALLEL_CP_READ_BINARYFORMATS, oldParRead);
+			cconf.set(ConfigType.PARALLEL_CP_WRITE_BINARYFORMATS, oldParWrite);
+		}
+	}
+
+	private void checkRowGroup(FrameBlock frame, RowGroup rg) {
+		int rl = (int)rg.getRowOffset();
+		int ru = rl + rg.getNumRows();
+		assertTrue(rg.getNumRows() <= rgsize);
+
+		//low-cardinality strings w/ nulls, unique strings, and sorted ints
+		ColumnChunk c0 = rg.getColumnChunk(0);
+		assertTrue(c0.getEncoding() == Encoding.DICT || c0.getEncoding() == Encoding.DICT_RLE);
+		assertTrue(c0.getNumDistinct() > 0 && c0.getNumDistinct() <= 50);
+		assertEquals(Encoding.PLAIN, rg.getColumnChunk(1).getEncoding());
+		assertEquals(Encoding.RLE, rg.getColumnChunk(3).getEncoding());
+
+		//statistics of numeric and boolean columns
+		for( int j=2; j<6; j++ ) {
+			ColumnChunk chunk = rg.getColumnChunk(j);
+			long nnz = 0;
+			double min = Double.MAX_VALUE, max = -Double.MAX_VALUE;
+			for( int i=rl; i<ru; i++ ) {
+				double val = UtilFunctions.objectToDouble(schema[j], frame.get(i, j));
+				nnz += (val != 0) ? 1 : 0;
+				min = Math.min(min, val);
+				max = Math.max(max, val);
+			}
+			assertEquals(nnz, chunk.getNumNonEmpty());
+			assertEquals(min, chunk.getMin(), 0);
+			assertEquals(max, chunk.getMax(), 0);
+		}
+	}
+
+	private static FrameBlock createFrame(int rows, long seed) {
+		FrameBlock ret = new FrameBlock(schema);
+		Random rand = new Random(seed);
+		Object[] row = new Object[schema.length];
+		for( int i=0; i<rows; i++ ) {
+			row[0] = (rand.nextDouble() < 0.05) ? null : "a" + rand.nextInt(50);
+			row[1] = "b" + i;
+			row[2] = rand.nextBoolean();
+			row[3] = (long) (i / 300);
+			row[4] = rand.nextDouble();
+			row[5] = (rand.nextDouble() < 0.9) ? 0d : rand.nextGaussian();
+			row[6] = (rand.nextDouble() < 0.5) ? null : "ä漢" + rand.nextInt(3);
+			ret.appendRow(row);
+		}
+		return ret;
+	}
+}
@@ -0,0 +1,207 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.frame;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.util.Random;
+
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.transform.encode.Encoder;
+import org.apache.sysml.runtime.transform.encode.EncoderFactory;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Test;
+
+/**
+ * Tests compact column representations of frames (dictionary-encoded strings,
+ * bitset booleans, and int32 integers), where values, serialization, slicing,
+ * and transformencode are expected to match the default column arrays.
+ */
+public class FrameCompactColumnsTest extends AutomatedTestBase
+{
+	private final static int rows = 2791;
+	private final static ValueType[] schema = new ValueType[]{ValueType.STRING, 
+		ValueType.STRING, ValueType.BOOLEAN, ValueType.INT, ValueType.DOUBLE};
+	private final static String spec = "{ids:true, recode:[1,2,4], dummycode:[2]}";
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testCompactColumnsGetSet() {
+		runFrameCompactColumnsTest(false, 1);
+	}
+	
+	@Test
+	public void testCompactColumnsSerialize() {
+		runFrameCompactColumnsTest(true, 1);
+	}
+	
+	@Test
+	public void testCompactColumnsGetSetParallel() {
+		runFrameCompactColumnsTest(false, 3);
+	}
+	
+	@Test
+	public void testCompactColumnsSerializeParallel() {
+		runFrameCompactColumnsTest(true, 3);
+	}
+	
+	@Test
+	public void testCompactColumnsGetColumnData() {
+		if(shouldSkipTest())
+			return;
+		
+		//writes through the column data remain visible (in-place materialization)
+		FrameBlock cframe = createFrame(rows, 7).compactColumns();
+		String[] col0 = (String[]) cframe.getColumnData(0);
+		boolean[] col2 = (boolean[]) cframe.getColumnData(2);
+		long[] col3 = (long[]) cframe.getColumnData(3);
+		col0[3] = "xyz";
+		col2[5] = !col2[5];
+		col3[7] = Long.MAX_VALUE;
+		assertFalse(cframe.isDictionaryEncoded(0));
+		assertEquals("xyz", cframe.get(3, 0));
+		assertEquals(col2[5], cframe.get(5, 2));
+		assertEquals(Long.MAX_VALUE, cframe.get(7, 3));
+	}
+	
+	@Test
+	public void testCompactColumnsConcurrentSet() {
+		if(shouldSkipTest())
+			return;
+		
+		try {
+			//concurrent writes of disjoint rows w/ new distinct values,
+			//bits in shared words, and int64 widening
+			FrameBlock frame = createFrame(rows, 7);
+			FrameBlock cframe = createFrame(rows, 7).compactColumns();
+			int k = 4;
+			for( int i=0; i<rows; i++ ) {
+				frame.set(i, 0, "c" + i);
+				frame.set(i, 2, i % 3 == 0);
+				frame.set(i, 3, (i % 17 == 0) ? Long.MAX_VALUE - i : (long) i);
+			}
+			Thread[] threads = new Thread[k];
+			for( int t=0; t<k; t++ ) {
+				final int tid = t;
+				threads[t] = new Thread(() -> {
+					for( int i=tid; i<rows; i+=k ) {
+						cframe.set(i, 0, "c" + i);
+						cframe.set(i, 2, i % 3 == 0);
+						cframe.set(i, 3, (i % 17 == 0) ? Long.MAX_VALUE - i : (long) i);
+					}
+				});
+				threads[t].start();
+			}
+			for( Thread thread : threads )
+				thread.join();
+			compareFrames(frame, cframe);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private void runFrameCompactColumnsTest(boolean serialize, int k)
+	{
+		if(shouldSkipTest())
+			return;
+		
+		try
+		{
+			FrameBlock frame = createFrame(rows, 7);
+			FrameBlock cframe = createFrame(rows, 7).compactColumns();
+			assertTrue(cframe.isDictionaryEncoded(0));
+			assertTrue(cframe.isDictionaryEncoded(1));
+			assertTrue(cframe.getInMemorySize() < frame.getInMemorySize());
+			
+			//serialization round trip w/ compact columns
+			if( serialize ) {
+				cframe.getColumnNames(); //materialize default names
+				long size = cframe.getExactSerializedSize();
+				ByteArrayOutputStream bos = new ByteArrayOutputStream();
+				cframe.write(new DataOutputStream(bos));
+				assertEquals(size, (long)bos.size());
+				cframe = new FrameBlock();
+				cframe.readFields(new DataInputStream(new ByteArrayInputStream(bos.toByteArray())));
+				assertTrue(cframe.isDictionaryEncoded(0));
+			}
+			compareFrames(frame, cframe);
+			
+			//slicing and copy into default columns
+			compareFrames(frame.slice(7, 1234, 0, schema.length-1, new FrameBlock()),
+				cframe.slice(7, 1234, 0, schema.length-1, new FrameBlock()));
+			FrameBlock frame2 = createFrame(rows, 3);
+			frame2.copy(0, rows-1, 0, schema.length-1, cframe);
+			compareFrames(frame, frame2);
+			
+			//set values w/ new distinct values and int64 values
+			frame.set(3, 0, "xyz");
+			cframe.set(3, 0, "xyz");
+			frame.set(5, 3, Long.MAX_VALUE);
+			cframe.set(5, 3, Long.MAX_VALUE);
+			compareFrames(frame, cframe);
+			
+			//transformencode on default and compact columns
+			String[] colnames = frame.getColumnNames();
+			Encoder encoder1 = EncoderFactory.createEncoder(spec, colnames, schema.length, null);
+			MatrixBlock out1 = encoder1.encode(frame, new MatrixBlock(rows, schema.length, false), k);
+			Encoder encoder2 = EncoderFactory.createEncoder(spec, colnames, schema.length, null);
+			MatrixBlock out2 = encoder2.encode(cframe, new MatrixBlock(rows, schema.length, false), k);
+			assertEquals(out1.getNumColumns(), (long)out2.getNumColumns());
+			TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(out1),
+				DataConverter.convertToDoubleMatrix(out2), rows, out1.getNumColumns(), 0);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private void compareFrames(FrameBlock frame1, FrameBlock frame2) {
+		assertEquals(frame1.getNumRows(), (long)frame2.getNumRows());
+		for( int i=0; i<frame1.getNumRows(); i++ )
+			for( int j=0; j<schema.length; j++ )
+				assertEquals(frame1.get(i, j), frame2.get(i, j));
+	}
+	
+	private static FrameBlock createFrame(int rows, long seed) {
+		FrameBlock ret = new FrameBlock(schema);
+		Random rand = new Random(seed);
+		Object[] row = new Object[schema.length];
+		for( int i=0; i<rows; i++ ) {
+			row[0] = (rand.nextDouble() < 0.05) ? null : "a" + rand.nextInt(50);
+			row[1] = "b" + rand.nextInt(7);
+			row[2] = rand.nextBoolean();
+			row[3] = (long) rand.nextInt(100);
+			row[4] = rand.nextDouble();
+			ret.appendRow(row);
+		}
+		return ret;
+	}
+}
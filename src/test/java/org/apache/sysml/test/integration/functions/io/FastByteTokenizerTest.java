@@ -0,0 +1,225 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.io;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Random;
+
+import org.apache.hadoop.io.Text;
+import org.junit.Test;
+import org.apache.sysml.runtime.io.IOUtilFunctions;
+import org.apache.sysml.runtime.util.FastByteTokenizer;
+import org.apache.sysml.runtime.util.FastNumberParser;
+import org.apache.sysml.runtime.util.FastStringTokenizer;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * Tests the byte-level number parser against Double.parseDouble and
+ * Long.parseLong, as well as the byte-level tokenizer against the
+ * existing string-based tokenizers and split functions.
+ */
+public class FastByteTokenizerTest extends AutomatedTestBase
+{
+	private static final int iterations = 100000;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testParseDoubleSpecial() {
+		String[] tokens = new String[] {"0", "-0", "1", "+1", "-1.5", "3.14159", ".5", "5.",
+			"1e10", "1E-10", "-2.5e+3", "  7.25 ", "123456789012345678", "1234567890123456789012",
+			"0.1", "0.30000000000000004", "4.9e-324", "2.2250738585072014E-308", "1.7976931348623157E308",
+			"1.7976931348623159E308", "1e400", "1e-400", "9007199254740993", "7.3177701707893310e+15",
+			"7.2057594037927933e+16", "2.4703282292062327e-324", "NaN", "Infinity", "-Infinity",
+			"1.0d", "0x1p3", "000123.4500", "1e", "-"};
+		for( String token : tokens )
+			checkParseDouble(token);
+	}
+
+	@Test
+	public void testParseDoubleRandom() {
+		Random rand = new Random(7);
+		for( int i=0; i<iterations; i++ ) {
+			checkParseDouble(String.valueOf(rand.nextDouble() * Math.pow(10, rand.nextInt(40)-20)));
+			checkParseDouble(String.valueOf(rand.nextGaussian()));
+			checkParseDouble(String.valueOf(rand.nextLong()));
+			double val = Double.longBitsToDouble(rand.nextLong());
+			if( !Double.isNaN(val) )
+				checkParseDouble(String.valueOf(val));
+		}
+	}
+
+	@Test
+	public void testParseDoubleManyDigits() {
+		//exact decimal expansions and random digit strings w/ truncated mantissas
+		Random rand = new Random(7);
+		for( int i=0; i<iterations/10; i++ ) {
+			double val = rand.nextDouble() * Math.pow(10, rand.nextInt(600)-300);
+			checkParseDouble(new BigDecimal(val).toString());
+			StringBuilder sb = new StringBuilder();
+			int ndigits = 1 + rand.nextInt(30);
+			for( int j=0; j<ndigits; j++ )
+				sb.append((char)('0' + rand.nextInt(10)));
+			checkParseDouble(sb.append('e').append(rand.nextInt(700)-350).toString());
+		}
+	}
+
+	@Test
+	public void testParseLong() {
+		String[] tokens = new String[] {"0", "-0", "+5", " 12 ", "123456789012345678",
+			"9223372036854775807", "-9223372036854775808", "2147483648", "-2147483649"};
+		for( String token : tokens )
+			checkParseLong(token);
+		Random rand = new Random(7);
+		for( int i=0; i<iterations; i++ ) {
+			checkParseLong(String.valueOf(rand.nextLong()));
+			checkParseLong(String.valueOf(rand.nextInt()));
+		}
+		for( String token : new String[] {"1.0", "", "-", "9223372036854775808", "1e3"} ) {
+			try {
+				byte[] buf = token.getBytes(StandardCharsets.UTF_8);
+				FastNumberParser.parseLong(buf, 0, buf.length);
+				fail("Expected number format exception for "+token);
+			}
+			catch(NumberFormatException ex) {
+				//expected
+			}
+		}
+	}
+
+	@Test
+	public void testTokenizerCSV() {
+		runTokenizerCSVTest(",", false);
+	}
+
+	@Test
+	public void testTokenizerCSVMultiCharDelim() {
+		runTokenizerCSVTest("::", false);
+	}
+
+	@Test
+	public void testTokenizerCSVQuoted() {
+		runTokenizerCSVTest(",", true);
+	}
+
+	@Test
+	public void testTokenizerStartsWith() {
+		FastByteTokenizer st = new FastByteTokenizer(",", true, true);
+		String prefix = "#Meta·MV";
+		assertTrue(st.reset(new Text("  "+prefix+",1,2")).startsWith(prefix));
+		assertTrue(st.reset(new Text(prefix)).startsWith(prefix));
+		assertFalse(st.reset(new Text("#Meta·M")).startsWith(prefix));
+		assertFalse(st.reset(new Text("#Meta.MV,1,2")).startsWith(prefix));
+		assertTrue(st.reset(new Text("%%comment")).startsWith("%"));
+		assertFalse(st.reset(new Text("1 2 3")).startsWith("%"));
+	}
+
+	@Test
+	public void testTokenizerTextCell() {
+		Random rand = new Random(7);
+		FastByteTokenizer st1 = new FastByteTokenizer(' ');
+		FastStringTokenizer st2 = new FastStringTokenizer(' ');
+		for( int i=0; i<iterations; i++ ) {
+			String line = (rand.nextInt(100000)+1) + (i%7==0 ? "  " : " ")
+				+ (rand.nextInt(100000)+1) + " " + rand.nextGaussian();
+			st1.reset(new Text(line));
+			st2.reset(line);
+			assertEquals(st2.nextLong(), st1.nextLong());
+			assertEquals(st2.nextInt(), st1.nextInt());
+			assertEquals(st2.nextDouble(), st1.nextDouble(), 0);
+			assertFalse(st1.hasMoreTokens());
+		}
+	}
+
+	private void runTokenizerCSVTest(String delim, boolean quotes) {
+		Random rand = new Random(7);
+		FastByteTokenizer st = new FastByteTokenizer(delim, true, quotes);
+		for( int i=0; i<iterations/10; i++ ) {
+			//create line w/ empty, blank, numeric, non-ascii, and quoted tokens
+			StringBuilder sb = new StringBuilder();
+			int ntokens = 1 + rand.nextInt(10);
+			for( int j=0; j<ntokens; j++ ) {
+				if( j > 0 )
+					sb.append(delim);
+				switch( rand.nextInt(6) ) {
+					case 0: break;
+					case 1: sb.append("  "); break;
+					case 2: sb.append(rand.nextGaussian()); break;
+					case 3: sb.append(" ä漢").append(rand.nextInt(10)).append(' '); break;
+					case 4: sb.append(quotes ? "\"a" + delim + "b\"\"c\"" : "x"); break;
+					default: sb.append(rand.nextInt(1000));
+				}
+			}
+			String line = sb.toString();
+
+			//compare w/ (trimmed) tokens of the string-based split functions
+			String[] parts = quotes ?
+				IOUtilFunctions.splitCSV(line.trim(), delim) :
+				IOUtilFunctions.split(line.trim(), delim);
+			if( parts.length == 0 ) //empty line as single empty token
+				parts = new String[]{""};
+			ArrayList<String> tokens = new ArrayList<>();
+			st.reset(new Text(line));
+			assertEquals(parts.length, st.countTokens());
+			while( st.hasMoreTokens() )
+				tokens.add(st.nextToken());
+			assertEquals("Wrong tokens of: "+line, parts.length, tokens.size());
+			for( int j=0; j<parts.length; j++ ) {
+				assertEquals(parts[j].trim(), tokens.get(j));
+				assertEquals(parts[j].trim().isEmpty(), tokens.get(j).isEmpty());
+			}
+		}
+	}
+
+	private void checkParseDouble(String token) {
+		byte[] buf = ("x" + token + "y").getBytes(StandardCharsets.UTF_8);
+		Double expected = null;
+		try {
+			expected = Double.parseDouble(token);
+		}
+		catch(NumberFormatException ex) {
+			//expected below as well
+		}
+		try {
+			double val = FastNumberParser.parseDouble(buf, 1, buf.length-2);
+			assertTrue("Expected number format exception for "+token, expected != null);
+			assertEquals("Wrong parsed value of "+token,
+				Double.doubleToLongBits(expected), Double.doubleToLongBits(val));
+		}
+		catch(NumberFormatException ex) {
+			assertTrue("Unexpected number format exception for "+token, expected == null);
+		}
+	}
+
+	private void checkParseLong(String token) {
+		byte[] buf = ("x" + token + "y").getBytes(StandardCharsets.UTF_8);
+		assertEquals("Wrong parsed value of "+token, Long.parseLong(token.trim()),
+			FastNumberParser.parseLong(buf, 1, buf.length-2));
+		if( Long.parseLong(token.trim()) == (int)Long.parseLong(token.trim()) )
+			assertEquals((long)Integer.parseInt(token.trim()),
+				(long)FastNumberParser.parseInt(buf, 1, buf.length-2));
+	}
+}
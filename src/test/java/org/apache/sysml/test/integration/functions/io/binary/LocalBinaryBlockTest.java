@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.io.binary;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.junit.Test;
+
+import org.apache.sysml.runtime.io.IOUtilFunctions;
+import org.apache.sysml.runtime.io.ReaderBinaryBlockLocal;
+import org.apache.sysml.runtime.io.ReaderBinaryBlockLocal.LocalBlockReader;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
+import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * Round-trip tests for the memory-mapped local binary block format, both
+ * through the matrix reader factory (format auto-detection) and the
+ * block-wise reader used by parfor data partitioning and result merge.
+ */
+public class LocalBinaryBlockTest extends AutomatedTestBase
+{
+	private final static String TEST_NAME = "LocalBinaryBlockTest";
+	private final static String TEST_DIR = "functions/io/binary/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + LocalBinaryBlockTest.class.getSimpleName() + "/";
+
+	private final static int rows = 2345;
+	private final static int cols = 1789;
+	private final static int blen = 1000;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "X" }) );
+	}
+
+	@Test
+	public void testDenseMatrix() {
+		runLocalBinaryBlockTest(0.9, false);
+	}
+
+	@Test
+	public void testSparseMatrix() {
+		runLocalBinaryBlockTest(0.05, false);
+	}
+
+	@Test
+	public void testUltraSparseMatrix() {
+		runLocalBinaryBlockTest(0.00001, false);
+	}
+
+	@Test
+	public void testEmptyMatrix() {
+		runLocalBinaryBlockTest(0.0, false);
+	}
+
+	@Test
+	public void testDenseMatrixBlockReader() {
+		runLocalBinaryBlockTest(0.9, true);
+	}
+
+	@Test
+	public void testSparseMatrixBlockReader() {
+		runLocalBinaryBlockTest(0.05, true);
+	}
+
+	private void runLocalBinaryBlockTest(double sparsity, boolean blockwise) {
+		try {
+			loadTestConfiguration(getTestConfiguration(TEST_NAME));
+			String fname = output("X");
+
+			//write matrix in local binary block format
+			MatrixBlock mb = (sparsity == 0) ? new MatrixBlock(rows, cols, true) :
+				MatrixBlock.randOperations(rows, cols, sparsity, -1, 1, "uniform", 7);
+			MatrixCharacteristics mc = new MatrixCharacteristics(rows, cols, blen, blen, mb.getNonZeros());
+			DataConverter.writeMatrixToHDFS(mb, fname, OutputInfo.BinaryBlockOutputInfo, mc, -1, null, false, true);
+			assertTrue(ReaderBinaryBlockLocal.isLocalBinaryBlock(fname, false));
+
+			//read matrix as a whole or block-wise
+			MatrixBlock mb2 = null;
+			if( !blockwise ) {
+				mb2 = DataConverter.readMatrixFromHDFS(fname,
+					InputInfo.BinaryBlockInputInfo, rows, cols, blen, blen, mb.getNonZeros());
+			}
+			else {
+				mb2 = new MatrixBlock(rows, cols, false);
+				mb2.allocateDenseBlock();
+				Path path = new Path(fname);
+				FileSystem fs = IOUtilFunctions.getFileSystem(path);
+				MatrixIndexes key = new MatrixIndexes();
+				MatrixBlock value = new MatrixBlock();
+				try( LocalBlockReader reader = new LocalBlockReader(fs, path) ) {
+					while( reader.next(key, value) ) {
+						value.checkNonZeros();
+						int rl = (int)(key.getRowIndex()-1)*blen;
+						int cl = (int)(key.getColumnIndex()-1)*blen;
+						mb2.copy(rl, rl+value.getNumRows()-1, cl, cl+value.getNumColumns()-1, value, false);
+					}
+				}
+				mb2.recomputeNonZeros();
+			}
+
+			//compare matrices, incl meta data
+			assertEquals(mb.getNonZeros(), mb2.getNonZeros());
+			mb2.checkNonZeros();
+			TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(mb),
+				DataConverter.convertToDoubleMatrix(mb2), rows, cols, 0);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+}
@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.io.csv;
+
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import org.junit.Test;
+import org.apache.sysml.runtime.io.FileFormatPropertiesCSV;
+import org.apache.sysml.runtime.io.ReaderTextCSVParallel;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.runtime.util.MapReduceTool;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * Tests the single-pass parallel csv reader against the two-pass reader
+ * and the written input.
+ */
+public class ReadCSVParallelTest extends AutomatedTestBase 
+{
+	private final static String TEST_DIR = "functions/io/csv/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + ReadCSVParallelTest.class.getSimpleName() + "/";
+	
+	private final static int rows = 3456;
+	private final static int cols1 = 7;
+	private final static int cols2 = 1234;
+	private final static double sparsity1 = 0.9;
+	private final static double sparsity2 = 0.01;
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+	
+	@Test
+	public void testReadCSVDenseNarrow() {
+		runReadCSVParallelTest(cols1, sparsity1, false);
+	}
+	
+	@Test
+	public void testReadCSVSparseNarrow() {
+		runReadCSVParallelTest(cols1, sparsity2, false);
+	}
+	
+	@Test
+	public void testReadCSVDenseWide() {
+		runReadCSVParallelTest(cols2, sparsity1, false);
+	}
+	
+	@Test
+	public void testReadCSVSparseWide() {
+		runReadCSVParallelTest(cols2, sparsity2, false);
+	}
+	
+	@Test
+	public void testReadCSVSparseWideHeader() {
+		runReadCSVParallelTest(cols2, sparsity2, true);
+	}
+	
+	private void runReadCSVParallelTest(int cols, double sparsity, boolean header) {
+		if(shouldSkipTest())
+			return;
+		
+		boolean oldSinglePass = ReaderTextCSVParallel.SINGLE_PASS_READ;
+		try
+		{
+			//write input data as csv (w/ values of different magnitude)
+			double[][] A = getRandomMatrix(rows, cols, -1e3, 1e3, sparsity, 7);
+			A = TestUtils.round(A);
+			for( int i=0; i<rows; i+=3 )
+				A[i][0] /= 1e5;
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(A);
+			String fname = "target/testTemp/" + TEST_CLASS_DIR + "X";
+			MapReduceTool.deleteFileIfExistOnHDFS(fname);
+			DataConverter.writeMatrixToHDFS(mb, fname, OutputInfo.CSVOutputInfo,
+				new MatrixCharacteristics(rows, cols, 1000, 1000));
+			if( header ) { //prepend header line
+				byte[] data = Files.readAllBytes(Paths.get(fname));
+				StringBuilder sb = new StringBuilder();
+				for( int j=0; j<cols; j++ )
+					sb.append((j>0) ? ",C" : "C").append(j+1);
+				byte[] head = sb.append('\n').toString().getBytes(StandardCharsets.UTF_8);
+				try( OutputStream os = new FileOutputStream(fname) ) {
+					os.write(head);
+					os.write(data);
+				}
+			}
+			FileFormatPropertiesCSV props = new FileFormatPropertiesCSV(header, ",", false, 0, null);
+			
+			//single-pass and two-pass parallel read
+			ReaderTextCSVParallel.SINGLE_PASS_READ = true;
+			MatrixBlock ret1 = new ReaderTextCSVParallel(props).readMatrixFromHDFS(fname, -1, -1, 1000, 1000, -1);
+			ReaderTextCSVParallel.SINGLE_PASS_READ = false;
+			MatrixBlock ret2 = new ReaderTextCSVParallel(props).readMatrixFromHDFS(fname, -1, -1, 1000, 1000, -1);
+			
+			//compare read results w/ input
+			assertEquals(mb.getNonZeros(), ret1.getNonZeros());
+			assertEquals(ret2.isInSparseFormat(), ret1.isInSparseFormat());
+			TestUtils.compareMatrices(A, DataConverter.convertToDoubleMatrix(ret1), rows, cols, 0);
+			TestUtils.compareMatrices(A, DataConverter.convertToDoubleMatrix(ret2), rows, cols, 0);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			ReaderTextCSVParallel.SINGLE_PASS_READ = oldSinglePass;
+		}
+	}
+}
@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.lineage;
+
+import java.io.File;
+import java.util.HashMap;
+
+import org.junit.Test;
+import org.apache.sysml.api.DMLScript.RUNTIME_PLATFORM;
+import org.apache.sysml.runtime.lineage.LineageCache;
+import org.apache.sysml.runtime.lineage.LineageCacheConfig;
+import org.apache.sysml.runtime.lineage.LineageCacheConfig.ReuseCacheType;
+import org.apache.sysml.runtime.lineage.LineageCacheStatistics;
+import org.apache.sysml.runtime.lineage.LineageItem;
+import org.apache.sysml.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * Tests the lineage-based reuse of intermediates across loop iterations,
+ * parfor workers, and function calls (full reuse), as well as tsmm over
+ * appended inputs (partial reuse), compared to a run without lineage.
+ */
+public class LineageReuseTest extends AutomatedTestBase
+{
+	private static final String TEST_NAME = "LineageReuse";
+	private static final String TEST_DIR = "functions/lineage/";
+	private static final String TEST_CLASS_DIR = TEST_DIR + LineageReuseTest.class.getSimpleName() + "/";
+	private static final String TEST_CONF_FULL = "SystemML-config-lineage-full.xml";
+	private static final String TEST_CONF_HYBRID = "SystemML-config-lineage-hybrid.xml";
+	private static String TEST_CONF = null;
+
+	private static final int rows = 1000;
+	private static final int cols = 50;
+	private static final double eps = Math.pow(10, -8);
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "R" }));
+	}
+
+	@Test
+	public void testFullReuse() {
+		runLineageReuseTest(TEST_CONF_FULL, false);
+	}
+
+	@Test
+	public void testHybridReuse() {
+		runLineageReuseTest(TEST_CONF_HYBRID, true);
+	}
+
+	@Test
+	public void testLineageItemEquals() {
+		LineageItem a = LineageItem.createUniqueLeaf("X");
+		LineageItem b = LineageItem.createUniqueLeaf("X");
+		LineageItem lit = new LineageItem(LineageItem.LITERAL_OPCODE, "7");
+		LineageItem t1 = new LineageItem("tsmm", "LEFT", new LineageItem[]{a});
+		LineageItem t2 = new LineageItem("tsmm", "LEFT", new LineageItem[]{a});
+		LineageItem t3 = new LineageItem("tsmm", "LEFT", new LineageItem[]{b});
+		assertTrue(t1.equals(t2) && t1.hashCode() == t2.hashCode());
+		assertTrue(!t1.equals(t3));
+		assertTrue(new LineageItem("+", "", new LineageItem[]{t1, lit})
+			.equals(new LineageItem("+", "", new LineageItem[]{t2, lit})));
+	}
+
+	private void runLineageReuseTest(String conf, boolean partial) {
+		RUNTIME_PLATFORM platformOld = rtplatform;
+		rtplatform = RUNTIME_PLATFORM.SINGLE_NODE;
+		try {
+			//run without lineage tracing
+			TEST_CONF = null;
+			HashMap<CellIndex, Double> R1 = runLineageReuseScript();
+			assertEquals(ReuseCacheType.NONE, LineageCacheConfig.getCacheType());
+
+			//run with lineage-based reuse
+			TEST_CONF = conf;
+			HashMap<CellIndex, Double> R2 = runLineageReuseScript();
+			TestUtils.compareMatrices(R1, R2, eps, "Stat-DML1", "Stat-DML2");
+			assertTrue(LineageCacheStatistics.getMemHits() >= 10);
+			assertTrue(LineageCache.getNumEntries() > 0);
+			assertTrue(LineageCacheStatistics.getPartialHits() == (partial ? 2 : 0));
+		}
+		finally {
+			rtplatform = platformOld;
+			TEST_CONF = null;
+			LineageCacheConfig.setCacheType(ReuseCacheType.NONE);
+			LineageCache.resetCache();
+		}
+	}
+
+	private HashMap<CellIndex, Double> runLineageReuseScript() {
+		TestConfiguration config = getTestConfiguration(TEST_NAME);
+		loadTestConfiguration(config);
+
+		String HOME = SCRIPT_DIR + TEST_DIR;
+		fullDMLScriptName = HOME + TEST_NAME + ".dml";
+		double[][] X = getRandomMatrix(rows, cols, 0, 1, 1.0, 7);
+		double[][] y = getRandomMatrix(rows, 1, 0, 1, 1.0, 3);
+		writeInputMatrixWithMTD("X", X, true);
+		writeInputMatrixWithMTD("y", y, true);
+		programArgs = new String[]{"-stats", "-args", input("X"), input("y"), output("R") };
+		runTest(true, false, null, -1);
+		return readDMLMatrixFromHDFS("R");
+	}
+
+	@Override
+	protected File getConfigTemplateFile() {
+		if( TEST_CONF == null )
+			return super.getConfigTemplateFile();
+		// Instrumentation in this test's output log to show custom configuration file used for template.
+		File f = new File(SCRIPT_DIR + TEST_DIR, TEST_CONF);
+		System.out.println("This test case overrides default configuration with " + f.getPath());
+		return f;
+	}
+}
@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.paramserv;
+
+import org.apache.sysml.api.DMLScript.RUNTIME_PLATFORM;
+import org.apache.sysml.parser.Statement;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.junit.Test;
+
+public class ParamservLocalShardedTest extends AutomatedTestBase {
+
+	private static final String TEST_NAME = "paramserv-sharded";
+
+	private static final String TEST_DIR = "functions/paramserv/";
+	private static final String TEST_CLASS_DIR = TEST_DIR + ParamservLocalShardedTest.class.getSimpleName() + "/";
+
+	@Override
+	public void setUp() {
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] {}));
+	}
+
+	@Test
+	public void testParamservShardedBSPBatch() {
+		runDMLTest(5, 4, 2, Statement.PSUpdateType.BSP, Statement.PSFrequency.BATCH, 32);
+	}
+
+	@Test
+	public void testParamservShardedBSPEpoch() {
+		runDMLTest(30, 4, 2, Statement.PSUpdateType.BSP, Statement.PSFrequency.EPOCH, 500);
+	}
+
+	@Test
+	public void testParamservShardedASPBatch() {
+		runDMLTest(5, 4, 2, Statement.PSUpdateType.ASP, Statement.PSFrequency.BATCH, 32);
+	}
+
+	@Test
+	public void testParamservShardedASPBatchManyWorkers() {
+		runDMLTest(5, 8, 3, Statement.PSUpdateType.ASP, Statement.PSFrequency.BATCH, 16);
+	}
+
+	@Test
+	public void testParamservShardedASPEpoch() {
+		runDMLTest(30, 4, 2, Statement.PSUpdateType.ASP, Statement.PSFrequency.EPOCH, 500);
+	}
+
+	private void runDMLTest(int epochs, int workers, int shards, Statement.PSUpdateType utype, Statement.PSFrequency freq, int batchsize) {
+		RUNTIME_PLATFORM platformOld = rtplatform;
+		rtplatform = RUNTIME_PLATFORM.SINGLE_NODE;
+		try {
+			TestConfiguration config = getTestConfiguration(ParamservLocalShardedTest.TEST_NAME);
+			loadTestConfiguration(config);
+			programArgs = new String[] { "-stats", "-nvargs", "epochs=" + epochs, "workers=" + workers,
+				"shards=" + shards, "utype=" + utype, "freq=" + freq, "batchsize=" + batchsize };
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + ParamservLocalShardedTest.TEST_NAME + ".dml";
+			runTest(true, false, null, null, -1);
+		}
+		finally {
+			rtplatform = platformOld;
+		}
+	}
+}
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.parfor;
+
+import java.util.HashMap;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.api.DMLScript.RUNTIME_PLATFORM;
+import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
+import org.apache.sysml.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+import org.apache.sysml.utils.Statistics;
+
+public class ParForInMemoryDataPartitioningTest extends AutomatedTestBase
+{
+	private final static String TEST_DIR = "functions/parfor/";
+	private final static String TEST_NAME1 = "parfor_mdatapartitioning_mem";
+	private final static String TEST_NAME2 = "parfor_mdatapartitioning_mem2"; //rule-based
+	private final static String TEST_NAME3 = "parfor_mdatapartitioning_mem3"; //remote mode
+	private final static String TEST_CLASS_DIR = TEST_DIR + ParForInMemoryDataPartitioningTest.class.getSimpleName() + "/";
+
+	private final static double eps = 1e-10;
+	private final static int rows = 1200;
+	private final static int cols = 110;
+	private final static double sparsity1 = 0.7;
+	private final static double sparsity2 = 0.07;
+
+	@Override
+	public void setUp() {
+		addTestConfiguration(TEST_NAME1, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME1, new String[] { "R1", "R2" }) );
+		addTestConfiguration(TEST_NAME2, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME2, new String[] { "R1", "R2" }) );
+		addTestConfiguration(TEST_NAME3, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME3, new String[] { "R1" }) );
+	}
+
+	@Test
+	public void testParForInMemoryDataPartitioningDense() {
+		runParForInMemoryDataPartitioningTest(TEST_NAME1, false);
+	}
+
+	@Test
+	public void testParForInMemoryDataPartitioningSparse() {
+		runParForInMemoryDataPartitioningTest(TEST_NAME1, true);
+	}
+
+	@Test
+	public void testParForInMemoryDataPartitioningRuleBased() {
+		//input exceeds half the local memory budget (partitioning candidate) but fits
+		runParForInMemoryDataPartitioningTest(TEST_NAME2, false);
+	}
+
+	@Test
+	public void testParForInMemoryDataPartitioningRemoteMode() {
+		//in-memory partitions are rejected for remote parfor
+		RUNTIME_PLATFORM platformOld = rtplatform;
+		rtplatform = RUNTIME_PLATFORM.HYBRID;
+		try {
+			TestConfiguration config = getTestConfiguration(TEST_NAME3);
+			loadTestConfiguration(config);
+
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + TEST_NAME3 + ".dml";
+			programArgs = new String[]{"-args", input("V"), output("R1") };
+
+			double[][] V = getRandomMatrix(rows, cols, 0, 1, sparsity1, 7);
+			writeInputMatrixWithMTD("V", V, true);
+			runTest(true, true, null, -1);
+		}
+		finally {
+			rtplatform = platformOld;
+		}
+	}
+
+	private void runParForInMemoryDataPartitioningTest( String TEST_NAME, boolean sparse ) {
+		RUNTIME_PLATFORM platformOld = rtplatform;
+		rtplatform = RUNTIME_PLATFORM.HYBRID;
+		
+		//modify memory budget for rule-based in-memory partitioning
+		//(dense input of ~1MB, local memory budget of ~1.4MB)
+		long oldmem = InfrastructureAnalyzer.getLocalMaxMemory();
+		if( TEST_NAME.equals(TEST_NAME2) )
+			InfrastructureAnalyzer.setLocalMaxMemory(2*1024*1024); //2MB
+		
+		try {
+			TestConfiguration config = getTestConfiguration(TEST_NAME);
+			loadTestConfiguration(config);
+
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + TEST_NAME + ".dml";
+			programArgs = new String[]{"-stats", "-args", input("V"), output("R1"), output("R2") };
+
+			double[][] V = getRandomMatrix(rows, cols, 0, 1, sparse ? sparsity2 : sparsity1, 7);
+			writeInputMatrixWithMTD("V", V, true);
+			runTest(true, false, null, -1);
+			
+			//check for in-memory partitioning of both parfor inputs
+			Assert.assertEquals(2, Statistics.getParforMemDPCount());
+
+			//compare with row and column sums of squares
+			HashMap<CellIndex, Double> R1 = new HashMap<>();
+			HashMap<CellIndex, Double> R2 = new HashMap<>();
+			for( int i=0; i<rows; i++ )
+				for( int j=0; j<cols; j++ ) {
+					double v2 = V[i][j] * V[i][j];
+					R1.merge(new CellIndex(1, i+1), v2, Double::sum);
+					R2.merge(new CellIndex(1, j+1), v2, Double::sum);
+				}
+			R1.values().removeIf(v -> v == 0);
+			R2.values().removeIf(v -> v == 0);
+			TestUtils.compareMatrices(readDMLMatrixFromHDFS("R1"), R1, eps, "DML", "Expected");
+			TestUtils.compareMatrices(readDMLMatrixFromHDFS("R2"), R2, eps, "DML", "Expected");
+		}
+		finally {
+			rtplatform = platformOld;
+			InfrastructureAnalyzer.setLocalMaxMemory(oldmem);
+		}
+	}
+}
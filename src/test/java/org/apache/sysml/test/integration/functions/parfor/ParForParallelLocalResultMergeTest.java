@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.parfor;
+
+import java.util.HashMap;
+
+import org.junit.Test;
+import org.apache.sysml.api.DMLScript.RUNTIME_PLATFORM;
+import org.apache.sysml.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+
+public class ParForParallelLocalResultMergeTest extends AutomatedTestBase
+{
+	private final static String TEST_DIR = "functions/parfor/";
+	private final static String TEST_NAME1 = "parfor_resultmerge_local";
+	private final static String TEST_CLASS_DIR = TEST_DIR + ParForParallelLocalResultMergeTest.class.getSimpleName() + "/";
+
+	private final static int rows = 3500; //4 row blocks
+	private final static int cols = 40;
+
+	@Override
+	public void setUp() {
+		addTestConfiguration(TEST_NAME1, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME1, new String[] { "R" }) );
+	}
+
+	@Test
+	public void testParForLocalResultMergeEmptyDense() {
+		runParForLocalResultMergeTest(TEST_NAME1, false, false);
+	}
+
+	@Test
+	public void testParForLocalResultMergeEmptySparse() {
+		runParForLocalResultMergeTest(TEST_NAME1, false, true);
+	}
+
+	@Test
+	public void testParForLocalResultMergeInitDense() {
+		runParForLocalResultMergeTest(TEST_NAME1, true, false);
+	}
+
+	@Test
+	public void testParForLocalResultMergeInitSparse() {
+		runParForLocalResultMergeTest(TEST_NAME1, true, true);
+	}
+
+	private void runParForLocalResultMergeTest( String TEST_NAME, boolean init, boolean sparse ) {
+		RUNTIME_PLATFORM platformOld = rtplatform;
+		rtplatform = RUNTIME_PLATFORM.SINGLE_NODE;
+		try {
+			TestConfiguration config = getTestConfiguration(TEST_NAME);
+			loadTestConfiguration(config);
+
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + TEST_NAME + ".dml";
+			programArgs = new String[]{"-args", String.valueOf(rows), String.valueOf(cols),
+				String.valueOf(init).toUpperCase(), String.valueOf(sparse).toUpperCase(), output("R") };
+			runTest(true, false, null, -1);
+
+			//compare with closed-form results
+			HashMap<CellIndex, Double> dmlfile = readDMLMatrixFromHDFS("R");
+			HashMap<CellIndex, Double> expected = new HashMap<>();
+			for( int i=1; i<=rows; i++ )
+				for( int j=1; j<=2*cols; j++ ) {
+					double val = (j > cols) ? (init ? 7 : 0) + 36 :
+						(!sparse || i % 10 == 0) ? i : 0;
+					if( val != 0 )
+						expected.put(new CellIndex(i, j), val);
+				}
+			TestUtils.compareMatrices(dmlfile, expected, 0, "DML", "Expected");
+		}
+		finally {
+			rtplatform = platformOld;
+		}
+	}
+}
@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.parfor;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+import org.apache.sysml.api.DMLScript.RUNTIME_PLATFORM;
+import org.apache.sysml.runtime.controlprogram.parfor.LocalTaskQueue;
+import org.apache.sysml.runtime.controlprogram.parfor.LocalTaskQueueWorkStealing;
+import org.apache.sysml.runtime.controlprogram.parfor.Task;
+import org.apache.sysml.runtime.controlprogram.parfor.TaskPartitionerStatic;
+import org.apache.sysml.runtime.instructions.cp.IntObject;
+import org.apache.sysml.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+
+public class ParForWorkStealingTest extends AutomatedTestBase
+{
+	private final static String TEST_DIR = "functions/parfor/";
+	private final static String TEST_NAME1 = "parfor_workstealing";
+	private final static String TEST_CLASS_DIR = TEST_DIR + ParForWorkStealingTest.class.getSimpleName() + "/";
+
+	private final static int rows = 40;
+	private final static int numThreads = 4;
+
+	@Override
+	public void setUp() {
+		addTestConfiguration(TEST_NAME1, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME1, new String[] { "R" }) );
+	}
+
+	@Test
+	public void testParForWorkStealingSkewed() {
+		runParForWorkStealingTest(TEST_NAME1);
+	}
+
+	@Test
+	public void testWorkStealingQueueSkewed() throws Exception {
+		runWorkStealingQueueTest(1000, 1);
+	}
+
+	@Test
+	public void testWorkStealingQueueMinTaskSize() throws Exception {
+		runWorkStealingQueueTest(1000, 16);
+	}
+
+	private void runParForWorkStealingTest( String TEST_NAME ) {
+		RUNTIME_PLATFORM platformOld = rtplatform;
+		rtplatform = RUNTIME_PLATFORM.SINGLE_NODE;
+		try {
+			TestConfiguration config = getTestConfiguration(TEST_NAME);
+			loadTestConfiguration(config);
+
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + TEST_NAME + ".dml";
+			programArgs = new String[]{"-stats", "-args", String.valueOf(rows), output("R") };
+			runTest(true, false, null, -1);
+
+			//compare with closed-form results
+			HashMap<CellIndex, Double> dmlfile = readDMLMatrixFromHDFS("R");
+			HashMap<CellIndex, Double> expected = new HashMap<>();
+			for( int i=1; i<=rows; i++ )
+				expected.put(new CellIndex(i, 1), (double)i*i*(i*i+1)/2);
+			TestUtils.compareMatrices(dmlfile, expected, 0, "DML", "Expected");
+		}
+		finally {
+			rtplatform = platformOld;
+		}
+	}
+
+	private void runWorkStealingQueueTest( int N, int minTaskSize ) throws Exception {
+		LocalTaskQueueWorkStealing queue = new LocalTaskQueueWorkStealing(numThreads, minTaskSize);
+		long numTasks = new TaskPartitionerStatic(1, numThreads, "i", new IntObject(1),
+			new IntObject(N), new IntObject(1)).createTasks(queue);
+		assertEquals(numThreads, numTasks);
+
+		//consume tasks with skewed costs (expensive first range)
+		AtomicIntegerArray counts = new AtomicIntegerArray(N+1);
+		AtomicLong numDequeued = new AtomicLong(0);
+		Thread[] threads = new Thread[numThreads];
+		for( int k=0; k<numThreads; k++ ) {
+			final int pos = k;
+			threads[k] = new Thread(() -> {
+				try {
+					Task t = null;
+					while( (t = queue.dequeueTask(pos)) != LocalTaskQueue.NO_MORE_TASKS ) {
+						List<IntObject> iters = t.getIterations();
+						for( long i=iters.get(0).getLongValue(); i<=iters.get(1).getLongValue(); i++ ) {
+							counts.incrementAndGet((int)i);
+							if( i <= N/numThreads )
+								Thread.sleep(1);
+						}
+						numDequeued.incrementAndGet();
+					}
+				}
+				catch(InterruptedException ex) {
+					throw new RuntimeException(ex);
+				}
+			});
+			threads[k].start();
+		}
+		for( Thread t : threads )
+			t.join();
+
+		//check that all iterations were executed exactly once
+		for( int i=1; i<=N; i++ )
+			assertEquals(1, counts.get(i));
+		assertEquals(numTasks + queue.getNumSplits(), numDequeued.get());
+		assertTrue(queue.getNumSteals() > 0);
+		assertTrue(numDequeued.get() <= N / minTaskSize);
+	}
+}
@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.reorg;
+
+import org.junit.Test;
+
+import org.apache.sysml.runtime.functionobjects.SortIndex;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.ReorgOperator;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * Compares the multi-threaded against the single-threaded multi-column sort
+ * (order) on inputs with many duplicates, which requires identical (i.e.,
+ * stable) outputs for both data and index return.
+ */
+public class MultipleOrderByColsMultiThreadedTest extends AutomatedTestBase
+{
+	private final static int rows = 200000;
+	private final static int cols = 3;
+	private final static double sparsity1 = 0.7;
+	private final static double sparsity2 = 0.1;
+	private final static int k = 4;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testOrderDenseAscData() {
+		runOrderMultiThreadedTest(false, false, false);
+	}
+
+	@Test
+	public void testOrderDenseDescData() {
+		runOrderMultiThreadedTest(false, true, false);
+	}
+
+	@Test
+	public void testOrderDenseAscIx() {
+		runOrderMultiThreadedTest(false, false, true);
+	}
+
+	@Test
+	public void testOrderDenseDescIx() {
+		runOrderMultiThreadedTest(false, true, true);
+	}
+
+	@Test
+	public void testOrderSparseAscData() {
+		runOrderMultiThreadedTest(true, false, false);
+	}
+
+	@Test
+	public void testOrderSparseDescData() {
+		runOrderMultiThreadedTest(true, true, false);
+	}
+
+	@Test
+	public void testOrderSparseAscIx() {
+		runOrderMultiThreadedTest(true, false, true);
+	}
+
+	@Test
+	public void testOrderSparseDescIx() {
+		runOrderMultiThreadedTest(true, true, true);
+	}
+
+	private void runOrderMultiThreadedTest(boolean sparse, boolean desc, boolean ixret) {
+		//generate input with few distinct values (many ties)
+		double sparsity = sparse ? sparsity2 : sparsity1;
+		double[][] A = getRandomMatrix(rows, cols, -0.49, 5.49, sparsity, 7);
+		for( int i=0; i<rows; i++ )
+			for( int j=0; j<cols; j++ )
+				A[i][j] = Math.round(A[i][j]);
+		MatrixBlock X = DataConverter.convertToMatrixBlock(A);
+		X.examSparsity();
+
+		//compute single- and multi-threaded results
+		SortIndex fn = new SortIndex(new int[]{1,2}, desc, ixret);
+		MatrixBlock ret1 = (MatrixBlock) X.reorgOperations(
+			new ReorgOperator(fn, 1), new MatrixBlock(), 0, 0, 0);
+		MatrixBlock ret2 = (MatrixBlock) X.reorgOperations(
+			new ReorgOperator(fn, k), new MatrixBlock(), 0, 0, 0);
+
+		//compare results, incl meta data
+		int ncol = ixret ? 1 : cols;
+		assertEquals(ret1.getNonZeros(), ret2.getNonZeros());
+		assertEquals(ret1.isInSparseFormat(), ret2.isInSparseFormat());
+		TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(ret1),
+			DataConverter.convertToDoubleMatrix(ret2), rows, ncol, 0);
+	}
+}
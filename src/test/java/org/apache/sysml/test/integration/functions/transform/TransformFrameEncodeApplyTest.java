@@ -49,6 +49,7 @@ public class TransformFrameEncodeApplyTest extends AutomatedTestBase
 	private final static String SPEC6b   = "homes3/homes.tfspec_recode_dummy2.json";
 	private final static String SPEC7    = "homes3/homes.tfspec_binDummy.json"; //recode+dummy
 	private final static String SPEC7b   = "homes3/homes.tfspec_binDummy2.json"; //recode+dummy
+	private final static String SPEC8    = "homes3/homes.tfspec_binHeight.json"; //recode
 	
 	//dataset and transform tasks with missing values
 	private final static String DATASET2 = "homes/homes.csv";
@@ -66,6 +67,7 @@ public class TransformFrameEncodeApplyTest extends AutomatedTestBase
 		RECODE_DUMMY,
 		BIN,
 		BIN_DUMMY,
+		BIN_HEIGHT,
 		IMPUTE,
 		OMIT,
 	}
@@ -126,10 +128,10 @@ public class TransformFrameEncodeApplyTest extends AutomatedTestBase
 		runTransformTest(RUNTIME_PLATFORM.SINGLE_NODE, "csv", TransformType.BIN, false);
 	}
 	
-//	@Test
-//	public void testHomesBinningIDsSparkCSV() {
-//		runTransformTest(RUNTIME_PLATFORM.SPARK, "csv", TransformType.BIN, false);
-//	}
+	@Test
+	public void testHomesBinningIDsSparkCSV() {
+		runTransformTest(RUNTIME_PLATFORM.SPARK, "csv", TransformType.BIN, false);
+	}
 	
 	@Test
 	public void testHomesBinningIDsHybridCSV() {
@@ -141,16 +143,26 @@ public class TransformFrameEncodeApplyTest extends AutomatedTestBase
 		runTransformTest(RUNTIME_PLATFORM.SINGLE_NODE, "csv", TransformType.BIN_DUMMY, false);
 	}
 
-//	@Test
-//	public void testHomesBinningDummyIDsSparkCSV() {
-//		runTransformTest(RUNTIME_PLATFORM.SPARK, "csv", TransformType.BIN_DUMMY, false);
-//	}
+	@Test
+	public void testHomesBinningDummyIDsSparkCSV() {
+		runTransformTest(RUNTIME_PLATFORM.SPARK, "csv", TransformType.BIN_DUMMY, false);
+	}
 	
 	@Test
 	public void testHomesBinningDummyIDsHybridCSV() {
 		runTransformTest(RUNTIME_PLATFORM.HYBRID_SPARK, "csv", TransformType.BIN_DUMMY, false);
 	}
 	
+	@Test
+	public void testHomesBinningHeightIDsSingleNodeCSV() {
+		runTransformTest(RUNTIME_PLATFORM.SINGLE_NODE, "csv", TransformType.BIN_HEIGHT, false);
+	}
+	
+	@Test
+	public void testHomesBinningHeightIDsSparkCSV() {
+		runTransformTest(RUNTIME_PLATFORM.SPARK, "csv", TransformType.BIN_HEIGHT, false);
+	}
+	
 	@Test
 	public void testHomesOmitIDsSingleNodeCSV() {
 		runTransformTest(RUNTIME_PLATFORM.SINGLE_NODE, "csv", TransformType.OMIT, false);
@@ -231,10 +243,10 @@ public class TransformFrameEncodeApplyTest extends AutomatedTestBase
 		runTransformTest(RUNTIME_PLATFORM.SINGLE_NODE, "csv", TransformType.BIN, true);
 	}
 	
-//	@Test
-//	public void testHomesBinningColnamesSparkCSV() {
-//		runTransformTest(RUNTIME_PLATFORM.SPARK, "csv", TransformType.BIN, true);
-//	}
+	@Test
+	public void testHomesBinningColnamesSparkCSV() {
+		runTransformTest(RUNTIME_PLATFORM.SPARK, "csv", TransformType.BIN, true);
+	}
 	
 	@Test
 	public void testHomesBinningColnamesHybridCSV() {
@@ -246,10 +258,10 @@ public class TransformFrameEncodeApplyTest extends AutomatedTestBase
 		runTransformTest(RUNTIME_PLATFORM.SINGLE_NODE, "csv", TransformType.BIN_DUMMY, true);
 	}
 	
-//	@Test
-//	public void testHomesBinningDummyColnamesSparkCSV() {
-//		runTransformTest(RUNTIME_PLATFORM.SPARK, "csv", TransformType.BIN_DUMMY, true);
-//	}
+	@Test
+	public void testHomesBinningDummyColnamesSparkCSV() {
+		runTransformTest(RUNTIME_PLATFORM.SPARK, "csv", TransformType.BIN_DUMMY, true);
+	}
 	
 	@Test
 	public void testHomesBinningDummyColnamesHybridCSV() {
@@ -303,6 +315,7 @@ public class TransformFrameEncodeApplyTest extends AutomatedTestBase
 			case OMIT:   SPEC = colnames?SPEC5b:SPEC5; DATASET = DATASET2; break;
 			case RECODE_DUMMY: SPEC = colnames?SPEC6b:SPEC6; DATASET = DATASET1; break;
 			case BIN_DUMMY: SPEC = colnames?SPEC7b:SPEC7; DATASET = DATASET1; break;
+			case BIN_HEIGHT: SPEC = SPEC8; DATASET = DATASET1; break;
 		}
 
 		if( !ofmt.equals("csv") )
@@ -338,7 +351,6 @@ public class TransformFrameEncodeApplyTest extends AutomatedTestBase
 			}
 			
 			//additional checks for binning as encode-decode impossible
-			//TODO fix distributed binning as well
 			if( type == TransformType.BIN ) {
 				for(int i=0; i<7; i++) {
 					Assert.assertEquals(BIN_col3[i], R1[i][2], 1e-8);
@@ -358,6 +370,18 @@ public class TransformFrameEncodeApplyTest extends AutomatedTestBase
 					}
 				}
 			}
+			else if( type == TransformType.BIN_HEIGHT ) {
+				//check balanced bins of equal height (up to ties)
+				int[] counts3 = new int[4], counts8 = new int[3];
+				for(int i=0; i<R1.length; i++) {
+					counts3[(int)R1[i][2]-1]++;
+					counts8[(int)R1[i][7]-1]++;
+				}
+				for( int c : counts3 )
+					Assert.assertTrue(c >= R1.length/4/2);
+				for( int c : counts8 )
+					Assert.assertTrue(c >= R1.length/3/2);
+			}
 		}
 		catch(Exception ex) {
 			throw new RuntimeException(ex);
@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.transform;
+
+import java.util.Random;
+
+import org.junit.Test;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.transform.encode.Encoder;
+import org.apache.sysml.runtime.transform.encode.EncoderFactory;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * Tests multi-threaded transformencode and transformapply, where both the
+ * encoded outputs and meta data are expected to match the single-threaded
+ * encode.
+ */
+public class TransformFrameEncodeParallelTest extends AutomatedTestBase
+{
+	private static final int rows = 12345;
+	private static final int threads = 4;
+
+	private static final String SPEC_RECODE = "{ids:true, recode:[1,2], dummycode:[2]}";
+	private static final String SPEC_BIN = "{ids:true, recode:[1,2], bin:[{id:3, method:equi-width, numbins:5}], dummycode:[3]}";
+	private static final String SPEC_IMPUTE = "{ids:true, recode:[1,2], impute:[{id:1, method:global_mode},{id:4, method:global_mean}]}";
+	private static final String SPEC_OMIT = "{ids:true, recode:[1,2], omit:[1,4]}";
+
+	@Override
+	public void setUp()  {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testParallelEncodeRecodeDummycode() {
+		runTransformEncodeParallelTest(SPEC_RECODE);
+	}
+
+	@Test
+	public void testParallelEncodeBin() {
+		runTransformEncodeParallelTest(SPEC_BIN);
+	}
+
+	@Test
+	public void testParallelEncodeImpute() {
+		runTransformEncodeParallelTest(SPEC_IMPUTE);
+	}
+
+	@Test
+	public void testParallelEncodeOmit() {
+		runTransformEncodeParallelTest(SPEC_OMIT);
+	}
+
+	private void runTransformEncodeParallelTest(String spec) {
+		if(shouldSkipTest())
+			return;
+
+		//generate input data w/ missing values
+		FrameBlock data = createInputFrame(rows, 7);
+		String[] colnames = data.getColumnNames();
+
+		//single-threaded and multi-threaded transformencode
+		Encoder encoder1 = EncoderFactory.createEncoder(spec, colnames, data.getNumColumns(), null);
+		MatrixBlock out1 = encoder1.encode(data, new MatrixBlock(rows, data.getNumColumns(), false));
+		FrameBlock meta1 = encoder1.getMetaData(new FrameBlock(data.getNumColumns(), ValueType.STRING));
+		Encoder encoder2 = EncoderFactory.createEncoder(spec, colnames, data.getNumColumns(), null);
+		MatrixBlock out2 = encoder2.encode(data, new MatrixBlock(rows, data.getNumColumns(), false), threads);
+		FrameBlock meta2 = encoder2.getMetaData(new FrameBlock(data.getNumColumns(), ValueType.STRING));
+
+		//check outputs and meta data
+		compareOutputs(out1, out2);
+		assertEquals(meta1.getNumRows(), meta2.getNumRows());
+		for( int j=0; j<meta1.getNumColumns(); j++ ) {
+			for( int i=0; i<meta1.getNumRows(); i++ )
+				assertEquals(meta1.get(i, j), meta2.get(i, j));
+			String mv1 = meta1.getColumnMetadata(j).getMvValue();
+			String mv2 = meta2.getColumnMetadata(j).getMvValue();
+			if( mv1 != null && mv1.matches("-?[0-9.E-]+") && mv1.contains(".") )
+				assertEquals(Double.parseDouble(mv1), Double.parseDouble(mv2), 1e-10);
+			else
+				assertEquals(mv1, mv2);
+		}
+
+		//multi-threaded transformapply w/ the created meta data
+		Encoder encoder3 = EncoderFactory.createEncoder(spec, colnames, data.getNumColumns(), meta1);
+		MatrixBlock out3 = encoder3.apply(data, new MatrixBlock(rows, data.getNumColumns(), false), threads);
+		compareOutputs(out1, out3);
+	}
+
+	private void compareOutputs(MatrixBlock out1, MatrixBlock out2) {
+		assertEquals(out1.getNumRows(), (long)out2.getNumRows());
+		assertEquals(out1.getNumColumns(), (long)out2.getNumColumns());
+		assertEquals(out1.getNonZeros(), out2.getNonZeros());
+		TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(out1),
+			DataConverter.convertToDoubleMatrix(out2), out1.getNumRows(), out1.getNumColumns(), 1e-10);
+	}
+
+	private static FrameBlock createInputFrame(int rows, long seed) {
+		FrameBlock ret = new FrameBlock(new ValueType[]{ValueType.STRING,
+			ValueType.STRING, ValueType.DOUBLE, ValueType.STRING});
+		Random rand = new Random(seed);
+		Object[] row = new Object[4];
+		for( int i=0; i<rows; i++ ) {
+			row[0] = (rand.nextDouble() < 0.01) ? null : "a" + (int)Math.abs(rand.nextGaussian()*20);
+			row[1] = "b" + rand.nextInt(10);
+			row[2] = rand.nextDouble() * 100;
+			row[3] = (rand.nextDouble() < 0.05) ? "" : String.valueOf(rand.nextInt(1000) / 10d);
+			ret.appendRow(row);
+		}
+		return ret;
+	}
+}
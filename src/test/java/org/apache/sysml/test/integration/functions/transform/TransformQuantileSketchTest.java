@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.transform;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.transform.encode.Encoder;
+import org.apache.sysml.runtime.transform.encode.EncoderFactory;
+import org.apache.sysml.runtime.transform.meta.QuantileSketch;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * Tests the mergeable quantile sketch against exact quantiles of skewed
+ * data, as well as single- and multi-threaded equi-height binning.
+ */
+public class TransformQuantileSketchTest extends AutomatedTestBase
+{
+	private static final int rows1 = 100;
+	private static final int rows2 = 123456;
+	private static final int parts = 7;
+	private static final int threads = 4;
+	private static final double eps = 0.02; //max rank error
+	
+	private static final String SPEC_HEIGHT = "{ids:true, bin:[{id:1, method:equi-height, numbins:10}]}";
+	
+	@Override
+	public void setUp()  {
+		TestUtils.clearAssertionInformation();
+	}
+	
+	@Test
+	public void testQuantileSketchExact() {
+		runQuantileSketchTest(rows1, 1);
+	}
+	
+	@Test
+	public void testQuantileSketchSkewed() {
+		runQuantileSketchTest(rows2, 1);
+	}
+	
+	@Test
+	public void testQuantileSketchSkewedMerged() {
+		runQuantileSketchTest(rows2, parts);
+	}
+	
+	@Test
+	public void testEquiHeightBinning() {
+		runEquiHeightBinningTest(1);
+	}
+	
+	@Test
+	public void testEquiHeightBinningParallel() {
+		runEquiHeightBinningTest(threads);
+	}
+	
+	private void runQuantileSketchTest(int rows, int nparts) {
+		if(shouldSkipTest())
+			return;
+		
+		//build partial sketches over skewed data and merge
+		double[] data = createSkewedData(rows, 7);
+		QuantileSketch sketch = new QuantileSketch(QuantileSketch.DEFAULT_K);
+		int plen = (int)Math.ceil((double)rows / nparts);
+		for( int p=0; p<nparts; p++ ) {
+			QuantileSketch tmp = new QuantileSketch(QuantileSketch.DEFAULT_K);
+			for( int i=p*plen; i<Math.min((p+1)*plen, rows); i++ )
+				tmp.update(data[i]);
+			sketch.merge(tmp);
+		}
+		
+		//compare ranks of approximate quantiles w/ exact ranks
+		Arrays.sort(data);
+		assertEquals(rows, sketch.getCount());
+		assertEquals(data[0], sketch.getMin(), 0);
+		assertEquals(data[rows-1], sketch.getMax(), 0);
+		double[] phis = new double[]{0, 0.01, 0.1, 0.25, 0.5, 0.75, 0.9, 0.99, 1};
+		double[] q = sketch.getQuantiles(phis);
+		for( int i=0; i<phis.length; i++ ) {
+			int rank = Arrays.binarySearch(data, q[i]) + 1; //num items <= q
+			double err = (rows > QuantileSketch.DEFAULT_K) ? eps : 1.0/rows;
+			assertTrue("Wrong quantile "+phis[i]+": "+q[i], 
+				Math.abs((double)rank/rows - phis[i]) <= err);
+		}
+	}
+	
+	private void runEquiHeightBinningTest(int k) {
+		if(shouldSkipTest())
+			return;
+		
+		//create skewed input frame
+		double[] data = createSkewedData(rows2, 3);
+		FrameBlock in = new FrameBlock(1, ValueType.DOUBLE);
+		in.ensureAllocatedColumns(rows2);
+		for( int i=0; i<rows2; i++ )
+			in.set(i, 0, data[i]);
+		
+		//equi-height binning and check balanced bins
+		Encoder encoder = EncoderFactory.createEncoder(SPEC_HEIGHT, in.getColumnNames(), 1, null);
+		MatrixBlock out = encoder.encode(in, new MatrixBlock(rows2, 1, false), k);
+		int[] counts = new int[10];
+		for( int i=0; i<rows2; i++ )
+			counts[(int)out.quickGetValue(i, 0)-1]++;
+		for( int c : counts )
+			assertTrue("Unbalanced bin: "+c, Math.abs((double)c/rows2 - 0.1) <= 2*eps);
+		
+		//transformapply w/ meta data
+		FrameBlock meta = encoder.getMetaData(new FrameBlock(1, ValueType.STRING));
+		Encoder encoder2 = EncoderFactory.createEncoder(SPEC_HEIGHT, in.getColumnNames(), 1, meta);
+		MatrixBlock out2 = encoder2.apply(in, new MatrixBlock(rows2, 1, false), k);
+		for( int i=0; i<rows2; i++ )
+			assertEquals(out.quickGetValue(i, 0), out2.quickGetValue(i, 0), 0);
+	}
+	
+	private static double[] createSkewedData(int rows, long seed) {
+		//exponentially distributed values
+		Random rand = new Random(seed);
+		double[] ret = new double[rows];
+		for( int i=0; i<rows; i++ )
+			ret[i] = -Math.log(1 - rand.nextDouble()) * 10;
+		return ret;
+	}
+}
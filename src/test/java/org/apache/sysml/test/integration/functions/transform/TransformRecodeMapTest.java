@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.transform;
+
+import java.util.HashMap;
+import java.util.Map.Entry;
+import java.util.Random;
+
+import org.junit.Test;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.transform.meta.RecodeMap;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * Tests the compact recode map against a HashMap of tokens and codes,
+ * including resizing, non-ascii tokens, and the meta data round trip.
+ */
+public class TransformRecodeMapTest extends AutomatedTestBase
+{
+	private static final int distinct1 = 7;
+	private static final int distinct2 = 123456;
+
+	@Override
+	public void setUp()  {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testRecodeMapAsciiSmall() {
+		runRecodeMapTest(distinct1, false);
+	}
+
+	@Test
+	public void testRecodeMapAsciiLarge() {
+		runRecodeMapTest(distinct2, false);
+	}
+
+	@Test
+	public void testRecodeMapUnicodeSmall() {
+		runRecodeMapTest(distinct1, true);
+	}
+
+	@Test
+	public void testRecodeMapUnicodeLarge() {
+		runRecodeMapTest(distinct2, true);
+	}
+
+	private void runRecodeMapTest(int distinct, boolean unicode) {
+		if(shouldSkipTest())
+			return;
+
+		//build recode map and reference map w/ repeated tokens
+		Random rand = new Random(7);
+		RecodeMap map = new RecodeMap();
+		HashMap<String,Integer> ref = new HashMap<>();
+		for( int i=0; i<3*distinct; i++ ) {
+			String token = createToken(rand.nextInt(distinct), unicode);
+			int code = map.add(token);
+			if( !ref.containsKey(token) )
+				ref.put(token, ref.size()+1);
+			assertEquals(ref.get(token).intValue(), code);
+		}
+
+		//check lookups of existing and non-existing tokens
+		assertEquals(ref.size(), map.size());
+		for( Entry<String,Integer> e : ref.entrySet() )
+			assertEquals(e.getValue().intValue(), map.get(e.getKey()));
+		for( int i=0; i<map.size(); i++ )
+			assertEquals(ref.get(map.getToken(i)).intValue(), map.getCode(i));
+		assertEquals(-1, map.get(createToken(distinct, unicode)));
+		assertEquals(-1, map.get("x"));
+		assertEquals(-1, map.get(null));
+		assertTrue(map.getInMemorySize() > 0);
+
+		//check round trip via meta data frame
+		FrameBlock meta = new FrameBlock(2, ValueType.STRING);
+		meta.ensureAllocatedColumns(map.size());
+		map.toMetaData(meta, 1);
+		assertEquals(map.size(), meta.getColumnMetadata(1).getNumDistinct());
+		RecodeMap map2 = RecodeMap.fromMetaData(meta, 1);
+		assertEquals(ref.size(), map2.size());
+		for( Entry<String,Integer> e : ref.entrySet() )
+			assertEquals(e.getValue().intValue(), map2.get(e.getKey()));
+	}
+
+	private static String createToken(int i, boolean unicode) {
+		return unicode ? "ä漢-" + i + "ß" : "t" + i;
+	}
+}
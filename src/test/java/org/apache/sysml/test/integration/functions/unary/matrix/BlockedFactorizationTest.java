@@ -0,0 +1,186 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.unary.matrix;
+
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.apache.commons.math3.linear.CholeskyDecomposition;
+import org.apache.commons.math3.linear.LUDecomposition;
+import org.junit.Test;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.matrix.data.LibMatrixLinAlg;
+import org.apache.sysml.runtime.matrix.data.LibMatrixMult;
+import org.apache.sysml.runtime.matrix.data.LibMatrixReorg;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a component test for the blocked, multi-threaded factorizations,
+ * which compares cholesky, lu, solve, and inverse against commons-math
+ * or the defining identities (e.g., A %*% inv(A) = I).
+ */
+public class BlockedFactorizationTest extends AutomatedTestBase
+{
+	private final static int rows1 = 77;
+	private final static int rows2 = 1023;
+	private final static int cols = 3;
+	private final static double eps = 1e-8;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testCholeskySmall() {
+		runFactorizationTest("cholesky", rows1, 1.0, 1);
+	}
+
+	@Test
+	public void testCholeskyLargeMT() {
+		runFactorizationTest("cholesky", rows2, 1.0, 4);
+	}
+
+	@Test
+	public void testLUSmall() {
+		runFactorizationTest("lu", rows1, 1.0, 1);
+	}
+
+	@Test
+	public void testLULargeMT() {
+		runFactorizationTest("lu", rows2, 1.0, 4);
+	}
+
+	@Test
+	public void testLULargeSparseMT() {
+		runFactorizationTest("lu", rows2, 0.1, 4);
+	}
+
+	@Test
+	public void testLUPivotSmall() {
+		runFactorizationTest("lu", rows1, 1.0, 1, true);
+	}
+
+	@Test
+	public void testLUPivotLargeMT() {
+		runFactorizationTest("lu", rows2, 1.0, 4, true);
+	}
+
+	@Test
+	public void testLUPivotLargeSparseMT() {
+		runFactorizationTest("lu", rows2, 0.1, 4, true);
+	}
+
+	@Test
+	public void testSolvePivotLargeMT() {
+		runFactorizationTest("solve", rows2, 1.0, 4, true);
+	}
+
+	@Test
+	public void testInversePivotLargeMT() {
+		runFactorizationTest("inverse", rows2, 1.0, 4, true);
+	}
+
+	@Test
+	public void testSolveLargeMT() {
+		runFactorizationTest("solve", rows2, 1.0, 4);
+	}
+
+	@Test
+	public void testInverseSmall() {
+		runFactorizationTest("inverse", rows1, 1.0, 1);
+	}
+
+	@Test
+	public void testInverseLargeMT() {
+		runFactorizationTest("inverse", rows2, 1.0, 4);
+	}
+
+	@Test(expected = DMLRuntimeException.class)
+	public void testCholeskyNonSymmetric() {
+		double[][] A = getRandomMatrix(rows1, rows1, 1, 2, 1.0, 7);
+		LibMatrixLinAlg.cholesky(DataConverter.convertToMatrixBlock(A), 1);
+	}
+
+	@Test(expected = DMLRuntimeException.class)
+	public void testInverseSingular() {
+		LibMatrixLinAlg.inverse(new MatrixBlock(rows1, rows1, 1), 1);
+	}
+
+	private void runFactorizationTest(String opcode, int n, double sparsity, int k) {
+		runFactorizationTest(opcode, n, sparsity, k, false);
+	}
+
+	private void runFactorizationTest(String opcode, int n, double sparsity, int k, boolean pivot) {
+		//diagonally dominant (non-singular, and after X %*% t(X) positive definite) input,
+		//or row-permuted diagonally dominant input with zero leading diagonal, which
+		//forces row exchanges in all panels of the partial pivoting
+		double[][] A = getRandomMatrix(n, n, -1, 1, sparsity, 7);
+		for( int i=0; i<n; i++ )
+			A[i][pivot ? (i+1)%n : i] += n;
+		if( pivot )
+			A[0][0] = 0;
+		MatrixBlock mA = DataConverter.convertToMatrixBlock(A);
+
+		if( opcode.equals("cholesky") ) {
+			MatrixBlock mS = mult(mA, LibMatrixReorg.transpose(mA, new MatrixBlock(n, n, false)));
+			MatrixBlock mL = LibMatrixLinAlg.cholesky(mS, k);
+			double[][] L = new CholeskyDecomposition(new Array2DRowRealMatrix(
+				DataConverter.convertToDoubleMatrix(mS))).getL().getData();
+			TestUtils.compareMatrices(L, DataConverter.convertToDoubleMatrix(mL), n, n, eps);
+		}
+		else if( opcode.equals("lu") ) {
+			MatrixBlock[] out = LibMatrixLinAlg.lu(mA, k);
+			LUDecomposition lu = new LUDecomposition(new Array2DRowRealMatrix(A));
+			TestUtils.compareMatrices(lu.getP().getData(), DataConverter.convertToDoubleMatrix(out[0]), n, n, 0);
+			TestUtils.compareMatrices(lu.getL().getData(), DataConverter.convertToDoubleMatrix(out[1]), n, n, eps);
+			TestUtils.compareMatrices(lu.getU().getData(), DataConverter.convertToDoubleMatrix(out[2]), n, n, eps);
+			if( pivot ) {
+				//check for actual row exchanges and P %*% A = L %*% U
+				assertTrue(out[0].quickGetValue(0, 0) == 0);
+				TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(mult(out[0], mA)),
+					DataConverter.convertToDoubleMatrix(mult(out[1], out[2])), n, n, eps);
+			}
+		}
+		else if( opcode.equals("solve") ) {
+			double[][] B = getRandomMatrix(n, cols, -1, 1, 1.0, 3);
+			MatrixBlock mX = LibMatrixLinAlg.solve(mA, DataConverter.convertToMatrixBlock(B), k);
+			TestUtils.compareMatrices(B, DataConverter.convertToDoubleMatrix(mult(mA, mX)), n, cols, eps);
+			MatrixBlock mx = LibMatrixLinAlg.solve(mA, DataConverter.convertToMatrixBlock(B).slice(0, n-1, 0, 0, new MatrixBlock()), k);
+			TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(mX.slice(0, n-1, 0, 0, new MatrixBlock())),
+				DataConverter.convertToDoubleMatrix(mx), n, 1, eps);
+		}
+		else if( opcode.equals("inverse") ) {
+			MatrixBlock mI = mult(mA, LibMatrixLinAlg.inverse(mA, k));
+			double[][] I = new double[n][n];
+			for( int i=0; i<n; i++ )
+				I[i][i] = 1;
+			TestUtils.compareMatrices(I, DataConverter.convertToDoubleMatrix(mI), n, n, eps);
+		}
+	}
+
+	private static MatrixBlock mult(MatrixBlock m1, MatrixBlock m2) {
+		MatrixBlock ret = new MatrixBlock(m1.getNumRows(), m2.getNumColumns(), false);
+		LibMatrixMult.matrixMult(m1, m2, ret);
+		return ret;
+	}
+}